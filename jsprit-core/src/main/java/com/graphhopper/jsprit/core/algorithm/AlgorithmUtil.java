@@ -25,18 +25,10 @@ import com.graphhopper.jsprit.core.problem.constraint.SwitchNotFeasible;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.solution.SolutionCostCalculator;
 import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
-import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.BreakActivity;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
-import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
-import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeKey;
 import com.graphhopper.jsprit.core.util.ActivityTimeTracker;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Created by schroeder on 02/08/16.
  */
@@ -50,27 +42,8 @@ public class AlgorithmUtil {
         stateManager.updateLoadStates();
         stateManager.updateTimeWindowStates();
         UpdateVehicleDependentPracticalTimeWindows twUpdater = new UpdateVehicleDependentPracticalTimeWindows(stateManager, vrp.getTransportCosts(), vrp.getActivityCosts());
-        twUpdater.setVehiclesToUpdate(new UpdateVehicleDependentPracticalTimeWindows.VehiclesToUpdate() {
-
-            Map<VehicleTypeKey, Vehicle> uniqueTypes = new HashMap<VehicleTypeKey, Vehicle>();
-
-            @Override
-            public Collection<Vehicle> get(VehicleRoute vehicleRoute) {
-                if (uniqueTypes.isEmpty()) {
-                    for (Vehicle v : vrp.getVehicles()) {
-                        if (!uniqueTypes.containsKey(v.getVehicleTypeIdentifier())) {
-                            uniqueTypes.put(v.getVehicleTypeIdentifier(), v);
-                        }
-                    }
-                }
-                Collection<Vehicle> vehicles = new ArrayList<Vehicle>();
-                vehicles.addAll(uniqueTypes.values());
-                return vehicles;
-            }
-
-        });
         stateManager.addStateUpdater(new UpdateEndLocationIfRouteIsOpen());
-        stateManager.addStateUpdater(twUpdater);
+        stateManager.addLazyStateUpdater(twUpdater);
         stateManager.updateSkillStates();
 
         stateManager.addStateUpdater(new UpdateActivityTimes(vrp.getTransportCosts(), ActivityTimeTracker.ActivityPolicy.AS_SOON_AS_TIME_WINDOW_OPENS, vrp.getActivityCosts()));
@@ -0,0 +1,299 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm;
+
+import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmStartsListener;
+import com.graphhopper.jsprit.core.algorithm.listener.StrategySelectedListener;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.util.Solutions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs a {@link VehicleRoutingAlgorithm} asynchronously and publishes each improving solution as soon as it is found.
+ * <p>
+ * <p>The returned {@link Handle} is a future of the best solution. It can be stopped at any time, either explicitly or by
+ * a hard wall-clock deadline. Stopping interrupts the algorithm within the current insertion, i.e. within the time it
+ * takes to evaluate the insertion of one job, and the best solution found so far is returned.
+ * <p>
+ * <pre>
+ *     AnytimeSearch search = new AnytimeSearch(vra);
+ *     search.addImprovementListener(listener);
+ *     AnytimeSearch.Handle handle = search.start(2000);
+ *     VehicleRoutingProblemSolution best = handle.get();
+ * </pre>
+ */
+public class AnytimeSearch {
+
+    /**
+     * Listener that is informed whenever a solution better than all previously found ones has been found. It is called
+     * in the thread that runs the algorithm, thus it should return quickly.
+     */
+    public interface ImprovementListener {
+
+        void informImprovement(VehicleRoutingProblemSolution solution, long millisSinceStart);
+
+    }
+
+    /**
+     * Future of the best solution of an asynchronously running algorithm.
+     */
+    public static class Handle implements Future<VehicleRoutingProblemSolution> {
+
+        private final VehicleRoutingAlgorithm algorithm;
+
+        private final FutureTask<VehicleRoutingProblemSolution> task;
+
+        private final Object lock = new Object();
+
+        private Thread worker;
+
+        private boolean stopped = false;
+
+        private boolean finished = false;
+
+        private volatile VehicleRoutingProblemSolution bestSolution;
+
+        private volatile ScheduledFuture<?> deadline;
+
+        private Handle(VehicleRoutingAlgorithm algorithm) {
+            this.algorithm = algorithm;
+            this.task = new FutureTask<VehicleRoutingProblemSolution>(new Callable<VehicleRoutingProblemSolution>() {
+                @Override
+                public VehicleRoutingProblemSolution call() throws Exception {
+                    return run();
+                }
+            });
+        }
+
+        private VehicleRoutingProblemSolution run() {
+            try {
+                synchronized (lock) {
+                    if (stopped) return bestSolution;
+                    worker = Thread.currentThread();
+                }
+                Collection<VehicleRoutingProblemSolution> solutions = algorithm.searchSolutions();
+                VehicleRoutingProblemSolution best = Solutions.bestOf(solutions);
+                if (best != null) bestSolution = best;
+                return bestSolution;
+            } finally {
+                synchronized (lock) {
+                    worker = null;
+                    finished = true;
+                    algorithm.clearStopRequest();
+                    if (stopped) Thread.interrupted();
+                }
+                ScheduledFuture<?> d = deadline;
+                if (d != null) d.cancel(false);
+            }
+        }
+
+        /**
+         * Stops the algorithm as soon as possible. Subsequent calls of <code>get()</code> return the best solution
+         * found so far (or null if not even an initial solution could be constructed). This method returns immediately.
+         * <p>
+         * <p>A stop that arrives before the algorithm has started is not lost, it then stops before its first
+         * iteration. A stop that arrives after the algorithm has finished has no effect on later runs.
+         */
+        public void stop() {
+            synchronized (lock) {
+                if (finished) return;
+                stopped = true;
+                algorithm.requestStop();
+                if (worker != null) worker.interrupt();
+            }
+        }
+
+        /**
+         * Returns the best solution found so far, or null if no solution has been found yet. This does not block.
+         *
+         * @return the best solution found so far
+         */
+        public VehicleRoutingProblemSolution getBestSolution() {
+            return bestSolution;
+        }
+
+        private boolean isRunning() {
+            synchronized (lock) {
+                return worker != null;
+            }
+        }
+
+        void improved(VehicleRoutingProblemSolution solution) {
+            bestSolution = solution;
+        }
+
+        /**
+         * Cancels the computation. Note that <code>get()</code> then throws a CancellationException, use
+         * <code>stop()</code> to stop the algorithm and retrieve the best solution found so far.
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (lock) {
+                if (!finished) {
+                    stopped = true;
+                    algorithm.requestStop();
+                }
+            }
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public VehicleRoutingProblemSolution get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public VehicleRoutingProblemSolution get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+
+    private static class DeadlineScheduler {
+
+        private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "jsprit-anytime-deadline");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    private final VehicleRoutingAlgorithm algorithm;
+
+    private final List<ImprovementListener> improvementListeners = new CopyOnWriteArrayList<ImprovementListener>();
+
+    private volatile Handle currentHandle;
+
+    private volatile long startTime;
+
+    private volatile double bestCost;
+
+    public AnytimeSearch(VehicleRoutingAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        algorithm.addListener(new AlgorithmStartsListener() {
+            @Override
+            public void informAlgorithmStarts(VehicleRoutingProblem problem, VehicleRoutingAlgorithm algorithm, Collection<VehicleRoutingProblemSolution> solutions) {
+                bestCost = Double.MAX_VALUE;
+                VehicleRoutingProblemSolution best = Solutions.bestOf(solutions);
+                if (best != null) improved(best);
+            }
+        });
+        algorithm.addListener(new StrategySelectedListener() {
+            @Override
+            public void informSelectedStrategy(SearchStrategy.DiscoveredSolution discoveredSolution, VehicleRoutingProblem vehicleRoutingProblem, Collection<VehicleRoutingProblemSolution> vehicleRoutingProblemSolutions) {
+                if (discoveredSolution == null) return;
+                if (discoveredSolution.getSolution().getCost() < bestCost) improved(discoveredSolution.getSolution());
+            }
+        });
+    }
+
+    private void improved(VehicleRoutingProblemSolution solution) {
+        bestCost = solution.getCost();
+        Handle handle = currentHandle;
+        if (handle != null) handle.improved(solution);
+        long millis = (System.nanoTime() - startTime) / 1000000L;
+        for (ImprovementListener l : improvementListeners) {
+            l.informImprovement(solution, millis);
+        }
+    }
+
+    public void addImprovementListener(ImprovementListener listener) {
+        improvementListeners.add(listener);
+    }
+
+    /**
+     * Starts the algorithm in a new daemon thread without deadline.
+     *
+     * @return the handle of the running algorithm
+     */
+    public Handle start() {
+        return start(-1);
+    }
+
+    /**
+     * Starts the algorithm in a new daemon thread and stops it at the latest after the specified time.
+     *
+     * @param deadlineInMillis hard wall-clock time limit in milliseconds measured from now, negative values mean no deadline
+     * @return the handle of the running algorithm
+     */
+    public Handle start(long deadlineInMillis) {
+        Handle handle = createHandle(deadlineInMillis);
+        Thread thread = new Thread(handle.task, "jsprit-anytime-search");
+        thread.setDaemon(true);
+        thread.start();
+        return handle;
+    }
+
+    /**
+     * Starts the algorithm with the specified executor and stops it at the latest after the specified time.
+     *
+     * @param executor         the executor the algorithm runs in
+     * @param deadlineInMillis hard wall-clock time limit in milliseconds measured from now, negative values mean no deadline
+     * @return the handle of the running algorithm
+     * @throws java.lang.IllegalStateException if the algorithm is still running from a previous start
+     */
+    public Handle start(Executor executor, long deadlineInMillis) {
+        Handle handle = createHandle(deadlineInMillis);
+        executor.execute(handle.task);
+        return handle;
+    }
+
+    private Handle createHandle(long deadlineInMillis) {
+        Handle previous = currentHandle;
+        if (previous != null && (!previous.isDone() || previous.isRunning())) {
+            throw new IllegalStateException("algorithm is still running. stop it before starting it again.");
+        }
+        algorithm.clearStopRequest();
+        final Handle handle = new Handle(algorithm);
+        currentHandle = handle;
+        startTime = System.nanoTime();
+        if (deadlineInMillis >= 0) {
+            handle.deadline = DeadlineScheduler.INSTANCE.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    handle.stop();
+                }
+            }, deadlineInMillis, TimeUnit.MILLISECONDS);
+        }
+        return handle;
+    }
+
+}
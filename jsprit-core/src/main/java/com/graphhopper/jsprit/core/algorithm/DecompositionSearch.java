@@ -0,0 +1,435 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm;
+
+import com.graphhopper.jsprit.core.algorithm.state.UpdateActivityTimes;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Break;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
+import com.graphhopper.jsprit.core.problem.solution.SolutionCostCalculator;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.RouteActivityVisitor;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.BreakActivity;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.PickupShipment;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TimeWindow;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.util.ActivityTimeTracker;
+import com.graphhopper.jsprit.core.util.Coordinate;
+import com.graphhopper.jsprit.core.util.Solutions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Improves a solution of a large problem by decomposing it into sub-problems that are solved independently and in
+ * parallel.
+ * <p>
+ * <p>In each round, the routes of the current solution are partitioned into spatially coherent groups by sweeping
+ * around the center of their centroids. Each group, together with the unassigned jobs (and, with a finite fleet, the
+ * unused vehicles) closest to it, makes up a sub-problem. It is solved by an algorithm created with the specified
+ * factory, starting from the group's routes, and its best routes replace the group's routes. Group boundaries are
+ * shifted from round to round, thus routes that have been separated in one round can exchange jobs in the next.
+ * <p>
+ * <p>Note that building the sub-problems re-indexes the jobs and vehicles, they are restored with
+ * {@link VehicleRoutingProblem#restoreIndices()} once the sub-problems are solved. Thus the problem must not be used
+ * otherwise while {@link #improve(VehicleRoutingProblemSolution)} runs.
+ * <p>
+ * <p>The stitched solution of a round is evaluated with the objective function of the whole problem the caller
+ * specifies, since the costs of the sub-problems' solutions do not add up to it (e.g. penalties of unassigned jobs
+ * depend on the problem). A round's solution only replaces the current one if it is cheaper.
+ * <p>
+ * <p>Breaks stay in the routes of their vehicles, they are neither added to the sub-problems as jobs nor distributed
+ * as unassigned jobs.
+ * <p>
+ * <pre>
+ *     DecompositionSearch decomposition = new DecompositionSearch(vrp, new VehicleRoutingAlgorithmFactory() {
+ *
+ *         public VehicleRoutingAlgorithm createAlgorithm(VehicleRoutingProblem subProblem) {
+ *             return Jsprit.Builder.newInstance(subProblem).setProperty(Jsprit.Parameter.ITERATIONS, "500").buildAlgorithm();
+ *         }
+ *
+ *     }, objectiveFunction);
+ *     decomposition.setNoRounds(4);
+ *     VehicleRoutingProblemSolution improved = decomposition.improve(solution);
+ * </pre>
+ */
+public class DecompositionSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecompositionSearch.class);
+
+    private static class Group {
+
+        private final List<VehicleRoute> routes = new ArrayList<VehicleRoute>();
+
+        private final List<Job> unassignedJobs = new ArrayList<Job>();
+
+        private final List<Vehicle> unusedVehicles = new ArrayList<Vehicle>();
+
+        private Coordinate centroid;
+
+    }
+
+    private static class SubProblem {
+
+        private final VehicleRoutingProblem problem;
+
+        private final VehicleRoutingProblemSolution initialSolution;
+
+        private SubProblem(VehicleRoutingProblem problem, VehicleRoutingProblemSolution initialSolution) {
+            this.problem = problem;
+            this.initialSolution = initialSolution;
+        }
+
+    }
+
+    private final VehicleRoutingProblem vrp;
+
+    private final VehicleRoutingAlgorithmFactory algorithmFactory;
+
+    private int noRoutesPerGroup = 8;
+
+    private int noRounds = 1;
+
+    private int noThreads = Runtime.getRuntime().availableProcessors();
+
+    private final SolutionCostCalculator objectiveFunction;
+
+    /**
+     * Constructs the decomposition search.
+     *
+     * @param vrp               the problem whose solutions are to be improved
+     * @param algorithmFactory  the factory that creates the algorithm solving a sub-problem. The algorithm needs to
+     *                          have an objective function since it is used to evaluate the sub-problem's initial solution
+     * @param objectiveFunction the objective function of the whole problem, it evaluates the stitched solutions
+     * @throws IllegalArgumentException if objectiveFunction is null
+     */
+    public DecompositionSearch(VehicleRoutingProblem vrp, VehicleRoutingAlgorithmFactory algorithmFactory, SolutionCostCalculator objectiveFunction) {
+        if (objectiveFunction == null) throw new IllegalArgumentException("objective function must not be null");
+        this.vrp = vrp;
+        this.algorithmFactory = algorithmFactory;
+        this.objectiveFunction = objectiveFunction;
+    }
+
+    /**
+     * Sets the number of routes of a sub-problem. Default is 8.
+     *
+     * @param noRoutesPerGroup number of routes per sub-problem
+     * @throws IllegalArgumentException if noRoutesPerGroup is smaller than 1
+     */
+    public void setNoRoutesPerGroup(int noRoutesPerGroup) {
+        if (noRoutesPerGroup < 1) throw new IllegalArgumentException("number of routes per group must be at least 1");
+        this.noRoutesPerGroup = noRoutesPerGroup;
+    }
+
+    /**
+     * Sets the number of rounds, i.e. how often the solution is decomposed. Default is 1.
+     *
+     * @param noRounds number of rounds
+     * @throws IllegalArgumentException if noRounds is smaller than 1
+     */
+    public void setNoRounds(int noRounds) {
+        if (noRounds < 1) throw new IllegalArgumentException("number of rounds must be at least 1");
+        this.noRounds = noRounds;
+    }
+
+    /**
+     * Sets the number of sub-problems that are solved in parallel. Default is the number of available processors.
+     *
+     * @param noThreads number of threads
+     * @throws IllegalArgumentException if noThreads is smaller than 1
+     */
+    public void setNoThreads(int noThreads) {
+        if (noThreads < 1) throw new IllegalArgumentException("number of threads must be at least 1");
+        this.noThreads = noThreads;
+    }
+
+    /**
+     * Improves the specified solution by solving sub-problems of it.
+     *
+     * @param solution the solution to be improved
+     * @return the improved solution, or solution itself if no round found a cheaper one
+     */
+    public VehicleRoutingProblemSolution improve(VehicleRoutingProblemSolution solution) {
+        VehicleRoutingProblemSolution current = solution;
+        double currentCost = objectiveFunction.getCosts(solution);
+        for (int round = 0; round < noRounds; round++) {
+            VehicleRoutingProblemSolution stitched = improve(current, round);
+            stitched.setCost(objectiveFunction.getCosts(stitched));
+            if (stitched.getCost() < currentCost) {
+                current = stitched;
+                currentCost = stitched.getCost();
+            }
+        }
+        return current;
+    }
+
+    private VehicleRoutingProblemSolution improve(VehicleRoutingProblemSolution solution, int round) {
+        List<Group> groups = partition(solution, round);
+        logger.info("decomposition round {}: {} sub-problems", round + 1, groups.size());
+        List<VehicleRoutingProblemSolution> subSolutions;
+        try {
+            List<SubProblem> subProblems = new ArrayList<SubProblem>();
+            for (Group group : groups) {
+                subProblems.add(createSubProblem(group));
+            }
+            subSolutions = solve(subProblems);
+        } finally {
+            vrp.restoreIndices();
+        }
+        List<VehicleRoute> routes = new ArrayList<VehicleRoute>();
+        Set<Job> unassignedJobs = new LinkedHashSet<Job>();
+        for (VehicleRoutingProblemSolution subSolution : subSolutions) {
+            for (VehicleRoute route : subSolution.getRoutes()) {
+                if (route.isEmpty()) continue;
+                routes.add(copyRoute(route, route.getVehicle(), vrp));
+            }
+            unassignedJobs.addAll(subSolution.getUnassignedJobs());
+        }
+        return new VehicleRoutingProblemSolution(routes, unassignedJobs, 0.);
+    }
+
+    private List<Group> partition(VehicleRoutingProblemSolution solution, int round) {
+        List<VehicleRoute> routes = new ArrayList<VehicleRoute>(solution.getRoutes());
+        final Map<VehicleRoute, Coordinate> centroids = new HashMap<VehicleRoute, Coordinate>();
+        boolean hasCoordinates = true;
+        for (VehicleRoute route : routes) {
+            Coordinate centroid = getCentroid(route);
+            if (centroid == null) hasCoordinates = false;
+            centroids.put(route, centroid);
+        }
+        if (hasCoordinates && !routes.isEmpty()) {
+            double x = 0.;
+            double y = 0.;
+            for (Coordinate c : centroids.values()) {
+                x += c.getX();
+                y += c.getY();
+            }
+            final double centerX = x / routes.size();
+            final double centerY = y / routes.size();
+            Collections.sort(routes, new Comparator<VehicleRoute>() {
+
+                @Override
+                public int compare(VehicleRoute r1, VehicleRoute r2) {
+                    return Double.compare(getAngle(centroids.get(r1)), getAngle(centroids.get(r2)));
+                }
+
+                private double getAngle(Coordinate c) {
+                    return Math.atan2(c.getY() - centerY, c.getX() - centerX);
+                }
+
+            });
+        }
+        int noGroups = Math.max(1, (routes.size() + noRoutesPerGroup - 1) / noRoutesPerGroup);
+        List<Group> groups = new ArrayList<Group>();
+        for (int i = 0; i < noGroups; i++) groups.add(new Group());
+        int offset = routes.isEmpty() ? 0 : (round * Math.max(1, noRoutesPerGroup / 2)) % routes.size();
+        for (int i = 0; i < routes.size(); i++) {
+            groups.get(i / noRoutesPerGroup).routes.add(routes.get((i + offset) % routes.size()));
+        }
+        if (hasCoordinates) {
+            for (Group group : groups) {
+                double x = 0.;
+                double y = 0.;
+                for (VehicleRoute route : group.routes) {
+                    x += centroids.get(route).getX();
+                    y += centroids.get(route).getY();
+                }
+                if (!group.routes.isEmpty()) {
+                    group.centroid = Coordinate.newInstance(x / group.routes.size(), y / group.routes.size());
+                }
+            }
+        }
+        int next = 0;
+        for (Job job : solution.getUnassignedJobs()) {
+            if (job instanceof Break) continue;
+            Group group = getClosestGroup(groups, getLocation(job));
+            if (group == null) group = groups.get(next++ % groups.size());
+            group.unassignedJobs.add(job);
+        }
+        if (vrp.getFleetSize().equals(VehicleRoutingProblem.FleetSize.FINITE)) {
+            Set<String> usedVehicles = new HashSet<String>();
+            for (VehicleRoute route : routes) usedVehicles.add(route.getVehicle().getId());
+            for (Vehicle vehicle : vrp.getVehicles()) {
+                if (usedVehicles.contains(vehicle.getId())) continue;
+                Group group = getClosestGroup(groups, vehicle.getStartLocation());
+                if (group == null) group = groups.get(next++ % groups.size());
+                group.unusedVehicles.add(vehicle);
+            }
+        }
+        return groups;
+    }
+
+    private static Coordinate getCentroid(VehicleRoute route) {
+        double x = 0.;
+        double y = 0.;
+        int n = 0;
+        for (TourActivity act : route.getActivities()) {
+            Coordinate c = act.getLocation().getCoordinate();
+            if (c == null) return null;
+            x += c.getX();
+            y += c.getY();
+            n++;
+        }
+        if (n == 0) return route.getVehicle().getStartLocation().getCoordinate();
+        return Coordinate.newInstance(x / n, y / n);
+    }
+
+    private static Location getLocation(Job job) {
+        if (job instanceof Service) return ((Service) job).getLocation();
+        if (job instanceof Shipment) return ((Shipment) job).getPickupLocation();
+        return null;
+    }
+
+    private static Group getClosestGroup(List<Group> groups, Location location) {
+        if (location == null || location.getCoordinate() == null) return null;
+        Coordinate c = location.getCoordinate();
+        Group closest = null;
+        double minDistance = Double.MAX_VALUE;
+        for (Group group : groups) {
+            if (group.centroid == null) continue;
+            double dx = group.centroid.getX() - c.getX();
+            double dy = group.centroid.getY() - c.getY();
+            double distance = dx * dx + dy * dy;
+            if (distance < minDistance) {
+                minDistance = distance;
+                closest = group;
+            }
+        }
+        return closest;
+    }
+
+    private SubProblem createSubProblem(Group group) {
+        VehicleRoutingProblem.Builder builder = VehicleRoutingProblem.Builder.newInstance()
+            .setFleetSize(vrp.getFleetSize())
+            .setRoutingCost(vrp.getTransportCosts())
+            .setActivityCosts(vrp.getActivityCosts());
+        /*
+         * with an infinite fleet, vehicles are shared by all sub-problems. adding all of them in the same order
+         * assigns the same indices in every sub-problem.
+         */
+        Collection<Vehicle> vehicles = new ArrayList<Vehicle>();
+        if (vrp.getFleetSize().equals(VehicleRoutingProblem.FleetSize.INFINITE)) {
+            vehicles.addAll(vrp.getVehicles());
+        } else {
+            for (VehicleRoute route : group.routes) vehicles.add(route.getVehicle());
+            vehicles.addAll(group.unusedVehicles);
+        }
+        Map<String, Vehicle> vehicleById = new HashMap<String, Vehicle>();
+        for (Vehicle vehicle : vehicles) {
+            if (vehicleById.containsKey(vehicle.getId())) continue;
+            vehicleById.put(vehicle.getId(), vehicle);
+            builder.addVehicle(vehicle);
+        }
+        for (VehicleRoute route : group.routes) {
+            for (Job job : route.getTourActivities().getJobs()) {
+                if (!(job instanceof Break)) builder.addJob(job);
+            }
+        }
+        builder.addAllJobs(group.unassignedJobs);
+        VehicleRoutingProblem subProblem = builder.build();
+        List<VehicleRoute> routes = new ArrayList<VehicleRoute>();
+        for (VehicleRoute route : group.routes) {
+            Vehicle vehicle = vehicleById.get(route.getVehicle().getId());
+            if (vehicle == null)
+                throw new IllegalStateException("vehicle " + route.getVehicle().getId() + " is not part of the problem");
+            routes.add(copyRoute(route, vehicle, subProblem));
+        }
+        return new SubProblem(subProblem, new VehicleRoutingProblemSolution(routes, group.unassignedJobs, 0.));
+    }
+
+    private List<VehicleRoutingProblemSolution> solve(List<SubProblem> subProblems) {
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(noThreads, subProblems.size()));
+        try {
+            List<Future<VehicleRoutingProblemSolution>> futures = new ArrayList<Future<VehicleRoutingProblemSolution>>();
+            for (final SubProblem subProblem : subProblems) {
+                futures.add(executorService.submit(new Callable<VehicleRoutingProblemSolution>() {
+
+                    @Override
+                    public VehicleRoutingProblemSolution call() throws Exception {
+                        return solve(subProblem);
+                    }
+
+                }));
+            }
+            List<VehicleRoutingProblemSolution> subSolutions = new ArrayList<VehicleRoutingProblemSolution>();
+            for (Future<VehicleRoutingProblemSolution> future : futures) {
+                subSolutions.add(future.get());
+            }
+            return subSolutions;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private VehicleRoutingProblemSolution solve(SubProblem subProblem) {
+        VehicleRoutingAlgorithm algorithm = algorithmFactory.createAlgorithm(subProblem.problem);
+        SolutionCostCalculator objectiveFunction = algorithm.getObjectiveFunction();
+        if (objectiveFunction == null)
+            throw new IllegalStateException("algorithm of sub-problem has no objective function to evaluate its initial solution");
+        VehicleRoutingProblemSolution initialSolution = subProblem.initialSolution;
+        initialSolution.setCost(objectiveFunction.getCosts(initialSolution));
+        algorithm.addInitialSolution(initialSolution);
+        return Solutions.bestOf(algorithm.searchSolutions());
+    }
+
+    /*
+     * creates the route with the activities of the specified problem and keeps the time windows that have been chosen.
+     * breaks keep their location and duration, since they are determined when the break is inserted.
+     */
+    private static VehicleRoute copyRoute(VehicleRoute route, Vehicle vehicle, VehicleRoutingProblem problem) {
+        VehicleRoute.Builder builder = VehicleRoute.Builder.newInstance(vehicle, route.getDriver())
+            .setJobActivityFactory(problem.getJobActivityFactory())
+            .setDepartureTime(route.getDepartureTime());
+        List<BreakActivity> breaks = new ArrayList<BreakActivity>();
+        for (TourActivity act : route.getActivities()) {
+            if (!(act instanceof TourActivity.JobActivity)) continue;
+            Job job = ((TourActivity.JobActivity) act).getJob();
+            TimeWindow timeWindow = TimeWindow.newInstance(act.getTheoreticalEarliestOperationStartTime(), act.getTheoreticalLatestOperationStartTime());
+            if (job instanceof Break) {
+                builder.addBreak((Break) job, timeWindow);
+                breaks.add((BreakActivity) act);
+            } else if (job instanceof Service) builder.addService((Service) job, timeWindow);
+            else if (act instanceof PickupShipment) builder.addPickup((Shipment) job, timeWindow);
+            else builder.addDelivery((Shipment) job, timeWindow);
+        }
+        VehicleRoute copy = builder.build();
+        Iterator<BreakActivity> breakIterator = breaks.iterator();
+        for (TourActivity act : copy.getActivities()) {
+            if (!(act instanceof BreakActivity)) continue;
+            BreakActivity original = breakIterator.next();
+            ((BreakActivity) act).setLocation(original.getLocation());
+            ((BreakActivity) act).setOperationTime(original.getOperationTime());
+        }
+        new RouteActivityVisitor().addActivityVisitor(new UpdateActivityTimes(problem.getTransportCosts(),
+            ActivityTimeTracker.ActivityPolicy.AS_SOON_AS_TIME_WINDOW_OPENS, problem.getActivityCosts())).visit(copy);
+        return copy;
+    }
+
+}
@@ -42,12 +42,18 @@ public class RemoveEmptyVehicles implements InsertionEndsListener {
 
     @Override
     public void informInsertionEnds(Collection<VehicleRoute> vehicleRoutes) {
-        List<VehicleRoute> routes = new ArrayList<VehicleRoute>(vehicleRoutes);
-        for (VehicleRoute route : routes) {
+        List<VehicleRoute> nonEmptyRoutes = new ArrayList<VehicleRoute>(vehicleRoutes.size());
+        for (VehicleRoute route : vehicleRoutes) {
             if (route.isEmpty()) {
                 fleetManager.unlock(route.getVehicle());
-                vehicleRoutes.remove(route);
-            }
+            } else nonEmptyRoutes.add(route);
+        }
+        /*
+         * rebuild the collection in one pass rather than removing routes one by one, which is quadratic for lists
+         */
+        if (nonEmptyRoutes.size() < vehicleRoutes.size()) {
+            vehicleRoutes.clear();
+            vehicleRoutes.addAll(nonEmptyRoutes);
         }
     }
 }
@@ -18,7 +18,10 @@
 package com.graphhopper.jsprit.core.algorithm;
 
 import com.graphhopper.jsprit.core.algorithm.acceptor.SolutionAcceptor;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Instrumentation;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Probe;
 import com.graphhopper.jsprit.core.algorithm.listener.SearchStrategyModuleListener;
+import com.graphhopper.jsprit.core.algorithm.module.RuinAndRecreateModule;
 import com.graphhopper.jsprit.core.algorithm.selector.SolutionSelector;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
 import com.graphhopper.jsprit.core.problem.solution.SolutionCostCalculator;
@@ -80,6 +83,8 @@ public class SearchStrategy {
 
     private String name;
 
+    private Probe probe = Instrumentation.disabled().getProbe("strategy");
+
     public SearchStrategy(String id, SolutionSelector solutionSelector, SolutionAcceptor solutionAcceptor, SolutionCostCalculator solutionCostCalculator) {
         if (id == null) throw new IllegalStateException("strategy id cannot be null");
         this.solutionSelector = solutionSelector;
@@ -135,6 +140,7 @@ public class SearchStrategy {
      */
     @SuppressWarnings("UnusedParameters")
     public DiscoveredSolution run(VehicleRoutingProblem vrp, Collection<VehicleRoutingProblemSolution> solutions) {
+        probe.start();
         VehicleRoutingProblemSolution solution = solutionSelector.selectSolution(solutions);
         if (solution == null) throw new IllegalStateException(getErrMsg());
         VehicleRoutingProblemSolution lastSolution = VehicleRoutingProblemSolution.copyOf(solution);
@@ -144,6 +150,7 @@ public class SearchStrategy {
         double costs = solutionCostCalculator.getCosts(lastSolution);
         lastSolution.setCost(costs);
         boolean solutionAccepted = solutionAcceptor.acceptSolution(solutions, lastSolution);
+        probe.stop();
         return new DiscoveredSolution(lastSolution, solutionAccepted, getId());
     }
 
@@ -160,6 +167,20 @@ public class SearchStrategy {
         logger.debug("module added [module={}][#modules={}]", module, searchStrategyModules.size());
     }
 
+    /**
+     * Sets the instrumentation that measures this strategy (probe "strategy.[id]") and its ruin-and-recreate modules.
+     *
+     * @param instrumentation the instrumentation
+     */
+    public void setInstrumentation(Instrumentation instrumentation) {
+        this.probe = instrumentation.getProbe("strategy." + id);
+        for (SearchStrategyModule module : searchStrategyModules) {
+            if (module instanceof RuinAndRecreateModule) {
+                ((RuinAndRecreateModule) module).setInstrumentation(instrumentation);
+            }
+        }
+    }
+
     public void addModuleListener(SearchStrategyModuleListener moduleListener) {
         for (SearchStrategyModule module : searchStrategyModules) {
             module.addModuleListener(moduleListener);
@@ -18,10 +18,12 @@
 package com.graphhopper.jsprit.core.algorithm;
 
 import com.graphhopper.jsprit.core.algorithm.SearchStrategy.DiscoveredSolution;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Instrumentation;
 import com.graphhopper.jsprit.core.algorithm.listener.SearchStrategyListener;
 import com.graphhopper.jsprit.core.algorithm.listener.SearchStrategyModuleListener;
 import com.graphhopper.jsprit.core.algorithm.listener.VehicleRoutingAlgorithmListener;
 import com.graphhopper.jsprit.core.algorithm.listener.VehicleRoutingAlgorithmListeners;
+import com.graphhopper.jsprit.core.algorithm.recreate.InsertionInterruptedException;
 import com.graphhopper.jsprit.core.algorithm.termination.PrematureAlgorithmTermination;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
 import com.graphhopper.jsprit.core.problem.job.Job;
@@ -110,6 +112,8 @@ public class VehicleRoutingAlgorithm {
 
     private final SolutionCostCalculator objectiveFunction;
 
+    private volatile boolean stopRequested = false;
+
     public VehicleRoutingAlgorithm(VehicleRoutingProblem problem, SearchStrategyManager searchStrategyManager) {
         super();
         this.problem = problem;
@@ -212,16 +216,35 @@ public class VehicleRoutingAlgorithm {
         int noIterationsThisAlgoIsRunning = maxIterations;
         counter.reset();
         Collection<VehicleRoutingProblemSolution> solutions = new ArrayList<VehicleRoutingProblemSolution>(initialSolutions);
-        algorithmStarts(problem, solutions);
+        boolean interrupted = false;
+        try {
+            algorithmStarts(problem, solutions);
+        } catch (InsertionInterruptedException e) {
+            logger.info("algorithm interrupted while creating initial solution");
+            interrupted = true;
+            noIterationsThisAlgoIsRunning = 0;
+        }
         bestEver = Solutions.bestOf(solutions);
         if (logger.isTraceEnabled()) log(solutions);
         logger.info("iterations start");
-        for (int i = 0; i < maxIterations; i++) {
+        for (int i = 0; i < maxIterations && !interrupted; i++) {
+            if (stopRequested || Thread.currentThread().isInterrupted()) {
+                logger.info("algorithm stopped before iteration {}", (i + 1));
+                noIterationsThisAlgoIsRunning = i;
+                break;
+            }
             iterationStarts(i + 1, problem, solutions);
             logger.debug("start iteration: {}", i);
             counter.incCounter();
             SearchStrategy strategy = searchStrategyManager.getRandomStrategy();
-            DiscoveredSolution discoveredSolution = strategy.run(problem, solutions);
+            DiscoveredSolution discoveredSolution;
+            try {
+                discoveredSolution = strategy.run(problem, solutions);
+            } catch (InsertionInterruptedException e) {
+                logger.info("algorithm interrupted in iteration {}", (i + 1));
+                noIterationsThisAlgoIsRunning = i;
+                break;
+            }
             if (logger.isTraceEnabled()) log(discoveredSolution);
             memorizeIfBestEver(discoveredSolution);
             selectedStrategy(discoveredSolution, problem, solutions);
@@ -233,12 +256,39 @@ public class VehicleRoutingAlgorithm {
             iterationEnds(i + 1, problem, solutions);
         }
         logger.info("iterations end at {} iterations", noIterationsThisAlgoIsRunning);
+        stopRequested = false;
+        boolean threadInterrupted = Thread.interrupted();
         addBestEver(solutions);
         algorithmEnds(problem, solutions);
+        if (threadInterrupted) Thread.currentThread().interrupt();
         logger.info("took {} seconds", ((System.currentTimeMillis() - now) / 1000.0));
         return solutions;
     }
 
+    /**
+     * Requests the algorithm to stop. It then stops before the next iteration starts and returns the solutions found so far.
+     * The request is cleared when the iterations end. Thus a request that arrives while the algorithm is starting, i.e.
+     * before <code>searchSolutions()</code> has been entered or while the initial solution is constructed, is not lost,
+     * but stops the algorithm before its first iteration.
+     * <p>
+     * <p>To stop the algorithm within an iteration, additionally interrupt the thread that runs <code>searchSolutions()</code>.
+     * Insertion strategies check the interrupt flag before inserting the next job and abort, then the current iteration
+     * is discarded. The interrupt status is cleared while the algorithm ends listeners run and restored afterwards.
+     * See {@link AnytimeSearch} which does both.
+     * <p>
+     * <p>This method can be called from any thread.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Clears a stop request that has not been consumed by a run, e.g. because the run it was meant for never started.
+     */
+    void clearStopRequest() {
+        stopRequested = false;
+    }
+
     private void addBestEver(Collection<VehicleRoutingProblemSolution> solutions) {
         if (bestEver != null) solutions.add(bestEver);
     }
@@ -315,6 +365,21 @@ public class VehicleRoutingAlgorithm {
         algoListeners.algorithmStarts(problem, this, solutions);
     }
 
+    /**
+     * Sets the instrumentation that measures search strategies and their modules. The instrumentation is also
+     * registered as listener to reset its probes at algorithm start and to report at algorithm end.
+     * <p>
+     * <p>Note that state updates are only measured if the instrumentation is also set to the {@link com.graphhopper.jsprit.core.algorithm.state.StateManager}.
+     *
+     * @param instrumentation the instrumentation
+     */
+    public void setInstrumentation(Instrumentation instrumentation) {
+        for (SearchStrategy strategy : searchStrategyManager.getStrategies()) {
+            strategy.setInstrumentation(instrumentation);
+        }
+        if (instrumentation.isEnabled()) addListener(instrumentation);
+    }
+
     /**
      * Sets max number of iterations.
      *
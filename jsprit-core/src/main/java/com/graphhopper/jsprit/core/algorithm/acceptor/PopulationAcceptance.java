@@ -0,0 +1,65 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.acceptor;
+
+import com.graphhopper.jsprit.core.algorithm.population.SolutionPopulation;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+
+import java.util.Collection;
+
+
+/**
+ * Acceptor that memorizes solutions in a {@link SolutionPopulation} which can be shared by algorithms running in
+ * different threads.
+ * <p>
+ * <p>After each call, the solution memory of the algorithm mirrors the members of the population. If the population is
+ * empty, the solutions already in memory, e.g. the initial solution, are added first.
+ */
+public class PopulationAcceptance implements SolutionAcceptor {
+
+    private final SolutionPopulation population;
+
+    public PopulationAcceptance(SolutionPopulation population) {
+        this.population = population;
+    }
+
+    /**
+     * Accepts the new solution if the population keeps it, i.e. if it is neither a duplicate nor the member with the
+     * worst biased fitness.
+     * <p>
+     * <p>Note that this modifies Collection<VehicleRoutingProblemSolution> solutions.
+     */
+    @Override
+    public boolean acceptSolution(Collection<VehicleRoutingProblemSolution> solutions, VehicleRoutingProblemSolution newSolution) {
+        if (population.size() == 0) {
+            for (VehicleRoutingProblemSolution solution : solutions) {
+                population.add(solution);
+            }
+        }
+        boolean solutionAccepted = population.add(newSolution);
+        solutions.clear();
+        solutions.addAll(population.getSolutions());
+        return solutionAccepted;
+    }
+
+    @Override
+    public String toString() {
+        return "[name=PopulationAcceptance]";
+    }
+
+}
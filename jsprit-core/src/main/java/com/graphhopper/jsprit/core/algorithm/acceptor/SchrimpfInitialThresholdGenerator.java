@@ -22,15 +22,37 @@ import com.graphhopper.jsprit.core.algorithm.box.GreedySchrimpfFactory;
 import com.graphhopper.jsprit.core.algorithm.box.Jsprit;
 import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmStartsListener;
 import com.graphhopper.jsprit.core.algorithm.listener.IterationEndsListener;
+import com.graphhopper.jsprit.core.algorithm.ruin.JobNeighborhoodsCache;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
 import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.util.RandomNumberGeneration;
+import com.graphhopper.jsprit.core.util.RandomStreams;
 import com.graphhopper.jsprit.core.util.Solutions;
 import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
-
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Determines the initial threshold of {@link SchrimpfAcceptance} from the standard deviation of the solution costs
+ * observed during random walks.
+ * <p>
+ * <p>By default, all random walks are done one after another. With {@link #setNoThreads(int)} or
+ * {@link #setExecutorService(ExecutorService, int)} they are split into independent walks that run concurrently, each
+ * with its own algorithm and solution but with shared job neighborhoods. With {@link #setSampleSize(int)} each walk
+ * only ruins and recreates the given number of jobs per iteration instead of a share of all jobs, which makes
+ * iterations on large problems considerably cheaper.
+ */
 public class SchrimpfInitialThresholdGenerator implements AlgorithmStartsListener {
 
     private static Logger logger = LoggerFactory.getLogger(SchrimpfInitialThresholdGenerator.class.getName());
@@ -39,12 +61,57 @@ public class SchrimpfInitialThresholdGenerator implements AlgorithmStartsListene
 
     private int nOfRandomWalks;
 
+    private int noThreads = 1;
+
+    private int sampleSize = 0;
+
+    private ExecutorService executorService;
+
     public SchrimpfInitialThresholdGenerator(SchrimpfAcceptance schrimpfAcceptance, int nOfRandomWalks) {
         super();
         this.schrimpfAcceptance = schrimpfAcceptance;
         this.nOfRandomWalks = nOfRandomWalks;
     }
 
+    /**
+     * Sets the number of threads the random walks are distributed to.
+     *
+     * @param noThreads number of threads
+     * @throws IllegalArgumentException if noThreads is smaller than 1
+     */
+    public void setNoThreads(int noThreads) {
+        if (noThreads < 1) throw new IllegalArgumentException("number of threads must be at least 1");
+        this.noThreads = noThreads;
+    }
+
+    /**
+     * Lets the random walks run concurrently on executorService. It is not shut down by this generator. If only the
+     * number of threads is set, a thread pool is created with the first concurrent walks and reused afterwards.
+     * <p>
+     * <p>The thread that starts the algorithm waits for the walks, thus executorService must not be the executor this
+     * thread runs in, unless it has enough threads left.
+     *
+     * @param executorService the executor the random walks run on
+     * @param noThreads       number of threads the random walks are distributed to
+     * @throws IllegalArgumentException if noThreads is smaller than 1
+     */
+    public void setExecutorService(ExecutorService executorService, int noThreads) {
+        setNoThreads(noThreads);
+        this.executorService = executorService;
+    }
+
+    /**
+     * Sets the number of jobs that are ruined and recreated in each random walk iteration, i.e. both the radial and
+     * the random ruin remove sampleSize jobs (at most all jobs). By default, this is a share of all jobs.
+     *
+     * @param sampleSize number of jobs
+     * @throws IllegalArgumentException if sampleSize is smaller than 1
+     */
+    public void setSampleSize(int sampleSize) {
+        if (sampleSize < 1) throw new IllegalArgumentException("sample size must be at least 1");
+        this.sampleSize = sampleSize;
+    }
+
     @Override
     public void informAlgorithmStarts(VehicleRoutingProblem problem, VehicleRoutingAlgorithm algorithm, Collection<VehicleRoutingProblemSolution> solutions) {
         logger.info("prepare schrimpfAcceptanceFunction, i.e. determine initial threshold");
@@ -53,12 +120,93 @@ public class SchrimpfInitialThresholdGenerator implements AlgorithmStartsListene
 		/*
          * randomWalk to determine standardDev
 		 */
-        final double[] results = new double[nOfRandomWalks];
+        double[] results;
+        int noWalks = Math.min(noThreads, nOfRandomWalks);
+        if (noWalks <= 1) results = randomWalk(problem, nOfRandomWalks, null, null);
+        else results = randomWalksConcurrently(problem, noWalks);
+
+        StandardDeviation dev = new StandardDeviation();
+        double standardDeviation = dev.evaluate(results);
+        double initialThreshold = standardDeviation / 2;
+
+        schrimpfAcceptance.setInitialThreshold(initialThreshold);
+
+        logger.info("took {} seconds", ((System.currentTimeMillis() - now) / 1000.0));
+        logger.debug("initial threshold: {}", initialThreshold);
+        logger.info("---------------------------------------------------------------------");
+    }
+
+    private double[] randomWalksConcurrently(final VehicleRoutingProblem problem, int noWalks) {
+        RandomStreams randomStreams = new RandomStreams(RandomNumberGeneration.newInstance().nextLong());
+        //all walks solve the same problem, thus they share job neighborhoods instead of each building its own
+        final JobNeighborhoodsCache jobNeighborhoodsCache = new JobNeighborhoodsCache(problem);
+        ExecutorService executorService = getExecutorService();
+        List<Future<double[]>> futures = new ArrayList<Future<double[]>>(noWalks);
+        try {
+            for (int w = 0; w < noWalks; w++) {
+                final int noIterations = nOfRandomWalks / noWalks + (w < nOfRandomWalks % noWalks ? 1 : 0);
+                final Random random = randomStreams.newStream();
+                futures.add(executorService.submit(new Callable<double[]>() {
+
+                    @Override
+                    public double[] call() throws Exception {
+                        return randomWalk(problem, noIterations, random, jobNeighborhoodsCache);
+                    }
+
+                }));
+            }
+            double[] results = new double[nOfRandomWalks];
+            int offset = 0;
+            for (Future<double[]> future : futures) {
+                double[] walkResults = future.get();
+                System.arraycopy(walkResults, 0, results, offset, walkResults.length);
+                offset += walkResults.length;
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            for (Future<double[]> future : futures) future.cancel(true);
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(noThreads, new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "schrimpf-random-walk");
+                    //idle threads of the reused pool must not keep the jvm alive
+                    thread.setDaemon(true);
+                    return thread;
+                }
+
+            });
+        }
+        return executorService;
+    }
+
+    private double[] randomWalk(VehicleRoutingProblem problem, int noIterations, Random random, JobNeighborhoodsCache jobNeighborhoodsCache) {
+        final double[] results = new double[noIterations];
 
         Jsprit.Builder builder = new GreedySchrimpfFactory().createGreedyAlgorithmBuilder(problem);
         builder.setCustomAcceptor(new AcceptNewRemoveFirst(1));
+        if (random != null) builder.setRandom(random);
+        if (jobNeighborhoodsCache != null) builder.setJobNeighborhoodsCache(jobNeighborhoodsCache);
+        if (sampleSize > 0) {
+            int noJobs = Math.min(sampleSize, problem.getJobs().size());
+            String share = String.valueOf(Math.max(1, noJobs));
+            builder.setProperty(Jsprit.Parameter.RADIAL_MIN_SHARE, share);
+            builder.setProperty(Jsprit.Parameter.RADIAL_MAX_SHARE, share);
+            builder.setProperty(Jsprit.Parameter.RANDOM_BEST_MIN_SHARE, share);
+            builder.setProperty(Jsprit.Parameter.RANDOM_BEST_MAX_SHARE, share);
+        }
         VehicleRoutingAlgorithm vra = builder.buildAlgorithm();
-        vra.setMaxIterations(nOfRandomWalks);
+        vra.setMaxIterations(noIterations);
         vra.getAlgorithmListeners().addListener(new IterationEndsListener() {
 
             @Override
@@ -70,16 +218,7 @@ public class SchrimpfInitialThresholdGenerator implements AlgorithmStartsListene
 
         });
         vra.searchSolutions();
-
-        StandardDeviation dev = new StandardDeviation();
-        double standardDeviation = dev.evaluate(results);
-        double initialThreshold = standardDeviation / 2;
-
-        schrimpfAcceptance.setInitialThreshold(initialThreshold);
-
-        logger.info("took {} seconds", ((System.currentTimeMillis() - now) / 1000.0));
-        logger.debug("initial threshold: {}", initialThreshold);
-        logger.info("---------------------------------------------------------------------");
+        return results;
     }
 
 }
@@ -20,19 +20,24 @@ package com.graphhopper.jsprit.core.algorithm.box;
 
 import com.graphhopper.jsprit.core.algorithm.listener.IterationStartsListener;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
-import com.graphhopper.jsprit.core.problem.constraint.SoftActivityConstraint;
+import com.graphhopper.jsprit.core.problem.constraint.BoundedSoftActivityConstraint;
 import com.graphhopper.jsprit.core.problem.misc.JobInsertionContext;
 import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
 import com.graphhopper.jsprit.core.util.RandomNumberGeneration;
+import com.graphhopper.jsprit.core.util.SplitMixRandom;
 
 import java.util.Collection;
 import java.util.Random;
 
 /**
  * Created by schroeder on 16/01/15.
+ * <p>
+ * <p>Noise is drawn per iteration from a seed of the main random number generator and is otherwise keyed by the
+ * insertion position. Thus, it does neither depend on which thread evaluates an insertion nor on the order of
+ * evaluation, and concurrent runs can be reproduced exactly.
  */
-class ConcurrentInsertionNoiseMaker implements SoftActivityConstraint, IterationStartsListener {
+class ConcurrentInsertionNoiseMaker implements BoundedSoftActivityConstraint, IterationStartsListener {
 
     private final double noiseProbability;
 
@@ -42,7 +47,7 @@ class ConcurrentInsertionNoiseMaker implements SoftActivityConstraint, Iteration
 
     private Random random = RandomNumberGeneration.newInstance();
 
-    private Random[] randomArray;
+    private long iterationSeed;
 
     private double maxCosts;
 
@@ -50,12 +55,6 @@ class ConcurrentInsertionNoiseMaker implements SoftActivityConstraint, Iteration
         this.noiseLevel = noiseLevel;
         this.noiseProbability = noiseProbability;
         this.maxCosts = maxCosts;
-        randomArray = new Random[vrp.getNuActivities() + 2];
-        for (int i = 0; i < randomArray.length; i++) {
-            Random r = new Random();
-            r.setSeed(random.nextLong());
-            randomArray[i] = r;
-        }
     }
 
     @Override
@@ -63,16 +62,26 @@ class ConcurrentInsertionNoiseMaker implements SoftActivityConstraint, Iteration
         if (random.nextDouble() < noiseProbability) {
             makeNoise = true;
         } else makeNoise = false;
+        iterationSeed = random.nextLong();
     }
 
     @Override
     public double getCosts(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime) {
         if (makeNoise) {
-            return noiseLevel * maxCosts * randomArray[newAct.getIndex()].nextDouble();
+            long key = SplitMixRandom.mix64(newAct.getIndex());
+            key = SplitMixRandom.mix64(key + prevAct.getIndex());
+            key = SplitMixRandom.mix64(key + nextAct.getIndex());
+            key = key + iFacts.getNewVehicle().getIndex();
+            return noiseLevel * maxCosts * SplitMixRandom.nextDouble(iterationSeed, key);
         }
         return 0;
     }
 
+    @Override
+    public double getLowerBound(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime) {
+        return 0;
+    }
+
     public void setRandom(Random random) {
         this.random = random;
     }
@@ -23,8 +23,12 @@ import com.graphhopper.jsprit.core.algorithm.SearchStrategy;
 import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
 import com.graphhopper.jsprit.core.algorithm.acceptor.SchrimpfAcceptance;
 import com.graphhopper.jsprit.core.algorithm.acceptor.SolutionAcceptor;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Instrumentation;
 import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmEndsListener;
 import com.graphhopper.jsprit.core.algorithm.listener.IterationStartsListener;
+import com.graphhopper.jsprit.core.algorithm.metrics.AlgorithmMetrics;
+import com.graphhopper.jsprit.core.algorithm.metrics.Counter;
+import com.graphhopper.jsprit.core.algorithm.metrics.MetricsRegistry;
 import com.graphhopper.jsprit.core.algorithm.module.RuinAndRecreateModule;
 import com.graphhopper.jsprit.core.algorithm.recreate.*;
 import com.graphhopper.jsprit.core.algorithm.ruin.*;
@@ -32,7 +36,7 @@ import com.graphhopper.jsprit.core.algorithm.ruin.distance.AvgServiceAndShipment
 import com.graphhopper.jsprit.core.algorithm.selector.SelectBest;
 import com.graphhopper.jsprit.core.algorithm.state.StateManager;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
-import com.graphhopper.jsprit.core.problem.constraint.ConstraintManager;
+import com.graphhopper.jsprit.core.problem.constraint.*;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.solution.SolutionCostCalculator;
 import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
@@ -44,6 +48,7 @@ import com.graphhopper.jsprit.core.problem.vehicle.InfiniteFleetManagerFactory;
 import com.graphhopper.jsprit.core.problem.vehicle.VehicleFleetManager;
 import com.graphhopper.jsprit.core.util.NoiseMaker;
 import com.graphhopper.jsprit.core.util.RandomNumberGeneration;
+import com.graphhopper.jsprit.core.util.RandomStreams;
 import com.graphhopper.jsprit.core.util.Solutions;
 
 import java.util.Collection;
@@ -117,9 +122,13 @@ public class Jsprit {
         RUIN_WORST_NOISE_LEVEL("worst.noise_level"),
         RUIN_WORST_NOISE_PROB("worst.noise_prob"),
         FAST_REGRET("regret.fast"),
+        REGRET_BATCH_SIZE("regret.batch_size"),
+        ADAPTIVE_CONSTRAINT_ORDERING("constraints.adaptive_ordering"),
         MAX_TRANSPORT_COSTS("max_transport_costs"),
         CONSTRUCTION("construction"),
-        BREAK_SCHEDULING("break_scheduling");
+        BREAK_SCHEDULING("break_scheduling"),
+        INSERTION_LOWER_BOUND("insertion.lower_bound"),
+        SPATIAL_NEIGHBORHOODS("neighborhoods.spatial");
 
         String paraName;
 
@@ -163,6 +172,12 @@ public class Jsprit {
 
         private ScoringFunction regretScorer = null;
 
+        private Instrumentation instrumentation = Instrumentation.disabled();
+
+        private MetricsRegistry metricsRegistry = null;
+
+        private JobNeighborhoodsCache jobNeighborhoodsCache = null;
+
         public static Builder newInstance(VehicleRoutingProblem vrp) {
             return new Builder(vrp);
         }
@@ -210,7 +225,11 @@ public class Jsprit {
             defaults.put(Parameter.RUIN_WORST_NOISE_PROB.toString(), String.valueOf(0.2));
             defaults.put(Parameter.VEHICLE_SWITCH.toString(), String.valueOf(true));
             defaults.put(Parameter.FAST_REGRET.toString(), String.valueOf(false));
+            defaults.put(Parameter.REGRET_BATCH_SIZE.toString(), String.valueOf(1));
+            defaults.put(Parameter.ADAPTIVE_CONSTRAINT_ORDERING.toString(), String.valueOf(false));
             defaults.put(Parameter.BREAK_SCHEDULING.toString(), String.valueOf(true));
+            defaults.put(Parameter.INSERTION_LOWER_BOUND.toString(), String.valueOf(false));
+            defaults.put(Parameter.SPATIAL_NEIGHBORHOODS.toString(), String.valueOf(false));
             defaults.put(Parameter.CONSTRUCTION.toString(), Construction.REGRET_INSERTION.toString());
             return defaults;
         }
@@ -232,6 +251,22 @@ public class Jsprit {
             return this;
         }
 
+        /**
+         * Sets the streams the random number generator of the algorithm is taken from.
+         * <p>
+         * <p>The algorithm gets its own stream (see {@link RandomStreams#newStream()}) and passes it to all its
+         * strategies. Thus, algorithms do not share a generator, and algorithms built from streams with the same master
+         * seed produce the same results, also with more than one thread. It replaces a generator set with
+         * {@link #setRandom(Random)}.
+         *
+         * @param randomStreams streams to take the generator of the algorithm from
+         * @return this builder
+         */
+        public Builder setRandomStreams(RandomStreams randomStreams) {
+            this.random = randomStreams.newStream();
+            return this;
+        }
+
         public Builder setProperty(String key, String value) {
             properties.put(key, value);
             return this;
@@ -273,6 +308,46 @@ public class Jsprit {
             return this;
         }
 
+        /**
+         * Sets the instrumentation that measures wall time, cpu time and allocated bytes per search strategy,
+         * ruin, insertion and state update. Its report is logged when the algorithm ends.
+         *
+         * @param instrumentation the instrumentation
+         * @return this builder
+         */
+        public Builder setInstrumentation(Instrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
+        /**
+         * Sets the registry that is fed with live metrics of the algorithm, e.g. iterations per second, best cost and
+         * queue depth of the insertion executor.
+         *
+         * @param metricsRegistry the metrics registry
+         * @return this builder
+         * @see AlgorithmMetrics
+         */
+        public Builder setMetricsRegistry(MetricsRegistry metricsRegistry) {
+            this.metricsRegistry = metricsRegistry;
+            return this;
+        }
+
+        /**
+         * Sets a cache of job neighborhoods that is shared by all algorithms built for the same problem, e.g. when
+         * solving the problem with several seeds in parallel. Neighborhoods are then computed only once. They are
+         * built by the cache's factory, i.e. Parameter.SPATIAL_NEIGHBORHOODS does not apply to them.
+         *
+         * @param jobNeighborhoodsCache the cache, it must have been created for the problem of this builder
+         * @return this builder
+         */
+        public Builder setJobNeighborhoodsCache(JobNeighborhoodsCache jobNeighborhoodsCache) {
+            if (jobNeighborhoodsCache.getVehicleRoutingProblem() != vrp)
+                throw new IllegalArgumentException("job neighborhoods cache has been created for another problem");
+            this.jobNeighborhoodsCache = jobNeighborhoodsCache;
+            return this;
+        }
+
         public VehicleRoutingAlgorithm buildAlgorithm() {
             return new Jsprit(this).create(vrp);
         }
@@ -337,6 +412,12 @@ public class Jsprit {
 
     private ScoringFunction regretScorer;
 
+    private Instrumentation instrumentation;
+
+    private MetricsRegistry metricsRegistry;
+
+    private JobNeighborhoodsCache jobNeighborhoodsCache;
+
     private Jsprit(Builder builder) {
         this.stateManager = builder.stateManager;
         this.constraintManager = builder.constraintManager;
@@ -349,6 +430,9 @@ public class Jsprit {
         this.activityInsertion = builder.activityInsertionCalculator;
         this.acceptor = builder.solutionAcceptor;
         regretScorer = builder.regretScorer;
+        instrumentation = builder.instrumentation;
+        metricsRegistry = builder.metricsRegistry;
+        jobNeighborhoodsCache = builder.jobNeighborhoodsCache;
     }
 
     private void ini(VehicleRoutingProblem vrp) {
@@ -372,6 +456,9 @@ public class Jsprit {
         if (constraintManager == null) {
             constraintManager = new ConstraintManager(vrp, stateManager);
         }
+        if (toBoolean(getProperty(Parameter.ADAPTIVE_CONSTRAINT_ORDERING.toString()))) {
+            constraintManager.setAdaptiveOrdering(true);
+        }
 
         if (noThreads == null) {
             noThreads = toInteger(getProperty(Parameter.THREADS.toString()));
@@ -394,8 +481,17 @@ public class Jsprit {
         double noiseLevel = toDouble(getProperty(Parameter.INSERTION_NOISE_LEVEL.toString()));
         double noiseProbability = toDouble(getProperty(Parameter.INSERTION_NOISE_PROB.toString()));
 
-        JobNeighborhoods jobNeighborhoods = new JobNeighborhoodsFactory().createNeighborhoods(vrp, new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), (int) (vrp.getJobs().values().size() * 0.5));
-        jobNeighborhoods.initialise();
+        JobNeighborhoods jobNeighborhoods;
+        AvgServiceAndShipmentDistance jobDistance = new AvgServiceAndShipmentDistance(vrp.getTransportCosts());
+        int neighborhoodCapacity = (int) (vrp.getJobs().values().size() * 0.5);
+        if (jobNeighborhoodsCache != null) {
+            jobNeighborhoods = jobNeighborhoodsCache.getNeighborhoods(jobDistance, neighborhoodCapacity);
+        } else {
+            JobNeighborhoodsFactory jobNeighborhoodsFactory = new JobNeighborhoodsFactory();
+            jobNeighborhoodsFactory.setUseSpatialIndex(toBoolean(getProperty(Parameter.SPATIAL_NEIGHBORHOODS.toString())));
+            jobNeighborhoods = jobNeighborhoodsFactory.createNeighborhoods(vrp, jobDistance, neighborhoodCapacity);
+            jobNeighborhoods.initialise();
+        }
 
         final double maxCosts;
         if(properties.containsKey(Parameter.MAX_TRANSPORT_COSTS.toString())){
@@ -472,6 +568,18 @@ public class Jsprit {
                 random)
         );
 
+        AlgorithmMetrics algorithmMetrics = null;
+        Counter insertionCallCounter = null;
+        if (metricsRegistry != null) {
+            algorithmMetrics = new AlgorithmMetrics(metricsRegistry);
+            insertionCallCounter = algorithmMetrics.getInsertionCalls();
+        }
+
+        InsertionCostsLowerBound insertionCostsLowerBound = null;
+        if (toBoolean(getProperty(Parameter.INSERTION_LOWER_BOUND.toString()))) {
+            insertionCostsLowerBound = new DefaultInsertionCostsLowerBound(vrp.getTransportCosts(), stateManager);
+        }
+
         AbstractInsertionStrategy regret;
         final ScoringFunction scorer;
 
@@ -485,10 +593,14 @@ public class Jsprit {
                     .considerFixedCosts(toDouble(getProperty(Parameter.FIXED_COST_PARAM.toString())))
                     .setAllowVehicleSwitch(toBoolean(getProperty(Parameter.VEHICLE_SWITCH.toString())))
                     .setActivityInsertionCostCalculator(activityInsertion)
+                    .setInsertionCallCounter(insertionCallCounter)
+                    .setInsertionCostsLowerBound(insertionCostsLowerBound)
                     .build();
                 scorer = regretScorer;
                 regretInsertion.setScoringFunction(scorer);
                 regretInsertion.setDependencyTypes(constraintManager.getDependencyTypes());
+                regretInsertion.setBatchSize(toInteger(getProperty(Parameter.REGRET_BATCH_SIZE.toString())));
+                regretInsertion.setReuseEmptyRouteInsertions(onlyRouteDependentConstraints(constraintManager));
                 regret = regretInsertion;
             }
             else {
@@ -498,9 +610,13 @@ public class Jsprit {
                     .considerFixedCosts(toDouble(getProperty(Parameter.FIXED_COST_PARAM.toString())))
                     .setAllowVehicleSwitch(toBoolean(getProperty(Parameter.VEHICLE_SWITCH.toString())))
                     .setActivityInsertionCostCalculator(activityInsertion)
+                    .setInsertionCallCounter(insertionCallCounter)
+                    .setInsertionCostsLowerBound(insertionCostsLowerBound)
                     .build();
                 scorer = regretScorer;
                 regretInsertion.setScoringFunction(scorer);
+                regretInsertion.setDependencyTypes(constraintManager.getDependencyTypes());
+                regretInsertion.setBatchSize(toInteger(getProperty(Parameter.REGRET_BATCH_SIZE.toString())));
                 regret = regretInsertion;
             }
         } else {
@@ -511,10 +627,14 @@ public class Jsprit {
                     .setAllowVehicleSwitch(toBoolean(getProperty(Parameter.VEHICLE_SWITCH.toString())))
                     .considerFixedCosts(toDouble(getProperty(Parameter.FIXED_COST_PARAM.toString())))
                     .setActivityInsertionCostCalculator(activityInsertion)
+                    .setInsertionCallCounter(insertionCallCounter)
+                    .setInsertionCostsLowerBound(insertionCostsLowerBound)
                     .build();
                 scorer = regretScorer;
                 regretInsertion.setScoringFunction(scorer);
                 regretInsertion.setDependencyTypes(constraintManager.getDependencyTypes());
+                regretInsertion.setBatchSize(toInteger(getProperty(Parameter.REGRET_BATCH_SIZE.toString())));
+                regretInsertion.setReuseEmptyRouteInsertions(onlyRouteDependentConstraints(constraintManager));
                 regret = regretInsertion;
             }
             else{
@@ -523,9 +643,13 @@ public class Jsprit {
                     .setAllowVehicleSwitch(toBoolean(getProperty(Parameter.VEHICLE_SWITCH.toString())))
                     .considerFixedCosts(toDouble(getProperty(Parameter.FIXED_COST_PARAM.toString())))
                     .setActivityInsertionCostCalculator(activityInsertion)
+                    .setInsertionCallCounter(insertionCallCounter)
+                    .setInsertionCostsLowerBound(insertionCostsLowerBound)
                     .build();
                 scorer = regretScorer;
                 regretInsertion.setScoringFunction(scorer);
+                regretInsertion.setDependencyTypes(constraintManager.getDependencyTypes());
+                regretInsertion.setBatchSize(toInteger(getProperty(Parameter.REGRET_BATCH_SIZE.toString())));
                 regret = regretInsertion;
             }
         }
@@ -538,6 +662,8 @@ public class Jsprit {
                 .considerFixedCosts(Double.valueOf(properties.getProperty(Parameter.FIXED_COST_PARAM.toString())))
                 .setAllowVehicleSwitch(toBoolean(getProperty(Parameter.VEHICLE_SWITCH.toString())))
                 .setActivityInsertionCostCalculator(activityInsertion)
+                .setInsertionCallCounter(insertionCallCounter)
+                .setInsertionCostsLowerBound(insertionCostsLowerBound)
                 .build();
             best = bestInsertion;
         } else {
@@ -547,6 +673,8 @@ public class Jsprit {
                 .setAllowVehicleSwitch(toBoolean(getProperty(Parameter.VEHICLE_SWITCH.toString())))
                 .setConcurrentMode(es, noThreads)
                 .setActivityInsertionCostCalculator(activityInsertion)
+                .setInsertionCallCounter(insertionCallCounter)
+                .setInsertionCostsLowerBound(insertionCostsLowerBound)
                 .build();
             best = bestInsertion;
         }
@@ -626,6 +754,12 @@ public class Jsprit {
         if(toBoolean(getProperty(Parameter.BREAK_SCHEDULING.toString()))) {
             vra.addListener(new BreakScheduling(vrp, stateManager, constraintManager));
         }
+        stateManager.setInstrumentation(instrumentation);
+        vra.setInstrumentation(instrumentation);
+        if (algorithmMetrics != null) {
+            if (es != null) algorithmMetrics.registerExecutor("insertion_executor", es);
+            vra.addListener(algorithmMetrics);
+        }
         handleExecutorShutdown(vra);
         vra.setMaxIterations(Integer.valueOf(properties.getProperty(Parameter.ITERATIONS.toString())));
 
@@ -633,6 +767,23 @@ public class Jsprit {
 
     }
 
+    /*
+     * true if all constraints are built-in ones that only depend on the route they are evaluated for. insertion noise
+     * is drawn at random anyway, thus it does not matter whether it is drawn once or per scoring round.
+     */
+    static boolean onlyRouteDependentConstraints(ConstraintManager constraintManager) {
+        for (Constraint c : constraintManager.getConstraints()) {
+            Class<?> type = c.getClass();
+            if (type != VehicleDependentTimeWindowConstraints.class && type != PickupAndDeliverShipmentLoadActivityLevelConstraint.class
+                && type != ServiceLoadRouteLevelConstraint.class && type != ServiceLoadActivityLevelConstraint.class
+                && type != HardSkillConstraint.class && type != SwitchNotFeasible.class && type != MaxDistanceConstraint.class
+                && type != InsertionNoiseMaker.class && type != ConcurrentInsertionNoiseMaker.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private DefaultScorer getRegretScorer(VehicleRoutingProblem vrp) {
         DefaultScorer scorer = new DefaultScorer(vrp);
         scorer.setTimeWindowParam(Double.valueOf(properties.getProperty(Parameter.REGRET_TIME_WINDOW_SCORER.toString())));
@@ -0,0 +1,137 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non-negative long values with power-of-two buckets.
+ * <p>
+ * <p>Recording a value is lock-free and does not allocate, thus it can be used on hot paths and from several
+ * threads at the same time. Quantiles are estimated from the bucket boundaries, i.e. they are accurate up to a factor of two.
+ */
+public class Histogram {
+
+    private static final int NO_BUCKETS = 65;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NO_BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    static int bucketIndex(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    static long upperBound(int bucketIndex) {
+        if (bucketIndex == 0) return 0;
+        if (bucketIndex >= 63) return Long.MAX_VALUE;
+        return (1L << bucketIndex) - 1;
+    }
+
+    /**
+     * Records the specified value. Negative values are treated as 0.
+     *
+     * @param value the value to be recorded
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMin = min.get();
+        while (value < currentMin && !min.compareAndSet(currentMin, value)) {
+            currentMin = min.get();
+        }
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    public long getMin() {
+        if (count.get() == 0) return 0;
+        return min.get();
+    }
+
+    public long getMax() {
+        if (count.get() == 0) return 0;
+        return max.get();
+    }
+
+    public double getMean() {
+        long c = count.get();
+        if (c == 0) return 0.;
+        return (double) sum.get() / (double) c;
+    }
+
+    /**
+     * Returns an estimate of the specified quantile, i.e. the upper bound of the bucket the quantile falls into
+     * (but never more than the maximum recorded value).
+     *
+     * @param quantile the quantile, e.g. 0.5 for the median or 0.99
+     * @return estimated value of the quantile, 0 if nothing has been recorded yet
+     * @throws java.lang.IllegalArgumentException if quantile is not in [0,1]
+     */
+    public long getQuantile(double quantile) {
+        if (quantile < 0. || quantile > 1.) throw new IllegalArgumentException("quantile must be in [0,1]");
+        long c = count.get();
+        if (c == 0) return 0;
+        long rank = (long) Math.ceil(quantile * c);
+        if (rank < 1) rank = 1;
+        long cumulated = 0;
+        for (int i = 0; i < NO_BUCKETS; i++) {
+            cumulated += buckets.get(i);
+            if (cumulated >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < NO_BUCKETS; i++) buckets.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "[count=" + getCount() + "][mean=" + getMean() + "][p50=" + getQuantile(0.5) + "][p99=" + getQuantile(0.99) + "][max=" + getMax() + "]";
+    }
+
+}
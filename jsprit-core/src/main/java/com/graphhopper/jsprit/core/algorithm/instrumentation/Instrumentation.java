@@ -0,0 +1,269 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.instrumentation;
+
+import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
+import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmEndsListener;
+import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmStartsListener;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records wall time, cpu time and allocated bytes of search strategies, ruin strategies, insertion strategies and
+ * state updates.
+ * <p>
+ * <p>Components obtain a {@link Probe} once (when being configured) and call <code>start()</code> and
+ * <code>stop()</code> around the section to be measured. Probes of the disabled instrumentation return immediately,
+ * thus instrumented components cost a boolean check per section if instrumentation is switched off.
+ * <p>
+ * <p>If registered as algorithm listener, probes are reset when the algorithm starts and a report is logged
+ * (or written to the specified report target) when the algorithm ends.
+ */
+public class Instrumentation implements AlgorithmStartsListener, AlgorithmEndsListener {
+
+    public static class Builder {
+
+        private boolean measureCpuTime = true;
+
+        private boolean measureAllocation = true;
+
+        private Appendable reportTarget;
+
+        public static Builder newInstance() {
+            return new Builder();
+        }
+
+        private Builder() {
+        }
+
+        public Builder setMeasureCpuTime(boolean measureCpuTime) {
+            this.measureCpuTime = measureCpuTime;
+            return this;
+        }
+
+        public Builder setMeasureAllocation(boolean measureAllocation) {
+            this.measureAllocation = measureAllocation;
+            return this;
+        }
+
+        /**
+         * Sets the target the report is written to when the algorithm ends. If not set, the report is logged.
+         *
+         * @param reportTarget the target, e.g. a Writer or StringBuilder
+         * @return this builder
+         */
+        public Builder setReportTarget(Appendable reportTarget) {
+            this.reportTarget = reportTarget;
+            return this;
+        }
+
+        public Instrumentation build() {
+            return new Instrumentation(this);
+        }
+    }
+
+    private final static Logger logger = LoggerFactory.getLogger(Instrumentation.class);
+
+    private static final Instrumentation DISABLED = new Instrumentation();
+
+    /**
+     * Returns the disabled instrumentation. Its probes do not measure anything.
+     *
+     * @return disabled instrumentation
+     */
+    public static Instrumentation disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns a new enabled instrumentation measuring wall time, cpu time and allocated bytes (if supported by the jvm).
+     *
+     * @return enabled instrumentation
+     */
+    public static Instrumentation newInstance() {
+        return Builder.newInstance().build();
+    }
+
+    private final boolean enabled;
+
+    private final ConcurrentMap<String, Probe> probes = new ConcurrentHashMap<String, Probe>();
+
+    private final ThreadMXBean threadMXBean;
+
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+
+    private final boolean cpuTimeSupported;
+
+    private final boolean allocationSupported;
+
+    private final Appendable reportTarget;
+
+    private Instrumentation() {
+        this.enabled = false;
+        this.threadMXBean = null;
+        this.allocationMXBean = null;
+        this.cpuTimeSupported = false;
+        this.allocationSupported = false;
+        this.reportTarget = null;
+    }
+
+    private Instrumentation(Builder builder) {
+        this.enabled = true;
+        this.reportTarget = builder.reportTarget;
+        this.threadMXBean = ManagementFactory.getThreadMXBean();
+        this.cpuTimeSupported = builder.measureCpuTime && threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        if (builder.measureAllocation && threadMXBean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+            && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled()) {
+            this.allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            this.allocationSupported = true;
+        } else {
+            this.allocationMXBean = null;
+            this.allocationSupported = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isCpuTimeSupported() {
+        return cpuTimeSupported;
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    long currentThreadCpuTime() {
+        if (!cpuTimeSupported) return 0;
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    long currentThreadAllocatedBytes() {
+        if (!allocationSupported) return 0;
+        return allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the probe with the specified name. If it does not exist yet, it is created. If this instrumentation
+     * is disabled, a probe is returned that does nothing.
+     *
+     * @param name the name of the probe, e.g. "ruin.RuinRadial"
+     * @return the probe
+     */
+    public Probe getProbe(String name) {
+        if (!enabled) return Probe.DISABLED;
+        Probe probe = probes.get(name);
+        if (probe == null) {
+            Probe newProbe = new Probe(name, this);
+            probe = probes.putIfAbsent(name, newProbe);
+            if (probe == null) probe = newProbe;
+        }
+        return probe;
+    }
+
+    /**
+     * Returns all probes sorted by name.
+     *
+     * @return probes sorted by name
+     */
+    public List<Probe> getProbes() {
+        List<Probe> list = new ArrayList<Probe>(probes.values());
+        Collections.sort(list, new Comparator<Probe>() {
+            @Override
+            public int compare(Probe o1, Probe o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Resets all probes.
+     */
+    public void reset() {
+        for (Probe probe : probes.values()) probe.reset();
+    }
+
+    /**
+     * Writes a report with one line per probe to the specified target. Times are given in milliseconds.
+     *
+     * @param target the target the report is written to
+     * @throws IOException if target throws IOException
+     */
+    public void writeReport(Appendable target) throws IOException {
+        target.append(String.format(Locale.US, "%-40s %10s %12s %10s %10s %10s %12s %14s%n", "probe", "count", "wall_ms", "mean_ms",
+            "p99_ms", "max_ms", "cpu_ms", "alloc_mb"));
+        for (Probe probe : getProbes()) {
+            Histogram wall = probe.getWallTime();
+            target.append(String.format(Locale.US, "%-40s %10d %12.1f %10.3f %10.3f %10.3f %12.1f %14.1f%n", probe.getName(), wall.getCount(),
+                toMillis(wall.getSum()), toMillis(wall.getMean()), toMillis(wall.getQuantile(0.99)), toMillis(wall.getMax()),
+                toMillis(probe.getCpuTime().getSum()), probe.getAllocatedBytes().getSum() / (1024. * 1024.)));
+        }
+    }
+
+    /**
+     * Returns the report as string.
+     *
+     * @return the report
+     * @see #writeReport(Appendable)
+     */
+    public String getReport() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeReport(builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1.0e6;
+    }
+
+    @Override
+    public void informAlgorithmStarts(VehicleRoutingProblem problem, VehicleRoutingAlgorithm algorithm, Collection<VehicleRoutingProblemSolution> solutions) {
+        reset();
+    }
+
+    @Override
+    public void informAlgorithmEnds(VehicleRoutingProblem problem, Collection<VehicleRoutingProblemSolution> solutions) {
+        if (!enabled) return;
+        if (reportTarget == null) {
+            logger.info("instrumentation report\n{}", getReport());
+        } else {
+            try {
+                writeReport(reportTarget);
+            } catch (IOException e) {
+                logger.warn("cannot write instrumentation report", e);
+            }
+        }
+    }
+
+}
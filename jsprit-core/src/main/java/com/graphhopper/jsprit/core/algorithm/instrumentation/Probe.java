@@ -0,0 +1,128 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.instrumentation;
+
+/**
+ * Measures wall time, cpu time and allocated bytes of a code section, e.g. of a ruin strategy or a state update.
+ * <p>
+ * <p>Call <code>start()</code> before and <code>stop()</code> after the section. Measurements are thread-confined,
+ * i.e. a probe can be shared by several threads as long as each thread stops what it has started. A probe
+ * obtained from a disabled {@link Instrumentation} does nothing.
+ */
+public class Probe {
+
+    static final Probe DISABLED = new Probe("disabled", null);
+
+    private final String name;
+
+    private final Instrumentation instrumentation;
+
+    private final boolean enabled;
+
+    private final Histogram wallTime = new Histogram();
+
+    private final Histogram cpuTime = new Histogram();
+
+    private final Histogram allocatedBytes = new Histogram();
+
+    private final ThreadLocal<long[]> startValues = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[3];
+        }
+    };
+
+    Probe(String name, Instrumentation instrumentation) {
+        this.name = name;
+        this.instrumentation = instrumentation;
+        this.enabled = instrumentation != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts measuring in the current thread.
+     */
+    public void start() {
+        if (!enabled) return;
+        long[] values = startValues.get();
+        values[1] = instrumentation.currentThreadCpuTime();
+        values[2] = instrumentation.currentThreadAllocatedBytes();
+        values[0] = System.nanoTime();
+    }
+
+    /**
+     * Stops measuring in the current thread and records the measured values.
+     */
+    public void stop() {
+        if (!enabled) return;
+        long wall = System.nanoTime();
+        long[] values = startValues.get();
+        wallTime.record(wall - values[0]);
+        if (instrumentation.isCpuTimeSupported()) {
+            cpuTime.record(instrumentation.currentThreadCpuTime() - values[1]);
+        }
+        if (instrumentation.isAllocationSupported()) {
+            allocatedBytes.record(instrumentation.currentThreadAllocatedBytes() - values[2]);
+        }
+    }
+
+    /**
+     * Returns histogram of wall times in nanoseconds.
+     *
+     * @return wall time histogram
+     */
+    public Histogram getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * Returns histogram of cpu times in nanoseconds. It is empty if the jvm does not support thread cpu time measurement.
+     *
+     * @return cpu time histogram
+     */
+    public Histogram getCpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * Returns histogram of allocated bytes. It is empty if the jvm does not support thread allocation measurement.
+     *
+     * @return allocated bytes histogram
+     */
+    public Histogram getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    void reset() {
+        wallTime.reset();
+        cpuTime.reset();
+        allocatedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "[name=" + name + "][wallTime=" + wallTime + "]";
+    }
+}
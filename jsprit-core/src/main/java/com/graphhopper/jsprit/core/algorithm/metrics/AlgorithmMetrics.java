@@ -0,0 +1,259 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.metrics;
+
+import com.graphhopper.jsprit.core.algorithm.SearchStrategy;
+import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
+import com.graphhopper.jsprit.core.algorithm.listener.*;
+import com.graphhopper.jsprit.core.algorithm.recreate.listener.InsertionStartsListener;
+import com.graphhopper.jsprit.core.algorithm.recreate.listener.JobInsertedListener;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.util.Solutions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Feeds a {@link MetricsRegistry} with live metrics of a running algorithm, i.e. iterations per second, current best cost,
+ * acceptance rate, number of unassigned jobs of the best solution, insertion calls per second and inserted jobs per
+ * second.
+ * <p>
+ * <p>Register it with <code>vra.addListener(algorithmMetrics)</code> after all search strategies have been added, such
+ * that it is also registered at the insertion strategies. Insertion calls, i.e. calls of the job insertion costs
+ * calculators, are only counted if {@link #getInsertionCalls()} is passed to the insertion strategies when they are built
+ * (see {@link com.graphhopper.jsprit.core.algorithm.recreate.InsertionBuilder#setInsertionCallCounter(Counter)}).
+ * Rates are averaged over the time elapsed since algorithm start.
+ * Metrics can be read at any time from any thread.
+ */
+public class AlgorithmMetrics implements AlgorithmStartsListener, IterationEndsListener, AlgorithmEndsListener, StrategySelectedListener,
+    SearchStrategyModuleListener, InsertionStartsListener, JobInsertedListener {
+
+    private final static Logger logger = LoggerFactory.getLogger(AlgorithmMetrics.class);
+
+    public static final String PREFIX = "jsprit_";
+
+    private final MetricsRegistry registry;
+
+    private final Counter iterations;
+
+    private final Counter acceptedSolutions;
+
+    private final Counter insertionRuns;
+
+    private final Counter insertionCalls;
+
+    private final Counter insertedJobs;
+
+    private volatile long startTime;
+
+    private volatile double bestCost = Double.NaN;
+
+    private volatile int unassignedJobsOfBest = -1;
+
+    private File expositionFile;
+
+    private long expositionIntervalInMillis;
+
+    private long lastExposition;
+
+    private final TextExpositionWriter expositionWriter = new TextExpositionWriter();
+
+    public AlgorithmMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+        iterations = registry.counter(PREFIX + "iterations_total");
+        acceptedSolutions = registry.counter(PREFIX + "accepted_solutions_total");
+        insertionRuns = registry.counter(PREFIX + "insertion_runs_total");
+        insertionCalls = registry.counter(PREFIX + "insertion_calls_total");
+        insertedJobs = registry.counter(PREFIX + "inserted_jobs_total");
+        registry.gauge(PREFIX + "elapsed_seconds", new Gauge() {
+            @Override
+            public double getValue() {
+                return elapsedSeconds();
+            }
+        });
+        registry.gauge(PREFIX + "iterations_per_second", new Gauge() {
+            @Override
+            public double getValue() {
+                return perSecond(iterations.get());
+            }
+        });
+        registry.gauge(PREFIX + "insertion_calls_per_second", new Gauge() {
+            @Override
+            public double getValue() {
+                return perSecond(insertionCalls.get());
+            }
+        });
+        registry.gauge(PREFIX + "inserted_jobs_per_second", new Gauge() {
+            @Override
+            public double getValue() {
+                return perSecond(insertedJobs.get());
+            }
+        });
+        registry.gauge(PREFIX + "acceptance_rate", new Gauge() {
+            @Override
+            public double getValue() {
+                long i = iterations.get();
+                if (i == 0) return 0.;
+                return (double) acceptedSolutions.get() / (double) i;
+            }
+        });
+        registry.gauge(PREFIX + "best_cost", new Gauge() {
+            @Override
+            public double getValue() {
+                return bestCost;
+            }
+        });
+        registry.gauge(PREFIX + "unassigned_jobs", new Gauge() {
+            @Override
+            public double getValue() {
+                return unassignedJobsOfBest;
+            }
+        });
+    }
+
+    /**
+     * Registers gauges for queue depth and active threads of the specified executor, e.g. the executor of concurrent
+     * insertion strategies. Only executors of type {@link ThreadPoolExecutor} expose these values, others are ignored.
+     *
+     * @param name     the name of the executor used in the metric names
+     * @param executor the executor
+     */
+    public void registerExecutor(String name, ExecutorService executor) {
+        if (!(executor instanceof ThreadPoolExecutor)) return;
+        final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executor;
+        registry.gauge(PREFIX + name + "_queue_depth", new Gauge() {
+            @Override
+            public double getValue() {
+                return threadPoolExecutor.getQueue().size();
+            }
+        });
+        registry.gauge(PREFIX + name + "_active_threads", new Gauge() {
+            @Override
+            public double getValue() {
+                return threadPoolExecutor.getActiveCount();
+            }
+        });
+    }
+
+    /**
+     * Writes the metrics to the specified file in text exposition format whenever an iteration ends and at least
+     * the specified interval has passed since the last write. Metrics are also written when the algorithm ends.
+     *
+     * @param file                       the file
+     * @param expositionIntervalInMillis the minimum interval between two writes
+     */
+    public void setExpositionFile(File file, long expositionIntervalInMillis) {
+        this.expositionFile = file;
+        this.expositionIntervalInMillis = expositionIntervalInMillis;
+    }
+
+    /**
+     * Returns the counter of insertion calls. It needs to be passed to the insertion strategies when they are built.
+     *
+     * @return counter of insertion calls
+     */
+    public Counter getInsertionCalls() {
+        return insertionCalls;
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    private double elapsedSeconds() {
+        if (startTime == 0) return 0.;
+        return (System.nanoTime() - startTime) / 1.0e9;
+    }
+
+    private double perSecond(long count) {
+        double elapsed = elapsedSeconds();
+        if (elapsed <= 0.) return 0.;
+        return count / elapsed;
+    }
+
+    @Override
+    public void informAlgorithmStarts(VehicleRoutingProblem problem, VehicleRoutingAlgorithm algorithm, Collection<VehicleRoutingProblemSolution> solutions) {
+        iterations.reset();
+        acceptedSolutions.reset();
+        insertionRuns.reset();
+        insertionCalls.reset();
+        insertedJobs.reset();
+        bestCost = Double.NaN;
+        unassignedJobsOfBest = -1;
+        VehicleRoutingProblemSolution best = Solutions.bestOf(solutions);
+        if (best != null) memorize(best);
+        startTime = System.nanoTime();
+        lastExposition = System.currentTimeMillis();
+    }
+
+    @Override
+    public void informSelectedStrategy(SearchStrategy.DiscoveredSolution discoveredSolution, VehicleRoutingProblem vehicleRoutingProblem, Collection<VehicleRoutingProblemSolution> vehicleRoutingProblemSolutions) {
+        iterations.increment();
+        if (discoveredSolution == null) return;
+        if (discoveredSolution.isAccepted()) acceptedSolutions.increment();
+        VehicleRoutingProblemSolution solution = discoveredSolution.getSolution();
+        if (Double.isNaN(bestCost) || solution.getCost() < bestCost) memorize(solution);
+    }
+
+    private void memorize(VehicleRoutingProblemSolution solution) {
+        bestCost = solution.getCost();
+        unassignedJobsOfBest = solution.getUnassignedJobs().size();
+    }
+
+    @Override
+    public void informIterationEnds(int i, VehicleRoutingProblem problem, Collection<VehicleRoutingProblemSolution> solutions) {
+        if (expositionFile == null) return;
+        long now = System.currentTimeMillis();
+        if (now - lastExposition >= expositionIntervalInMillis) {
+            lastExposition = now;
+            expose();
+        }
+    }
+
+    @Override
+    public void informAlgorithmEnds(VehicleRoutingProblem problem, Collection<VehicleRoutingProblemSolution> solutions) {
+        if (expositionFile != null) expose();
+    }
+
+    private void expose() {
+        try {
+            expositionWriter.write(registry, expositionFile);
+        } catch (IOException e) {
+            logger.warn("cannot write metrics to {}", expositionFile, e);
+        }
+    }
+
+    @Override
+    public void informInsertionStarts(Collection<VehicleRoute> vehicleRoutes, Collection<Job> unassignedJobs) {
+        insertionRuns.increment();
+    }
+
+    @Override
+    public void informJobInserted(Job job2insert, VehicleRoute inRoute, double additionalCosts, double additionalTime) {
+        insertedJobs.increment();
+    }
+
+}
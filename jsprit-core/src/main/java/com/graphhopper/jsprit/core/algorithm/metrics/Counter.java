@@ -0,0 +1,70 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free monotonic counter.
+ * <p>
+ * <p>Increments are spread over a number of padded cells (selected by thread id) such that threads that count
+ * concurrently, e.g. insertion threads, do not contend on a single memory location. <code>get()</code> sums up all cells.
+ */
+public class Counter {
+
+    private static final int PADDING = 8;
+
+    private static final int NO_CELLS = noCells();
+
+    private static int noCells() {
+        int cells = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (cells < processors && cells < 64) cells <<= 1;
+        return cells;
+    }
+
+    private final AtomicLongArray cells = new AtomicLongArray(NO_CELLS * PADDING);
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long value) {
+        int cell = (int) (Thread.currentThread().getId() & (NO_CELLS - 1));
+        cells.addAndGet(cell * PADDING, value);
+    }
+
+    public long get() {
+        long sum = 0;
+        for (int i = 0; i < NO_CELLS; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    public void reset() {
+        for (int i = 0; i < NO_CELLS; i++) {
+            cells.set(i * PADDING, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.metrics;
+
+import java.util.Map;
+
+/**
+ * Registry of named counters and gauges.
+ * <p>
+ * <p>Implement this to bridge jsprit metrics into the metrics system of your choice, or use {@link SimpleMetricsRegistry}
+ * together with {@link TextExpositionWriter}.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Returns the counter with the specified name. If it does not exist yet, it is created.
+     *
+     * @param name the name of the counter
+     * @return the counter
+     */
+    Counter counter(String name);
+
+    /**
+     * Registers the gauge with the specified name. An already registered gauge with the same name is replaced.
+     *
+     * @param name  the name of the gauge
+     * @param gauge the gauge
+     */
+    void gauge(String name, Gauge gauge);
+
+    /**
+     * Returns all counters sorted by name.
+     *
+     * @return counters sorted by name
+     */
+    Map<String, Counter> getCounters();
+
+    /**
+     * Returns all gauges sorted by name.
+     *
+     * @return gauges sorted by name
+     */
+    Map<String, Gauge> getGauges();
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.metrics;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the metrics of a registry in a simple line based text format, i.e. one <code>name value</code> line per metric
+ * preceded by a <code># TYPE name counter|gauge</code> line. This is compatible with the prometheus text exposition format.
+ */
+public class TextExpositionWriter {
+
+    /**
+     * Writes all counters and gauges of the specified registry to the specified target.
+     *
+     * @param registry the registry to be written
+     * @param target   the target, e.g. a Writer or StringBuilder
+     * @throws IOException if target throws IOException
+     */
+    public void write(MetricsRegistry registry, Appendable target) throws IOException {
+        for (Map.Entry<String, Counter> e : registry.getCounters().entrySet()) {
+            target.append("# TYPE ").append(e.getKey()).append(" counter\n");
+            target.append(e.getKey()).append(" ").append(String.valueOf(e.getValue().get())).append("\n");
+        }
+        for (Map.Entry<String, Gauge> e : registry.getGauges().entrySet()) {
+            target.append("# TYPE ").append(e.getKey()).append(" gauge\n");
+            target.append(e.getKey()).append(" ").append(format(e.getValue().getValue())).append("\n");
+        }
+    }
+
+    /**
+     * Writes all counters and gauges of the specified registry to the specified file. The metrics are first written
+     * to a temporary file which then atomically replaces the specified file, thus readers never see a missing or
+     * partially written file.
+     *
+     * @param registry the registry to be written
+     * @param file     the file
+     * @throws IOException if file cannot be written
+     */
+    public void write(MetricsRegistry registry, File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8"));
+        try {
+            write(registry, writer);
+        } finally {
+            writer.close();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the metrics of the specified registry as string.
+     *
+     * @param registry the registry
+     * @return the metrics in text exposition format
+     */
+    public String toString(MetricsRegistry registry) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            write(registry, builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        return String.format(Locale.US, "%.4f", value);
+    }
+
+}
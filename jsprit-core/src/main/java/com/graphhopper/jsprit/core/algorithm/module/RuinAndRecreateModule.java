@@ -18,6 +18,8 @@
 package com.graphhopper.jsprit.core.algorithm.module;
 
 import com.graphhopper.jsprit.core.algorithm.SearchStrategyModule;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Instrumentation;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Probe;
 import com.graphhopper.jsprit.core.algorithm.listener.SearchStrategyModuleListener;
 import com.graphhopper.jsprit.core.algorithm.recreate.InsertionStrategy;
 import com.graphhopper.jsprit.core.algorithm.recreate.listener.InsertionListener;
@@ -39,6 +41,10 @@ public class RuinAndRecreateModule implements SearchStrategyModule {
 
     private String moduleName;
 
+    private Probe ruinProbe = Instrumentation.disabled().getProbe("ruin");
+
+    private Probe insertionProbe = Instrumentation.disabled().getProbe("insertion");
+
     public RuinAndRecreateModule(String moduleName, InsertionStrategy insertion, RuinStrategy ruin) {
         super();
         this.insertion = insertion;
@@ -48,17 +54,36 @@ public class RuinAndRecreateModule implements SearchStrategyModule {
 
     @Override
     public VehicleRoutingProblemSolution runAndGetSolution(VehicleRoutingProblemSolution vrpSolution) {
+        ruinProbe.start();
         Collection<Job> ruinedJobs = ruin.ruin(vrpSolution.getRoutes());
+        ruinProbe.stop();
         Set<Job> ruinedJobSet = new HashSet<Job>();
         ruinedJobSet.addAll(ruinedJobs);
         ruinedJobSet.addAll(vrpSolution.getUnassignedJobs());
+        insertionProbe.start();
         Collection<Job> unassignedJobs = insertion.insertJobs(vrpSolution.getRoutes(), ruinedJobSet);
+        insertionProbe.stop();
         vrpSolution.getUnassignedJobs().clear();
         vrpSolution.getUnassignedJobs().addAll(unassignedJobs);
         return vrpSolution;
 
     }
 
+    /**
+     * Sets the instrumentation that measures ruin (probe "ruin.[ruinClass]") and insertion (probe "insertion.[insertionClass]").
+     *
+     * @param instrumentation the instrumentation
+     */
+    public void setInstrumentation(Instrumentation instrumentation) {
+        ruinProbe = instrumentation.getProbe("ruin." + getSimpleName(ruin.getClass()));
+        insertionProbe = instrumentation.getProbe("insertion." + getSimpleName(insertion.getClass()));
+    }
+
+    private static String getSimpleName(Class<?> clazz) {
+        if (clazz.getSimpleName().isEmpty()) return clazz.getName();
+        return clazz.getSimpleName();
+    }
+
     @Override
     public String getName() {
         return moduleName;
@@ -0,0 +1,140 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.population;
+
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import com.graphhopper.jsprit.core.util.SplitMixRandom;
+
+import java.util.Arrays;
+
+/**
+ * Fingerprint of a solution based on the set of directed edges its routes consist of.
+ * <p>
+ * <p>An edge connects two consecutive activities of a route, where the route start and end are identified by the
+ * vehicle type. The order of routes and the concrete vehicle of a type do not matter, i.e. two solutions that only
+ * differ in this respect get the same fingerprint. The fingerprint does not keep a reference to the solution.
+ */
+public class SolutionFingerprint {
+
+    /**
+     * Creates the fingerprint of the specified solution.
+     *
+     * @param solution the solution to fingerprint
+     * @return fingerprint
+     */
+    public static SolutionFingerprint of(VehicleRoutingProblemSolution solution) {
+        int nuEdges = 0;
+        for (VehicleRoute route : solution.getRoutes()) {
+            if (!route.isEmpty()) nuEdges += route.getActivities().size() + 1;
+        }
+        long[] edges = new long[nuEdges];
+        int edgeIndex = 0;
+        for (VehicleRoute route : solution.getRoutes()) {
+            if (route.isEmpty()) continue;
+            long depotKey = SplitMixRandom.mix64(-1L - route.getVehicle().getVehicleTypeIdentifier().getIndex());
+            long prevKey = depotKey;
+            for (TourActivity act : route.getActivities()) {
+                long actKey = activityKey(act);
+                edges[edgeIndex++] = edgeKey(prevKey, actKey);
+                prevKey = actKey;
+            }
+            edges[edgeIndex++] = edgeKey(prevKey, depotKey);
+        }
+        Arrays.sort(edges);
+        long hash = edges.length;
+        for (long edge : edges) {
+            hash = SplitMixRandom.mix64(hash + edge);
+        }
+        return new SolutionFingerprint(hash, edges);
+    }
+
+    private static long activityKey(TourActivity act) {
+        if (act instanceof TourActivity.JobActivity) {
+            int jobIndex = ((TourActivity.JobActivity) act).getJob().getIndex();
+            return SplitMixRandom.mix64(((long) jobIndex << 32) ^ act.getName().hashCode());
+        }
+        return SplitMixRandom.mix64(act.getName().hashCode() ^ act.getLocation().getIndex());
+    }
+
+    private static long edgeKey(long fromKey, long toKey) {
+        return SplitMixRandom.mix64(fromKey * 31 + toKey);
+    }
+
+    private final long hash;
+
+    private final long[] edges;
+
+    private SolutionFingerprint(long hash, long[] edges) {
+        this.hash = hash;
+        this.edges = edges;
+    }
+
+    /**
+     * @return hash of the edge set
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return number of edges
+     */
+    public int getNuEdges() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the share of edges that are not common to both solutions, i.e. 0.0 if the edge sets are equal and 1.0
+     * if they are disjoint.
+     *
+     * @param other the fingerprint to compare with
+     * @return distance in [0,1]
+     */
+    public double distance(SolutionFingerprint other) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < edges.length && j < other.edges.length) {
+            if (edges[i] == other.edges[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (edges[i] < other.edges[j]) i++;
+            else j++;
+        }
+        int union = edges.length + other.edges.length - common;
+        if (union == 0) return 0.;
+        return (union - common) / (double) union;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SolutionFingerprint)) return false;
+        SolutionFingerprint that = (SolutionFingerprint) o;
+        return hash == that.hash && Arrays.equals(edges, that.edges);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.population;
+
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+
+import java.util.*;
+
+/**
+ * Bounded pool of solutions that can be fed and read by multiple threads simultaneously.
+ * <p>
+ * <p>Solutions whose {@link SolutionFingerprint} equals the fingerprint of a member are rejected. If the pool exceeds
+ * its capacity, the member with the worst biased fitness is removed. The biased fitness combines the rank of a
+ * solution's cost with the rank of its diversity contribution, i.e. its average distance to the closest members, such
+ * that a poor but diverse solution can survive a good solution that only duplicates what is already there. The best
+ * solution in terms of cost is never removed.
+ * <p>
+ * <p>Reading methods work on an immutable snapshot and do not block. Members are shared between threads, thus they must
+ * not be modified. Copy them before changing them, as {@link com.graphhopper.jsprit.core.algorithm.SearchStrategy} does.
+ */
+public class SolutionPopulation {
+
+    private static class Member {
+
+        private final VehicleRoutingProblemSolution solution;
+
+        private final SolutionFingerprint fingerprint;
+
+        private final Map<Member, Double> distances = new IdentityHashMap<Member, Double>();
+
+        private Member(VehicleRoutingProblemSolution solution, SolutionFingerprint fingerprint) {
+            this.solution = solution;
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+    private static class Snapshot {
+
+        private final List<VehicleRoutingProblemSolution> solutions;
+
+        private final double[] fitness;
+
+        private final VehicleRoutingProblemSolution best;
+
+        private Snapshot(List<VehicleRoutingProblemSolution> solutions, double[] fitness, VehicleRoutingProblemSolution best) {
+            this.solutions = solutions;
+            this.fitness = fitness;
+            this.best = best;
+        }
+
+    }
+
+    private final int capacity;
+
+    private int nuClosest = 3;
+
+    private int nuEliteSolutions = 1;
+
+    private final Object lock = new Object();
+
+    private final List<Member> members = new ArrayList<Member>();
+
+    private final Set<SolutionFingerprint> fingerprints = new HashSet<SolutionFingerprint>();
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.<VehicleRoutingProblemSolution>emptyList(), new double[0], null);
+
+    public SolutionPopulation(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1. current: " + capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets the number of closest members whose average distance is the diversity contribution of a member. Default is 3.
+     *
+     * @param nuClosest number of closest members
+     */
+    public void setNuClosest(int nuClosest) {
+        if (nuClosest < 1) throw new IllegalArgumentException("nuClosest must be at least 1. current: " + nuClosest);
+        synchronized (lock) {
+            this.nuClosest = nuClosest;
+        }
+    }
+
+    /**
+     * Sets the number of elite solutions. The more elite solutions, the lower the weight of diversity in the biased
+     * fitness. Default is 1.
+     *
+     * @param nuEliteSolutions number of elite solutions
+     */
+    public void setNuEliteSolutions(int nuEliteSolutions) {
+        if (nuEliteSolutions < 0)
+            throw new IllegalArgumentException("nuEliteSolutions must not be negative. current: " + nuEliteSolutions);
+        synchronized (lock) {
+            this.nuEliteSolutions = nuEliteSolutions;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds the solution to the population.
+     *
+     * @param solution the solution to add
+     * @return true if solution is a member after the call, false if it was a duplicate or immediately removed again
+     * because it had the worst biased fitness
+     */
+    public boolean add(VehicleRoutingProblemSolution solution) {
+        SolutionFingerprint fingerprint = SolutionFingerprint.of(solution);
+        synchronized (lock) {
+            if (fingerprints.contains(fingerprint)) return false;
+            Member newMember = new Member(solution, fingerprint);
+            for (Member member : members) {
+                double distance = fingerprint.distance(member.fingerprint);
+                member.distances.put(newMember, distance);
+                newMember.distances.put(member, distance);
+            }
+            members.add(newMember);
+            fingerprints.add(fingerprint);
+            double[] fitness = biasedFitness();
+            boolean accepted = true;
+            if (members.size() > capacity) {
+                Member removed = members.remove(worst(fitness));
+                fingerprints.remove(removed.fingerprint);
+                for (Member member : members) {
+                    member.distances.remove(removed);
+                }
+                accepted = removed != newMember;
+                fitness = biasedFitness();
+            }
+            publish(fitness);
+            return accepted;
+        }
+    }
+
+    /**
+     * Selects a solution by binary tournament on the biased fitness, i.e. two members are drawn randomly and the one
+     * with the better biased fitness is returned.
+     *
+     * @param random the random number generator to draw members with
+     * @return selected solution or null if population is empty
+     */
+    public VehicleRoutingProblemSolution select(Random random) {
+        Snapshot current = snapshot;
+        int size = current.solutions.size();
+        if (size == 0) return null;
+        int first = random.nextInt(size);
+        int second = random.nextInt(size);
+        if (current.fitness[second] < current.fitness[first]) return current.solutions.get(second);
+        return current.solutions.get(first);
+    }
+
+    /**
+     * @return best solution in terms of cost or null if population is empty
+     */
+    public VehicleRoutingProblemSolution getBest() {
+        return snapshot.best;
+    }
+
+    /**
+     * @return unmodifiable list of current members
+     */
+    public List<VehicleRoutingProblemSolution> getSolutions() {
+        return snapshot.solutions;
+    }
+
+    public int size() {
+        return snapshot.solutions.size();
+    }
+
+    private double[] biasedFitness() {
+        final int n = members.size();
+        double[] fitness = new double[n];
+        if (n == 1) return fitness;
+        final double[] diversity = new double[n];
+        Integer[] byCost = new Integer[n];
+        Integer[] byDiversity = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            diversity[i] = diversityContribution(members.get(i));
+            byCost[i] = i;
+            byDiversity[i] = i;
+        }
+        Arrays.sort(byCost, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(members.get(o1).solution.getCost(), members.get(o2).solution.getCost());
+            }
+        });
+        Arrays.sort(byDiversity, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(diversity[o2], diversity[o1]);
+            }
+        });
+        double diversityWeight = Math.max(0., 1. - nuEliteSolutions / (double) n);
+        for (int rank = 0; rank < n; rank++) {
+            fitness[byCost[rank]] += rank / (double) (n - 1);
+            fitness[byDiversity[rank]] += diversityWeight * rank / (double) (n - 1);
+        }
+        return fitness;
+    }
+
+    private double diversityContribution(Member member) {
+        List<Double> distances = new ArrayList<Double>(member.distances.values());
+        Collections.sort(distances);
+        int nuConsidered = Math.min(nuClosest, distances.size());
+        if (nuConsidered == 0) return 0.;
+        double sum = 0.;
+        for (int i = 0; i < nuConsidered; i++) {
+            sum += distances.get(i);
+        }
+        return sum / nuConsidered;
+    }
+
+    private int best() {
+        int best = 0;
+        for (int i = 1; i < members.size(); i++) {
+            if (members.get(i).solution.getCost() < members.get(best).solution.getCost()) best = i;
+        }
+        return best;
+    }
+
+    private int worst(double[] fitness) {
+        int best = best();
+        int worst = -1;
+        for (int i = 0; i < fitness.length; i++) {
+            if (i == best) continue;
+            if (worst == -1 || fitness[i] > fitness[worst]) worst = i;
+        }
+        return worst;
+    }
+
+    private void publish(double[] fitness) {
+        List<VehicleRoutingProblemSolution> solutions = new ArrayList<VehicleRoutingProblemSolution>(members.size());
+        for (Member member : members) {
+            solutions.add(member.solution);
+        }
+        snapshot = new Snapshot(Collections.unmodifiableList(solutions), fitness, members.get(best()).solution);
+    }
+
+}
@@ -97,6 +97,19 @@ public abstract class AbstractInsertionStrategy implements InsertionStrategy {
         insertionsListeners.informJobUnassignedListeners(unassigned, reasons);
     }
 
+    /**
+     * Checks whether the current thread has been interrupted, e.g. because the algorithm has been stopped or its
+     * deadline is over. Insertion strategies call this before each job (or scoring round) to stop within
+     * the time of one insertion evaluation. The interrupt flag is not cleared.
+     *
+     * @throws InsertionInterruptedException if the current thread has been interrupted
+     */
+    protected static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InsertionInterruptedException("insertion has been interrupted");
+        }
+    }
+
     public abstract Collection<Job> insertUnassignedJobs(Collection<VehicleRoute> vehicleRoutes, Collection<Job> unassignedJobs);
 
     @Override
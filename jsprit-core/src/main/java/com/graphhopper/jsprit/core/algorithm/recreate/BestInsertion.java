@@ -65,13 +65,14 @@ public final class BestInsertion extends AbstractInsertionStrategy {
         Collections.shuffle(unassignedJobList, random);
         sometimesSortPriorities(unassignedJobList);
         for (Job unassignedJob : unassignedJobList) {
+            checkInterrupted();
             Insertion bestInsertion = null;
             InsertionData empty = new InsertionData.NoInsertionFound();
             double bestInsertionCost = Double.MAX_VALUE;
             for (VehicleRoute vehicleRoute : vehicleRoutes) {
                 InsertionData iData = bestInsertionCostCalculator.getInsertionData(vehicleRoute, unassignedJob, NO_NEW_VEHICLE_YET, NO_NEW_DEPARTURE_TIME_YET, NO_NEW_DRIVER_YET, bestInsertionCost);
                 if (iData instanceof InsertionData.NoInsertionFound) {
-                    empty.getFailedConstraintNames().addAll(iData.getFailedConstraintNames());
+                    empty.addFailedConstraintNames(iData);
                     continue;
                 }
                 if (iData.getInsertionCost() < bestInsertionCost + noiseMaker.makeNoise()) {
@@ -87,7 +88,7 @@ public final class BestInsertion extends AbstractInsertionStrategy {
                     vehicleRoutes.add(newRoute);
                 }
             } else {
-                empty.getFailedConstraintNames().addAll(newIData.getFailedConstraintNames());
+                empty.addFailedConstraintNames(newIData);
             }
             if (bestInsertion == null) {
                 badJobs.add(unassignedJob);
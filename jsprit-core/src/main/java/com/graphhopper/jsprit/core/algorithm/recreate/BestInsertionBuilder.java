@@ -63,6 +63,8 @@ public class BestInsertionBuilder {
 
     private boolean allowVehicleSwitch = true;
 
+    private InsertionCostsLowerBound insertionCostsLowerBound;
+
     private boolean addDefaultCostCalc = true;
 
     public BestInsertionBuilder(VehicleRoutingProblem vrp, VehicleFleetManager vehicleFleetManager, StateManager stateManager, ConstraintManager constraintManager) {
@@ -153,6 +155,7 @@ public class BestInsertionBuilder {
             calcBuilder.experimentalTimeScheduler(timeSlice, nNeighbors);
         }
         calcBuilder.setAllowVehicleSwitch(allowVehicleSwitch);
+        calcBuilder.setInsertionCostsLowerBound(insertionCostsLowerBound);
         JobInsertionCostsCalculator jobInsertions = calcBuilder.build();
         InsertionStrategy bestInsertion;
         if (executor == null) {
@@ -169,5 +172,9 @@ public class BestInsertionBuilder {
         this.allowVehicleSwitch = allowVehicleSwitch;
     }
 
+    public BestInsertionBuilder setInsertionCostsLowerBound(InsertionCostsLowerBound insertionCostsLowerBound) {
+        this.insertionCostsLowerBound = insertionCostsLowerBound;
+        return this;
+    }
 
 }
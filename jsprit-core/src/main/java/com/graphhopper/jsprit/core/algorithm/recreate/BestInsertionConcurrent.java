@@ -78,14 +78,14 @@ public final class BestInsertionConcurrent extends AbstractInsertionStrategy {
 
     private int nuOfBatches;
 
-    private ExecutorCompletionService<Insertion> completionService;
+    private ExecutorService executorService;
 
     public BestInsertionConcurrent(JobInsertionCostsCalculator jobInsertionCalculator, ExecutorService executorService, int nuOfBatches, VehicleRoutingProblem vehicleRoutingProblem) {
         super(vehicleRoutingProblem);
         this.insertionsListeners = new InsertionListeners();
         this.nuOfBatches = nuOfBatches;
         bestInsertionCostCalculator = jobInsertionCalculator;
-        completionService = new ExecutorCompletionService<Insertion>(executorService);
+        this.executorService = executorService;
         logger.debug("initialise {}", this);
     }
 
@@ -102,7 +102,12 @@ public final class BestInsertionConcurrent extends AbstractInsertionStrategy {
         sometimesSortPriorities(unassignedJobList);
         List<Batch> batches = distributeRoutes(vehicleRoutes, nuOfBatches);
         List<String> failedConstraintNames = new ArrayList<>();
+        /*
+         * a completion service per run guarantees that results of a previously interrupted run are never taken
+         */
+        ExecutorCompletionService<Insertion> completionService = new ExecutorCompletionService<Insertion>(executorService);
         for (final Job unassignedJob : unassignedJobList) {
+            checkInterrupted();
             Insertion bestInsertion = null;
             double bestInsertionCost = Double.MAX_VALUE;
             for (final Batch batch : batches) {
@@ -120,7 +125,7 @@ public final class BestInsertionConcurrent extends AbstractInsertionStrategy {
                     Future<Insertion> futureIData = completionService.take();
                     Insertion insertion = futureIData.get();
                     if (insertion.insertionData instanceof NoInsertionFound) {
-                        failedConstraintNames.addAll(insertion.getInsertionData().getFailedConstraintNames());
+                        insertion.getInsertionData().copyFailedConstraintNamesTo(failedConstraintNames);
                         continue;
                     }
                     if (insertion.getInsertionData().getInsertionCost() < bestInsertionCost) {
@@ -130,6 +135,7 @@ public final class BestInsertionConcurrent extends AbstractInsertionStrategy {
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
+                throw new InsertionInterruptedException("insertion has been interrupted");
             } catch (ExecutionException e) {
                 throw new RuntimeException(e);
             }
@@ -167,7 +173,7 @@ public final class BestInsertionConcurrent extends AbstractInsertionStrategy {
         for (VehicleRoute vehicleRoute : batch.routes) {
             InsertionData iData = bestInsertionCostCalculator.getInsertionData(vehicleRoute, unassignedJob, NO_NEW_VEHICLE_YET, NO_NEW_DEPARTURE_TIME_YET, NO_NEW_DRIVER_YET, bestInsertionCost);
             if (iData instanceof NoInsertionFound) {
-                empty.getFailedConstraintNames().addAll(iData.getFailedConstraintNames());
+                empty.addFailedConstraintNames(iData);
                 continue;
             }
             if (iData.getInsertionCost() < bestInsertionCost) {
@@ -0,0 +1,139 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.algorithm.state.InternalStates;
+import com.graphhopper.jsprit.core.problem.Capacity;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.constraint.HardSkillConstraint;
+import com.graphhopper.jsprit.core.problem.constraint.PickupAndDeliverShipmentLoadActivityLevelConstraint;
+import com.graphhopper.jsprit.core.problem.constraint.ServiceLoadRouteLevelConstraint;
+import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.job.*;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import com.graphhopper.jsprit.core.problem.solution.route.state.RouteAndActivityStateGetter;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Default lower bound of insertion costs.
+ * <p>
+ * <p>It rejects a route in O(1) if the vehicle lacks required skills or if the job's size does not fit
+ * the route's load states (the same checks as the default skill and load constraints). For empty routes, it
+ * additionally returns the transport costs from the vehicle's start to the job at the vehicle's departure time,
+ * which every insertion into that route has to pay. The leg back to the end is not included, since the time it
+ * starts at is unknown and time-dependent costs might be lower later on.
+ * <p>
+ * <p>For non-empty routes that keep their vehicle and departure time, it returns the cheapest detour
+ * c(prev,job) + c(job,next) - c(prev,next) over all pairs of consecutive activities including start and end
+ * (for shipments the detour to the pickup). Each leg is priced at the end time of prev. If the vehicle has
+ * waiting time costs, no cost bound is given since marginal costs can be reduced by waiting time savings. The same
+ * applies to routes that are to be served by another vehicle or with another departure time, since their access,
+ * egress and fixed costs can drop.
+ * <p>
+ * <p>This assumes that the default skill and load constraints are active, that soft constraints
+ * and activity costs are non-negative, that the costs of a leg do not decrease with its departure time and, for
+ * shipments, that transport costs satisfy the triangle inequality.
+ */
+public class DefaultInsertionCostsLowerBound implements InsertionCostsLowerBound {
+
+    private final VehicleRoutingTransportCosts transportCosts;
+
+    private final RouteAndActivityStateGetter stateManager;
+
+    private final Capacity defaultValue = Capacity.Builder.newInstance().build();
+
+    public DefaultInsertionCostsLowerBound(VehicleRoutingTransportCosts transportCosts, RouteAndActivityStateGetter stateManager) {
+        this.transportCosts = transportCosts;
+        this.stateManager = stateManager;
+    }
+
+    @Override
+    public double getLowerBound(VehicleRoute route, Job job, Vehicle vehicle, double departureTime, Collection<String> failedConstraintNames) {
+        if (!hasSkills(job, vehicle)) {
+            failedConstraintNames.add(HardSkillConstraint.class.getSimpleName());
+            return Double.MAX_VALUE;
+        }
+        if (!fitsCapacity(route, job, vehicle)) {
+            if (job instanceof Shipment) failedConstraintNames.add(PickupAndDeliverShipmentLoadActivityLevelConstraint.class.getSimpleName());
+            else failedConstraintNames.add(ServiceLoadRouteLevelConstraint.class.getSimpleName());
+            return Double.MAX_VALUE;
+        }
+        Location first;
+        if (job instanceof Shipment) {
+            first = ((Shipment) job).getPickupLocation();
+        } else if (job instanceof Service) {
+            first = ((Service) job).getLocation();
+        } else return -Double.MAX_VALUE;
+        if (first == null) return -Double.MAX_VALUE;
+        if (!route.isEmpty()) return getCheapestDetour(route, first, vehicle, departureTime);
+        return transportCosts.getTransportCost(vehicle.getStartLocation(), first, departureTime, null, vehicle);
+    }
+
+    private double getCheapestDetour(VehicleRoute route, Location location, Vehicle vehicle, double departureTime) {
+        if (vehicle != route.getVehicle() || departureTime != route.getDepartureTime()) return -Double.MAX_VALUE;
+        if (vehicle.getType().getVehicleCostParams().perWaitingTimeUnit > 0.) return -Double.MAX_VALUE;
+        List<TourActivity> activities = route.getActivities();
+        TourActivity prev = route.getStart();
+        double cheapestDetour = Double.MAX_VALUE;
+        for (TourActivity next : activities) {
+            cheapestDetour = Math.min(cheapestDetour, getDetour(prev, location, next.getLocation(), vehicle));
+            prev = next;
+        }
+        if (vehicle.isReturnToDepot()) {
+            return Math.min(cheapestDetour, getDetour(prev, location, route.getEnd().getLocation(), vehicle));
+        }
+        return Math.min(cheapestDetour, transportCosts.getTransportCost(prev.getLocation(), location, prev.getEndTime(), null, vehicle));
+    }
+
+    private double getDetour(TourActivity prev, Location location, Location next, Vehicle vehicle) {
+        double time = prev.getEndTime();
+        return transportCosts.getTransportCost(prev.getLocation(), location, time, null, vehicle)
+            + transportCosts.getTransportCost(location, next, time, null, vehicle)
+            - transportCosts.getTransportCost(prev.getLocation(), next, time, null, vehicle);
+    }
+
+    private boolean hasSkills(Job job, Vehicle vehicle) {
+        for (String skill : job.getRequiredSkills().values()) {
+            if (!vehicle.getSkills().containsSkill(skill)) return false;
+        }
+        return true;
+    }
+
+    private boolean fitsCapacity(VehicleRoute route, Job job, Vehicle vehicle) {
+        Capacity capacity = vehicle.getType().getCapacityDimensions();
+        if (!job.getSize().isLessOrEqual(capacity)) return false;
+        if (route.isEmpty()) return true;
+        Capacity maxLoad = stateManager.getRouteState(route, InternalStates.MAXLOAD, Capacity.class);
+        if (maxLoad != null && !maxLoad.isLessOrEqual(capacity)) return false;
+        if (job instanceof Delivery) {
+            Capacity loadAtBeginning = stateManager.getRouteState(route, InternalStates.LOAD_AT_BEGINNING, Capacity.class);
+            if (loadAtBeginning == null) loadAtBeginning = defaultValue;
+            return Capacity.isSumLessOrEqual(loadAtBeginning, job.getSize(), capacity);
+        } else if (job instanceof Pickup || job instanceof Service) {
+            Capacity loadAtEnd = stateManager.getRouteState(route, InternalStates.LOAD_AT_END, Capacity.class);
+            if (loadAtEnd == null) loadAtEnd = defaultValue;
+            return Capacity.isSumLessOrEqual(loadAtEnd, job.getSize(), capacity);
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleFleetManager;
+
+import java.util.Arrays;
+
+/**
+ * Memorizes the insertion data of jobs into empty routes per vehicle type (i.e. {@link com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeKey}).
+ * <p>
+ * <p>If constraints only depend on the route they are evaluated for, the insertion of a job into an empty route only
+ * depends on the job and the type key of the vehicle, thus it is calculated once per insertion run and reused for all
+ * equivalent vehicles, i.e. vehicles with the same type key that become available once another one has been locked.
+ * If constraints depend on global state that changes with every insertion (e.g. {@link IncreasingAbsoluteFixedCosts}),
+ * nothing must be reused and the insertion data is calculated whenever it is requested.
+ */
+class EmptyRouteInsertions {
+
+    private final boolean reuse;
+
+    private VehicleRoute[] emptyRoutes;
+
+    private InsertionData[][] insertionData;
+
+    EmptyRouteInsertions(int maxJobIndex, boolean reuse) {
+        this.reuse = reuse;
+        emptyRoutes = new VehicleRoute[maxJobIndex + 1];
+        insertionData = new InsertionData[maxJobIndex + 1][];
+    }
+
+    /**
+     * Forgets what has been memorized for job, e.g. if its insertion depends on other routes.
+     */
+    void invalidate(Job job) {
+        if (job.getIndex() >= emptyRoutes.length) return;
+        emptyRoutes[job.getIndex()] = null;
+        insertionData[job.getIndex()] = null;
+    }
+
+    /**
+     * Returns the empty route the insertion data of job refers to.
+     */
+    VehicleRoute getEmptyRoute(Job job) {
+        ensureCapacity(job.getIndex());
+        VehicleRoute emptyRoute = emptyRoutes[job.getIndex()];
+        if (emptyRoute == null) {
+            emptyRoute = VehicleRoute.emptyRoute();
+            emptyRoutes[job.getIndex()] = emptyRoute;
+        }
+        return emptyRoute;
+    }
+
+    /**
+     * Returns the cheapest insertion of job into an empty route over all available vehicles.
+     */
+    InsertionData getBestInsertion(Job job, VehicleFleetManager fleetManager, JobInsertionCostsCalculator insertionCostsCalculator) {
+        VehicleRoute emptyRoute = getEmptyRoute(job);
+        InsertionData best = new InsertionData.NoInsertionFound();
+        for (Vehicle vehicle : fleetManager.getAvailableVehicles()) {
+            InsertionData iData = getInsertionData(job, emptyRoute, vehicle, insertionCostsCalculator);
+            if (iData instanceof InsertionData.NoInsertionFound) {
+                best.addFailedConstraintNames(iData);
+                continue;
+            }
+            if (best instanceof InsertionData.NoInsertionFound || iData.getInsertionCost() < best.getInsertionCost()) {
+                best = iData;
+            }
+        }
+        return best;
+    }
+
+    private InsertionData getInsertionData(Job job, VehicleRoute emptyRoute, Vehicle vehicle, JobInsertionCostsCalculator insertionCostsCalculator) {
+        if (!reuse || vehicle.getVehicleTypeIdentifier() == null) {
+            return insertionCostsCalculator.getInsertionData(emptyRoute, job, vehicle, vehicle.getEarliestDeparture(), emptyRoute.getDriver(), Double.MAX_VALUE);
+        }
+        int typeIndex = vehicle.getVehicleTypeIdentifier().getIndex();
+        InsertionData[] dataOfJob = insertionData[job.getIndex()];
+        if (dataOfJob == null) {
+            dataOfJob = new InsertionData[typeIndex + 1];
+            insertionData[job.getIndex()] = dataOfJob;
+        } else if (dataOfJob.length <= typeIndex) {
+            dataOfJob = Arrays.copyOf(dataOfJob, typeIndex + 1);
+            insertionData[job.getIndex()] = dataOfJob;
+        }
+        InsertionData iData = dataOfJob[typeIndex];
+        if (iData == null) {
+            iData = insertionCostsCalculator.getInsertionData(emptyRoute, job, vehicle, vehicle.getEarliestDeparture(), emptyRoute.getDriver(), Double.MAX_VALUE);
+            dataOfJob[typeIndex] = iData;
+        } else if (!(iData instanceof InsertionData.NoInsertionFound) && iData.getSelectedVehicle() != vehicle) {
+            iData = InsertionDataUpdater.switchVehicle(iData, emptyRoute, vehicle);
+            dataOfJob[typeIndex] = iData;
+        }
+        return iData;
+    }
+
+    private void ensureCapacity(int jobIndex) {
+        if (jobIndex < emptyRoutes.length) return;
+        emptyRoutes = Arrays.copyOf(emptyRoutes, jobIndex + 1);
+        insertionData = Arrays.copyOf(insertionData, jobIndex + 1);
+    }
+
+}
@@ -18,6 +18,7 @@
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
 import com.graphhopper.jsprit.core.algorithm.listener.VehicleRoutingAlgorithmListeners;
+import com.graphhopper.jsprit.core.algorithm.metrics.Counter;
 import com.graphhopper.jsprit.core.algorithm.recreate.listener.InsertionListener;
 import com.graphhopper.jsprit.core.algorithm.state.StateManager;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
@@ -70,6 +71,10 @@ public class InsertionBuilder {
 
     private boolean allowVehicleSwitch = true;
 
+    private InsertionCostsLowerBound insertionCostsLowerBound;
+
+    private Counter insertionCallCounter;
+
     private boolean addDefaultCostCalc = true;
 
     private Strategy strategy = Strategy.BEST;
@@ -167,6 +172,8 @@ public class InsertionBuilder {
             calcBuilder.experimentalTimeScheduler(timeSlice, nNeighbors);
         }
         calcBuilder.setAllowVehicleSwitch(allowVehicleSwitch);
+        calcBuilder.setInsertionCostsLowerBound(insertionCostsLowerBound);
+        calcBuilder.setInsertionCallCounter(insertionCallCounter);
         JobInsertionCostsCalculator costCalculator = calcBuilder.build();
 
         InsertionStrategy insertion;
@@ -210,5 +217,14 @@ public class InsertionBuilder {
         return this;
     }
 
+    public InsertionBuilder setInsertionCostsLowerBound(InsertionCostsLowerBound insertionCostsLowerBound) {
+        this.insertionCostsLowerBound = insertionCostsLowerBound;
+        return this;
+    }
+
+    public InsertionBuilder setInsertionCallCounter(Counter insertionCallCounter) {
+        this.insertionCallCounter = insertionCallCounter;
+        return this;
+    }
 
 }
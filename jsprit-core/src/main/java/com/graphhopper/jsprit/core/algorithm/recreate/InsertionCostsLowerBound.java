@@ -0,0 +1,49 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+
+import java.util.Collection;
+
+/**
+ * Cheap lower bound of the costs of inserting a job into a route.
+ * <p>
+ * <p>It is evaluated before the (expensive) scan of all insertion positions. If the bound is not lower than
+ * the best insertion costs known so far, the route is skipped entirely. Thus, the bound must never be greater than
+ * the costs the underlying {@link JobInsertionCostsCalculator} would return.
+ */
+public interface InsertionCostsLowerBound {
+
+    /**
+     * Returns a lower bound of the insertion costs, or Double.MAX_VALUE if the job cannot be inserted at all. In the
+     * latter case, the simple class name of the constraint that would reject the insertion is added to
+     * failedConstraintNames such that the reason of unassigned jobs is not lost.
+     *
+     * @param route                 the route the job is to be inserted in
+     * @param job                   the job to be inserted
+     * @param vehicle               the vehicle that serves the route after insertion
+     * @param departureTime         the departure time of the vehicle
+     * @param failedConstraintNames collection the names of failed constraints are added to
+     * @return lower bound of insertion costs
+     */
+    public double getLowerBound(VehicleRoute route, Job job, Vehicle vehicle, double departureTime, Collection<String> failedConstraintNames);
+
+}
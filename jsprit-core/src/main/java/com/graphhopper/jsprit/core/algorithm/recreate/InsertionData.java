@@ -18,14 +18,20 @@
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
 import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
 import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Data object that collects insertion information. It collects insertionCosts, insertionIndeces, vehicle and driver to be employed
  * and departureTime of vehicle at vehicle's start location (e.g. depot).
+ * <p>
+ * <p>Many of these objects are created while evaluating insertions, but only one per inserted job is ever applied.
+ * Thus the events and failed constraint names are only allocated when they are requested.
  *
  * @author stefan
  */
@@ -70,14 +76,41 @@ public class InsertionData {
 
     private double additionalTime;
 
-    private List<Event> events = new ArrayList<Event>();
+    private List<Event> events;
+
+    private VehicleRoute route;
+
+    private TourActivity pickupActivity;
+
+    private TourActivity deliveryActivity;
+
+    private List<String> reasons;
+
+    /**
+     * Memorizes the activities to be inserted into route at pickupInsertionIndex and deliveryInsertionIndex. The
+     * corresponding InsertActivity and SwitchVehicle events are only created once {@link #getEvents()} is called,
+     * i.e. if this insertion is actually applied. The pickupActivity is null if only one activity is inserted.
+     */
+    void setActivitiesToInsert(VehicleRoute route, TourActivity pickupActivity, TourActivity deliveryActivity) {
+        this.route = route;
+        this.pickupActivity = pickupActivity;
+        this.deliveryActivity = deliveryActivity;
+    }
 
     List<Event> getEvents() {
+        if (events == null) {
+            events = new ArrayList<Event>();
+            if (route != null) {
+                events.add(new InsertActivity(route, selectedVehicle, deliveryActivity, deliveryInsertionIndex));
+                if (pickupActivity != null) {
+                    events.add(new InsertActivity(route, selectedVehicle, pickupActivity, pickupInsertionIndex));
+                }
+                events.add(new SwitchVehicle(route, selectedVehicle, departureTime));
+            }
+        }
         return events;
     }
 
-    private List<String> reasons = new ArrayList<>();
-
     /**
      * @return the additionalTime
      */
@@ -86,13 +119,29 @@ public class InsertionData {
     }
 
     public void addFailedConstrainName(String name) {
-        reasons.add(name);
+        getFailedConstraintNames().add(name);
     }
 
     public List<String> getFailedConstraintNames() {
+        if (reasons == null) reasons = new ArrayList<String>();
         return reasons;
     }
 
+    void addFailedConstraintNames(Collection<String> names) {
+        if (!names.isEmpty()) getFailedConstraintNames().addAll(names);
+    }
+
+    void addFailedConstraintNames(InsertionData insertionData) {
+        if (insertionData.reasons != null) addFailedConstraintNames(insertionData.reasons);
+    }
+
+    /**
+     * Adds the failed constraint names of this insertion to names without allocating a list if there are none.
+     */
+    void copyFailedConstraintNamesTo(Collection<String> names) {
+        if (reasons != null) names.addAll(reasons);
+    }
+
     /**
      * @param additionalTime the additionalTime to set
      */
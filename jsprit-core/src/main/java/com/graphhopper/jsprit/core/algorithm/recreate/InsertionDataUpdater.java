@@ -31,8 +31,10 @@ import java.util.*;
  */
 class InsertionDataUpdater {
 
-    static boolean update(boolean addAllAvailable, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, JobInsertionCostsCalculator insertionCostsCalculator, TreeSet<VersionedInsertionData> insertionDataSet, int updateRound, Job unassignedJob, Collection<VehicleRoute> routes) {
+    static boolean update(boolean addAllAvailable, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, JobInsertionCostsCalculator insertionCostsCalculator, RegretAlternatives alternatives, Map<VehicleRoute, Integer> routeSlots, Job unassignedJob, Collection<VehicleRoute> routes) {
         for(VehicleRoute route : routes) {
+            int slot = routeSlots.get(route);
+            alternatives.clear(slot, route);
             Collection<Vehicle> relevantVehicles = new ArrayList<>();
             if (!(route.getVehicle() instanceof VehicleImpl.NoVehicle)) {
                 relevantVehicles.add(route.getVehicle());
@@ -46,7 +48,7 @@ class InsertionDataUpdater {
                 if (iData instanceof InsertionData.NoInsertionFound) {
                     continue;
                 }
-                insertionDataSet.add(new VersionedInsertionData(iData, updateRound, route));
+                alternatives.add(slot, iData);
             }
         }
         return true;
@@ -61,74 +63,75 @@ class InsertionDataUpdater {
         return null;
     }
 
-    static Comparator<VersionedInsertionData> getComparator(){
-        return new Comparator<VersionedInsertionData>() {
-            @Override
-            public int compare(VersionedInsertionData o1, VersionedInsertionData o2) {
-                if(o1.getiData().getInsertionCost() < o2.getiData().getInsertionCost()) return -1;
-                return 1;
+    /**
+     * Returns the slot of route and assigns the next free one if route has none yet.
+     * <p>
+     * <p>Slots need to be assigned before insertion data is updated concurrently.
+     */
+    static int getSlot(Map<VehicleRoute, Integer> routeSlots, VehicleRoute route) {
+        Integer slot = routeSlots.get(route);
+        if (slot == null) {
+            slot = routeSlots.size();
+            routeSlots.put(route, slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns a copy of iData that uses vehicle instead of the originally selected vehicle (of the same type).
+     */
+    static InsertionData switchVehicle(InsertionData iData, VehicleRoute route, Vehicle vehicle) {
+        InsertionData newData = new InsertionData(iData.getInsertionCost(), iData.getPickupInsertionIndex(),
+            iData.getDeliveryInsertionIndex(), vehicle, iData.getSelectedDriver());
+        newData.setVehicleDepartureTime(iData.getVehicleDepartureTime());
+        for(Event e : iData.getEvents()){
+            if(e instanceof SwitchVehicle){
+                newData.getEvents().add(new SwitchVehicle(route,vehicle,iData.getVehicleDepartureTime()));
             }
-        };
+            else newData.getEvents().add(e);
+        }
+        return newData;
     }
 
-    static ScoredJob getBest(boolean switchAllowed, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, JobInsertionCostsCalculator insertionCostsCalculator, ScoringFunction scoringFunction, TreeSet<VersionedInsertionData>[] priorityQueues, Map<VehicleRoute, Integer> updates, List<Job> unassignedJobList, List<ScoredJob> badJobs) {
+    static ScoredJob getBest(boolean switchAllowed, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, JobInsertionCostsCalculator insertionCostsCalculator, ScoringFunction scoringFunction, RegretAlternatives[] alternativesOfJobs, List<Job> unassignedJobList, List<ScoredJob> badJobs, EmptyRouteInsertions emptyRouteInsertions, List<ScoredJob> scoredJobs) {
         ScoredJob bestScoredJob = null;
         for(Job j : unassignedJobList){
             VehicleRoute bestRoute = null;
             InsertionData best = null;
             InsertionData secondBest = null;
-            TreeSet<VersionedInsertionData> priorityQueue = priorityQueues[j.getIndex()];
-            Iterator<VersionedInsertionData> iterator = priorityQueue.iterator();
+            RegretAlternatives alternatives = alternativesOfJobs[j.getIndex()];
             List<String> failedConstraintNames = new ArrayList<>();
-            while(iterator.hasNext()){
-                VersionedInsertionData versionedIData = iterator.next();
-                if(bestRoute != null){
-                    if(versionedIData.getRoute() == bestRoute){
-                        continue;
-                    }
-                }
-                if (versionedIData.getiData() instanceof InsertionData.NoInsertionFound) {
-                    failedConstraintNames.addAll(versionedIData.getiData().getFailedConstraintNames());
-                    continue;
-                }
-                if(!(versionedIData.getRoute().getVehicle() instanceof VehicleImpl.NoVehicle)) {
-                    if (versionedIData.getiData().getSelectedVehicle() != versionedIData.getRoute().getVehicle()) {
-                        if (!switchAllowed) continue;
-                        if (initialVehicleIds.contains(versionedIData.getRoute().getVehicle().getId())) continue;
-                    }
-                }
-                if(versionedIData.getiData().getSelectedVehicle() != versionedIData.getRoute().getVehicle()) {
-                    if (fleetManager.isLocked(versionedIData.getiData().getSelectedVehicle())) {
-                        Vehicle available = fleetManager.getAvailableVehicle(versionedIData.getiData().getSelectedVehicle().getVehicleTypeIdentifier());
-                        if (available != null) {
-                            InsertionData oldData = versionedIData.getiData();
-                            InsertionData newData = new InsertionData(oldData.getInsertionCost(), oldData.getPickupInsertionIndex(),
-                                oldData.getDeliveryInsertionIndex(), available, oldData.getSelectedDriver());
-                            newData.setVehicleDepartureTime(oldData.getVehicleDepartureTime());
-                            for(Event e : oldData.getEvents()){
-                                if(e instanceof SwitchVehicle){
-                                    newData.getEvents().add(new SwitchVehicle(versionedIData.getRoute(),available,oldData.getVehicleDepartureTime()));
-                                }
-                                else newData.getEvents().add(e);
-                            }
-                            versionedIData = new VersionedInsertionData(newData, versionedIData.getVersion(), versionedIData.getRoute());
-                        } else continue;
-                    }
+            int bestSlot = alternatives.getBestSlot();
+            int secondBestSlot = alternatives.getSecondBestSlot();
+            if (bestSlot != -1) {
+                best = getFirstIfValid(switchAllowed, initialVehicleIds, fleetManager, alternatives, bestSlot);
+                if (secondBestSlot != -1) {
+                    secondBest = getFirstIfValid(switchAllowed, initialVehicleIds, fleetManager, alternatives, secondBestSlot);
                 }
-                int currentDataVersion = updates.get(versionedIData.getRoute());
-                if(versionedIData.getVersion() == currentDataVersion){
-                    if(best == null) {
-                        best = versionedIData.getiData();
-                        bestRoute = versionedIData.getRoute();
-                    }
-                    else {
-                        secondBest = versionedIData.getiData();
-                        break;
+                if (best != null && (secondBestSlot == -1 || secondBest != null)) {
+                    bestRoute = alternatives.getRoute(bestSlot);
+                } else {
+                    //the first candidates are not valid anymore, thus the order of slots is not either
+                    best = null;
+                    secondBest = null;
+                    for (int slot = 0; slot < alternatives.getNoSlots(); slot++) {
+                        InsertionData iData = getFirstValid(switchAllowed, initialVehicleIds, fleetManager, alternatives, slot);
+                        if (iData == null) continue;
+                        if (best == null) {
+                            best = iData;
+                            bestRoute = alternatives.getRoute(slot);
+                        } else if (iData.getInsertionCost() < best.getInsertionCost()) {
+                            secondBest = best;
+                            best = iData;
+                            bestRoute = alternatives.getRoute(slot);
+                        } else if (secondBest == null || iData.getInsertionCost() < secondBest.getInsertionCost()) {
+                            secondBest = iData;
+                        }
                     }
                 }
             }
-            VehicleRoute emptyRoute = VehicleRoute.emptyRoute();
-            InsertionData iData = insertionCostsCalculator.getInsertionData(emptyRoute, j, null, -1, null, Double.MAX_VALUE);
+            VehicleRoute emptyRoute = emptyRouteInsertions.getEmptyRoute(j);
+            InsertionData iData = emptyRouteInsertions.getBestInsertion(j, fleetManager, insertionCostsCalculator);
             if(!(iData instanceof InsertionData.NoInsertionFound)){
                 if (best == null) {
                     best = iData;
@@ -140,7 +143,7 @@ class InsertionDataUpdater {
                 } else if (secondBest == null || (iData.getInsertionCost() < secondBest.getInsertionCost())) {
                     secondBest = iData;
                 }
-            } else failedConstraintNames.addAll(iData.getFailedConstraintNames());
+            } else iData.copyFailedConstraintNamesTo(failedConstraintNames);
             if (best == null) {
                 badJobs.add(new ScoredJob.BadJob(j, failedConstraintNames));
                 continue;
@@ -150,6 +153,7 @@ class InsertionDataUpdater {
             if (bestRoute == emptyRoute) {
                 scoredJob = new ScoredJob(j, score, best, bestRoute, true);
             } else scoredJob = new ScoredJob(j, score, best, bestRoute, false);
+            scoredJobs.add(scoredJob);
 
             if(bestScoredJob == null){
                 bestScoredJob = scoredJob;
@@ -161,6 +165,36 @@ class InsertionDataUpdater {
         return bestScoredJob;
     }
 
+    private static InsertionData getFirstIfValid(boolean switchAllowed, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, RegretAlternatives alternatives, int slot) {
+        return validate(switchAllowed, initialVehicleIds, fleetManager, alternatives.getCandidate(slot, 0), alternatives.getRoute(slot));
+    }
+
+    private static InsertionData getFirstValid(boolean switchAllowed, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, RegretAlternatives alternatives, int slot) {
+        for (int i = 0; i < alternatives.getNoCandidates(slot); i++) {
+            InsertionData iData = validate(switchAllowed, initialVehicleIds, fleetManager, alternatives.getCandidate(slot, i), alternatives.getRoute(slot));
+            if (iData != null) return iData;
+        }
+        return null;
+    }
+
+    /**
+     * Returns iData if it can still be realized, a copy of it if its vehicle has been locked in the meantime but an
+     * equivalent one is available, and null otherwise.
+     */
+    private static InsertionData validate(boolean switchAllowed, Set<String> initialVehicleIds, VehicleFleetManager fleetManager, InsertionData iData, VehicleRoute route) {
+        if (iData.getSelectedVehicle() == route.getVehicle()) return iData;
+        if (!(route.getVehicle() instanceof VehicleImpl.NoVehicle)) {
+            if (!switchAllowed) return null;
+            if (initialVehicleIds.contains(route.getVehicle().getId())) return null;
+        }
+        if (fleetManager.isLocked(iData.getSelectedVehicle())) {
+            Vehicle available = fleetManager.getAvailableVehicle(iData.getSelectedVehicle().getVehicleTypeIdentifier());
+            if (available == null) return null;
+            return switchVehicle(iData, route, available);
+        }
+        return iData;
+    }
+
     static double score(Job unassignedJob, InsertionData best, InsertionData secondBest, ScoringFunction scoringFunction) {
         return Scorer.score(unassignedJob,best,secondBest,scoringFunction);
     }
@@ -15,37 +15,21 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
-import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
-
 /**
- * Created by schroeder on 15/10/15.
+ * Thrown by insertion strategies if the thread running the insertion has been interrupted. The routes the insertion
+ * has been working on are then only partially recreated and should be discarded.
  */
-class VersionedInsertionData {
-
-    private InsertionData iData;
-
-    private VehicleRoute route;
-
-    private int version;
+public class InsertionInterruptedException extends RuntimeException {
 
-    public VersionedInsertionData(InsertionData iData, int version, VehicleRoute route) {
-        this.iData = iData;
-        this.version = version;
-        this.route = route;
+    public InsertionInterruptedException(String errorMsg) {
+        super(errorMsg);
     }
 
-    public InsertionData getiData() {
-        return iData;
-    }
-
-    public int getVersion() {
-        return version;
-    }
+    /**
+     *
+     */
+    private static final long serialVersionUID = 1L;
 
-    public VehicleRoute getRoute() {
-        return route;
-    }
 }
@@ -18,6 +18,7 @@
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
 import com.graphhopper.jsprit.core.algorithm.listener.VehicleRoutingAlgorithmListeners.PrioritizedVRAListener;
+import com.graphhopper.jsprit.core.algorithm.metrics.Counter;
 import com.graphhopper.jsprit.core.algorithm.recreate.listener.InsertionListener;
 import com.graphhopper.jsprit.core.problem.AbstractActivity;
 import com.graphhopper.jsprit.core.problem.JobActivityFactory;
@@ -94,6 +95,10 @@ public class JobInsertionCostsCalculatorBuilder {
 
     private boolean addDefaultCostCalc = true;
 
+    private InsertionCostsLowerBound insertionCostsLowerBound;
+
+    private Counter insertionCallCounter;
+
     /**
      * Constructs the builder.
      * <p>
@@ -346,6 +351,10 @@ public class JobInsertionCostsCalculatorBuilder {
     private JobInsertionCostsCalculator createFinalInsertion(VehicleFleetManager fleetManager, JobInsertionCostsCalculator baseCalc, RouteAndActivityStateGetter activityStates2) {
         VehicleTypeDependentJobInsertionCalculator vehicleTypeDependentJobInsertionCalculator = new VehicleTypeDependentJobInsertionCalculator(vrp, fleetManager, baseCalc);
         vehicleTypeDependentJobInsertionCalculator.setVehicleSwitchAllowed(allowVehicleSwitch);
+        vehicleTypeDependentJobInsertionCalculator.setInsertionCostsLowerBound(insertionCostsLowerBound);
+        if (insertionCallCounter != null) {
+            return new CountingJobInsertionCostsCalculator(vehicleTypeDependentJobInsertionCalculator, insertionCallCounter);
+        }
         return vehicleTypeDependentJobInsertionCalculator;
     }
 
@@ -359,6 +368,28 @@ public class JobInsertionCostsCalculatorBuilder {
         return this;
     }
 
+    /**
+     * Sets a lower bound of insertion costs to skip routes that cannot beat the best known insertion.
+     *
+     * @param insertionCostsLowerBound the lower bound
+     * @return this builder
+     */
+    public JobInsertionCostsCalculatorBuilder setInsertionCostsLowerBound(InsertionCostsLowerBound insertionCostsLowerBound) {
+        this.insertionCostsLowerBound = insertionCostsLowerBound;
+        return this;
+    }
+
+    /**
+     * Sets a counter that is incremented whenever the insertion costs of a job are calculated for a route.
+     *
+     * @param insertionCallCounter the counter
+     * @return this builder
+     */
+    public JobInsertionCostsCalculatorBuilder setInsertionCallCounter(Counter insertionCallCounter) {
+        this.insertionCallCounter = insertionCallCounter;
+        return this;
+    }
+
 }
 
 
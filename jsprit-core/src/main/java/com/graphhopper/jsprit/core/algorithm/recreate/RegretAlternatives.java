@@ -0,0 +1,165 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+
+import java.util.Arrays;
+
+/**
+ * Insertion alternatives of one job, i.e. its insertion data per route slot.
+ * <p>
+ * <p>Each route gets a fixed slot (see {@link InsertionDataUpdater#getSlot(java.util.Map, VehicleRoute)}). Updating a
+ * route replaces the insertion data of its slot in place, thus there are no outdated entries that need to be skipped.
+ * A slot can hold several candidates (one per vehicle that has been considered for this route) which are kept in
+ * ascending order of insertion costs. Since regret only needs the best and second best alternative, the two slots
+ * with the cheapest first candidates are maintained incrementally and only recomputed if one of them is updated.
+ */
+class RegretAlternatives {
+
+    private static final int NO_SLOT = -1;
+
+    private VehicleRoute[] routes;
+
+    private InsertionData[][] candidates;
+
+    private int[] noCandidates;
+
+    private int bestSlot = NO_SLOT;
+
+    private int secondBestSlot = NO_SLOT;
+
+    private boolean dirty = false;
+
+    RegretAlternatives(int initialNoSlots) {
+        int capacity = Math.max(initialNoSlots, 1);
+        routes = new VehicleRoute[capacity];
+        candidates = new InsertionData[capacity][];
+        noCandidates = new int[capacity];
+    }
+
+    /**
+     * Removes the candidates of slot, i.e. starts an update of the route that belongs to slot.
+     */
+    void clear(int slot, VehicleRoute route) {
+        ensureCapacity(slot);
+        routes[slot] = route;
+        InsertionData[] slotCandidates = candidates[slot];
+        for (int i = 0; i < noCandidates[slot]; i++) {
+            slotCandidates[i] = null;
+        }
+        noCandidates[slot] = 0;
+        if (slot == bestSlot || slot == secondBestSlot) dirty = true;
+    }
+
+    /**
+     * Adds a candidate to slot. The slot must have been cleared before.
+     */
+    void add(int slot, InsertionData iData) {
+        InsertionData[] slotCandidates = candidates[slot];
+        int size = noCandidates[slot];
+        if (slotCandidates == null) {
+            slotCandidates = new InsertionData[2];
+            candidates[slot] = slotCandidates;
+        } else if (slotCandidates.length == size) {
+            slotCandidates = Arrays.copyOf(slotCandidates, size * 2);
+            candidates[slot] = slotCandidates;
+        }
+        int position = size;
+        while (position > 0 && slotCandidates[position - 1].getInsertionCost() > iData.getInsertionCost()) {
+            slotCandidates[position] = slotCandidates[position - 1];
+            position--;
+        }
+        slotCandidates[position] = iData;
+        noCandidates[slot] = size + 1;
+        if (position == 0 && !dirty) offer(slot);
+    }
+
+    /**
+     * Returns the slot with the cheapest first candidate, or -1 if there is none.
+     */
+    int getBestSlot() {
+        if (dirty) recompute();
+        return bestSlot;
+    }
+
+    /**
+     * Returns the slot with the second cheapest first candidate, or -1 if there is none.
+     */
+    int getSecondBestSlot() {
+        if (dirty) recompute();
+        return secondBestSlot;
+    }
+
+    int getNoSlots() {
+        return routes.length;
+    }
+
+    VehicleRoute getRoute(int slot) {
+        return routes[slot];
+    }
+
+    int getNoCandidates(int slot) {
+        return noCandidates[slot];
+    }
+
+    InsertionData getCandidate(int slot, int index) {
+        return candidates[slot][index];
+    }
+
+    private void offer(int slot) {
+        double costs = candidates[slot][0].getInsertionCost();
+        if (slot == bestSlot) return;
+        if (slot == secondBestSlot) {
+            if (costs < getFirstCosts(bestSlot)) {
+                secondBestSlot = bestSlot;
+                bestSlot = slot;
+            }
+            return;
+        }
+        if (bestSlot == NO_SLOT || costs < getFirstCosts(bestSlot)) {
+            secondBestSlot = bestSlot;
+            bestSlot = slot;
+        } else if (secondBestSlot == NO_SLOT || costs < getFirstCosts(secondBestSlot)) {
+            secondBestSlot = slot;
+        }
+    }
+
+    private void recompute() {
+        bestSlot = NO_SLOT;
+        secondBestSlot = NO_SLOT;
+        dirty = false;
+        for (int slot = 0; slot < routes.length; slot++) {
+            if (noCandidates[slot] > 0) offer(slot);
+        }
+    }
+
+    private double getFirstCosts(int slot) {
+        return candidates[slot][0].getInsertionCost();
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < routes.length) return;
+        int newCapacity = Math.max(slot + 1, routes.length * 2);
+        routes = Arrays.copyOf(routes, newCapacity);
+        candidates = Arrays.copyOf(candidates, newCapacity);
+        noCandidates = Arrays.copyOf(noCandidates, newCapacity);
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.constraint.DependencyType;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+
+import java.util.*;
+
+/**
+ * Selects several jobs to be inserted after one regret scoring round.
+ * <p>
+ * <p>Apart from the best scored job, a job only joins the batch if its insertion data is still valid after the
+ * insertion of the jobs selected before, i.e. if
+ * <ul>
+ * <li>it goes into an existing route that is not touched by any other job of the batch,</li>
+ * <li>its insertion does not switch the vehicle of that route, and</li>
+ * <li>it has no inter- or intra-route dependency.</li>
+ * </ul>
+ * Jobs with such a dependency are only inserted alone.
+ */
+class RegretBatch {
+
+    private static final Comparator<ScoredJob> BY_SCORE = new Comparator<ScoredJob>() {
+
+        @Override
+        public int compare(ScoredJob o1, ScoredJob o2) {
+            int result = Double.compare(o2.getScore(), o1.getScore());
+            if (result == 0) return o1.getJob().getId().compareTo(o2.getJob().getId());
+            return result;
+        }
+
+    };
+
+    /**
+     * Returns the jobs to be inserted, starting with bestScoredJob.
+     *
+     * @param bestScoredJob   the job the regret strategy would have inserted without batching
+     * @param scoredJobs      all scored jobs of the round (bad jobs excluded)
+     * @param batchSize       the maximum number of jobs to be returned
+     * @param dependencyTypes dependency types indexed by job index, or null
+     * @return jobs to be inserted in the given order
+     */
+    static List<ScoredJob> select(ScoredJob bestScoredJob, List<ScoredJob> scoredJobs, int batchSize, DependencyType[] dependencyTypes) {
+        List<ScoredJob> batch = new ArrayList<>();
+        batch.add(bestScoredJob);
+        if (batchSize == 1 || hasDependency(bestScoredJob, dependencyTypes)) return batch;
+        Set<VehicleRoute> touchedRoutes = Collections.newSetFromMap(new IdentityHashMap<VehicleRoute, Boolean>());
+        touchedRoutes.add(bestScoredJob.getRoute());
+        List<ScoredJob> candidates = new ArrayList<>(scoredJobs);
+        Collections.sort(candidates, BY_SCORE);
+        for (ScoredJob candidate : candidates) {
+            if (batch.size() == batchSize) break;
+            if (candidate == bestScoredJob || candidate.isNewRoute()) continue;
+            if (touchedRoutes.contains(candidate.getRoute())) continue;
+            if (candidate.getInsertionData().getSelectedVehicle() != candidate.getRoute().getVehicle()) continue;
+            if (hasDependency(candidate, dependencyTypes)) continue;
+            touchedRoutes.add(candidate.getRoute());
+            batch.add(candidate);
+        }
+        return batch;
+    }
+
+    private static boolean hasDependency(ScoredJob scoredJob, DependencyType[] dependencyTypes) {
+        if (dependencyTypes == null) return false;
+        DependencyType dependencyType = dependencyTypes[scoredJob.getJob().getIndex()];
+        return dependencyType == DependencyType.INTER_ROUTE || dependencyType == DependencyType.INTRA_ROUTE;
+    }
+
+}
@@ -19,6 +19,7 @@
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.constraint.DependencyType;
 import com.graphhopper.jsprit.core.problem.job.Break;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
@@ -50,6 +51,9 @@ public class RegretInsertion extends AbstractInsertionStrategy {
 
     private JobInsertionCostsCalculator insertionCostsCalculator;
 
+    private int batchSize = 1;
+
+    private DependencyType[] dependencyTypes = null;
 
     /**
      * Sets the scoring function.
@@ -62,6 +66,23 @@ public class RegretInsertion extends AbstractInsertionStrategy {
         this.scoringFunction = scoringFunction;
     }
 
+    /**
+     * Sets the maximum number of jobs inserted after one scoring round.
+     * <p>
+     * <p>By default, it is 1, i.e. all remaining jobs are re-scored after each insertion. If it is larger, further high-regret
+     * jobs are inserted right away as long as their best routes are disjoint (see {@link RegretBatch}).
+     *
+     * @param batchSize max number of jobs to insert per scoring round
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be at least 1. it is " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public void setDependencyTypes(DependencyType[] dependencyTypes) {
+        this.dependencyTypes = dependencyTypes;
+    }
+
     public RegretInsertion(JobInsertionCostsCalculator jobInsertionCalculator, VehicleRoutingProblem vehicleRoutingProblem) {
         super(vehicleRoutingProblem);
         this.scoringFunction = new DefaultScorer(vehicleRoutingProblem);
@@ -109,13 +130,16 @@ public class RegretInsertion extends AbstractInsertionStrategy {
         while (!jobs.isEmpty()) {
             List<Job> unassignedJobList = new ArrayList<>(jobs);
             List<ScoredJob> badJobList = new ArrayList<>();
-            ScoredJob bestScoredJob = nextJob(routes, unassignedJobList, badJobList);
+            List<ScoredJob> scoredJobList = new ArrayList<>();
+            ScoredJob bestScoredJob = nextJob(routes, unassignedJobList, badJobList, scoredJobList);
             if (bestScoredJob != null) {
-                if (bestScoredJob.isNewRoute()) {
-                    routes.add(bestScoredJob.getRoute());
+                for (ScoredJob scoredJob : RegretBatch.select(bestScoredJob, scoredJobList, batchSize, dependencyTypes)) {
+                    if (scoredJob.isNewRoute()) {
+                        routes.add(scoredJob.getRoute());
+                    }
+                    insertJob(scoredJob.getJob(), scoredJob.getInsertionData(), scoredJob.getRoute());
+                    jobs.remove(scoredJob.getJob());
                 }
-                insertJob(bestScoredJob.getJob(), bestScoredJob.getInsertionData(), bestScoredJob.getRoute());
-                jobs.remove(bestScoredJob.getJob());
             }
             for (ScoredJob bad : badJobList) {
                 Job unassigned = bad.getJob();
@@ -134,14 +158,16 @@ public class RegretInsertion extends AbstractInsertionStrategy {
         return null;
     }
 
-    private ScoredJob nextJob(Collection<VehicleRoute> routes, Collection<Job> unassignedJobList, List<ScoredJob> badJobs) {
+    private ScoredJob nextJob(Collection<VehicleRoute> routes, Collection<Job> unassignedJobList, List<ScoredJob> badJobs, List<ScoredJob> scoredJobs) {
         ScoredJob bestScoredJob = null;
         for (Job unassignedJob : unassignedJobList) {
+            checkInterrupted();
             ScoredJob scoredJob = getScoredJob(routes, unassignedJob, insertionCostsCalculator, scoringFunction);
             if (scoredJob instanceof ScoredJob.BadJob) {
                 badJobs.add(scoredJob);
                 continue;
             }
+            scoredJobs.add(scoredJob);
             if (bestScoredJob == null) bestScoredJob = scoredJob;
             else {
                 if (scoredJob.getScore() > bestScoredJob.getScore()) {
@@ -168,7 +194,7 @@ public class RegretInsertion extends AbstractInsertionStrategy {
             }
             InsertionData iData = insertionCostsCalculator.getInsertionData(route, unassignedJob, NO_NEW_VEHICLE_YET, NO_NEW_DEPARTURE_TIME_YET, NO_NEW_DRIVER_YET, benchmark);
             if (iData instanceof InsertionData.NoInsertionFound) {
-                failedConstraintNames.addAll(iData.getFailedConstraintNames());
+                iData.copyFailedConstraintNamesTo(failedConstraintNames);
                 continue;
             }
             if (best == null) {
@@ -196,7 +222,7 @@ public class RegretInsertion extends AbstractInsertionStrategy {
             } else if (secondBest == null || (iData.getInsertionCost() < secondBest.getInsertionCost())) {
                 secondBest = iData;
             }
-        } else failedConstraintNames.addAll(iData.getFailedConstraintNames());
+        } else iData.copyFailedConstraintNamesTo(failedConstraintNames);
         if (best == null) {
             ScoredJob.BadJob badJob = new ScoredJob.BadJob(unassignedJob, failedConstraintNames);
             return badJob;
@@ -19,6 +19,7 @@
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.constraint.DependencyType;
 import com.graphhopper.jsprit.core.problem.job.Break;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
@@ -50,7 +51,11 @@ public class RegretInsertionConcurrent extends AbstractInsertionStrategy {
 
     private final JobInsertionCostsCalculator insertionCostsCalculator;
 
-    private final ExecutorCompletionService<ScoredJob> completionService;
+    private final ExecutorService executorService;
+
+    private int batchSize = 1;
+
+    private DependencyType[] dependencyTypes = null;
 
     /**
      * Sets the scoring function.
@@ -63,12 +68,29 @@ public class RegretInsertionConcurrent extends AbstractInsertionStrategy {
         this.scoringFunction = scoringFunction;
     }
 
+    /**
+     * Sets the maximum number of jobs inserted after one scoring round.
+     * <p>
+     * <p>By default, it is 1, i.e. all remaining jobs are re-scored after each insertion. If it is larger, further high-regret
+     * jobs are inserted right away as long as their best routes are disjoint (see {@link RegretBatch}).
+     *
+     * @param batchSize max number of jobs to insert per scoring round
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be at least 1. it is " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public void setDependencyTypes(DependencyType[] dependencyTypes) {
+        this.dependencyTypes = dependencyTypes;
+    }
+
     public RegretInsertionConcurrent(JobInsertionCostsCalculator jobInsertionCalculator, VehicleRoutingProblem vehicleRoutingProblem, ExecutorService executorService) {
         super(vehicleRoutingProblem);
         this.scoringFunction = new DefaultScorer(vehicleRoutingProblem);
         this.insertionCostsCalculator = jobInsertionCalculator;
         this.vrp = vehicleRoutingProblem;
-        completionService = new ExecutorCompletionService<ScoredJob>(executorService);
+        this.executorService = executorService;
         logger.debug("initialise " + this);
     }
 
@@ -113,13 +135,16 @@ public class RegretInsertionConcurrent extends AbstractInsertionStrategy {
         while (!jobs.isEmpty()) {
             List<Job> unassignedJobList = new ArrayList<>(jobs);
             List<ScoredJob> badJobList = new ArrayList<>();
-            ScoredJob bestScoredJob = nextJob(routes, unassignedJobList, badJobList);
+            List<ScoredJob> scoredJobList = new ArrayList<>();
+            ScoredJob bestScoredJob = nextJob(routes, unassignedJobList, badJobList, scoredJobList);
             if (bestScoredJob != null) {
-                if (bestScoredJob.isNewRoute()) {
-                    routes.add(bestScoredJob.getRoute());
+                for (ScoredJob scoredJob : RegretBatch.select(bestScoredJob, scoredJobList, batchSize, dependencyTypes)) {
+                    if (scoredJob.isNewRoute()) {
+                        routes.add(scoredJob.getRoute());
+                    }
+                    insertJob(scoredJob.getJob(), scoredJob.getInsertionData(), scoredJob.getRoute());
+                    jobs.remove(scoredJob.getJob());
                 }
-                insertJob(bestScoredJob.getJob(), bestScoredJob.getInsertionData(), bestScoredJob.getRoute());
-                jobs.remove(bestScoredJob.getJob());
             }
             for (ScoredJob bad : badJobList) {
                 Job unassigned = bad.getJob();
@@ -131,8 +156,10 @@ public class RegretInsertionConcurrent extends AbstractInsertionStrategy {
         return badJobs;
     }
 
-    private ScoredJob nextJob(final Collection<VehicleRoute> routes, List<Job> unassignedJobList, List<ScoredJob> badJobList) {
+    private ScoredJob nextJob(final Collection<VehicleRoute> routes, List<Job> unassignedJobList, List<ScoredJob> badJobList, List<ScoredJob> scoredJobList) {
+        checkInterrupted();
         ScoredJob bestScoredJob = null;
+        ExecutorCompletionService<ScoredJob> completionService = new ExecutorCompletionService<ScoredJob>(executorService);
 
         for (final Job unassignedJob : unassignedJobList) {
             completionService.submit(new Callable<ScoredJob>() {
@@ -153,6 +180,7 @@ public class RegretInsertionConcurrent extends AbstractInsertionStrategy {
                     badJobList.add(sJob);
                     continue;
                 }
+                scoredJobList.add(sJob);
                 if (bestScoredJob == null) {
                     bestScoredJob = sJob;
                 } else if (sJob.getScore() > bestScoredJob.getScore()) {
@@ -165,6 +193,7 @@ public class RegretInsertionConcurrent extends AbstractInsertionStrategy {
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            throw new InsertionInterruptedException("insertion has been interrupted");
         } catch (ExecutionException e) {
             throw new RuntimeException(e);
         }
@@ -60,6 +60,10 @@ public class RegretInsertionConcurrentFast extends AbstractInsertionStrategy {
 
     private DependencyType[] dependencyTypes = null;
 
+    private int batchSize = 1;
+
+    private boolean reuseEmptyRouteInsertions = false;
+
 
     /**
      * Sets the scoring function.
@@ -100,6 +104,32 @@ public class RegretInsertionConcurrentFast extends AbstractInsertionStrategy {
         return ids;
     }
 
+    /**
+     * Sets the maximum number of jobs inserted after one scoring round.
+     * <p>
+     * <p>By default, it is 1, i.e. all remaining jobs are re-scored after each insertion. If it is larger, further high-regret
+     * jobs are inserted right away as long as their best routes are disjoint (see {@link RegretBatch}).
+     *
+     * @param batchSize max number of jobs to insert per scoring round
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be at least 1. it is " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets whether the insertion of a job into an empty route is calculated once per vehicle type and insertion run
+     * and then reused in subsequent scoring rounds.
+     * <p>
+     * <p>By default, it is false. Only enable it if no hard or soft constraint depends on state beyond the route it is
+     * evaluated for, since such state changes with every insertion.
+     *
+     * @param reuseEmptyRouteInsertions true if empty route insertions can be reused
+     */
+    public void setReuseEmptyRouteInsertions(boolean reuseEmptyRouteInsertions) {
+        this.reuseEmptyRouteInsertions = reuseEmptyRouteInsertions;
+    }
+
     public void setDependencyTypes(DependencyType[] dependencyTypes){
         this.dependencyTypes = dependencyTypes;
     }
@@ -137,28 +167,33 @@ public class RegretInsertionConcurrentFast extends AbstractInsertionStrategy {
         }
 
         List<Job> jobs = new ArrayList<Job>(unassignedJobs);
-        TreeSet<VersionedInsertionData>[] priorityQueues = new TreeSet[vrp.getJobs().values().size() + 2];
-        VehicleRoute lastModified = null;
+        RegretAlternatives[] alternatives = new RegretAlternatives[vrp.getJobs().values().size() + 2];
+        List<VehicleRoute> lastModified = new ArrayList<>();
         boolean firstRun = true;
-        int updateRound = 0;
-        Map<VehicleRoute,Integer> updates = new HashMap<VehicleRoute, Integer>();
+        EmptyRouteInsertions emptyRouteInsertions = new EmptyRouteInsertions(vrp.getJobs().values().size() + 1, reuseEmptyRouteInsertions);
+        Map<VehicleRoute, Integer> routeSlots = new HashMap<>();
+        for (VehicleRoute route : routes) InsertionDataUpdater.getSlot(routeSlots, route);
         while (!jobs.isEmpty()) {
+            checkInterrupted();
             List<Job> unassignedJobList = new ArrayList<>(jobs);
             List<ScoredJob> badJobList = new ArrayList<>();
-            if(!firstRun && lastModified == null) throw new IllegalStateException("ho. this must not be.");
-            updateInsertionData(priorityQueues, routes, unassignedJobList, updateRound,firstRun,lastModified,updates);
+            if(!firstRun && lastModified.isEmpty()) throw new IllegalStateException("ho. this must not be.");
+            updateInsertionData(alternatives, routes, unassignedJobList, firstRun, lastModified, routeSlots, emptyRouteInsertions);
             if(firstRun) firstRun = false;
-            updateRound++;
-            ScoredJob bestScoredJob = InsertionDataUpdater.getBest(switchAllowed,initialVehicleIds,fleetManager, insertionCostsCalculator, scoringFunction, priorityQueues, updates, unassignedJobList, badJobList);
+            List<ScoredJob> scoredJobList = new ArrayList<>();
+            ScoredJob bestScoredJob = InsertionDataUpdater.getBest(switchAllowed,initialVehicleIds,fleetManager, insertionCostsCalculator, scoringFunction, alternatives, unassignedJobList, badJobList, emptyRouteInsertions, scoredJobList);
+            lastModified = new ArrayList<>();
             if (bestScoredJob != null) {
-                if (bestScoredJob.isNewRoute()) {
-                    routes.add(bestScoredJob.getRoute());
+                for (ScoredJob scoredJob : RegretBatch.select(bestScoredJob, scoredJobList, batchSize, dependencyTypes)) {
+                    if (scoredJob.isNewRoute()) {
+                        routes.add(scoredJob.getRoute());
+                        InsertionDataUpdater.getSlot(routeSlots, scoredJob.getRoute());
+                    }
+                    insertJob(scoredJob.getJob(), scoredJob.getInsertionData(), scoredJob.getRoute());
+                    jobs.remove(scoredJob.getJob());
+                    lastModified.add(scoredJob.getRoute());
                 }
-                insertJob(bestScoredJob.getJob(), bestScoredJob.getInsertionData(), bestScoredJob.getRoute());
-                jobs.remove(bestScoredJob.getJob());
-                lastModified = bestScoredJob.getRoute();
             }
-            else lastModified = null;
             for (ScoredJob bad : badJobList) {
                 Job unassigned = bad.getJob();
                 jobs.remove(unassigned);
@@ -169,52 +204,47 @@ public class RegretInsertionConcurrentFast extends AbstractInsertionStrategy {
         return badJobs;
     }
 
-    private void updateInsertionData(final TreeSet<VersionedInsertionData>[] priorityQueues, final Collection<VehicleRoute> routes, List<Job> unassignedJobList, final int updateRound, final boolean firstRun, final VehicleRoute lastModified, Map<VehicleRoute, Integer> updates) {
+    private void updateInsertionData(final RegretAlternatives[] alternatives, final Collection<VehicleRoute> routes, List<Job> unassignedJobList, final boolean firstRun, final List<VehicleRoute> lastModified, final Map<VehicleRoute, Integer> routeSlots, EmptyRouteInsertions emptyRouteInsertions) {
         List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
         boolean updatedAllRoutes = false;
         for (final Job unassignedJob : unassignedJobList) {
-            if(priorityQueues[unassignedJob.getIndex()] == null){
-                priorityQueues[unassignedJob.getIndex()] = new TreeSet<>(InsertionDataUpdater.getComparator());
+            if(alternatives[unassignedJob.getIndex()] == null){
+                alternatives[unassignedJob.getIndex()] = new RegretAlternatives(routeSlots.size());
             }
             if(firstRun) {
                 updatedAllRoutes = true;
-                makeCallables(tasks, updatedAllRoutes, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, routes, lastModified);
+                makeCallables(tasks, updatedAllRoutes, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, routes, lastModified);
             }
             else{
                 if(dependencyTypes == null || dependencyTypes[unassignedJob.getIndex()] == null){
-                    makeCallables(tasks, updatedAllRoutes, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, routes, lastModified);
+                    makeCallables(tasks, updatedAllRoutes, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, routes, lastModified);
                 }
                 else {
                     DependencyType dependencyType = dependencyTypes[unassignedJob.getIndex()];
                     if (dependencyType.equals(DependencyType.INTER_ROUTE) || dependencyType.equals(DependencyType.INTRA_ROUTE)) {
+                        emptyRouteInsertions.invalidate(unassignedJob);
                         updatedAllRoutes = true;
-                        makeCallables(tasks, updatedAllRoutes, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, routes, lastModified);
+                        makeCallables(tasks, updatedAllRoutes, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, routes, lastModified);
                     } else {
-                        makeCallables(tasks, updatedAllRoutes, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, routes, lastModified);
+                        makeCallables(tasks, updatedAllRoutes, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, routes, lastModified);
                     }
                 }
             }
         }
-        if(updatedAllRoutes){
-            for(VehicleRoute r : routes) updates.put(r,updateRound);
-        }
-        else{
-            updates.put(lastModified,updateRound);
-        }
         try {
             executor.invokeAll(tasks);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new RuntimeException(e);
+            throw new InsertionInterruptedException("insertion has been interrupted");
         }
     }
 
-    private void makeCallables(List<Callable<Boolean>> tasks, boolean updateAll, final TreeSet<VersionedInsertionData> priorityQueue, final int updateRound, final Job unassignedJob, final Collection<VehicleRoute> routes, final VehicleRoute lastModified) {
+    private void makeCallables(List<Callable<Boolean>> tasks, boolean updateAll, final RegretAlternatives alternatives, final Map<VehicleRoute, Integer> routeSlots, final Job unassignedJob, final Collection<VehicleRoute> routes, final List<VehicleRoute> lastModified) {
         if(updateAll) {
             tasks.add(new Callable<Boolean>() {
                 @Override
                 public Boolean call() throws Exception {
-                    return InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, priorityQueue, updateRound, unassignedJob, routes);
+                    return InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, alternatives, routeSlots, unassignedJob, routes);
                 }
             });
         }
@@ -222,7 +252,7 @@ public class RegretInsertionConcurrentFast extends AbstractInsertionStrategy {
             tasks.add(new Callable<Boolean>() {
                 @Override
                 public Boolean call() throws Exception {
-                    return InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, priorityQueue, updateRound, unassignedJob, Arrays.asList(lastModified));
+                    return InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, alternatives, routeSlots, unassignedJob, lastModified);
                 }
             });
         }
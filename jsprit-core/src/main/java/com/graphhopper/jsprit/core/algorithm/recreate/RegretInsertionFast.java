@@ -54,6 +54,10 @@ public class RegretInsertionFast extends AbstractInsertionStrategy {
 
     private DependencyType[] dependencyTypes = null;
 
+    private int batchSize = 1;
+
+    private boolean reuseEmptyRouteInsertions = false;
+
     public RegretInsertionFast(JobInsertionCostsCalculator jobInsertionCalculator, VehicleRoutingProblem vehicleRoutingProblem, VehicleFleetManager fleetManager) {
         super(vehicleRoutingProblem);
         this.scoringFunction = new DefaultScorer(vehicleRoutingProblem);
@@ -79,6 +83,32 @@ public class RegretInsertionFast extends AbstractInsertionStrategy {
         this.switchAllowed = switchAllowed;
     }
 
+    /**
+     * Sets the maximum number of jobs inserted after one scoring round.
+     * <p>
+     * <p>By default, it is 1, i.e. all remaining jobs are re-scored after each insertion. If it is larger, further high-regret
+     * jobs are inserted right away as long as their best routes are disjoint (see {@link RegretBatch}).
+     *
+     * @param batchSize max number of jobs to insert per scoring round
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be at least 1. it is " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets whether the insertion of a job into an empty route is calculated once per vehicle type and insertion run
+     * and then reused in subsequent scoring rounds.
+     * <p>
+     * <p>By default, it is false. Only enable it if no hard or soft constraint depends on state beyond the route it is
+     * evaluated for, since such state changes with every insertion.
+     *
+     * @param reuseEmptyRouteInsertions true if empty route insertions can be reused
+     */
+    public void setReuseEmptyRouteInsertions(boolean reuseEmptyRouteInsertions) {
+        this.reuseEmptyRouteInsertions = reuseEmptyRouteInsertions;
+    }
+
     public void setDependencyTypes(DependencyType[] dependencyTypes){
         this.dependencyTypes = dependencyTypes;
     }
@@ -127,35 +157,39 @@ public class RegretInsertionFast extends AbstractInsertionStrategy {
 //        }
 
         List<Job> jobs = new ArrayList<Job>(unassignedJobs);
-        TreeSet<VersionedInsertionData>[] priorityQueues = new TreeSet[vrp.getJobs().values().size() + 2];
-        VehicleRoute lastModified = null;
+        RegretAlternatives[] alternatives = new RegretAlternatives[vrp.getJobs().values().size() + 2];
+        List<VehicleRoute> lastModified = new ArrayList<>();
         boolean firstRun = true;
-        int updateRound = 0;
-        Map<VehicleRoute, Integer> updates = new HashMap<>();
+        EmptyRouteInsertions emptyRouteInsertions = new EmptyRouteInsertions(vrp.getJobs().values().size() + 1, reuseEmptyRouteInsertions);
+        Map<VehicleRoute, Integer> routeSlots = new HashMap<>();
+        for (VehicleRoute route : routes) InsertionDataUpdater.getSlot(routeSlots, route);
         while (!jobs.isEmpty()) {
+            checkInterrupted();
             List<Job> unassignedJobList = new ArrayList<>(jobs);
             List<ScoredJob> badJobList = new ArrayList<>();
-            if(!firstRun && lastModified == null) throw new IllegalStateException("last modified route is null. this should not be.");
+            if(!firstRun && lastModified.isEmpty()) throw new IllegalStateException("no route has been modified in last round. this should not be.");
             if(firstRun){
-                updateInsertionData(priorityQueues, routes, unassignedJobList, updateRound, firstRun, lastModified, updates);
+                updateInsertionData(alternatives, routes, unassignedJobList, firstRun, lastModified, routeSlots, emptyRouteInsertions);
                 firstRun = false;
             }
             else{
                 //update for all routes || remove history and only update modified route
-                updateInsertionData(priorityQueues, routes, unassignedJobList, updateRound, firstRun, lastModified, updates);
-//                updates.put(lastModified,updateRound);
+                updateInsertionData(alternatives, routes, unassignedJobList, firstRun, lastModified, routeSlots, emptyRouteInsertions);
             }
-            updateRound++;
-            ScoredJob bestScoredJob = InsertionDataUpdater.getBest(switchAllowed,initialVehicleIds,fleetManager,insertionCostsCalculator,scoringFunction,priorityQueues,updates,unassignedJobList,badJobList);
+            List<ScoredJob> scoredJobList = new ArrayList<>();
+            ScoredJob bestScoredJob = InsertionDataUpdater.getBest(switchAllowed,initialVehicleIds,fleetManager,insertionCostsCalculator,scoringFunction,alternatives,unassignedJobList,badJobList, emptyRouteInsertions, scoredJobList);
+            lastModified = new ArrayList<>();
             if (bestScoredJob != null) {
-                if (bestScoredJob.isNewRoute()) {
-                    routes.add(bestScoredJob.getRoute());
+                for (ScoredJob scoredJob : RegretBatch.select(bestScoredJob, scoredJobList, batchSize, dependencyTypes)) {
+                    if (scoredJob.isNewRoute()) {
+                        routes.add(scoredJob.getRoute());
+                        InsertionDataUpdater.getSlot(routeSlots, scoredJob.getRoute());
+                    }
+                    insertJob(scoredJob.getJob(), scoredJob.getInsertionData(), scoredJob.getRoute());
+                    jobs.remove(scoredJob.getJob());
+                    lastModified.add(scoredJob.getRoute());
                 }
-                insertJob(bestScoredJob.getJob(), bestScoredJob.getInsertionData(), bestScoredJob.getRoute());
-                jobs.remove(bestScoredJob.getJob());
-                lastModified = bestScoredJob.getRoute();
             }
-            else lastModified = null;
             for (ScoredJob bad : badJobList) {
                 Job unassigned = bad.getJob();
                 jobs.remove(unassigned);
@@ -166,28 +200,25 @@ public class RegretInsertionFast extends AbstractInsertionStrategy {
         return badJobs;
     }
 
-    private void updateInsertionData(TreeSet<VersionedInsertionData>[] priorityQueues, Collection<VehicleRoute> routes, List<Job> unassignedJobList, int updateRound, boolean firstRun, VehicleRoute lastModified, Map<VehicleRoute, Integer> updates) {
+    private void updateInsertionData(RegretAlternatives[] alternatives, Collection<VehicleRoute> routes, List<Job> unassignedJobList, boolean firstRun, List<VehicleRoute> lastModified, Map<VehicleRoute, Integer> routeSlots, EmptyRouteInsertions emptyRouteInsertions) {
         for (Job unassignedJob : unassignedJobList) {
-            if(priorityQueues[unassignedJob.getIndex()] == null){
-                priorityQueues[unassignedJob.getIndex()] = new TreeSet<>(InsertionDataUpdater.getComparator());
+            if(alternatives[unassignedJob.getIndex()] == null){
+                alternatives[unassignedJob.getIndex()] = new RegretAlternatives(routeSlots.size());
             }
             if(firstRun) {
-                InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, routes);
-                for(VehicleRoute r : routes) updates.put(r,updateRound);
+                InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, routes);
             }
             else{
                 if(dependencyTypes == null || dependencyTypes[unassignedJob.getIndex()] == null){
-                    InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, Arrays.asList(lastModified));
-                    updates.put(lastModified,updateRound);
+                    InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, lastModified);
                 }
                 else {
                     DependencyType dependencyType = dependencyTypes[unassignedJob.getIndex()];
                     if (dependencyType.equals(DependencyType.INTER_ROUTE) || dependencyType.equals(DependencyType.INTRA_ROUTE)) {
-                        InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, routes);
-                        for(VehicleRoute r : routes) updates.put(r,updateRound);
+                        emptyRouteInsertions.invalidate(unassignedJob);
+                        InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, routes);
                     } else {
-                        InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, priorityQueues[unassignedJob.getIndex()], updateRound, unassignedJob, Arrays.asList(lastModified));
-                        updates.put(lastModified,updateRound);
+                        InsertionDataUpdater.update(switchAllowed, initialVehicleIds, fleetManager, insertionCostsCalculator, alternatives[unassignedJob.getIndex()], routeSlots, unassignedJob, lastModified);
                     }
                 }
             }
@@ -36,7 +36,7 @@ class ScoredJob {
 
         private static InsertionData getEmptyInsertion(List<String> failedConstraintNames) {
             InsertionData empty = new InsertionData.NoInsertionFound();
-            empty.getFailedConstraintNames().addAll(failedConstraintNames);
+            empty.addFailedConstraintNames(failedConstraintNames);
             return empty;
         }
     }
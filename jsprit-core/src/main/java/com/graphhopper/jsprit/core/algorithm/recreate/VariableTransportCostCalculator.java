@@ -18,6 +18,8 @@
 package com.graphhopper.jsprit.core.algorithm.recreate;
 
 import com.graphhopper.jsprit.core.problem.constraint.SoftActivityConstraint;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.TransportCostsLookup;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingActivityCosts;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
 import com.graphhopper.jsprit.core.problem.misc.JobInsertionContext;
@@ -30,6 +32,8 @@ public class VariableTransportCostCalculator implements SoftActivityConstraint {
 
     private final VehicleRoutingActivityCosts activityCosts;
 
+    private final ThreadLocal<double[]> relationBuffer = TransportCostsLookup.newThreadLocalBuffer();
+
     public VariableTransportCostCalculator(VehicleRoutingTransportCosts routingCosts, VehicleRoutingActivityCosts activityCosts) {
         super();
         this.routingCosts = routingCosts;
@@ -38,8 +42,10 @@ public class VariableTransportCostCalculator implements SoftActivityConstraint {
 
     @Override
     public double getCosts(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double depTimeAtPrevAct) {
-        double tp_costs_prevAct_newAct = routingCosts.getTransportCost(prevAct.getLocation(), newAct.getLocation(), depTimeAtPrevAct, iFacts.getNewDriver(), iFacts.getNewVehicle());
-        double tp_time_prevAct_newAct = routingCosts.getTransportTime(prevAct.getLocation(), newAct.getLocation(), depTimeAtPrevAct, iFacts.getNewDriver(), iFacts.getNewVehicle());
+        double[] relation = relationBuffer.get();
+        TransportCostsLookup.lookup(routingCosts, prevAct.getLocation(), newAct.getLocation(), depTimeAtPrevAct, iFacts.getNewDriver(), iFacts.getNewVehicle(), relation);
+        double tp_costs_prevAct_newAct = relation[FusedTransportCosts.COST];
+        double tp_time_prevAct_newAct = relation[FusedTransportCosts.TIME];
 
         double newAct_arrTime = depTimeAtPrevAct + tp_time_prevAct_newAct;
         double newAct_endTime = Math.max(newAct_arrTime, newAct.getTheoreticalEarliestOperationStartTime()) + activityCosts.getActivityDuration(newAct,newAct_arrTime,iFacts.getNewDriver(),iFacts.getNewVehicle());
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 
@@ -54,6 +55,8 @@ final class VehicleTypeDependentJobInsertionCalculator implements JobInsertionCo
      */
     private boolean vehicleSwitchAllowed = false;
 
+    private InsertionCostsLowerBound lowerBound;
+
     public VehicleTypeDependentJobInsertionCalculator(final VehicleRoutingProblem vrp, final VehicleFleetManager fleetManager, final JobInsertionCostsCalculator jobInsertionCalc) {
         this.fleetManager = fleetManager;
         this.insertionCalculator = jobInsertionCalc;
@@ -92,8 +95,26 @@ final class VehicleTypeDependentJobInsertionCalculator implements JobInsertionCo
         this.vehicleSwitchAllowed = vehicleSwitchAllowed;
     }
 
+    /**
+     * Sets a lower bound of insertion costs that is evaluated before a route is scanned. Routes whose lower bound
+     * is not better than the best known costs are skipped. Default is null, i.e. every route is scanned.
+     *
+     * @param lowerBound the lower bound of insertion costs
+     */
+    public void setInsertionCostsLowerBound(InsertionCostsLowerBound lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
     public InsertionData getInsertionData(final VehicleRoute currentRoute, final Job jobToInsert, final Vehicle vehicle, double newVehicleDepartureTime, final Driver driver, final double bestKnownCost) {
         if(vehicle != null){
+            if (lowerBound != null) {
+                List<String> failedConstraintNames = new ArrayList<String>(1);
+                if (isHopeless(currentRoute, jobToInsert, vehicle, newVehicleDepartureTime, bestKnownCost, failedConstraintNames)) {
+                    InsertionData noInsertion = new InsertionData.NoInsertionFound();
+                    noInsertion.addFailedConstraintNames(failedConstraintNames);
+                    return noInsertion;
+                }
+            }
             return insertionCalculator.getInsertionData(currentRoute, jobToInsert, vehicle, newVehicleDepartureTime, driver, bestKnownCost);
         }
         Vehicle selectedVehicle = currentRoute.getVehicle();
@@ -109,13 +130,16 @@ final class VehicleTypeDependentJobInsertionCalculator implements JobInsertionCo
         } else { //if no vehicle has been assigned, i.e. it is an empty route
             relevantVehicles.addAll(fleetManager.getAvailableVehicles());
         }
+        List<String> failedConstraintNames = null;
+        if (lowerBound != null) failedConstraintNames = new ArrayList<String>(1);
         for (Vehicle v : relevantVehicles) {
             double depTime;
             if (v == selectedVehicle) depTime = currentRoute.getDepartureTime();
             else depTime = v.getEarliestDeparture();
+            if (isHopeless(currentRoute, jobToInsert, v, depTime, bestKnownCost_, failedConstraintNames)) continue;
             InsertionData iData = insertionCalculator.getInsertionData(currentRoute, jobToInsert, v, depTime, selectedDriver, bestKnownCost_);
             if (iData instanceof InsertionData.NoInsertionFound) {
-                bestIData.getFailedConstraintNames().addAll(iData.getFailedConstraintNames());
+                bestIData.addFailedConstraintNames(iData);
                 continue;
             }
             if (iData.getInsertionCost() < bestKnownCost_) {
@@ -123,9 +147,16 @@ final class VehicleTypeDependentJobInsertionCalculator implements JobInsertionCo
                 bestKnownCost_ = iData.getInsertionCost();
             }
         }
+        if (failedConstraintNames != null && bestIData instanceof InsertionData.NoInsertionFound) {
+            bestIData.addFailedConstraintNames(failedConstraintNames);
+        }
         return bestIData;
     }
 
+    private boolean isHopeless(VehicleRoute route, Job job, Vehicle vehicle, double departureTime, double bestKnownCost, List<String> failedConstraintNames) {
+        return lowerBound != null && lowerBound.getLowerBound(route, job, vehicle, departureTime, failedConstraintNames) >= bestKnownCost;
+    }
+
     VehicleFleetManager getFleetManager(){
         return fleetManager;
     }
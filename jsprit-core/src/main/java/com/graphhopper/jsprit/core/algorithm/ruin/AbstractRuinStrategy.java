@@ -24,12 +24,12 @@ import com.graphhopper.jsprit.core.algorithm.ruin.listener.RuinListeners;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
 import com.graphhopper.jsprit.core.util.RandomNumberGeneration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
-import java.util.Random;
+import java.util.*;
 
 public abstract class AbstractRuinStrategy implements RuinStrategy {
 
@@ -41,6 +41,31 @@ public abstract class AbstractRuinStrategy implements RuinStrategy {
 
     protected VehicleRoutingProblem vrp;
 
+    /*
+     * route of each job indexed by job index. it is only valid while ruin(...) is running on the owning thread
+     */
+    private static class RouteIndex {
+
+        private VehicleRoute[] routeOfJob = new VehicleRoute[0];
+
+        private Collection<VehicleRoute> routes;
+
+    }
+
+    /*
+     * one index per thread such that a strategy can be shared by algorithms running concurrently
+     */
+    private final ThreadLocal<RouteIndex> routeIndex = new ThreadLocal<RouteIndex>() {
+        @Override
+        protected RouteIndex initialValue() {
+            return new RouteIndex();
+        }
+    };
+
+    private volatile BitSet problemJobIndices;
+
+    private volatile boolean problemJobIndicesInitialised = false;
+
     public void setRandom(Random random) {
         this.random = random;
     }
@@ -63,7 +88,14 @@ public abstract class AbstractRuinStrategy implements RuinStrategy {
     @Override
     public Collection<Job> ruin(Collection<VehicleRoute> vehicleRoutes) {
         ruinListeners.ruinStarts(vehicleRoutes);
-        Collection<Job> unassigned = ruinRoutes(vehicleRoutes);
+        RouteIndex index = routeIndex.get();
+        indexRoutes(index, vehicleRoutes);
+        Collection<Job> unassigned;
+        try {
+            unassigned = ruinRoutes(vehicleRoutes);
+        } finally {
+            clearRouteIndex(index);
+        }
         logger.trace("ruin: [ruined={}]", unassigned.size());
         ruinListeners.ruinEnds(vehicleRoutes, unassigned);
         return unassigned;
@@ -86,28 +118,141 @@ public abstract class AbstractRuinStrategy implements RuinStrategy {
         return ruinListeners.getListeners();
     }
 
-    protected boolean removeJob(Job job, Collection<VehicleRoute> vehicleRoutes) {
-        if (jobIsInitial(job)) return false;
+    private static void indexRoutes(RouteIndex routeIndex, Collection<VehicleRoute> vehicleRoutes) {
+        VehicleRoute[] routeOfJob = routeIndex.routeOfJob;
         for (VehicleRoute route : vehicleRoutes) {
-            if (removeJob(job, route)) {
-                return true;
+            for (TourActivity act : route.getActivities()) {
+                if (act instanceof TourActivity.JobActivity) {
+                    int index = ((TourActivity.JobActivity) act).getJob().getIndex();
+                    if (index <= 0) continue;
+                    if (index >= routeOfJob.length) {
+                        routeOfJob = Arrays.copyOf(routeOfJob, Math.max(index + 1, 2 * routeOfJob.length));
+                    }
+                    routeOfJob[index] = route;
+                }
+            }
+        }
+        routeIndex.routeOfJob = routeOfJob;
+        routeIndex.routes = vehicleRoutes;
+    }
+
+    private static void clearRouteIndex(RouteIndex routeIndex) {
+        Arrays.fill(routeIndex.routeOfJob, null);
+        routeIndex.routes = null;
+    }
+
+    private void unindex(Job job) {
+        RouteIndex index = routeIndex.get();
+        int jobIndex = job.getIndex();
+        if (index.routes != null && jobIndex > 0 && jobIndex < index.routeOfJob.length) index.routeOfJob[jobIndex] = null;
+    }
+
+    protected boolean removeJob(Job job, Collection<VehicleRoute> vehicleRoutes) {
+        return !removeJobs(Collections.singletonList(job), vehicleRoutes).isEmpty();
+    }
+
+    /**
+     * Removes the specified jobs from vehicleRoutes and informs listeners about each removed job. The jobs are grouped
+     * by route and removed from each route in a single pass, thus ruins that determine all jobs to be removed before
+     * removing them should call this once instead of calling {@link #removeJob(Job, Collection)} for each job.
+     *
+     * @param jobs          jobs to be removed
+     * @param vehicleRoutes routes to remove jobs from
+     * @return jobs that have actually been removed, in the order of jobs
+     */
+    protected List<Job> removeJobs(Collection<Job> jobs, Collection<VehicleRoute> vehicleRoutes) {
+        Map<VehicleRoute, List<Job>> jobsOfRoute = new LinkedHashMap<VehicleRoute, List<Job>>();
+        for (Job job : jobs) {
+            if (jobIsInitial(job)) continue;
+            VehicleRoute route = getRoute(job, vehicleRoutes);
+            if (route == null) continue;
+            List<Job> jobsToRemove = jobsOfRoute.get(route);
+            if (jobsToRemove == null) {
+                jobsToRemove = new ArrayList<Job>();
+                jobsOfRoute.put(route, jobsToRemove);
             }
+            jobsToRemove.add(job);
+        }
+        if (jobsOfRoute.isEmpty()) return Collections.emptyList();
+        Map<Job, VehicleRoute> removedFrom = new HashMap<Job, VehicleRoute>();
+        for (Map.Entry<VehicleRoute, List<Job>> e : jobsOfRoute.entrySet()) {
+            for (Job removedJob : e.getKey().getTourActivities().removeJobs(e.getValue())) {
+                removedFrom.put(removedJob, e.getKey());
+            }
+        }
+        List<Job> removed = new ArrayList<Job>(removedFrom.size());
+        for (Job job : jobs) {
+            VehicleRoute route = removedFrom.remove(job);
+            if (route == null) continue;
+            informRemoved(job, route);
+            removed.add(job);
+        }
+        return removed;
+    }
+
+    private VehicleRoute getRoute(Job job, Collection<VehicleRoute> vehicleRoutes) {
+        RouteIndex index = routeIndex.get();
+        int jobIndex = job.getIndex();
+        if (index.routes == vehicleRoutes && jobIndex > 0) {
+            if (jobIndex >= index.routeOfJob.length) return null;
+            return index.routeOfJob[jobIndex];
+        }
+        for (VehicleRoute route : vehicleRoutes) {
+            if (route.getTourActivities().servesJob(job)) return route;
         }
-        return false;
+        return null;
     }
 
     private boolean jobIsInitial(Job job) {
+        int index = job.getIndex();
+        if (index > 0) {
+            if (!problemJobIndicesInitialised) {
+                problemJobIndices = getProblemJobIndices();
+                problemJobIndicesInitialised = true;
+            }
+            if (problemJobIndices != null) return !problemJobIndices.get(index);
+        }
         return !vrp.getJobs().containsKey(job.getId()); //for initial jobs (being not contained in problem
     }
 
+    private BitSet getProblemJobIndices() {
+        BitSet indices = new BitSet();
+        for (Job j : vrp.getJobs().values()) {
+            /*
+             * jobs without index cannot be represented. fall back to the id-based lookup
+             */
+            if (j.getIndex() <= 0) return null;
+            indices.set(j.getIndex());
+        }
+        return indices;
+    }
+
     protected boolean removeJob(Job job, VehicleRoute route) {
-        if (jobIsInitial(job)) return false;
-        boolean removed = route.getTourActivities().removeJob(job);
-        if (removed) {
-            logger.trace("ruin: {}", job.getId());
-            ruinListeners.removed(job, route);
-            return true;
+        return !removeJobs(Collections.singletonList(job), route).isEmpty();
+    }
+
+    /**
+     * Removes the specified jobs from route in a single pass and informs listeners about each removed job.
+     *
+     * @param jobs  jobs to be removed
+     * @param route route to remove jobs from
+     * @return jobs that have actually been removed, in the order of jobs
+     */
+    protected List<Job> removeJobs(Collection<Job> jobs, VehicleRoute route) {
+        List<Job> candidates = new ArrayList<Job>(jobs.size());
+        for (Job job : jobs) {
+            if (!jobIsInitial(job)) candidates.add(job);
+        }
+        List<Job> removed = route.getTourActivities().removeJobs(candidates);
+        for (Job job : removed) {
+            informRemoved(job, route);
         }
-        return false;
+        return removed;
+    }
+
+    private void informRemoved(Job job, VehicleRoute route) {
+        logger.trace("ruin: {}", job.getId());
+        unindex(job);
+        ruinListeners.removed(job, route);
     }
 }
@@ -21,105 +21,74 @@ package com.graphhopper.jsprit.core.algorithm.ruin;
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
 import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import com.graphhopper.jsprit.core.util.Coordinate;
+import com.graphhopper.jsprit.core.util.CrowFlyCosts;
+import com.graphhopper.jsprit.core.util.EuclideanCosts;
+import com.graphhopper.jsprit.core.util.KdTree;
 import com.graphhopper.jsprit.core.util.RandomNumberGeneration;
 import com.graphhopper.jsprit.core.util.RandomUtils;
-import org.apache.commons.math3.ml.clustering.Cluster;
-import org.apache.commons.math3.ml.clustering.Clusterable;
-import org.apache.commons.math3.ml.distance.DistanceMeasure;
 
 import java.util.*;
 
 /**
+ * Density based clustering (DBSCAN) of the jobs of a route.
+ * <p>
+ * <p>The distance between two jobs is the average transport cost between their locations. Jobs are clustered
+ * on primitive arrays whose buffers are reused from call to call, thus an instance must not be shared between threads.
+ * <p>
+ * <p>If transport costs are plain {@link CrowFlyCosts} or {@link EuclideanCosts} and all jobs of a larger route have
+ * a single location with coordinates, epsilon neighborhoods are queried from a {@link KdTree} over the route's jobs
+ * instead of scanning all of them.
+ * <p>
  * Created by schroeder on 04/02/15.
  */
 public class DBSCANClusterer {
 
-    private static class LocationWrapper implements Clusterable {
+    private static final int UNVISITED = 0;
 
-        private static int objCounter = 0;
+    private static final int NOISE = 1;
 
-        private final Job job;
+    private static final int PART_OF_CLUSTER = 2;
 
-        private List<Location> locations;
+    /*
+     * below this number of jobs, scanning all jobs is cheaper than building a tree
+     */
+    private static final int MIN_JOBS_FOR_KD_TREE = 32;
 
-        private int id;
+    private VehicleRoutingTransportCosts costs;
 
-        public LocationWrapper(Job job, List<Location> locations) {
-            this.locations = locations;
-            objCounter++;
-            this.job = job;
-            this.id = objCounter;
-        }
+    private int minNoOfJobsInCluster = 1;
 
-//        private List<Location> getLocations(Job job){
-//            List<Location> locs = new ArrayList<Location>();
-//            if(job instanceof Service) {
-//                locs.add(((Service) job).getLocation());
-//            }
-//            else if(job instanceof Shipment){
-//                locs.add(((Shipment) job).getPickupLocation());
-//                locs.add(((Shipment) job).getDeliveryLocation());
-//            }
-//            return locs;
-//        }
-
-        public List<Location> getLocations() {
-            return locations;
-        }
+    private int noDistanceSamples = 10;
 
-        @Override
-        public double[] getPoint() {
-            return new double[]{id};
-        }
+    private double epsFactor = 0.8;
 
-        public Job getJob() {
-            return job;
-        }
-    }
+    private Double epsDistance;
 
-    private static class MyDistance implements DistanceMeasure {
+    private Random random = RandomNumberGeneration.getRandom();
 
-        private Map<Integer, LocationWrapper> locations;
+    private Job[] jobs = new Job[0];
 
-        private VehicleRoutingTransportCosts costs;
+    private int noJobs;
 
-        public MyDistance(List<LocationWrapper> locations, VehicleRoutingTransportCosts costs) {
-            this.locations = new HashMap<Integer, LocationWrapper>();
-            for (LocationWrapper lw : locations) {
-                this.locations.put((int) lw.getPoint()[0], lw);
-            }
-            this.costs = costs;
-        }
+    private Location[] firstLocations = new Location[0];
 
-        @Override
-        public double compute(double[] doubles, double[] doubles1) {
-            LocationWrapper l1 = locations.get((int) doubles[0]);
-            LocationWrapper l2 = locations.get((int) doubles1[0]);
-            int count = 0;
-            double sum = 0;
-            for (Location loc_1 : l1.getLocations()) {
-                for (Location loc_2 : l2.getLocations()) {
-                    sum += costs.getTransportCost(loc_1, loc_2, 0, null, null);
-                    count++;
-                }
-            }
-            return sum / (double) count;
-        }
-    }
+    private Location[] secondLocations = new Location[0];
 
-    private VehicleRoutingTransportCosts costs;
+    private Map<Job, Integer> shipmentIndices = new IdentityHashMap<Job, Integer>();
 
-    private int minNoOfJobsInCluster = 1;
+    private int[] jobStatus = new int[0];
 
-    private int noDistanceSamples = 10;
+    private int[] neighbors = new int[0];
 
-    private double epsFactor = 0.8;
+    private int[] seeds = new int[0];
 
-    private Double epsDistance;
+    private boolean[] inSeeds = new boolean[0];
 
-    private Random random = RandomNumberGeneration.getRandom();
+    private KdTree kdTree;
 
     public void setRandom(Random random) {
         this.random = random;
@@ -142,62 +111,174 @@ public class DBSCANClusterer {
     }
 
     public List<List<Job>> getClusters(VehicleRoute route) {
-        List<LocationWrapper> locations = getLocationWrappers(route);
-        List<Cluster<LocationWrapper>> clusterResults = getClusters(route, locations);
-        return makeList(clusterResults);
-    }
-
-    private List<LocationWrapper> getLocationWrappers(VehicleRoute route) {
-        List<LocationWrapper> locations = new ArrayList<LocationWrapper>(route.getTourActivities().getJobs().size());
-        Map<Job, List<Location>> jobs2locations = new HashMap<Job, List<Location>>();
-        for (TourActivity act : route.getActivities()) {
-            if (act instanceof TourActivity.JobActivity) {
-                Job job = ((TourActivity.JobActivity) act).getJob();
-                if (!jobs2locations.containsKey(job)) {
-                    jobs2locations.put(job, new ArrayList<Location>());
+        if (route.isEmpty()) return new ArrayList<List<Job>>();
+        initialise(route);
+        return cluster(getEpsDistance(route));
+    }
+
+    public List<Job> getRandomCluster(VehicleRoute route) {
+        if (route.isEmpty()) return Collections.emptyList();
+        List<List<Job>> clusters = getClusters(route);
+        if (clusters.isEmpty()) return Collections.emptyList();
+        return RandomUtils.nextItem(clusters, random);
+    }
+
+    private double getEpsDistance(VehicleRoute route) {
+        if (epsDistance != null) return epsDistance;
+        return Math.max(0, sample(costs, route));
+    }
+
+    /*
+     * collects jobs of route in order of their first occurrence and their (at most two) locations
+     */
+    private void initialise(VehicleRoute route) {
+        List<TourActivity> activities = route.getActivities();
+        ensureCapacity(activities.size());
+        shipmentIndices.clear();
+        noJobs = 0;
+        for (TourActivity act : activities) {
+            if (!(act instanceof TourActivity.JobActivity)) continue;
+            Job job = ((TourActivity.JobActivity) act).getJob();
+            if (job instanceof Shipment) {
+                Integer index = shipmentIndices.get(job);
+                if (index != null) {
+                    secondLocations[index] = act.getLocation();
+                    continue;
                 }
-                jobs2locations.get(job).add(act.getLocation());
+                shipmentIndices.put(job, noJobs);
             }
+            jobs[noJobs] = job;
+            firstLocations[noJobs] = act.getLocation();
+            secondLocations[noJobs] = null;
+            noJobs++;
         }
-        for (Job j : jobs2locations.keySet()) {
-            locations.add(new LocationWrapper(j, jobs2locations.get(j)));
+        Arrays.fill(jobStatus, 0, noJobs, UNVISITED);
+        kdTree = createKdTree();
+    }
+
+    private KdTree createKdTree() {
+        if (noJobs < MIN_JOBS_FOR_KD_TREE || getDetourFactor() <= 0.) return null;
+        Coordinate[] coordinates = new Coordinate[noJobs];
+        for (int i = 0; i < noJobs; i++) {
+            if (secondLocations[i] != null || firstLocations[i].getCoordinate() == null) return null;
+            coordinates[i] = firstLocations[i].getCoordinate();
         }
-        return locations;
+        return new KdTree(coordinates);
+    }
+
+    /*
+     * returns the factor transport costs are scaled euclidean distances with, otherwise 0. classes are compared
+     * exactly since subclasses might override costs.
+     */
+    private double getDetourFactor() {
+        if (costs.getClass() == CrowFlyCosts.class) return ((CrowFlyCosts) costs).detourFactor;
+        if (costs.getClass() == EuclideanCosts.class) return ((EuclideanCosts) costs).detourFactor;
+        return 0.;
     }
 
-    private List<Cluster<LocationWrapper>> getClusters(VehicleRoute route, List<LocationWrapper> locations) {
-        double sampledDistance;
-        if (epsDistance != null) sampledDistance = epsDistance;
-        else sampledDistance = Math.max(0, sample(costs, route));
-        org.apache.commons.math3.ml.clustering.DBSCANClusterer<LocationWrapper> clusterer = new org.apache.commons.math3.ml.clustering.DBSCANClusterer<LocationWrapper>(sampledDistance, minNoOfJobsInCluster, new MyDistance(locations, costs));
-        return clusterer.cluster(locations);
+    private void ensureCapacity(int noActivities) {
+        if (jobs.length >= noActivities) return;
+        jobs = new Job[noActivities];
+        firstLocations = new Location[noActivities];
+        secondLocations = new Location[noActivities];
+        jobStatus = new int[noActivities];
+        neighbors = new int[noActivities];
+        seeds = new int[noActivities];
+        inSeeds = new boolean[noActivities];
     }
 
-    private List<List<Job>> makeList(List<Cluster<LocationWrapper>> clusterResults) {
-        List<List<Job>> l = new ArrayList<List<Job>>();
-        for (Cluster<LocationWrapper> c : clusterResults) {
-            List<Job> l_ = getJobList(c);
-            l.add(l_);
+    private List<List<Job>> cluster(double eps) {
+        List<List<Job>> clusters = new ArrayList<List<Job>>();
+        for (int point = 0; point < noJobs; point++) {
+            if (jobStatus[point] != UNVISITED) continue;
+            int noNeighbors = getNeighbors(point, eps, neighbors);
+            if (noNeighbors >= minNoOfJobsInCluster) {
+                clusters.add(expandCluster(point, noNeighbors, eps));
+            } else {
+                jobStatus[point] = NOISE;
+            }
         }
-        return l;
+        return clusters;
     }
 
-    private List<Job> getJobList(Cluster<LocationWrapper> c) {
-        List<Job> l_ = new ArrayList<Job>();
-        if (c == null) return l_;
-        for (LocationWrapper lw : c.getPoints()) {
-            l_.add(lw.getJob());
+    private List<Job> expandCluster(int point, int noNeighbors, double eps) {
+        List<Job> cluster = new ArrayList<Job>();
+        cluster.add(jobs[point]);
+        jobStatus[point] = PART_OF_CLUSTER;
+        Arrays.fill(inSeeds, 0, noJobs, false);
+        int noSeeds = 0;
+        for (int i = 0; i < noNeighbors; i++) {
+            seeds[noSeeds++] = neighbors[i];
+            inSeeds[neighbors[i]] = true;
         }
-        return l_;
+        for (int index = 0; index < noSeeds; index++) {
+            int current = seeds[index];
+            int status = jobStatus[current];
+            if (status == UNVISITED) {
+                int noCurrentNeighbors = getNeighbors(current, eps, neighbors);
+                if (noCurrentNeighbors >= minNoOfJobsInCluster) {
+                    for (int i = 0; i < noCurrentNeighbors; i++) {
+                        int neighbor = neighbors[i];
+                        if (!inSeeds[neighbor]) {
+                            inSeeds[neighbor] = true;
+                            seeds[noSeeds++] = neighbor;
+                        }
+                    }
+                }
+            }
+            if (status != PART_OF_CLUSTER) {
+                jobStatus[current] = PART_OF_CLUSTER;
+                cluster.add(jobs[current]);
+            }
+        }
+        return cluster;
     }
 
-    public List<Job> getRandomCluster(VehicleRoute route) {
-        if (route.isEmpty()) return Collections.emptyList();
-        List<LocationWrapper> locations = getLocationWrappers(route);
-        List<Cluster<LocationWrapper>> clusterResults = getClusters(route, locations);
-        if (clusterResults.isEmpty()) return Collections.emptyList();
-        Cluster<LocationWrapper> randomCluster = RandomUtils.nextItem(clusterResults, random);
-        return getJobList(randomCluster);
+    private int getNeighbors(int point, double eps, int[] neighborBuffer) {
+        if (kdTree != null) return getNeighborsFromKdTree(point, eps, neighborBuffer);
+        int noNeighbors = 0;
+        for (int other = 0; other < noJobs; other++) {
+            if (other == point) continue;
+            if (getDistance(other, point) <= eps) neighborBuffer[noNeighbors++] = other;
+        }
+        return noNeighbors;
+    }
+
+    /*
+     * candidates are queried with a slightly larger radius and then checked with the exact costs, such that the
+     * neighbors (and their order) equal the ones of the linear scan
+     */
+    private int getNeighborsFromKdTree(int point, double eps, int[] neighborBuffer) {
+        int[] candidates = kdTree.getNeighborsWithin(point, eps / getDetourFactor() * (1. + 1e-9));
+        int noNeighbors = 0;
+        for (int other : candidates) {
+            if (getDistance(other, point) <= eps) neighborBuffer[noNeighbors++] = other;
+        }
+        Arrays.sort(neighborBuffer, 0, noNeighbors);
+        return noNeighbors;
+    }
+
+    private double getDistance(int job1, int job2) {
+        if (secondLocations[job1] == null && secondLocations[job2] == null) {
+            return getTransportCost(firstLocations[job1], firstLocations[job2]);
+        }
+        double sum = 0;
+        int count = 0;
+        for (int l1 = 0; l1 < 2; l1++) {
+            Location loc1 = l1 == 0 ? firstLocations[job1] : secondLocations[job1];
+            if (loc1 == null) continue;
+            for (int l2 = 0; l2 < 2; l2++) {
+                Location loc2 = l2 == 0 ? firstLocations[job2] : secondLocations[job2];
+                if (loc2 == null) continue;
+                sum += getTransportCost(loc1, loc2);
+                count++;
+            }
+        }
+        return sum / (double) count;
+    }
+
+    private double getTransportCost(Location from, Location to) {
+        return costs.getTransportCost(from, to, 0, null, null);
     }
 
     private double sample(VehicleRoutingTransportCosts costs, VehicleRoute r) {
@@ -0,0 +1,151 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.algorithm.ruin;
+
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.JobDistance;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+
+import java.util.Iterator;
+import java.util.concurrent.*;
+
+/**
+ * Problem-scoped cache of job neighborhoods.
+ * <p>
+ * <p>Neighborhoods are keyed by job distance and capacity. Each of them is built only once, even if it is requested
+ * concurrently, and is shared by all algorithm instances and ruin strategies that solve the same problem, e.g. when
+ * solving a problem with several seeds in parallel. Job distances must implement equals and hashCode to be
+ * recognized as equal, otherwise they are compared by identity.
+ * <p>
+ * <p>The neighborhoods returned are already initialised and immutable, i.e. calling initialise() has no effect.
+ */
+public class JobNeighborhoodsCache {
+
+    private static class Key {
+
+        private final JobDistance jobDistance;
+
+        private final int capacity;
+
+        Key(JobDistance jobDistance, int capacity) {
+            this.jobDistance = jobDistance;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return capacity == key.capacity && jobDistance.equals(key.jobDistance);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * jobDistance.hashCode() + capacity;
+        }
+    }
+
+    private static class SharedJobNeighborhoods implements JobNeighborhoods {
+
+        private final JobNeighborhoods neighborhoods;
+
+        SharedJobNeighborhoods(JobNeighborhoods neighborhoods) {
+            this.neighborhoods = neighborhoods;
+        }
+
+        @Override
+        public Iterator<Job> getNearestNeighborsIterator(int nNeighbors, Job neighborTo) {
+            return neighborhoods.getNearestNeighborsIterator(nNeighbors, neighborTo);
+        }
+
+        @Override
+        public void initialise() {
+            // already initialised
+        }
+
+        @Override
+        public double getMaxDistance() {
+            return neighborhoods.getMaxDistance();
+        }
+    }
+
+    private final VehicleRoutingProblem vrp;
+
+    private final JobNeighborhoodsFactory factory;
+
+    private final ConcurrentMap<Key, FutureTask<JobNeighborhoods>> neighborhoods = new ConcurrentHashMap<Key, FutureTask<JobNeighborhoods>>();
+
+    public JobNeighborhoodsCache(VehicleRoutingProblem vrp) {
+        this(vrp, new JobNeighborhoodsFactory());
+    }
+
+    /**
+     * Creates a cache whose neighborhoods are built by factory.
+     *
+     * @param vrp     the problem
+     * @param factory the factory building the neighborhoods
+     */
+    public JobNeighborhoodsCache(VehicleRoutingProblem vrp, JobNeighborhoodsFactory factory) {
+        this.vrp = vrp;
+        this.factory = factory;
+    }
+
+    public VehicleRoutingProblem getVehicleRoutingProblem() {
+        return vrp;
+    }
+
+    /**
+     * Returns the initialised neighborhoods for jobDistance and capacity. If they do not exist yet, they are built by
+     * the calling thread, while other threads requesting the same neighborhoods wait for them.
+     *
+     * @param jobDistance the job distance
+     * @param capacity    the number of neighbors memorized per job
+     * @return initialised job neighborhoods
+     */
+    public JobNeighborhoods getNeighborhoods(final JobDistance jobDistance, final int capacity) {
+        Key key = new Key(jobDistance, capacity);
+        FutureTask<JobNeighborhoods> task = neighborhoods.get(key);
+        if (task == null) {
+            FutureTask<JobNeighborhoods> newTask = new FutureTask<JobNeighborhoods>(new Callable<JobNeighborhoods>() {
+                @Override
+                public JobNeighborhoods call() throws Exception {
+                    JobNeighborhoods jobNeighborhoods = factory.createNeighborhoods(vrp, jobDistance, capacity);
+                    jobNeighborhoods.initialise();
+                    return new SharedJobNeighborhoods(jobNeighborhoods);
+                }
+            });
+            task = neighborhoods.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                newTask.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for job neighborhoods", e);
+        } catch (ExecutionException e) {
+            neighborhoods.remove(key, task);
+            throw new IllegalStateException("cannot build job neighborhoods", e.getCause());
+        }
+    }
+
+}
@@ -18,21 +18,59 @@
 
 package com.graphhopper.jsprit.core.algorithm.ruin;
 
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.AvgServiceAndShipmentDistance;
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.EuclideanServiceDistance;
 import com.graphhopper.jsprit.core.algorithm.ruin.distance.JobDistance;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.util.CrowFlyCosts;
+import com.graphhopper.jsprit.core.util.EuclideanCosts;
 
 /**
  * Created by schroeder on 05/03/15.
  */
 public class JobNeighborhoodsFactory {
 
+    private boolean useSpatialIndex = false;
+
+    /**
+     * Lets neighborhoods with capacity be queried from a spatial index instead of being pre-computed, if the problem
+     * only contains services with coordinates and job distances are plain (scaled) euclidean distances. Default is
+     * false.
+     *
+     * @param useSpatialIndex true if a spatial index should be used where applicable
+     */
+    public void setUseSpatialIndex(boolean useSpatialIndex) {
+        this.useSpatialIndex = useSpatialIndex;
+    }
+
     public JobNeighborhoods createNeighborhoods(VehicleRoutingProblem vrp, JobDistance jobDistance) {
         return new JobNeighborhoodsImpl(vrp, jobDistance);
     }
 
     public JobNeighborhoods createNeighborhoods(VehicleRoutingProblem vrp, JobDistance jobDistance, int capacity) {
 //        return new JobNeighborhoodsImplWithCapRestriction(vrp, jobDistance, capacity);
+        if (useSpatialIndex) {
+            double euclideanFactor = getEuclideanFactor(jobDistance);
+            if (euclideanFactor > 0. && JobNeighborhoodsSpatial.isApplicable(vrp)) {
+                return new JobNeighborhoodsSpatial(vrp, capacity, euclideanFactor);
+            }
+        }
         return new JobNeighborhoodsOptimized(vrp, jobDistance, capacity);
     }
 
+    /*
+     * returns the factor d(i,j) = factor * euclidean(i,j) if jobDistance is a scaled euclidean distance, otherwise 0.
+     * classes are compared exactly since subclasses might override distances.
+     */
+    private double getEuclideanFactor(JobDistance jobDistance) {
+        if (jobDistance.getClass() == EuclideanServiceDistance.class) return 1.;
+        if (jobDistance.getClass() == AvgServiceAndShipmentDistance.class) {
+            VehicleRoutingTransportCosts costs = ((AvgServiceAndShipmentDistance) jobDistance).getTransportCosts();
+            if (costs.getClass() == CrowFlyCosts.class) return ((CrowFlyCosts) costs).detourFactor;
+            if (costs.getClass() == EuclideanCosts.class) return ((EuclideanCosts) costs).detourFactor;
+        }
+        return 0.;
+    }
+
 }
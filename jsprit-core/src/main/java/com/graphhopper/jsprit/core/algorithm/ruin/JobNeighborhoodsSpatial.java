@@ -0,0 +1,153 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.algorithm.ruin;
+
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Job neighborhoods of services based on a {@link KdTree} over their coordinates.
+ * <p>
+ * <p>In contrast to the other implementations, neighborhoods are not pre-computed, but queried on demand. Thus, it
+ * needs O(n log n) to initialise and O(n) memory instead of O(n^2), which makes it applicable to very large problems.
+ * It assumes that job distances are (scaled) euclidean distances between service locations.
+ */
+class JobNeighborhoodsSpatial implements JobNeighborhoods {
+
+    private static Logger logger = LoggerFactory.getLogger(JobNeighborhoodsSpatial.class);
+
+    private final VehicleRoutingProblem vrp;
+
+    private final int capacity;
+
+    private final double distanceFactor;
+
+    private Job[] jobs;
+
+    private int[] itemOfJob;
+
+    private KdTree kdTree;
+
+    private double maxDistance = 0.;
+
+    JobNeighborhoodsSpatial(VehicleRoutingProblem vrp, int capacity, double distanceFactor) {
+        this.vrp = vrp;
+        this.capacity = capacity;
+        this.distanceFactor = distanceFactor;
+        logger.debug("initialise {}", this);
+    }
+
+    /**
+     * Returns true if all jobs are services with coordinates.
+     */
+    static boolean isApplicable(VehicleRoutingProblem vrp) {
+        for (Job job : vrp.getJobsInclusiveInitialJobsInRoutes().values()) {
+            if (!(job instanceof Service)) return false;
+            if (((Service) job).getLocation() == null || ((Service) job).getLocation().getCoordinate() == null) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<Job> getNearestNeighborsIterator(int nNeighbors, Job neighborTo) {
+        int item = -1;
+        if (neighborTo.getIndex() < itemOfJob.length) item = itemOfJob[neighborTo.getIndex()];
+        if (item < 0 || jobs[item] != neighborTo) return Collections.<Job>emptyList().iterator();
+        int[] neighbors = kdTree.getNearestNeighbors(item, Math.min(nNeighbors, capacity));
+        return new JobNeighborhoodsOptimized.ArrayIterator(neighbors.length, neighbors, jobs);
+    }
+
+    @Override
+    public void initialise() {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Collection<Job> jobCollection = vrp.getJobsInclusiveInitialJobsInRoutes().values();
+        jobs = new Job[jobCollection.size()];
+        Coordinate[] coordinates = new Coordinate[jobCollection.size()];
+        int maxIndex = 0;
+        int item = 0;
+        for (Job job : jobCollection) {
+            jobs[item] = job;
+            coordinates[item] = ((Service) job).getLocation().getCoordinate();
+            maxIndex = Math.max(maxIndex, job.getIndex());
+            item++;
+        }
+        itemOfJob = new int[maxIndex + 1];
+        Arrays.fill(itemOfJob, -1);
+        for (int i = 0; i < jobs.length; i++) itemOfJob[jobs[i].getIndex()] = i;
+        kdTree = new KdTree(coordinates);
+        maxDistance = getDiameter(coordinates) * distanceFactor;
+        stopWatch.stop();
+        logger.debug("pre-processing comp-time: {}", stopWatch);
+    }
+
+    @Override
+    public double getMaxDistance() {
+        return maxDistance;
+    }
+
+    /*
+     * the two most distant points are vertices of the convex hull (monotone chain)
+     */
+    private static double getDiameter(Coordinate[] coordinates) {
+        if (coordinates.length < 2) return 0.;
+        Coordinate[] sorted = coordinates.clone();
+        Arrays.sort(sorted, new Comparator<Coordinate>() {
+            @Override
+            public int compare(Coordinate o1, Coordinate o2) {
+                int c = Double.compare(o1.getX(), o2.getX());
+                if (c != 0) return c;
+                return Double.compare(o1.getY(), o2.getY());
+            }
+        });
+        Coordinate[] hull = new Coordinate[2 * sorted.length];
+        int k = 0;
+        for (Coordinate c : sorted) {
+            while (k >= 2 && cross(hull[k - 2], hull[k - 1], c) <= 0) k--;
+            hull[k++] = c;
+        }
+        for (int i = sorted.length - 2, lower = k + 1; i >= 0; i--) {
+            while (k >= lower && cross(hull[k - 2], hull[k - 1], sorted[i]) <= 0) k--;
+            hull[k++] = sorted[i];
+        }
+        double diameter = 0.;
+        for (int i = 0; i < k; i++) {
+            for (int j = i + 1; j < k; j++) {
+                diameter = Math.max(diameter, EuclideanDistanceCalculator.calculateDistance(hull[i], hull[j]));
+            }
+        }
+        return diameter;
+    }
+
+    private static double cross(Coordinate o, Coordinate a, Coordinate b) {
+        return (a.getX() - o.getX()) * (b.getY() - o.getY()) - (a.getY() - o.getY()) * (b.getX() - o.getX());
+    }
+
+    @Override
+    public String toString() {
+        return "[name=spatialNeighborhood][capacity=" + capacity + "]";
+    }
+
+}
@@ -26,15 +26,36 @@ public class RadialRuinStrategyFactory implements RuinStrategyFactory {
 
     private JobDistance jobDistance;
 
+    private JobNeighborhoodsCache jobNeighborhoodsCache;
+
     public RadialRuinStrategyFactory(double fraction, JobDistance jobDistance) {
         super();
         this.fraction = fraction;
         this.jobDistance = jobDistance;
     }
 
+    /**
+     * Sets a cache to share job neighborhoods among all strategies created for the cache's problem.
+     *
+     * @param jobNeighborhoodsCache the cache
+     */
+    public void setJobNeighborhoodsCache(JobNeighborhoodsCache jobNeighborhoodsCache) {
+        this.jobNeighborhoodsCache = jobNeighborhoodsCache;
+    }
+
+    /**
+     * Creates a radial ruin strategy. Its neighborhoods are built by a {@link JobNeighborhoodsFactory}, either the
+     * one of the cache (if it has been created for vrp) or a default one.
+     */
     @Override
     public RuinStrategy createStrategy(VehicleRoutingProblem vrp) {
-        return new RuinRadial(vrp, fraction, jobDistance);
+        int noJobs = (int) Math.ceil(vrp.getJobs().values().size() * fraction);
+        if (jobNeighborhoodsCache != null && jobNeighborhoodsCache.getVehicleRoutingProblem() == vrp) {
+            return new RuinRadial(vrp, noJobs, jobNeighborhoodsCache.getNeighborhoods(jobDistance, noJobs));
+        }
+        JobNeighborhoods jobNeighborhoods = new JobNeighborhoodsFactory().createNeighborhoods(vrp, jobDistance, noJobs);
+        jobNeighborhoods.initialise();
+        return new RuinRadial(vrp, noJobs, jobNeighborhoods);
     }
 
 }
@@ -77,6 +77,8 @@ public final class RuinClusters extends AbstractRuinStrategy implements Iteratio
 
     private double epsFactor = 0.8;
 
+    private final DBSCANClusterer dbscan;
+
     public RuinClusters(VehicleRoutingProblem vrp, final int initialNumberJobsToRemove, JobNeighborhoods jobNeighborhoods) {
         super(vrp);
         this.vrp = vrp;
@@ -87,6 +89,7 @@ public final class RuinClusters extends AbstractRuinStrategy implements Iteratio
             }
         });
         this.jobNeighborhoods = jobNeighborhoods;
+        this.dbscan = new DBSCANClusterer(vrp.getTransportCosts());
         logger.debug("initialise {}", this);
     }
 
@@ -140,19 +143,15 @@ public final class RuinClusters extends AbstractRuinStrategy implements Iteratio
                 cycleCandidates.add(targetRoute);
                 break;
             }
-            DBSCANClusterer dbscan = new DBSCANClusterer(vrp.getTransportCosts());
             dbscan.setRandom(random);
             dbscan.setMinPts(minPts);
             dbscan.setEpsFactor(epsFactor);
             List<Job> cluster = dbscan.getRandomCluster(targetRoute);
-            for (Job j : cluster) {
-                if (toRemove == 0) break;
-                if (removeJob(j, vehicleRoutes)) {
-                    lastRemoved.add(j);
-                    unassignedJobs.add(j);
-                }
-                toRemove--;
-            }
+            if (cluster.size() > toRemove) cluster = cluster.subList(0, toRemove);
+            toRemove -= cluster.size();
+            List<Job> removedFromCluster = removeJobs(cluster, targetRoute);
+            lastRemoved.addAll(removedFromCluster);
+            unassignedJobs.addAll(removedFromCluster);
             ruined.add(targetRoute);
         }
     }
@@ -134,14 +134,15 @@ public final class RuinRadial extends AbstractRuinStrategy {
     private Collection<Job> ruinRoutes(Collection<VehicleRoute> vehicleRoutes, Job targetJob, int nOfJobs2BeRemoved) {
         List<Job> unassignedJobs = new ArrayList<Job>();
         int nNeighbors = nOfJobs2BeRemoved - 1;
-        removeJob(targetJob, vehicleRoutes);
-        unassignedJobs.add(targetJob);
+        List<Job> jobsToRemove = new ArrayList<Job>(nOfJobs2BeRemoved);
+        jobsToRemove.add(targetJob);
         Iterator<Job> neighborhoodIterator = jobNeighborhoods.getNearestNeighborsIterator(nNeighbors, targetJob);
         while (neighborhoodIterator.hasNext()) {
-            Job job = neighborhoodIterator.next();
-            if (removeJob(job, vehicleRoutes)) {
-                unassignedJobs.add(job);
-            }
+            jobsToRemove.add(neighborhoodIterator.next());
+        }
+        unassignedJobs.add(targetJob);
+        for (Job job : removeJobs(jobsToRemove, vehicleRoutes)) {
+            if (job != targetJob) unassignedJobs.add(job);
         }
         return unassignedJobs;
     }
@@ -65,6 +65,29 @@ public final class RuinRadialMultipleCenters extends AbstractRuinStrategy {
         logger.debug("initialise {}", this);
     }
 
+    /**
+     * Creates the strategy based on initialised neighborhoods, e.g. neighborhoods shared via {@link JobNeighborhoodsCache}.
+     *
+     * @param vrp              the problem
+     * @param neighborhoodSize number of jobs removed around each center
+     * @param neighborhoods    initialised job neighborhoods
+     */
+    public RuinRadialMultipleCenters(VehicleRoutingProblem vrp, int neighborhoodSize, JobNeighborhoods neighborhoods) {
+        super(vrp);
+        this.vrp = vrp;
+        noJobsToMemorize = neighborhoodSize;
+        ruinShareFactory = new RuinShareFactory() {
+
+            @Override
+            public int createNumberToBeRemoved() {
+                return noJobsToMemorize;
+            }
+
+        };
+        jobNeighborhoods = neighborhoods;
+        logger.debug("initialise {}", this);
+    }
+
     public void setNumberOfRuinCenters(int noCenters) {
         this.noCenters = noCenters;
     }
@@ -101,15 +124,17 @@ public final class RuinRadialMultipleCenters extends AbstractRuinStrategy {
     private Collection<Job> ruinRoutes_(Collection<VehicleRoute> vehicleRoutes, Job targetJob, int nOfJobs2BeRemoved, Set<Job> available) {
         List<Job> unassignedJobs = new ArrayList<Job>();
         int nNeighbors = nOfJobs2BeRemoved - 1;
-        removeJob(targetJob, vehicleRoutes);
-        unassignedJobs.add(targetJob);
+        List<Job> jobsToRemove = new ArrayList<Job>(nOfJobs2BeRemoved);
+        jobsToRemove.add(targetJob);
         Iterator<Job> neighborhoodIterator = jobNeighborhoods.getNearestNeighborsIterator(nNeighbors, targetJob);
         while (neighborhoodIterator.hasNext()) {
             Job job = neighborhoodIterator.next();
             if (available != null) available.remove(job);
-            if (removeJob(job, vehicleRoutes)) {
-                unassignedJobs.add(job);
-            }
+            jobsToRemove.add(job);
+        }
+        unassignedJobs.add(targetJob);
+        for (Job job : removeJobs(jobsToRemove, vehicleRoutes)) {
+            if (job != targetJob) unassignedJobs.add(job);
         }
         return unassignedJobs;
     }
@@ -79,14 +79,8 @@ public final class RuinRandom extends AbstractRuinStrategy {
     private void ruin(Collection<VehicleRoute> vehicleRoutes, int nOfJobs2BeRemoved, List<Job> unassignedJobs) {
         ArrayList<Job> availableJobs = new ArrayList<Job>(vrp.getJobs().values());
         Collections.shuffle(availableJobs, random);
-        int removed = 0;
-        for (Job job : availableJobs) {
-            if (removed == nOfJobs2BeRemoved) break;
-            if (removeJob(job, vehicleRoutes)) {
-                unassignedJobs.add(job);
-            }
-            removed++;
-        }
+        List<Job> jobsToRemove = availableJobs.subList(0, Math.min(nOfJobs2BeRemoved, availableJobs.size()));
+        unassignedJobs.addAll(removeJobs(jobsToRemove, vehicleRoutes));
     }
 
     @Override
@@ -83,6 +83,10 @@ public final class RuinWorst extends AbstractRuinStrategy {
     private void ruin(Collection<VehicleRoute> vehicleRoutes, int nOfJobs2BeRemoved, List<Job> unassignedJobs) {
         LinkedList<Job> availableJobs = new LinkedList<Job>(vrp.getJobs().values());
         int toRemove = nOfJobs2BeRemoved;
+        /*
+         * the savings of a job depend on its neighbours, thus the next worst job can only be determined once the
+         * previous one has been removed. this is why jobs are removed one at a time
+         */
         while (toRemove > 0) {
             Job worst = getWorst(vehicleRoutes);
             if (worst == null) break;
@@ -42,6 +42,10 @@ public class AvgServiceAndShipmentDistance implements JobDistance {
 
     }
 
+    public VehicleRoutingTransportCosts getTransportCosts() {
+        return costs;
+    }
+
     /**
      * Calculates and returns the average distance between two jobs based on the input-transport costs.
      * <p>
@@ -90,4 +94,17 @@ public class AvgServiceAndShipmentDistance implements JobDistance {
         }
         return EuclideanDistanceCalculator.calculateDistance(location_i.getCoordinate(), location_j.getCoordinate());
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return costs == ((AvgServiceAndShipmentDistance) o).costs;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(costs);
+    }
+
 }
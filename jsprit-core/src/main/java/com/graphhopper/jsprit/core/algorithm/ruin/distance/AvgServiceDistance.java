@@ -75,4 +75,16 @@ public class AvgServiceDistance implements JobDistance {
         return distance;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return costs == ((AvgServiceDistance) o).costs;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(costs);
+    }
+
 }
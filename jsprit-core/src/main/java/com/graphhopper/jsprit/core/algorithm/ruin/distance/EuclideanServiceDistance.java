@@ -47,4 +47,14 @@ public class EuclideanServiceDistance implements JobDistance {
         return avgCost;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.selector;
+
+import com.graphhopper.jsprit.core.algorithm.population.SolutionPopulation;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+
+import java.util.Collection;
+import java.util.Random;
+
+
+/**
+ * Selects a solution from a {@link SolutionPopulation} by binary tournament on the biased fitness, i.e. considering
+ * both cost and diversity. Falls back to the best of the solutions passed if the population is still empty.
+ * <p>
+ * <p>Use one instance per thread, each with its own random number generator, e.g. one stream of
+ * {@link com.graphhopper.jsprit.core.util.RandomStreams} each. The generator is deliberately not defaulted to
+ * {@link com.graphhopper.jsprit.core.util.RandomNumberGeneration#getRandom()}, since that one is shared.
+ */
+public class SelectFromPopulation implements SolutionSelector {
+
+    private final SolutionPopulation population;
+
+    private Random random;
+
+    public SelectFromPopulation(SolutionPopulation population, Random random) {
+        if (random == null) throw new IllegalArgumentException("random must not be null");
+        this.population = population;
+        this.random = random;
+    }
+
+    @Override
+    public VehicleRoutingProblemSolution selectSolution(Collection<VehicleRoutingProblemSolution> solutions) {
+        VehicleRoutingProblemSolution selected = population.select(random);
+        if (selected == null) return SelectBest.getInstance().selectSolution(solutions);
+        return selected;
+    }
+
+    public void setRandom(Random random) {
+        if (random == null) throw new IllegalArgumentException("random must not be null");
+        this.random = random;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.state;
+
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+
+/**
+ * Updater of vehicle-dependent states that computes the states of a route for one vehicle(-type) at a time.
+ * <p>
+ * <p>Registered with {@link StateManager#addLazyStateUpdater(LazyVehicleDependentStateUpdater)}, it is not called
+ * whenever a route changes but the first time a vehicle-dependent state of the changed route is requested for a
+ * vehicle whose {@link com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeKey} has not been computed yet. Thus
+ * only the states of vehicle types that are actually considered for a route are computed and stored.
+ * <p>
+ * <p>Note that this might be called concurrently by insertion threads. The stateManager serializes these calls, but
+ * implementations must not request vehicle-dependent states themselves.
+ */
+public interface LazyVehicleDependentStateUpdater extends StateUpdater {
+
+    /**
+     * Computes and stores the vehicle-dependent states of the specified route for the specified vehicle.
+     *
+     * @param route   the route whose states need to be computed
+     * @param vehicle the vehicle for which the states need to be computed
+     */
+    void update(VehicleRoute route, Vehicle vehicle);
+
+}
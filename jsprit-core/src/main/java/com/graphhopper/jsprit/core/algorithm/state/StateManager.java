@@ -17,6 +17,8 @@
  */
 package com.graphhopper.jsprit.core.algorithm.state;
 
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Instrumentation;
+import com.graphhopper.jsprit.core.algorithm.instrumentation.Probe;
 import com.graphhopper.jsprit.core.algorithm.listener.IterationStartsListener;
 import com.graphhopper.jsprit.core.algorithm.recreate.listener.*;
 import com.graphhopper.jsprit.core.algorithm.ruin.listener.RuinListener;
@@ -35,6 +37,7 @@ import com.graphhopper.jsprit.core.problem.solution.route.state.RouteAndActivity
 import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * Manages states.
@@ -90,6 +93,31 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
 
     private final boolean isIndexedBased;
 
+    private Probe stateUpdateProbe = Instrumentation.disabled().getProbe("state_update");
+
+    private final List<LazyVehicleDependentStateUpdater> lazyStateUpdaters = new ArrayList<LazyVehicleDependentStateUpdater>();
+
+    private final Object lazyStateLock = new Object();
+
+    private LazyStates[] lazyStatesOfActivities;
+
+    /**
+     * Memorizes the vehicle types for which the lazy updaters have been run since the last update of a route. All
+     * activities of the route share the same instance.
+     */
+    private static class LazyStates {
+
+        private final VehicleRoute route;
+
+        private final AtomicIntegerArray computedTypeKeys;
+
+        private LazyStates(VehicleRoute route, int nuVehicleTypeKeys) {
+            this.route = route;
+            this.computedTypeKeys = new AtomicIntegerArray(nuVehicleTypeKeys);
+        }
+
+    }
+
     int getMaxIndexOfVehicleTypeIdentifiers() {
         return nuVehicleTypeKeys;
     }
@@ -108,9 +136,12 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
         if (createdStateIds.containsKey(name)) return createdStateIds.get(name);
         if (stateIndexCounter >= activityStates[0].length) {
             activityStates = new Object[nuActivities][stateIndexCounter + 1];
-            vehicleDependentActivityStates = new Object[nuActivities][nuVehicleTypeKeys][stateIndexCounter + 1];
-            routeStatesArr = new Object[vrp.getVehicles().size() + 2][stateIndexCounter+1];
-            vehicleDependentRouteStatesArr = new Object[vrp.getVehicles().size() + 2][nuVehicleTypeKeys][stateIndexCounter+1];
+            vehicleDependentActivityStates = new Object[nuActivities][][];
+            Arrays.fill(lazyStatesOfActivities, null);
+            if (isIndexedBased) {
+                routeStatesArr = new Object[vrp.getVehicles().size() + 2][stateIndexCounter + 1];
+                vehicleDependentRouteStatesArr = new Object[vrp.getVehicles().size() + 2][nuVehicleTypeKeys][stateIndexCounter + 1];
+            }
             problemStates = new Object[stateIndexCounter+1];
         }
         StateId id = StateFactory.createId(name, stateIndexCounter);
@@ -136,7 +167,8 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
         nuActivities = Math.max(10, vrp.getNuActivities() + 1);
         nuVehicleTypeKeys = Math.max(3, getNuVehicleTypes(vrp) + 2);
         activityStates = new Object[nuActivities][initialStateArrayLength];
-        vehicleDependentActivityStates = new Object[nuActivities][nuVehicleTypeKeys][initialStateArrayLength];
+        vehicleDependentActivityStates = new Object[nuActivities][][];
+        lazyStatesOfActivities = new LazyStates[nuActivities];
 //        if(vehicleRoutingProblem.getFleetSize().equals(VehicleRoutingProblem.FleetSize.FINITE)){
 //            isIndexedBased = true;
 //            routeStatesArr = new Object[vrp.getVehicles().size() + 2][initialStateArrayLength];
@@ -190,7 +222,8 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
      */
     public void clear() {
         fill_twoDimArr(activityStates, null);
-        fill_threeDimArr(vehicleDependentActivityStates, null);
+        Arrays.fill(vehicleDependentActivityStates, null);
+        Arrays.fill(lazyStatesOfActivities, null);
         if(isIndexedBased) {
             fill_twoDimArr(routeStatesArr, null);
             fill_threeDimArr(vehicleDependentRouteStatesArr, null);
@@ -252,7 +285,9 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
      */
     public boolean hasActivityState(TourActivity act, Vehicle vehicle, StateId stateId) {
         if (act.getIndex() == 0) throw new IllegalStateException("activity index is 0. this should not be.");
-        return vehicleDependentActivityStates[act.getIndex()][vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()] != null;
+        if (act.getIndex() < 0) return false;
+        computeLazyStates(lazyStatesOfActivities[act.getIndex()], vehicle);
+        return getVehicleDependentActivityState(act, vehicle, stateId) != null;
     }
 
     /**
@@ -273,14 +308,42 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
     public <T> T getActivityState(TourActivity act, Vehicle vehicle, StateId stateId, Class<T> type) {
         if (act.getIndex() == 0) throw new IllegalStateException("activity index is 0. this should not be.");
         if (act.getIndex() < 0) return null; //act.getIndex() < 0 indicates that act is either Start (-1) or End (-2)
-        T state;
+        computeLazyStates(lazyStatesOfActivities[act.getIndex()], vehicle);
+        Object state = getVehicleDependentActivityState(act, vehicle, stateId);
         try {
-            state = type.cast(vehicleDependentActivityStates[act.getIndex()][vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()]);
+            return type.cast(state);
         } catch (ClassCastException e) {
-            Object state_class = vehicleDependentActivityStates[act.getIndex()][vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()];
-            throw getClassCastException(e, stateId, type.toString(), state_class.getClass().toString());
+            throw getClassCastException(e, stateId, type.toString(), state.getClass().toString());
         }
-        return state;
+    }
+
+    private Object getVehicleDependentActivityState(TourActivity act, Vehicle vehicle, StateId stateId) {
+        Object[][] statesOfTypes = vehicleDependentActivityStates[act.getIndex()];
+        if (statesOfTypes == null) return null;
+        Object[] states = statesOfTypes[vehicle.getVehicleTypeIdentifier().getIndex()];
+        if (states == null) return null;
+        return states[stateId.getIndex()];
+    }
+
+    private void computeLazyStates(LazyStates lazyStates, Vehicle vehicle) {
+        if (lazyStates == null) return;
+        int typeIndex = vehicle.getVehicleTypeIdentifier().getIndex();
+        if (lazyStates.computedTypeKeys.get(typeIndex) == 1) return;
+        synchronized (lazyStateLock) {
+            if (lazyStates.computedTypeKeys.get(typeIndex) == 1) return;
+            for (LazyVehicleDependentStateUpdater updater : lazyStateUpdaters) {
+                updater.update(lazyStates.route, vehicle);
+            }
+            lazyStates.computedTypeKeys.set(typeIndex, 1);
+        }
+    }
+
+    private LazyStates getLazyStates(VehicleRoute route) {
+        int index = route.getActivities().get(0).getIndex();
+        if (index <= 0) return null;
+        LazyStates lazyStates = lazyStatesOfActivities[index];
+        if (lazyStates == null || lazyStates.route != route) return null;
+        return lazyStates;
     }
 
     private ClassCastException getClassCastException(ClassCastException e, StateId stateId, String requestedTypeClass, String memorizedTypeClass) {
@@ -332,8 +395,9 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
      */
     @SuppressWarnings("UnusedDeclaration")
     public boolean hasRouteState(VehicleRoute route, Vehicle vehicle, StateId stateId) {
-        if (!vehicleDependentRouteStateMap.containsKey(route)) return false;
-        return vehicleDependentRouteStateMap.get(route)[vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()] != null;
+        if (route.isEmpty()) return false;
+        computeLazyStates(getLazyStates(route), vehicle);
+        return getVehicleDependentRouteState(route, vehicle, stateId) != null;
 //        return vehicle_dependent_route_states[route.getActivities().get(0).getIndex()][vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()] != null;
     }
 
@@ -361,17 +425,25 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
             }
         }
         else {
+            computeLazyStates(getLazyStates(route), vehicle);
+            Object stateObject = getVehicleDependentRouteState(route, vehicle, stateId);
             try {
-                if (vehicleDependentRouteStateMap.containsKey(route)) {
-                    state = type.cast(vehicleDependentRouteStateMap.get(route)[vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()]);
-                }
+                state = type.cast(stateObject);
             } catch (ClassCastException e) {
-                throw getClassCastException(e, stateId, type.toString(), vehicleDependentRouteStateMap.get(route)[vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()].getClass().toString());
+                throw getClassCastException(e, stateId, type.toString(), stateObject.getClass().toString());
             }
         }
         return state;
     }
 
+    private Object getVehicleDependentRouteState(VehicleRoute route, Vehicle vehicle, StateId stateId) {
+        Object[][] statesOfTypes = vehicleDependentRouteStateMap.get(route);
+        if (statesOfTypes == null) return null;
+        Object[] states = statesOfTypes[vehicle.getVehicleTypeIdentifier().getIndex()];
+        if (states == null) return null;
+        return states[stateId.getIndex()];
+    }
+
     /**
      * Associates the specified activity and stateId to the state value. If a state value is already associated to the
      * specified activity and stateId, it is replaced by the new state value.
@@ -422,7 +494,14 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
     }
 
     <T> void putInternalTypedActivityState(TourActivity act, Vehicle vehicle, StateId stateId, T state) {
-        vehicleDependentActivityStates[act.getIndex()][vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()] = state;
+        Object[][] statesOfTypes = vehicleDependentActivityStates[act.getIndex()];
+        if (statesOfTypes == null) {
+            statesOfTypes = new Object[nuVehicleTypeKeys][];
+            vehicleDependentActivityStates[act.getIndex()] = statesOfTypes;
+        }
+        int typeIndex = vehicle.getVehicleTypeIdentifier().getIndex();
+        if (statesOfTypes[typeIndex] == null) statesOfTypes[typeIndex] = new Object[activityStates[0].length];
+        statesOfTypes[typeIndex][stateId.getIndex()] = state;
     }
 
     /**
@@ -476,14 +555,28 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
             vehicleDependentRouteStatesArr[route.getVehicle().getIndex()][vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()] = state;
         }
         else {
-            if (!vehicleDependentRouteStateMap.containsKey(route)) {
-                vehicleDependentRouteStateMap.put(route, new Object[nuVehicleTypeKeys][stateIndexCounter]);
+            Object[][] statesOfTypes = vehicleDependentRouteStateMap.get(route);
+            if (statesOfTypes == null) {
+                statesOfTypes = new Object[nuVehicleTypeKeys][];
+                vehicleDependentRouteStateMap.put(route, statesOfTypes);
             }
-            vehicleDependentRouteStateMap.get(route)[vehicle.getVehicleTypeIdentifier().getIndex()][stateId.getIndex()] = state;
+            int typeIndex = vehicle.getVehicleTypeIdentifier().getIndex();
+            if (statesOfTypes[typeIndex] == null) statesOfTypes[typeIndex] = new Object[stateIndexCounter];
+            statesOfTypes[typeIndex][stateId.getIndex()] = state;
         }
 
     }
 
+    /**
+     * Sets the instrumentation that measures state updates (probe "state_update"), i.e. the updates triggered
+     * when insertion starts and when a job has been inserted.
+     *
+     * @param instrumentation the instrumentation
+     */
+    public void setInstrumentation(Instrumentation instrumentation) {
+        this.stateUpdateProbe = instrumentation.getProbe("state_update");
+    }
+
     /**
      * Adds state updater.
      * <p>
@@ -505,6 +598,22 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
         updaters.add(updater);
     }
 
+    /**
+     * Adds a lazy state updater.
+     * <p>
+     * <p>In contrast to the updaters added with {@link #addStateUpdater(StateUpdater)}, it is not run whenever a
+     * route has changed, but the first time after such a change a vehicle-dependent state of the route (or of one of
+     * its activities) is requested for a vehicle type, and then only for this type. Thus vehicle-dependent states
+     * are only computed and stored for the types that are actually considered for a route, i.e. its current vehicle
+     * and the candidates it is evaluated to be switched to.
+     *
+     * @param updater the lazy updater to be added
+     */
+    public void addLazyStateUpdater(LazyVehicleDependentStateUpdater updater) {
+        lazyStateUpdaters.add(updater);
+        updaters.add(updater);
+    }
+
     public void addAllStateUpdater(Collection<StateUpdater> updaters) {
         for (StateUpdater u : updaters) addStateUpdater(u);
     }
@@ -556,16 +665,20 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
     @Override
     public void informJobInserted(Job job2insert, VehicleRoute inRoute, double additionalCosts, double additionalTime) {
 //		log.debug("insert " + job2insert + " in " + inRoute);
+        stateUpdateProbe.start();
         insertionListeners.informJobInserted(job2insert, inRoute, additionalCosts, additionalTime);
         for (RouteVisitor v : routeVisitors) {
             v.visit(inRoute);
         }
         routeActivityVisitor.visit(inRoute);
         revRouteActivityVisitor.visit(inRoute);
+        resetLazyStates(inRoute);
+        stateUpdateProbe.stop();
     }
 
     @Override
     public void informInsertionStarts(Collection<VehicleRoute> vehicleRoutes, Collection<Job> unassignedJobs) {
+        stateUpdateProbe.start();
         insertionListeners.informInsertionStarts(vehicleRoutes, unassignedJobs);
         for (VehicleRoute route : vehicleRoutes) {
             for (RouteVisitor v : routeVisitors) {
@@ -573,6 +686,24 @@ public class StateManager implements RouteAndActivityStateGetter, IterationStart
             }
             routeActivityVisitor.visit(route);
             revRouteActivityVisitor.visit(route);
+            resetLazyStates(route);
+        }
+        stateUpdateProbe.stop();
+    }
+
+    /*
+     * The route's states are up to date, thus the lazily computed states of all vehicle types are outdated. The map
+     * entry for vehicle-dependent route states is created here since, in contrast to the entry's arrays, the map
+     * must not be modified while insertion threads read it.
+     */
+    private void resetLazyStates(VehicleRoute route) {
+        if (lazyStateUpdaters.isEmpty() || route.isEmpty()) return;
+        LazyStates lazyStates = new LazyStates(route, nuVehicleTypeKeys);
+        for (TourActivity act : route.getActivities()) {
+            if (act.getIndex() > 0) lazyStatesOfActivities[act.getIndex()] = lazyStates;
+        }
+        if (!isIndexedBased && !vehicleDependentRouteStateMap.containsKey(route)) {
+            vehicleDependentRouteStateMap.put(route, new Object[nuVehicleTypeKeys][]);
         }
     }
 
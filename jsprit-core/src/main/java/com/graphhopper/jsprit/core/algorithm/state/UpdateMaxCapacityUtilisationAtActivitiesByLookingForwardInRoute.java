@@ -18,6 +18,7 @@
 package com.graphhopper.jsprit.core.algorithm.state;
 
 import com.graphhopper.jsprit.core.problem.Capacity;
+import com.graphhopper.jsprit.core.problem.CapacityAccumulator;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.ReverseActivityVisitor;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
@@ -47,6 +48,8 @@ class UpdateMaxCapacityUtilisationAtActivitiesByLookingForwardInRoute implements
 
     private Capacity maxLoad;
 
+    private final CapacityAccumulator maxLoadAccumulator = new CapacityAccumulator();
+
     private Capacity defaultValue;
 
     public UpdateMaxCapacityUtilisationAtActivitiesByLookingForwardInRoute(StateManager stateManager) {
@@ -60,11 +63,14 @@ class UpdateMaxCapacityUtilisationAtActivitiesByLookingForwardInRoute implements
         this.route = route;
         maxLoad = stateManager.getRouteState(route, InternalStates.LOAD_AT_END, Capacity.class);
         if (maxLoad == null) maxLoad = defaultValue;
+        maxLoadAccumulator.set(maxLoad);
     }
 
     @Override
     public void visit(TourActivity act) {
-        maxLoad = Capacity.max(maxLoad, stateManager.getActivityState(act, InternalStates.LOAD, Capacity.class));
+        if (maxLoadAccumulator.max(stateManager.getActivityState(act, InternalStates.LOAD, Capacity.class))) {
+            maxLoad = maxLoadAccumulator.toCapacity();
+        }
         stateManager.putInternalTypedActivityState(act, InternalStates.FUTURE_MAXLOAD, maxLoad);
 //		assert maxLoad.isLessOrEqual(route.getVehicle().getType().getCapacityDimensions()) : "maxLoad can in every capacity dimension never be bigger than vehicleCap";
 //		assert maxLoad.isGreaterOrEqual(Capacity.Builder.newInstance().build()) : "maxLoad can never be smaller than 0";
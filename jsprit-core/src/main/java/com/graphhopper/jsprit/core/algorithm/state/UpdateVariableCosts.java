@@ -17,12 +17,17 @@
  */
 package com.graphhopper.jsprit.core.algorithm.state;
 
-import com.graphhopper.jsprit.core.problem.cost.ForwardTransportCost;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.cost.ForwardTransportTime;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.TransportCostsLookup;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingActivityCosts;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.ActivityVisitor;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
 import com.graphhopper.jsprit.core.util.ActivityTimeTracker;
 
 
@@ -36,7 +41,7 @@ public class UpdateVariableCosts implements ActivityVisitor, StateUpdater {
 
     private VehicleRoutingActivityCosts activityCost;
 
-    private ForwardTransportCost transportCost;
+    private VehicleRoutingTransportCosts transportCost;
 
     private StateManager states;
 
@@ -50,6 +55,20 @@ public class UpdateVariableCosts implements ActivityVisitor, StateUpdater {
 
     private ActivityTimeTracker timeTracker;
 
+    private final double[] relation = TransportCostsLookup.newBuffer();
+
+    /*
+     * time and costs of a relation are looked up at once, thus the time tracker gets the time that has just been looked up
+     */
+    private final ForwardTransportTime lookedUpTransportTime = new ForwardTransportTime() {
+
+        @Override
+        public double getTransportTime(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle) {
+            return relation[FusedTransportCosts.TIME];
+        }
+
+    };
+
     /**
      * Updates total costs (i.e. transport and activity costs) at route and activity level.
      * <p>
@@ -65,14 +84,14 @@ public class UpdateVariableCosts implements ActivityVisitor, StateUpdater {
         this.activityCost = activityCost;
         this.transportCost = transportCost;
         this.states = states;
-        timeTracker = new ActivityTimeTracker(transportCost, activityCost);
+        timeTracker = new ActivityTimeTracker(lookedUpTransportTime, activityCost);
     }
 
     public UpdateVariableCosts(VehicleRoutingActivityCosts activityCosts, VehicleRoutingTransportCosts transportCosts, StateManager stateManager, ActivityTimeTracker.ActivityPolicy activityPolicy) {
         this.activityCost = activityCosts;
         this.transportCost = transportCosts;
         this.states = stateManager;
-        timeTracker = new ActivityTimeTracker(transportCosts, activityPolicy, activityCosts);
+        timeTracker = new ActivityTimeTracker(lookedUpTransportTime, activityPolicy, activityCosts);
     }
 
     @Override
@@ -85,9 +104,10 @@ public class UpdateVariableCosts implements ActivityVisitor, StateUpdater {
 
     @Override
     public void visit(TourActivity act) {
+        TransportCostsLookup.lookup(this.transportCost, prevAct.getLocation(), act.getLocation(), startTimeAtPrevAct, vehicleRoute.getDriver(), vehicleRoute.getVehicle(), relation);
         timeTracker.visit(act);
 
-        double transportCost = this.transportCost.getTransportCost(prevAct.getLocation(), act.getLocation(), startTimeAtPrevAct, vehicleRoute.getDriver(), vehicleRoute.getVehicle());
+        double transportCost = relation[FusedTransportCosts.COST];
         double actCost = activityCost.getActivityCost(act, timeTracker.getActArrTime(), vehicleRoute.getDriver(), vehicleRoute.getVehicle());
 
         totalOperationCost += transportCost;
@@ -101,8 +121,9 @@ public class UpdateVariableCosts implements ActivityVisitor, StateUpdater {
 
     @Override
     public void finish() {
+        TransportCostsLookup.lookup(this.transportCost, prevAct.getLocation(), vehicleRoute.getEnd().getLocation(), startTimeAtPrevAct, vehicleRoute.getDriver(), vehicleRoute.getVehicle(), relation);
         timeTracker.finish();
-        double transportCost = this.transportCost.getTransportCost(prevAct.getLocation(), vehicleRoute.getEnd().getLocation(), startTimeAtPrevAct, vehicleRoute.getDriver(), vehicleRoute.getVehicle());
+        double transportCost = relation[FusedTransportCosts.COST];
         double actCost = activityCost.getActivityCost(vehicleRoute.getEnd(), timeTracker.getActEndTime(), vehicleRoute.getDriver(), vehicleRoute.getVehicle());
 
         totalOperationCost += transportCost;
@@ -28,13 +28,30 @@ import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
-public class UpdateVehicleDependentPracticalTimeWindows implements RouteVisitor, StateUpdater {
+/**
+ * Updates the latest operation start times of activities for the vehicles returned by {@link VehiclesToUpdate}.
+ * <p>
+ * <p>Added with {@link StateManager#addLazyStateUpdater(LazyVehicleDependentStateUpdater)} instead, it computes
+ * them only for vehicles whose states are actually requested and {@link VehiclesToUpdate} is ignored.
+ */
+public class UpdateVehicleDependentPracticalTimeWindows implements RouteVisitor, LazyVehicleDependentStateUpdater {
 
     @Override
     public void visit(VehicleRoute route) {
         begin(route);
+        visitActivities(route);
+    }
+
+    @Override
+    public void update(VehicleRoute route, Vehicle vehicle) {
+        begin(route, Collections.singletonList(vehicle));
+        visitActivities(route);
+    }
+
+    private void visitActivities(VehicleRoute route) {
         Iterator<TourActivity> revIterator = route.getTourActivities().reverseActivityIterator();
         while (revIterator.hasNext()) {
             visit(revIterator.next());
@@ -86,8 +103,12 @@ public class UpdateVehicleDependentPracticalTimeWindows implements RouteVisitor,
 
 
     public void begin(VehicleRoute route) {
+        begin(route, vehiclesToUpdate.get(route));
+    }
+
+    private void begin(VehicleRoute route, Collection<Vehicle> vehicles) {
         this.route = route;
-        vehicles = vehiclesToUpdate.get(route);
+        this.vehicles = vehicles;
         for (Vehicle vehicle : vehicles) {
             latest_arrTimes_at_prevAct[vehicle.getVehicleTypeIdentifier().getIndex()] = vehicle.getLatestArrival();
             Location location = vehicle.getEndLocation();
@@ -0,0 +1,208 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.termination;
+
+import com.graphhopper.jsprit.core.algorithm.SearchStrategy;
+import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
+import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmStartsListener;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.util.Solutions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+
+/**
+ * Terminates algorithm prematurely as soon as the expected gain per second drops below a threshold.
+ * <p>
+ * <p>Each improvement of the best solution found so far is recorded with its gain and the time elapsed since the
+ * previous improvement. Both are smoothed exponentially. The expected gain per second is then estimated as
+ * <code>smoothedGain / max(smoothedTimeBetweenImprovements, timeSinceLastImprovement)</code>, i.e. the longer no
+ * improvement occurs the lower the estimate. The algorithm terminates if this estimate relative to the best cost
+ * falls below the specified threshold. The clock is only read on improvements and every checkInterval iterations.
+ * <p>
+ * <p>The criterion is not applied before the first improvement, since there is nothing to estimate the gain from.
+ * Thus, combine it with an iteration or time limit. If the absolute best cost is less than 1, the gain is related to 1
+ * instead, i.e. the threshold then applies to the absolute gain per second.
+ * <p>
+ * <p>Note, that this must be registered as AlgorithmListener <br>
+ * It will be activated by:<br>
+ * <p>
+ * <code>algorithm.addTerminationCriterion(this);</code><br>
+ * <code>algorithm.addListener(this);</code>
+ */
+public class ConvergenceTermination implements PrematureAlgorithmTermination, AlgorithmStartsListener {
+
+    private final static Logger logger = LoggerFactory.getLogger(ConvergenceTermination.class);
+
+    private static final double MIN_REFERENCE_COST = 1.;
+
+    private final double relativeGainPerSecondThreshold;
+
+    private long warmupTime = 1000;
+
+    private int checkInterval = 10;
+
+    private double smoothingFactor = 0.3;
+
+    private TimeTermination.TimeGetter timeGetter = new TimeTermination.TimeGetter() {
+
+        @Override
+        public long getCurrentTime() {
+            return System.nanoTime() / 1000000L;
+        }
+
+    };
+
+    private long startTime;
+
+    private long lastImprovementTime;
+
+    private double bestCost = Double.MAX_VALUE;
+
+    private double smoothedGain;
+
+    private double smoothedTimeBetweenImprovements;
+
+    private int noImprovements;
+
+    private int iteration;
+
+    /**
+     * Constructs termination.
+     *
+     * @param relativeGainPerSecondThreshold the threshold used to terminate the algorithm. If for example it is 0.001 then
+     *                                       the algorithm terminates if it is expected to improve the best cost by less than
+     *                                       0.1% per second.
+     */
+    public ConvergenceTermination(double relativeGainPerSecondThreshold) {
+        super();
+        if (relativeGainPerSecondThreshold < 0)
+            throw new IllegalArgumentException("relativeGainPerSecondThreshold must not be negative");
+        this.relativeGainPerSecondThreshold = relativeGainPerSecondThreshold;
+        logger.debug("initialise {}", this);
+    }
+
+    /**
+     * Sets the time [in ms] in which the algorithm is never terminated by this criterion. Default is 1000 ms.
+     *
+     * @param warmupTime_in_milliseconds warmup time
+     */
+    public void setWarmupTime(long warmupTime_in_milliseconds) {
+        this.warmupTime = warmupTime_in_milliseconds;
+    }
+
+    /**
+     * Sets the number of iterations between two checks of the convergence criterion. Default is 10.
+     *
+     * @param checkInterval number of iterations
+     */
+    public void setCheckInterval(int checkInterval) {
+        if (checkInterval < 1) throw new IllegalArgumentException("checkInterval must be at least 1");
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Sets the weight of the latest improvement in the exponential smoothing. Default is 0.3.
+     *
+     * @param smoothingFactor value in (0,1]
+     */
+    public void setSmoothingFactor(double smoothingFactor) {
+        if (smoothingFactor <= 0 || smoothingFactor > 1)
+            throw new IllegalArgumentException("smoothingFactor must be in (0,1]");
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public void setTimeGetter(TimeTermination.TimeGetter timeGetter) {
+        this.timeGetter = timeGetter;
+    }
+
+    @Override
+    public String toString() {
+        return "[name=ConvergenceTermination][relativeGainPerSecondThreshold=" + relativeGainPerSecondThreshold + "][warmupTime=" + warmupTime + " ms]";
+    }
+
+    @Override
+    public boolean isPrematureBreak(SearchStrategy.DiscoveredSolution discoveredSolution) {
+        iteration++;
+        double cost = discoveredSolution.getSolution().getCost();
+        if (cost < bestCost) {
+            improvement(cost, timeGetter.getCurrentTime());
+            return false;
+        }
+        if (iteration % checkInterval != 0) return false;
+        if (noImprovements == 0 || Double.isInfinite(bestCost) || Double.isNaN(bestCost)) return false;
+        long now = timeGetter.getCurrentTime();
+        if (now - startTime < warmupTime) return false;
+        double expectedRelativeGain = getExpectedGainPerSecond(now) / Math.max(Math.abs(bestCost), MIN_REFERENCE_COST);
+        if (expectedRelativeGain < relativeGainPerSecondThreshold) {
+            logger.debug("expected relative gain per second {} below threshold", expectedRelativeGain);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the estimated absolute gain per second at the specified time. If no improvement has been found yet, it is 0.
+     *
+     * @param now current time [in ms]
+     * @return expected gain per second
+     */
+    double getExpectedGainPerSecond(long now) {
+        if (noImprovements == 0) return 0.;
+        double timeBetweenImprovements = Math.max(smoothedTimeBetweenImprovements, now - lastImprovementTime);
+        return smoothedGain / (Math.max(1., timeBetweenImprovements) / 1000.);
+    }
+
+    private void improvement(double cost, long now) {
+        if (bestCost != Double.MAX_VALUE) {
+            double gain = bestCost - cost;
+            long timeBetweenImprovements = now - lastImprovementTime;
+            if (noImprovements == 0) {
+                smoothedGain = gain;
+                smoothedTimeBetweenImprovements = timeBetweenImprovements;
+            } else {
+                smoothedGain = smoothingFactor * gain + (1. - smoothingFactor) * smoothedGain;
+                smoothedTimeBetweenImprovements = smoothingFactor * timeBetweenImprovements + (1. - smoothingFactor) * smoothedTimeBetweenImprovements;
+            }
+            noImprovements++;
+        }
+        bestCost = cost;
+        lastImprovementTime = now;
+    }
+
+    void start(long startTime) {
+        this.startTime = startTime;
+        this.lastImprovementTime = startTime;
+        bestCost = Double.MAX_VALUE;
+        smoothedGain = 0.;
+        smoothedTimeBetweenImprovements = 0.;
+        noImprovements = 0;
+        iteration = 0;
+    }
+
+    @Override
+    public void informAlgorithmStarts(VehicleRoutingProblem problem, VehicleRoutingAlgorithm algorithm, Collection<VehicleRoutingProblemSolution> solutions) {
+        start(timeGetter.getCurrentTime());
+        VehicleRoutingProblemSolution best = Solutions.bestOf(solutions);
+        if (best != null) bestCost = best.getCost();
+    }
+
+}
@@ -43,6 +43,9 @@ public class TimeTermination implements PrematureAlgorithmTermination, Algorithm
 
     public static interface TimeGetter {
 
+        /**
+         * @return current time in milliseconds. Only differences between two values are evaluated, thus the origin can be arbitrary.
+         */
         public long getCurrentTime();
 
     }
@@ -55,7 +58,7 @@ public class TimeTermination implements PrematureAlgorithmTermination, Algorithm
 
         @Override
         public long getCurrentTime() {
-            return System.currentTimeMillis();
+            return System.nanoTime() / 1000000L;
         }
 
     };
@@ -24,9 +24,8 @@ import com.graphhopper.jsprit.core.algorithm.listener.IterationEndsListener;
 import com.graphhopper.jsprit.core.algorithm.listener.IterationStartsListener;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
 import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.util.RunningStatistics;
 import com.graphhopper.jsprit.core.util.Solutions;
-import org.apache.commons.math3.stat.StatUtils;
-import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,7 +53,7 @@ public class VariationCoefficientTermination implements PrematureAlgorithmTermin
 
     private int currentIteration;
 
-    private double[] solutionValues;
+    private final RunningStatistics statistics = new RunningStatistics();
 
     private VehicleRoutingProblemSolution lastAccepted = null;
 
@@ -71,7 +70,6 @@ public class VariationCoefficientTermination implements PrematureAlgorithmTermin
         super();
         this.noIterations = noIterations;
         this.variationCoefficientThreshold = variationCoefficientThreshold;
-        solutionValues = new double[noIterations];
         logger.debug("initialise {}", this);
     }
 
@@ -84,16 +82,14 @@ public class VariationCoefficientTermination implements PrematureAlgorithmTermin
     public boolean isPrematureBreak(SearchStrategy.DiscoveredSolution discoveredSolution) {
         if (discoveredSolution.isAccepted()) {
             lastAccepted = discoveredSolution.getSolution();
-            solutionValues[currentIteration] = discoveredSolution.getSolution().getCost();
+            statistics.add(discoveredSolution.getSolution().getCost());
         } else {
             if (lastAccepted != null) {
-                solutionValues[currentIteration] = lastAccepted.getCost();
-            } else solutionValues[currentIteration] = Integer.MAX_VALUE;
+                statistics.add(lastAccepted.getCost());
+            } else statistics.add(Integer.MAX_VALUE);
         }
         if (currentIteration == (noIterations - 1)) {
-            double mean = StatUtils.mean(solutionValues);
-            double stdDev = new StandardDeviation(true).evaluate(solutionValues, mean);
-            double variationCoefficient = stdDev / mean;
+            double variationCoefficient = statistics.getStandardDeviation() / statistics.getMean();
             if (variationCoefficient < variationCoefficientThreshold) {
                 return true;
             }
@@ -103,6 +99,7 @@ public class VariationCoefficientTermination implements PrematureAlgorithmTermin
 
     private void reset() {
         currentIteration = 0;
+        statistics.reset();
     }
 
     @Override
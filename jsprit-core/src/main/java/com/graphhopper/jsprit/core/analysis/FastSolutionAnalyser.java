@@ -0,0 +1,340 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.analysis;
+
+import com.graphhopper.jsprit.core.problem.Capacity;
+import com.graphhopper.jsprit.core.problem.CapacityAccumulator;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.TransportCostsLookup;
+import com.graphhopper.jsprit.core.problem.cost.TransportDistance;
+import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingActivityCosts;
+import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.job.Delivery;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Pickup;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.*;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Calculates the route and solution indicators of {@link SolutionAnalyser} for many solutions.
+ * <p>
+ * <p>In contrast to {@link SolutionAnalyser}, it does not need a {@link com.graphhopper.jsprit.core.algorithm.state.StateManager}.
+ * All indicators of a route are calculated in one traversal of its activities, and activity times are calculated on
+ * the fly, i.e. analysed routes are not modified. Thus, solutions can be analysed concurrently.
+ * <p>
+ * <p>Since solutions found in one run often share many routes, indicators of a route are cached and reused for
+ * identical routes, i.e. routes with the same vehicle, driver, departure time and sequence of activities
+ * (including their time windows). Activity-level indicators are not supported, use {@link SolutionAnalyser} for these.
+ */
+public class FastSolutionAnalyser {
+
+    private static class RouteKey {
+
+        private final Vehicle vehicle;
+
+        private final Driver driver;
+
+        private final double departureTime;
+
+        private final int[] activityIndices;
+
+        private final double[] timeWindows;
+
+        private final int hashCode;
+
+        private RouteKey(VehicleRoute route) {
+            this.vehicle = route.getVehicle();
+            this.driver = route.getDriver();
+            this.departureTime = route.getDepartureTime();
+            List<TourActivity> activities = route.getActivities();
+            activityIndices = new int[activities.size()];
+            timeWindows = new double[2 * activities.size()];
+            int i = 0;
+            for (TourActivity act : activities) {
+                activityIndices[i] = act.getIndex();
+                timeWindows[2 * i] = act.getTheoreticalEarliestOperationStartTime();
+                timeWindows[2 * i + 1] = act.getTheoreticalLatestOperationStartTime();
+                i++;
+            }
+            int h = vehicle.hashCode();
+            h = 31 * h + (driver == null ? 0 : driver.hashCode());
+            long bits = Double.doubleToLongBits(departureTime);
+            h = 31 * h + (int) (bits ^ (bits >>> 32));
+            h = 31 * h + Arrays.hashCode(activityIndices);
+            this.hashCode = 31 * h + Arrays.hashCode(timeWindows);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RouteKey)) return false;
+            RouteKey other = (RouteKey) o;
+            return hashCode == other.hashCode
+                && vehicle == other.vehicle
+                && driver == other.driver
+                && Double.compare(departureTime, other.departureTime) == 0
+                && Arrays.equals(activityIndices, other.activityIndices)
+                && Arrays.equals(timeWindows, other.timeWindows);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private final VehicleRoutingTransportCosts transportCosts;
+
+    private final VehicleRoutingActivityCosts activityCosts;
+
+    private final TransportDistance distanceCalculator;
+
+    private final boolean distanceFromTransportCosts;
+
+    private final ConcurrentHashMap<RouteKey, RouteIndicators> cache = new ConcurrentHashMap<RouteKey, RouteIndicators>();
+
+    private int maxCacheSize = 10000;
+
+    public FastSolutionAnalyser(VehicleRoutingProblem vrp, TransportDistance distanceCalculator) {
+        this.transportCosts = vrp.getTransportCosts();
+        this.activityCosts = vrp.getActivityCosts();
+        this.distanceCalculator = distanceCalculator;
+        this.distanceFromTransportCosts = distanceCalculator == transportCosts && transportCosts instanceof FusedTransportCosts;
+    }
+
+    /**
+     * Sets the max. number of cached route indicators. If the cache exceeds this size, it is cleared. 0 disables
+     * caching.
+     *
+     * @param maxCacheSize max. number of cached routes
+     */
+    public void setMaxCacheSize(int maxCacheSize) {
+        if (maxCacheSize < 0) throw new IllegalArgumentException("max. cache size must not be negative");
+        this.maxCacheSize = maxCacheSize;
+        if (maxCacheSize == 0) cache.clear();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Analyses the specified solution.
+     *
+     * @param solution solution to be analysed
+     * @return indicators of solution
+     */
+    public SolutionIndicators analyse(VehicleRoutingProblemSolution solution) {
+        SolutionIndicators indicators = new SolutionIndicators(solution, solution.getRoutes().size());
+        for (VehicleRoute route : solution.getRoutes()) {
+            indicators.add(analyse(route));
+        }
+        indicators.finish();
+        return indicators;
+    }
+
+    /**
+     * Analyses the specified solutions one after another.
+     *
+     * @param solutions solutions to be analysed
+     * @return indicators in the order of solutions
+     */
+    public List<SolutionIndicators> analyse(Collection<VehicleRoutingProblemSolution> solutions) {
+        List<SolutionIndicators> indicators = new ArrayList<SolutionIndicators>(solutions.size());
+        for (VehicleRoutingProblemSolution solution : solutions) {
+            indicators.add(analyse(solution));
+        }
+        return indicators;
+    }
+
+    /**
+     * Analyses the specified solutions concurrently.
+     *
+     * @param solutions       solutions to be analysed
+     * @param executorService executor the analysis of each solution is submitted to
+     * @return indicators in the order of solutions
+     */
+    public List<SolutionIndicators> analyse(Collection<VehicleRoutingProblemSolution> solutions, ExecutorService executorService) {
+        List<Future<SolutionIndicators>> futures = new ArrayList<Future<SolutionIndicators>>(solutions.size());
+        for (final VehicleRoutingProblemSolution solution : solutions) {
+            futures.add(executorService.submit(new Callable<SolutionIndicators>() {
+
+                @Override
+                public SolutionIndicators call() throws Exception {
+                    return analyse(solution);
+                }
+
+            }));
+        }
+        List<SolutionIndicators> indicators = new ArrayList<SolutionIndicators>(solutions.size());
+        try {
+            for (Future<SolutionIndicators> future : futures) {
+                indicators.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+        return indicators;
+    }
+
+    /**
+     * Analyses the specified route.
+     *
+     * @param route route to be analysed
+     * @return indicators of route
+     */
+    public RouteIndicators analyse(VehicleRoute route) {
+        if (route == null) throw new IllegalArgumentException("route is missing.");
+        if (maxCacheSize == 0) return calculate(route);
+        RouteKey key = new RouteKey(route);
+        RouteIndicators indicators = cache.get(key);
+        if (indicators == null) {
+            indicators = calculate(route);
+            if (cache.size() >= maxCacheSize) cache.clear();
+            cache.put(key, indicators);
+        }
+        return indicators;
+    }
+
+    private RouteIndicators calculate(VehicleRoute route) {
+        RouteIndicators indicators = new RouteIndicators();
+        Vehicle vehicle = route.getVehicle();
+        Driver driver = route.getDriver();
+        double[] relation = TransportCostsLookup.newBuffer();
+
+        CapacityAccumulator loadAtBeginning = new CapacityAccumulator();
+        CapacityAccumulator loadAtEnd = new CapacityAccumulator();
+        CapacityAccumulator loadPickedUp = new CapacityAccumulator();
+        CapacityAccumulator loadDelivered = new CapacityAccumulator();
+        //load relative to load at beginning, i.e. max load = load at beginning + max relative load
+        CapacityAccumulator relativeLoad = new CapacityAccumulator();
+        CapacityAccumulator maxRelativeLoad = new CapacityAccumulator();
+        Set<Job> openShipments = null;
+        boolean pickupOccurred = false;
+
+        TourActivity prevAct = route.getStart();
+        double prevActDeparture = route.getDepartureTime();
+        for (TourActivity act : route.getActivities()) {
+            TransportCostsLookup.lookup(transportCosts, prevAct.getLocation(), act.getLocation(), prevActDeparture, driver, vehicle, relation);
+            double arrTime = prevActDeparture + relation[FusedTransportCosts.TIME];
+            double operationStartTime = Math.max(act.getTheoreticalEarliestOperationStartTime(), arrTime);
+            double duration = activityCosts.getActivityDuration(act, arrTime, driver, vehicle);
+            indicators.distance += distance(prevAct, act, prevActDeparture, vehicle, relation);
+            indicators.transportTime += arrTime - prevActDeparture;
+            indicators.waitingTime += Math.max(0, act.getTheoreticalEarliestOperationStartTime() - arrTime);
+            indicators.timeWindowViolation += Math.max(0, arrTime - act.getTheoreticalLatestOperationStartTime());
+            indicators.serviceTime += duration;
+            indicators.variableTransportCosts += relation[FusedTransportCosts.COST] + activityCosts.getActivityCost(act, arrTime, driver, vehicle);
+
+            relativeLoad.add(act.getSize());
+            maxRelativeLoad.max(relativeLoad);
+
+            if (act instanceof TourActivity.JobActivity) {
+                Job job = ((TourActivity.JobActivity) act).getJob();
+                //loads at beginning and end
+                if (job instanceof Delivery) loadAtBeginning.add(job.getSize());
+                else if (job instanceof Pickup || job instanceof Service) loadAtEnd.add(job.getSize());
+                //skills
+                if (!indicators.skillConstraintViolation) {
+                    for (String skill : job.getRequiredSkills().values()) {
+                        if (!vehicle.getSkills().containsSkill(skill)) {
+                            indicators.skillConstraintViolation = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            //counters
+            if (act instanceof PickupActivity) {
+                indicators.noPickups++;
+                loadPickedUp.add(((PickupActivity) act).getJob().getSize());
+                if (act instanceof PickupService) indicators.noDeliveriesAtEnd++;
+            } else if (act instanceof DeliveryActivity) {
+                indicators.noDeliveries++;
+                loadDelivered.add(((DeliveryActivity) act).getJob().getSize());
+                if (act instanceof DeliverService) indicators.noPickupsAtBeginning++;
+            }
+            //shipments
+            if (act instanceof PickupShipment) {
+                if (openShipments == null) openShipments = new HashSet<Job>();
+                openShipments.add(((PickupShipment) act).getJob());
+            } else if (act instanceof DeliverShipment) {
+                if (openShipments == null || !openShipments.remove(((DeliverShipment) act).getJob())) {
+                    indicators.shipmentConstraintViolation = true;
+                }
+            }
+            //backhaul
+            if (act instanceof DeliverService && pickupOccurred) {
+                indicators.backhaulConstraintViolation = true;
+            } else if (act instanceof PickupService || act instanceof ServiceActivity || act instanceof PickupShipment) {
+                pickupOccurred = true;
+            }
+
+            prevAct = act;
+            prevActDeparture = operationStartTime + duration;
+        }
+        End end = route.getEnd();
+        TransportCostsLookup.lookup(transportCosts, prevAct.getLocation(), end.getLocation(), prevActDeparture, driver, vehicle, relation);
+        double arrTimeAtEnd = prevActDeparture + relation[FusedTransportCosts.TIME];
+        indicators.distance += distance(prevAct, end, prevActDeparture, vehicle, relation);
+        indicators.transportTime += arrTimeAtEnd - prevActDeparture;
+        indicators.timeWindowViolation += Math.max(0, arrTimeAtEnd - end.getTheoreticalLatestOperationStartTime());
+        indicators.variableTransportCosts += relation[FusedTransportCosts.COST] + activityCosts.getActivityCost(end, arrTimeAtEnd, driver, vehicle);
+        indicators.operationTime = arrTimeAtEnd - route.getDepartureTime();
+        indicators.fixedCosts = vehicle.getType().getVehicleCostParams().fix;
+        if (openShipments != null && !openShipments.isEmpty()) indicators.shipmentConstraintViolation = true;
+
+        Capacity noLoad = Capacity.Builder.newInstance().build();
+        indicators.loadAtBeginning = loadAtBeginning.toCapacity();
+        indicators.loadAtEnd = loadAtEnd.toCapacity();
+        indicators.loadPickedUp = loadPickedUp.toCapacity();
+        indicators.loadDelivered = loadDelivered.toCapacity();
+        indicators.maxLoad = Capacity.addup(indicators.loadAtBeginning, maxRelativeLoad.toCapacity());
+        indicators.capacityViolation = Capacity.max(noLoad, Capacity.subtract(indicators.maxLoad, vehicle.getType().getCapacityDimensions()));
+        return indicators;
+    }
+
+    private double distance(TourActivity from, TourActivity to, double departureTime, Vehicle vehicle, double[] relation) {
+        if (distanceFromTransportCosts && !Double.isNaN(relation[FusedTransportCosts.DISTANCE])) {
+            return relation[FusedTransportCosts.DISTANCE];
+        }
+        return distanceCalculator.getDistance(from.getLocation(), to.getLocation(), departureTime, vehicle);
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.analysis;
+
+import com.graphhopper.jsprit.core.problem.Capacity;
+
+/**
+ * Indicators of a single route as calculated by {@link FastSolutionAnalyser}.
+ * <p>
+ * <p>Values are defined as in {@link SolutionAnalyser}, e.g. {@link #getCapacityViolation()} corresponds to
+ * {@link SolutionAnalyser#getCapacityViolation(com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute)}.
+ * Instances are immutable and can therefore be shared by identical routes of different solutions.
+ */
+public final class RouteIndicators {
+
+    double distance;
+
+    double transportTime;
+
+    double waitingTime;
+
+    double serviceTime;
+
+    double operationTime;
+
+    double timeWindowViolation;
+
+    double variableTransportCosts;
+
+    double fixedCosts;
+
+    Capacity loadAtBeginning;
+
+    Capacity loadAtEnd;
+
+    Capacity maxLoad;
+
+    Capacity capacityViolation;
+
+    Capacity loadPickedUp;
+
+    Capacity loadDelivered;
+
+    int noPickups;
+
+    int noPickupsAtBeginning;
+
+    int noDeliveries;
+
+    int noDeliveriesAtEnd;
+
+    boolean skillConstraintViolation;
+
+    boolean backhaulConstraintViolation;
+
+    boolean shipmentConstraintViolation;
+
+    RouteIndicators() {
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public double getTransportTime() {
+        return transportTime;
+    }
+
+    public double getWaitingTime() {
+        return waitingTime;
+    }
+
+    public double getServiceTime() {
+        return serviceTime;
+    }
+
+    public double getOperationTime() {
+        return operationTime;
+    }
+
+    public double getTimeWindowViolation() {
+        return timeWindowViolation;
+    }
+
+    public double getVariableTransportCosts() {
+        return variableTransportCosts;
+    }
+
+    public double getFixedCosts() {
+        return fixedCosts;
+    }
+
+    public Capacity getLoadAtBeginning() {
+        return loadAtBeginning;
+    }
+
+    public Capacity getLoadAtEnd() {
+        return loadAtEnd;
+    }
+
+    public Capacity getMaxLoad() {
+        return maxLoad;
+    }
+
+    public Capacity getCapacityViolation() {
+        return capacityViolation;
+    }
+
+    public Capacity getLoadPickedUp() {
+        return loadPickedUp;
+    }
+
+    public Capacity getLoadDelivered() {
+        return loadDelivered;
+    }
+
+    public int getNumberOfPickups() {
+        return noPickups;
+    }
+
+    public int getNumberOfPickupsAtBeginning() {
+        return noPickupsAtBeginning;
+    }
+
+    public int getNumberOfDeliveries() {
+        return noDeliveries;
+    }
+
+    public int getNumberOfDeliveriesAtEnd() {
+        return noDeliveriesAtEnd;
+    }
+
+    public boolean hasSkillConstraintViolation() {
+        return skillConstraintViolation;
+    }
+
+    public boolean hasBackhaulConstraintViolation() {
+        return backhaulConstraintViolation;
+    }
+
+    public boolean hasShipmentConstraintViolation() {
+        return shipmentConstraintViolation;
+    }
+
+}
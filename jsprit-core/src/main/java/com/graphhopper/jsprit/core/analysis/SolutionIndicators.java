@@ -0,0 +1,220 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.analysis;
+
+import com.graphhopper.jsprit.core.problem.Capacity;
+import com.graphhopper.jsprit.core.problem.CapacityAccumulator;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Indicators of a solution as calculated by {@link FastSolutionAnalyser}, i.e. the sums of its {@link RouteIndicators}.
+ */
+public final class SolutionIndicators {
+
+    private final VehicleRoutingProblemSolution solution;
+
+    private final List<RouteIndicators> routeIndicators;
+
+    private double distance;
+
+    private double transportTime;
+
+    private double waitingTime;
+
+    private double serviceTime;
+
+    private double operationTime;
+
+    private double maxOperationTime;
+
+    private double timeWindowViolation;
+
+    private double variableTransportCosts;
+
+    private double fixedCosts;
+
+    private double totalCosts;
+
+    private final CapacityAccumulator capacityViolation = new CapacityAccumulator();
+
+    private final CapacityAccumulator loadAtBeginning = new CapacityAccumulator();
+
+    private final CapacityAccumulator loadAtEnd = new CapacityAccumulator();
+
+    private final CapacityAccumulator loadPickedUp = new CapacityAccumulator();
+
+    private final CapacityAccumulator loadDelivered = new CapacityAccumulator();
+
+    private int noPickups;
+
+    private int noPickupsAtBeginning;
+
+    private int noDeliveries;
+
+    private int noDeliveriesAtEnd;
+
+    private boolean skillConstraintViolation;
+
+    private boolean backhaulConstraintViolation;
+
+    private boolean shipmentConstraintViolation;
+
+    SolutionIndicators(VehicleRoutingProblemSolution solution, int noRoutes) {
+        this.solution = solution;
+        this.routeIndicators = new ArrayList<RouteIndicators>(noRoutes);
+    }
+
+    void add(RouteIndicators route) {
+        routeIndicators.add(route);
+        distance += route.distance;
+        transportTime += route.transportTime;
+        waitingTime += route.waitingTime;
+        serviceTime += route.serviceTime;
+        operationTime += route.operationTime;
+        maxOperationTime = Math.max(maxOperationTime, route.operationTime);
+        timeWindowViolation += route.timeWindowViolation;
+        variableTransportCosts += route.variableTransportCosts;
+        fixedCosts += route.fixedCosts;
+        capacityViolation.add(route.capacityViolation);
+        loadAtBeginning.add(route.loadAtBeginning);
+        loadAtEnd.add(route.loadAtEnd);
+        loadPickedUp.add(route.loadPickedUp);
+        loadDelivered.add(route.loadDelivered);
+        noPickups += route.noPickups;
+        noPickupsAtBeginning += route.noPickupsAtBeginning;
+        noDeliveries += route.noDeliveries;
+        noDeliveriesAtEnd += route.noDeliveriesAtEnd;
+        if (route.skillConstraintViolation) skillConstraintViolation = true;
+        if (route.backhaulConstraintViolation) backhaulConstraintViolation = true;
+        if (route.shipmentConstraintViolation) shipmentConstraintViolation = true;
+    }
+
+    void finish() {
+        double c = variableTransportCosts + fixedCosts;
+        totalCosts = c + solution.getUnassignedJobs().size() * c * .1;
+    }
+
+    public VehicleRoutingProblemSolution getSolution() {
+        return solution;
+    }
+
+    /**
+     * @return indicators of the routes in the order of solution.getRoutes()
+     */
+    public List<RouteIndicators> getRouteIndicators() {
+        return Collections.unmodifiableList(routeIndicators);
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public double getTransportTime() {
+        return transportTime;
+    }
+
+    public double getWaitingTime() {
+        return waitingTime;
+    }
+
+    public double getServiceTime() {
+        return serviceTime;
+    }
+
+    public double getOperationTime() {
+        return operationTime;
+    }
+
+    public double getMaxOperationTime() {
+        return maxOperationTime;
+    }
+
+    public double getTimeWindowViolation() {
+        return timeWindowViolation;
+    }
+
+    public double getVariableTransportCosts() {
+        return variableTransportCosts;
+    }
+
+    public double getFixedCosts() {
+        return fixedCosts;
+    }
+
+    /**
+     * @return total costs as defined by the default solution cost calculator of {@link SolutionAnalyser}, i.e.
+     * variable plus fixed costs and a penalty for unassigned jobs
+     */
+    public double getTotalCosts() {
+        return totalCosts;
+    }
+
+    public Capacity getCapacityViolation() {
+        return capacityViolation.toCapacity();
+    }
+
+    public Capacity getLoadAtBeginning() {
+        return loadAtBeginning.toCapacity();
+    }
+
+    public Capacity getLoadAtEnd() {
+        return loadAtEnd.toCapacity();
+    }
+
+    public Capacity getLoadPickedUp() {
+        return loadPickedUp.toCapacity();
+    }
+
+    public Capacity getLoadDelivered() {
+        return loadDelivered.toCapacity();
+    }
+
+    public int getNumberOfPickups() {
+        return noPickups;
+    }
+
+    public int getNumberOfPickupsAtBeginning() {
+        return noPickupsAtBeginning;
+    }
+
+    public int getNumberOfDeliveries() {
+        return noDeliveries;
+    }
+
+    public int getNumberOfDeliveriesAtEnd() {
+        return noDeliveriesAtEnd;
+    }
+
+    public boolean hasSkillConstraintViolation() {
+        return skillConstraintViolation;
+    }
+
+    public boolean hasBackhaulConstraintViolation() {
+        return backhaulConstraintViolation;
+    }
+
+    public boolean hasShipmentConstraintViolation() {
+        return shipmentConstraintViolation;
+    }
+
+}
@@ -40,11 +40,11 @@ public class Capacity {
      */
     public static Capacity addup(Capacity cap1, Capacity cap2) {
         if (cap1 == null || cap2 == null) throw new NullPointerException("arguments must not be null");
-        Capacity.Builder capacityBuilder = Capacity.Builder.newInstance();
-        for (int i = 0; i < Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions()); i++) {
-            capacityBuilder.addDimension(i, cap1.get(i) + cap2.get(i));
+        int[] dimensions = new int[Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions())];
+        for (int i = 0; i < dimensions.length; i++) {
+            dimensions[i] = cap1.get(i) + cap2.get(i);
         }
-        return capacityBuilder.build();
+        return new Capacity(dimensions);
     }
 
     /**
@@ -58,12 +58,11 @@ public class Capacity {
      */
     public static Capacity subtract(Capacity cap, Capacity cap2subtract) {
         if (cap == null || cap2subtract == null) throw new NullPointerException("arguments must not be null");
-        Capacity.Builder capacityBuilder = Capacity.Builder.newInstance();
-        for (int i = 0; i < Math.max(cap.getNuOfDimensions(), cap2subtract.getNuOfDimensions()); i++) {
-            int dimValue = cap.get(i) - cap2subtract.get(i);
-            capacityBuilder.addDimension(i, dimValue);
+        int[] dimensions = new int[Math.max(cap.getNuOfDimensions(), cap2subtract.getNuOfDimensions())];
+        for (int i = 0; i < dimensions.length; i++) {
+            dimensions[i] = cap.get(i) - cap2subtract.get(i);
         }
-        return capacityBuilder.build();
+        return new Capacity(dimensions);
     }
 
     /**
@@ -75,12 +74,49 @@ public class Capacity {
      */
     public static Capacity invert(Capacity cap2invert) {
         if (cap2invert == null) throw new NullPointerException("arguments must not be null");
-        Capacity.Builder capacityBuilder = Capacity.Builder.newInstance();
-        for (int i = 0; i < cap2invert.getNuOfDimensions(); i++) {
-            int dimValue = cap2invert.get(i) * -1;
-            capacityBuilder.addDimension(i, dimValue);
+        int[] dimensions = new int[cap2invert.getNuOfDimensions()];
+        for (int i = 0; i < dimensions.length; i++) {
+            dimensions[i] = cap2invert.get(i) * -1;
         }
-        return capacityBuilder.build();
+        return new Capacity(dimensions);
+    }
+
+    /**
+     * Returns true if the sum of cap1 and cap2 is less or equal than limit, i.e. it is equivalent to
+     * <code>Capacity.addup(cap1, cap2).isLessOrEqual(limit)</code> without creating the sum.
+     *
+     * @param cap1  capacity to be added up
+     * @param cap2  capacity to be added up
+     * @param limit the capacity to compare the sum with
+     * @return true if the sum is less or equal than limit in each capacity dimension
+     * @throws NullPointerException if one of the args is null
+     */
+    public static boolean isSumLessOrEqual(Capacity cap1, Capacity cap2, Capacity limit) {
+        if (cap1 == null || cap2 == null || limit == null) throw new NullPointerException("arguments must not be null");
+        int nuOfDimensions = Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions());
+        for (int i = 0; i < nuOfDimensions; i++) {
+            if (cap1.get(i) + cap2.get(i) > limit.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if cap minus cap2subtract is less or equal than limit, i.e. it is equivalent to
+     * <code>Capacity.subtract(cap, cap2subtract).isLessOrEqual(limit)</code> without creating the difference.
+     *
+     * @param cap          capacity to be subtracted from
+     * @param cap2subtract capacity to subtract
+     * @param limit        the capacity to compare the difference with
+     * @return true if the difference is less or equal than limit in each capacity dimension
+     * @throws NullPointerException if one of the args is null
+     */
+    public static boolean isDifferenceLessOrEqual(Capacity cap, Capacity cap2subtract, Capacity limit) {
+        if (cap == null || cap2subtract == null || limit == null) throw new NullPointerException("arguments must not be null");
+        int nuOfDimensions = Math.max(cap.getNuOfDimensions(), cap2subtract.getNuOfDimensions());
+        for (int i = 0; i < nuOfDimensions; i++) {
+            if (cap.get(i) - cap2subtract.get(i) > limit.get(i)) return false;
+        }
+        return true;
     }
 
     /**
@@ -206,6 +242,15 @@ public class Capacity {
         dimensions = builder.dimensions;
     }
 
+    /**
+     * Takes ownership of the specified array, i.e. it must not be modified afterwards.
+     *
+     * @param dimensions dimension values
+     */
+    Capacity(int[] dimensions) {
+        this.dimensions = dimensions;
+    }
+
     /**
      * Returns the number of specified capacity dimensions.
      *
@@ -277,20 +322,20 @@ public class Capacity {
      */
     public static Capacity max(Capacity cap1, Capacity cap2) {
         if (cap1 == null || cap2 == null) throw new IllegalArgumentException("arg must not be null");
-        Capacity.Builder toReturnBuilder = Capacity.Builder.newInstance();
-        for (int i = 0; i < Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions()); i++) {
-            toReturnBuilder.addDimension(i, Math.max(cap1.get(i), cap2.get(i)));
+        int[] dimensions = new int[Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions())];
+        for (int i = 0; i < dimensions.length; i++) {
+            dimensions[i] = Math.max(cap1.get(i), cap2.get(i));
         }
-        return toReturnBuilder.build();
+        return new Capacity(dimensions);
     }
 
     public static Capacity min(Capacity cap1, Capacity cap2) {
         if (cap1 == null || cap2 == null) throw new IllegalArgumentException("arg must not be null");
-        Capacity.Builder toReturnBuilder = Capacity.Builder.newInstance();
-        for (int i = 0; i < Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions()); i++) {
-            toReturnBuilder.addDimension(i, Math.min(cap1.get(i), cap2.get(i)));
+        int[] dimensions = new int[Math.max(cap1.getNuOfDimensions(), cap2.getNuOfDimensions())];
+        for (int i = 0; i < dimensions.length; i++) {
+            dimensions[i] = Math.min(cap1.get(i), cap2.get(i));
         }
-        return toReturnBuilder.build();
+        return new Capacity(dimensions);
     }
 
     @Override
@@ -0,0 +1,211 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem;
+
+/**
+ * Mutable capacity that accumulates capacities in place, i.e. without creating a new {@link Capacity} per operation.
+ * <p>
+ * <p>The number of dimensions grows like the number of dimensions of the results of {@link Capacity#addup(Capacity, Capacity)}
+ * and {@link Capacity#max(Capacity, Capacity)}, i.e. it is the maximum number of dimensions of all capacities involved.
+ * Thus <code>toCapacity()</code> returns a capacity that equals the one calculated with the static methods of Capacity.
+ * <p>
+ * <p>It is not thread-safe and is meant to be reused by a single updater or constraint.
+ */
+public class CapacityAccumulator {
+
+    private int[] values;
+
+    private int nuOfDimensions;
+
+    /**
+     * Constructs an accumulator with one dimension and a value of 0.
+     */
+    public CapacityAccumulator() {
+        values = new int[1];
+        nuOfDimensions = 1;
+    }
+
+    /**
+     * Resets this to one dimension with a value of 0.
+     *
+     * @return this accumulator
+     */
+    public CapacityAccumulator reset() {
+        for (int i = 0; i < nuOfDimensions; i++) values[i] = 0;
+        nuOfDimensions = 1;
+        return this;
+    }
+
+    /**
+     * Sets the values of this to the values of the specified capacity.
+     *
+     * @param capacity capacity to be copied
+     * @return this accumulator
+     */
+    public CapacityAccumulator set(Capacity capacity) {
+        int dims = capacity.getNuOfDimensions();
+        ensureCapacity(dims);
+        for (int i = 0; i < dims; i++) values[i] = capacity.get(i);
+        for (int i = dims; i < nuOfDimensions; i++) values[i] = 0;
+        nuOfDimensions = dims;
+        return this;
+    }
+
+    /**
+     * Adds up capacity, i.e. sums up each and every capacity dimension.
+     *
+     * @param capacity capacity to be added
+     * @return this accumulator
+     */
+    public CapacityAccumulator add(Capacity capacity) {
+        int dims = capacity.getNuOfDimensions();
+        grow(dims);
+        for (int i = 0; i < dims; i++) values[i] += capacity.get(i);
+        return this;
+    }
+
+    /**
+     * Subtracts capacity from each and every capacity dimension.
+     *
+     * @param capacity capacity to subtract
+     * @return this accumulator
+     */
+    public CapacityAccumulator subtract(Capacity capacity) {
+        int dims = capacity.getNuOfDimensions();
+        grow(dims);
+        for (int i = 0; i < dims; i++) values[i] -= capacity.get(i);
+        return this;
+    }
+
+    /**
+     * Sets each capacity dimension to the maximum of its current value and the corresponding dimension of capacity.
+     *
+     * @param capacity capacity to compare
+     * @return true if this accumulator has changed, i.e. if a value has increased or the number of dimensions has grown
+     */
+    public boolean max(Capacity capacity) {
+        int dims = capacity.getNuOfDimensions();
+        boolean changed = grow(dims);
+        for (int i = 0; i < dims; i++) {
+            int value = capacity.get(i);
+            if (value > values[i]) {
+                values[i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Sets each capacity dimension to the maximum of its current value and the corresponding dimension of other.
+     *
+     * @param other accumulator to compare
+     * @return true if this accumulator has changed
+     */
+    public boolean max(CapacityAccumulator other) {
+        int dims = other.nuOfDimensions;
+        boolean changed = grow(dims);
+        for (int i = 0; i < dims; i++) {
+            int value = other.values[i];
+            if (value > values[i]) {
+                values[i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Sets each capacity dimension to the minimum of its current value and the corresponding dimension of capacity.
+     *
+     * @param capacity capacity to compare
+     * @return true if this accumulator has changed, i.e. if a value has decreased or the number of dimensions has grown
+     */
+    public boolean min(Capacity capacity) {
+        int dims = capacity.getNuOfDimensions();
+        boolean changed = grow(dims);
+        for (int i = 0; i < dims; i++) {
+            int value = capacity.get(i);
+            if (value < values[i]) {
+                values[i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public int getNuOfDimensions() {
+        return nuOfDimensions;
+    }
+
+    /**
+     * Returns value of capacity-dimension with specified index. If capacity dimension does not exist, it returns 0.
+     *
+     * @param index dimension index
+     * @return the according dimension value
+     */
+    public int get(int index) {
+        if (index < nuOfDimensions) return values[index];
+        return 0;
+    }
+
+    /**
+     * Returns true if none of the capacity dimensions is greater than the corresponding dimension in toCompare.
+     *
+     * @param toCompare the capacity to compare
+     * @return true if this is less or equal than toCompare
+     */
+    public boolean isLessOrEqual(Capacity toCompare) {
+        for (int i = 0; i < nuOfDimensions; i++) {
+            if (values[i] > toCompare.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns an immutable capacity with the current values.
+     *
+     * @return capacity
+     */
+    public Capacity toCapacity() {
+        int[] dimensions = new int[nuOfDimensions];
+        System.arraycopy(values, 0, dimensions, 0, nuOfDimensions);
+        return new Capacity(dimensions);
+    }
+
+    @Override
+    public String toString() {
+        return "[accumulator]" + toCapacity();
+    }
+
+    private boolean grow(int dims) {
+        if (dims <= nuOfDimensions) return false;
+        ensureCapacity(dims);
+        nuOfDimensions = dims;
+        return true;
+    }
+
+    private void ensureCapacity(int dims) {
+        if (dims > values.length) {
+            int[] newValues = new int[dims];
+            System.arraycopy(values, 0, newValues, 0, nuOfDimensions);
+            values = newValues;
+        }
+    }
+
+}
@@ -572,6 +572,12 @@ public class VehicleRoutingProblem {
 
     private int nuActivities;
 
+    private final Map<Job, Integer> jobIndices = new IdentityHashMap<Job, Integer>();
+
+    private final Map<Vehicle, Integer> vehicleIndices = new IdentityHashMap<Vehicle, Integer>();
+
+    private final Map<Vehicle, Integer> vehicleTypeKeyIndices = new IdentityHashMap<Vehicle, Integer>();
+
     private final JobActivityFactory jobActivityFactory = new JobActivityFactory() {
 
         @Override
@@ -593,9 +599,31 @@ public class VehicleRoutingProblem {
         this.nuActivities = builder.activityIndexCounter;
         this.allLocations = builder.allLocations;
         this.allJobs = builder.tentativeJobs;
+        for (Job job : allJobs.values()) jobIndices.put(job, job.getIndex());
+        for (Vehicle vehicle : vehicles) {
+            vehicleIndices.put(vehicle, vehicle.getIndex());
+            vehicleTypeKeyIndices.put(vehicle, vehicle.getVehicleTypeIdentifier().getIndex());
+        }
         logger.info("setup problem: {}", this);
     }
 
+    /**
+     * Re-assigns the indices this problem has assigned to its jobs, vehicles and vehicle type keys.
+     * <p>
+     * <p>These indices are stored in the jobs and vehicles themselves. Thus, if they are added to another problem,
+     * e.g. to a sub-problem of this one, they are re-indexed and need to be restored before they are used with this
+     * problem again.
+     */
+    public void restoreIndices() {
+        for (Map.Entry<Job, Integer> entry : jobIndices.entrySet()) {
+            ((AbstractJob) entry.getKey()).setIndex(entry.getValue());
+        }
+        for (Map.Entry<Vehicle, Integer> entry : vehicleIndices.entrySet()) {
+            ((AbstractVehicle) entry.getKey()).setIndex(entry.getValue());
+            entry.getKey().getVehicleTypeIdentifier().setIndex(vehicleTypeKeyIndices.get(entry.getKey()));
+        }
+    }
+
 
     @Override
     public String toString() {
@@ -17,6 +17,8 @@
  */
 package com.graphhopper.jsprit.core.problem.constraint;
 
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.TransportCostsLookup;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingActivityCosts;
 import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
 import com.graphhopper.jsprit.core.problem.misc.JobInsertionContext;
@@ -34,6 +36,8 @@ class AdditionalTransportationCosts implements SoftActivityConstraint {
 
     private VehicleRoutingActivityCosts activityCosts;
 
+    private final ThreadLocal<double[]> relationBuffer = TransportCostsLookup.newThreadLocalBuffer();
+
     /**
      * Constructs the calculator that calculates additional transportation costs induced by inserting new activity.
      * <p>
@@ -57,8 +61,10 @@ class AdditionalTransportationCosts implements SoftActivityConstraint {
      */
     @Override
     public double getCosts(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double depTimeAtPrevAct) {
-        double tp_costs_prevAct_newAct = routingCosts.getTransportCost(prevAct.getLocation(), newAct.getLocation(), depTimeAtPrevAct, iFacts.getNewDriver(), iFacts.getNewVehicle());
-        double tp_time_prevAct_newAct = routingCosts.getTransportTime(prevAct.getLocation(), newAct.getLocation(), depTimeAtPrevAct, iFacts.getNewDriver(), iFacts.getNewVehicle());
+        double[] relation = relationBuffer.get();
+        TransportCostsLookup.lookup(routingCosts, prevAct.getLocation(), newAct.getLocation(), depTimeAtPrevAct, iFacts.getNewDriver(), iFacts.getNewVehicle(), relation);
+        double tp_costs_prevAct_newAct = relation[FusedTransportCosts.COST];
+        double tp_time_prevAct_newAct = relation[FusedTransportCosts.TIME];
 
         double newAct_arrTime = depTimeAtPrevAct + tp_time_prevAct_newAct;
         double newAct_endTime = Math.max(newAct_arrTime, newAct.getTheoreticalEarliestOperationStartTime()) + activityCosts.getActivityDuration(newAct,newAct_arrTime,iFacts.getNewDriver(),iFacts.getNewVehicle());
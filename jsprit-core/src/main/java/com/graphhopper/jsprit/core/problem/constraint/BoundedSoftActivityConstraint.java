@@ -0,0 +1,40 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem.constraint;
+
+import com.graphhopper.jsprit.core.problem.misc.JobInsertionContext;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+
+/**
+ * Soft activity constraint that provides a cheap lower bound of its costs.
+ * <p>
+ * <p>Insertion calculators only evaluate {@link #getCosts(JobInsertionContext, TourActivity, TourActivity, TourActivity, double)}
+ * if the lower bounds do not already rule out the insertion position, i.e. if they do not exceed the best known
+ * insertion costs. Thus, expensive constraints should implement this and return a bound that is much cheaper to
+ * calculate than the costs themselves. For example, a constraint that never returns negative costs can return 0.
+ */
+public interface BoundedSoftActivityConstraint extends SoftActivityConstraint {
+
+    /**
+     * Returns a value that is smaller than or equal to the costs of the specified insertion.
+     *
+     * @return lower bound of getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime)
+     */
+    public double getLowerBound(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime);
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem.constraint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Order in which constraints of one priority class are evaluated.
+ * <p>
+ * <p>By default, this is the order in which constraints have been added. In adaptive mode, every
+ * {@link #SAMPLING_INTERVAL}th evaluation is measured, i.e. the time each constraint takes and whether it rejects the
+ * insertion. After every {@link #REORDERING_INTERVAL} measured evaluations, constraints are sorted by their expected
+ * time per rejection (average time / rejection rate) such that infeasible positions are rejected as cheaply as
+ * possible.
+ * <p>
+ * <p>It can be shared by concurrently running insertion threads. The current order is published as an immutable list,
+ * and measurements are synchronized.
+ */
+class ConstraintEvaluationOrder<T> {
+
+    static final int SAMPLING_INTERVAL = 16;
+
+    static final int REORDERING_INTERVAL = 1000;
+
+    private final List<T> constraints = new ArrayList<T>();
+
+    private volatile List<T> orderedConstraints = Collections.emptyList();
+
+    private long[] noEvaluations = new long[0];
+
+    private long[] noRejections = new long[0];
+
+    private long[] nanos = new long[0];
+
+    private int noSamples;
+
+    private int noCalls;
+
+    private boolean adaptive = false;
+
+    synchronized void add(T constraint) {
+        constraints.add(constraint);
+        int n = constraints.size();
+        noEvaluations = Arrays.copyOf(noEvaluations, n);
+        noRejections = Arrays.copyOf(noRejections, n);
+        nanos = Arrays.copyOf(nanos, n);
+        List<T> ordered = new ArrayList<T>(orderedConstraints);
+        ordered.add(constraint);
+        orderedConstraints = Collections.unmodifiableList(ordered);
+    }
+
+    synchronized void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        if (!adaptive) orderedConstraints = Collections.unmodifiableList(new ArrayList<T>(constraints));
+    }
+
+    /**
+     * @return constraints in the order they should be evaluated
+     */
+    List<T> getConstraints() {
+        return orderedConstraints;
+    }
+
+    /**
+     * @return true if the next evaluation should be measured and reported with {@link #record(Object, boolean, long)}
+     */
+    boolean sample() {
+        //the counter is not synchronized since it only determines how often evaluations are measured
+        return adaptive && ++noCalls % SAMPLING_INTERVAL == 0;
+    }
+
+    synchronized void record(T constraint, boolean rejected, long nanos) {
+        int index = indexOf(constraint);
+        if (index < 0) return;
+        noEvaluations[index]++;
+        if (rejected) noRejections[index]++;
+        this.nanos[index] += nanos;
+        noSamples++;
+        if (noSamples % REORDERING_INTERVAL == 0) reorder();
+    }
+
+    private int indexOf(T constraint) {
+        for (int i = 0; i < constraints.size(); i++) {
+            if (constraints.get(i) == constraint) return i;
+        }
+        return -1;
+    }
+
+    private void reorder() {
+        final double[] timePerRejection = new double[constraints.size()];
+        List<Integer> indices = new ArrayList<Integer>(constraints.size());
+        for (int i = 0; i < constraints.size(); i++) {
+            //add-one smoothing such that constraints that have (almost) never been evaluated are not excluded forever
+            double rejectionRate = (noRejections[i] + 1.) / (noEvaluations[i] + 2.);
+            double avgTime = (nanos[i] + 1.) / (noEvaluations[i] + 1.);
+            timePerRejection[i] = avgTime / rejectionRate;
+            indices.add(i);
+        }
+        Collections.sort(indices, new Comparator<Integer>() {
+
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(timePerRejection[o1], timePerRejection[o2]);
+            }
+
+        });
+        List<T> ordered = new ArrayList<T>(constraints.size());
+        for (Integer i : indices) ordered.add(constraints.get(i));
+        orderedConstraints = Collections.unmodifiableList(ordered);
+    }
+
+}
@@ -96,6 +96,19 @@ public class ConstraintManager implements HardActivityConstraint, HardRouteConst
 //        return actLevelConstraintManager.g;
 //    }
 
+    /**
+     * Enables or disables adaptive ordering of hard constraints. If enabled, hard activity constraints are reordered
+     * within their priority class and hard route constraints are reordered such that constraints that reject often and
+     * are cheap to evaluate are evaluated first. Priority classes are never mixed. By default, constraints are
+     * evaluated in the order they have been added.
+     *
+     * @param adaptiveOrdering true if constraints should be reordered according to observed rejection rates and evaluation times
+     */
+    public void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        actLevelConstraintManager.setAdaptiveOrdering(adaptiveOrdering);
+        hardRouteConstraintManager.setAdaptiveOrdering(adaptiveOrdering);
+    }
+
     public DependencyType[] getDependencyTypes() {
         return dependencyTypes;
     }
@@ -193,6 +206,21 @@ public class ConstraintManager implements HardActivityConstraint, HardRouteConst
         return actLevelConstraintManager.fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime);
     }
 
+    /**
+     * Evaluates hard activity constraints and adds the simple class names of constraints that are not fulfilled to
+     * failedConstraintNames.
+     */
+    public ConstraintsStatus fulfilled(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime, Collection<String> failedConstraintNames) {
+        return actLevelConstraintManager.fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime, failedConstraintNames);
+    }
+
+    /**
+     * @return the first hard route constraint that is not fulfilled, or null if all are fulfilled
+     */
+    public HardRouteConstraint getViolatedHardRouteConstraint(JobInsertionContext insertionContext) {
+        return hardRouteConstraintManager.getViolatedConstraint(insertionContext);
+    }
+
     public Collection<Constraint> getConstraints() {
         List<Constraint> constraints = new ArrayList<Constraint>();
         constraints.addAll(actLevelConstraintManager.getAllConstraints());
@@ -212,5 +240,14 @@ public class ConstraintManager implements HardActivityConstraint, HardRouteConst
         return softActivityConstraintManager.getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime);
     }
 
+    /**
+     * Returns the soft activity costs of the specified insertion if they are smaller than maxCosts, otherwise a value
+     * that is not smaller than maxCosts. Lower bounds of {@link BoundedSoftActivityConstraint}s are used to skip the evaluation
+     * of constraints that cannot make the insertion cheaper than maxCosts anymore.
+     */
+    public double getCosts(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime, double maxCosts) {
+        return softActivityConstraintManager.getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime, maxCosts);
+    }
+
 
 }
@@ -25,14 +25,27 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
-
+/**
+ * Evaluates hard activity constraints in priority classes CRITICAL, HIGH and LOW.
+ * <p>
+ * <p>Constraints of the CRITICAL and HIGH class are all evaluated, unless one returns NOT_FULFILLED_BREAK. Constraints of
+ * the LOW class are evaluated until the first one is not fulfilled. Within each class, constraints are evaluated in the
+ * order they have been added or, if {@link #setAdaptiveOrdering(boolean)} is enabled, in the order determined by
+ * {@link ConstraintEvaluationOrder}, i.e. by their observed rejection rates and evaluation times. Priority classes are
+ * never mixed.
+ * <p>
+ * <p>Reordering does not change which insertions are feasible. In the CRITICAL and HIGH class, the outcome does not
+ * depend on the order. In the LOW class, a different constraint might reject first and, thus, NOT_FULFILLED might be
+ * returned instead of NOT_FULFILLED_BREAK (or vice versa). Since a constraint only returns NOT_FULFILLED_BREAK if no
+ * subsequent insertion position can be feasible, this only affects how early the search for positions stops.
+ */
 class HardActivityLevelConstraintManager implements HardActivityConstraint {
 
-    private Collection<HardActivityConstraint> criticalConstraints = new ArrayList<HardActivityConstraint>();
+    private final ConstraintEvaluationOrder<HardActivityConstraint> criticalConstraints = new ConstraintEvaluationOrder<HardActivityConstraint>();
 
-    private Collection<HardActivityConstraint> highPrioConstraints = new ArrayList<HardActivityConstraint>();
+    private final ConstraintEvaluationOrder<HardActivityConstraint> highPrioConstraints = new ConstraintEvaluationOrder<HardActivityConstraint>();
 
-    private Collection<HardActivityConstraint> lowPrioConstraints = new ArrayList<HardActivityConstraint>();
+    private final ConstraintEvaluationOrder<HardActivityConstraint> lowPrioConstraints = new ConstraintEvaluationOrder<HardActivityConstraint>();
 
     public void addConstraint(HardActivityConstraint constraint, ConstraintManager.Priority priority) {
         if (priority.equals(ConstraintManager.Priority.CRITICAL)) {
@@ -44,61 +57,91 @@ class HardActivityLevelConstraintManager implements HardActivityConstraint {
         }
     }
 
+    void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        criticalConstraints.setAdaptive(adaptiveOrdering);
+        highPrioConstraints.setAdaptive(adaptiveOrdering);
+        lowPrioConstraints.setAdaptive(adaptiveOrdering);
+    }
+
     Collection<HardActivityConstraint> getCriticalConstraints() {
-        return Collections.unmodifiableCollection(criticalConstraints);
+        return criticalConstraints.getConstraints();
     }
 
     Collection<HardActivityConstraint> getHighPrioConstraints() {
-        return Collections.unmodifiableCollection(highPrioConstraints);
+        return highPrioConstraints.getConstraints();
     }
 
     Collection<HardActivityConstraint> getLowPrioConstraints() {
-        return Collections.unmodifiableCollection(lowPrioConstraints);
+        return lowPrioConstraints.getConstraints();
     }
 
     Collection<HardActivityConstraint> getAllConstraints() {
         List<HardActivityConstraint> c = new ArrayList<HardActivityConstraint>();
-        c.addAll(criticalConstraints);
-        c.addAll(highPrioConstraints);
-        c.addAll(lowPrioConstraints);
+        c.addAll(criticalConstraints.getConstraints());
+        c.addAll(highPrioConstraints.getConstraints());
+        c.addAll(lowPrioConstraints.getConstraints());
         return Collections.unmodifiableCollection(c);
     }
 
     @Override
     public ConstraintsStatus fulfilled(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime) {
-        ConstraintsStatus notFulfilled = null;
-        for (HardActivityConstraint c : criticalConstraints) {
-            ConstraintsStatus status = c.fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime);
-            if (status.equals(ConstraintsStatus.NOT_FULFILLED_BREAK)) {
+        return fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime, null);
+    }
+
+    /**
+     * Same as {@link #fulfilled(JobInsertionContext, TourActivity, TourActivity, TourActivity, double)}, but adds the
+     * simple class names of the constraints that are not fulfilled to failedConstraintNames (if not null).
+     */
+    ConstraintsStatus fulfilled(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime, Collection<String> failedConstraintNames) {
+        ConstraintsStatus status = fulfilledUnlessBreak(criticalConstraints, iFacts, prevAct, newAct, nextAct, prevActDepTime, failedConstraintNames);
+        if (status != null) return status;
+
+        status = fulfilledUnlessBreak(highPrioConstraints, iFacts, prevAct, newAct, nextAct, prevActDepTime, failedConstraintNames);
+        if (status != null) return status;
+
+        boolean sample = lowPrioConstraints.sample();
+        for (HardActivityConstraint constraint : lowPrioConstraints.getConstraints()) {
+            long start = sample ? System.nanoTime() : 0L;
+            status = constraint.fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+            boolean rejected = status.equals(ConstraintsStatus.NOT_FULFILLED_BREAK) || status.equals(ConstraintsStatus.NOT_FULFILLED);
+            if (sample) lowPrioConstraints.record(constraint, rejected, System.nanoTime() - start);
+            if (rejected) {
+                if (failedConstraintNames != null) failedConstraintNames.add(constraint.getClass().getSimpleName());
                 return status;
-            } else {
-                if (status.equals(ConstraintsStatus.NOT_FULFILLED)) {
-                    notFulfilled = status;
-                }
             }
         }
-        if (notFulfilled != null) return notFulfilled;
 
-        for (HardActivityConstraint c : highPrioConstraints) {
+        return ConstraintsStatus.FULFILLED;
+    }
+
+    /**
+     * Evaluates all constraints of a priority class unless one returns NOT_FULFILLED_BREAK.
+     *
+     * @return NOT_FULFILLED_BREAK or NOT_FULFILLED, or null if all constraints are fulfilled
+     */
+    private ConstraintsStatus fulfilledUnlessBreak(ConstraintEvaluationOrder<HardActivityConstraint> constraints, JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime, Collection<String> failedConstraintNames) {
+        ConstraintsStatus notFulfilled = null;
+        List<String> failed = null;
+        boolean sample = constraints.sample();
+        for (HardActivityConstraint c : constraints.getConstraints()) {
+            long start = sample ? System.nanoTime() : 0L;
             ConstraintsStatus status = c.fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+            if (sample) constraints.record(c, status.equals(ConstraintsStatus.NOT_FULFILLED_BREAK), System.nanoTime() - start);
             if (status.equals(ConstraintsStatus.NOT_FULFILLED_BREAK)) {
+                if (failedConstraintNames != null) failedConstraintNames.add(c.getClass().getSimpleName());
                 return status;
             } else {
                 if (status.equals(ConstraintsStatus.NOT_FULFILLED)) {
+                    if (failedConstraintNames != null) {
+                        if (failed == null) failed = new ArrayList<String>();
+                        failed.add(c.getClass().getSimpleName());
+                    }
                     notFulfilled = status;
                 }
             }
         }
-        if (notFulfilled != null) return notFulfilled;
-
-        for (HardActivityConstraint constraint : lowPrioConstraints) {
-            ConstraintsStatus status = constraint.fulfilled(iFacts, prevAct, newAct, nextAct, prevActDepTime);
-            if (status.equals(ConstraintsStatus.NOT_FULFILLED_BREAK) || status.equals(ConstraintsStatus.NOT_FULFILLED)) {
-                return status;
-            }
-        }
-
-        return ConstraintsStatus.FULFILLED;
+        if (failed != null) failedConstraintNames.addAll(failed);
+        return notFulfilled;
     }
 
 }
@@ -19,31 +19,41 @@ package com.graphhopper.jsprit.core.problem.constraint;
 
 import com.graphhopper.jsprit.core.problem.misc.JobInsertionContext;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-
 
 class HardRouteLevelConstraintManager implements HardRouteConstraint {
 
-    private Collection<HardRouteConstraint> hardConstraints = new ArrayList<HardRouteConstraint>();
+    private final ConstraintEvaluationOrder<HardRouteConstraint> hardConstraints = new ConstraintEvaluationOrder<HardRouteConstraint>();
 
     public void addConstraint(HardRouteConstraint constraint) {
         hardConstraints.add(constraint);
     }
 
+    void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        hardConstraints.setAdaptive(adaptiveOrdering);
+    }
+
     Collection<HardRouteConstraint> getConstraints() {
-        return Collections.unmodifiableCollection(hardConstraints);
+        return hardConstraints.getConstraints();
     }
 
     @Override
     public boolean fulfilled(JobInsertionContext insertionContext) {
-        for (HardRouteConstraint constraint : hardConstraints) {
-            if (!constraint.fulfilled(insertionContext)) {
-                return false;
-            }
+        return getViolatedConstraint(insertionContext) == null;
+    }
+
+    /**
+     * @return the first constraint that is not fulfilled, or null if all constraints are fulfilled
+     */
+    HardRouteConstraint getViolatedConstraint(JobInsertionContext insertionContext) {
+        boolean sample = hardConstraints.sample();
+        for (HardRouteConstraint constraint : hardConstraints.getConstraints()) {
+            long start = sample ? System.nanoTime() : 0L;
+            boolean fulfilled = constraint.fulfilled(insertionContext);
+            if (sample) hardConstraints.record(constraint, !fulfilled, System.nanoTime() - start);
+            if (!fulfilled) return constraint;
         }
-        return true;
+        return null;
     }
 
 }
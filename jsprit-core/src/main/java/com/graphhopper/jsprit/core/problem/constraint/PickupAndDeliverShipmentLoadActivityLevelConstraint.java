@@ -72,12 +72,12 @@ public class PickupAndDeliverShipmentLoadActivityLevelConstraint implements Hard
             if (loadAtPrevAct == null) loadAtPrevAct = defaultValue;
         }
         if (newAct instanceof PickupShipment) {
-            if (!Capacity.addup(loadAtPrevAct, newAct.getSize()).isLessOrEqual(iFacts.getNewVehicle().getType().getCapacityDimensions())) {
+            if (!Capacity.isSumLessOrEqual(loadAtPrevAct, newAct.getSize(), iFacts.getNewVehicle().getType().getCapacityDimensions())) {
                 return ConstraintsStatus.NOT_FULFILLED;
             }
         }
         if (newAct instanceof DeliverShipment) {
-            if (!Capacity.addup(loadAtPrevAct, Capacity.invert(newAct.getSize())).isLessOrEqual(iFacts.getNewVehicle().getType().getCapacityDimensions()))
+            if (!Capacity.isDifferenceLessOrEqual(loadAtPrevAct, newAct.getSize(), iFacts.getNewVehicle().getType().getCapacityDimensions()))
                 return ConstraintsStatus.NOT_FULFILLED_BREAK;
         }
         return ConstraintsStatus.FULFILLED;
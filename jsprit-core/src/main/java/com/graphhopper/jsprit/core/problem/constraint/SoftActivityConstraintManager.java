@@ -28,8 +28,22 @@ class SoftActivityConstraintManager implements SoftActivityConstraint {
 
     private Collection<SoftActivityConstraint> softConstraints = new ArrayList<SoftActivityConstraint>();
 
+    private Collection<SoftActivityConstraint> unboundedConstraints = new ArrayList<SoftActivityConstraint>();
+
+    private Collection<BoundedSoftActivityConstraint> boundedConstraints = new ArrayList<BoundedSoftActivityConstraint>();
+
+    private final ThreadLocal<double[]> lowerBounds = new ThreadLocal<double[]>() {
+        @Override
+        protected double[] initialValue() {
+            return new double[0];
+        }
+    };
+
     public void addConstraint(SoftActivityConstraint constraint) {
         softConstraints.add(constraint);
+        if (constraint instanceof BoundedSoftActivityConstraint) {
+            boundedConstraints.add((BoundedSoftActivityConstraint) constraint);
+        } else unboundedConstraints.add(constraint);
     }
 
     Collection<SoftActivityConstraint> getConstraints() {
@@ -45,4 +59,45 @@ class SoftActivityConstraintManager implements SoftActivityConstraint {
         return sumCosts;
     }
 
+    /**
+     * Sums up the costs of all constraints, but stops as soon as it is clear that the sum is at least maxCosts.
+     * <p>
+     * <p>Constraints without lower bound are always evaluated. Then, {@link BoundedSoftActivityConstraint}s are
+     * evaluated one after another as long as the costs evaluated so far plus the lower bounds of the remaining
+     * constraints are smaller than maxCosts.
+     *
+     * @return sum of costs if it is smaller than maxCosts, otherwise a value that is not smaller than maxCosts
+     * (Double.POSITIVE_INFINITY if the evaluation has been stopped)
+     */
+    double getCosts(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime, double maxCosts) {
+        if (boundedConstraints.isEmpty()) return getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+        double sumCosts = 0.0;
+        for (SoftActivityConstraint c : unboundedConstraints) {
+            sumCosts += c.getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+        }
+        double[] bounds = getLowerBoundsBuffer();
+        double lowerBound = 0.0;
+        int index = 0;
+        for (BoundedSoftActivityConstraint c : boundedConstraints) {
+            bounds[index] = c.getLowerBound(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+            lowerBound += bounds[index++];
+        }
+        index = 0;
+        for (BoundedSoftActivityConstraint c : boundedConstraints) {
+            if (sumCosts + lowerBound >= maxCosts) return Double.POSITIVE_INFINITY;
+            lowerBound -= bounds[index++];
+            sumCosts += c.getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+        }
+        return sumCosts;
+    }
+
+    private double[] getLowerBoundsBuffer() {
+        double[] bounds = lowerBounds.get();
+        if (bounds.length < boundedConstraints.size()) {
+            bounds = new double[boundedConstraints.size()];
+            lowerBounds.set(bounds);
+        }
+        return bounds;
+    }
+
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem.cost;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+
+/**
+ * Transport costs that determine transport time, distance and costs of a relation in one lookup.
+ * <p>
+ * <p>Callers do not need to check for this interface but should use
+ * {@link TransportCostsLookup#lookup(VehicleRoutingTransportCosts, Location, Location, double, Driver, Vehicle, double[])}
+ * which falls back to separate lookups for implementations that do not support it.
+ */
+public interface FusedTransportCosts {
+
+    int TIME = 0;
+
+    int DISTANCE = 1;
+
+    int COST = 2;
+
+    /**
+     * Writes transport time, distance and costs from from to to into result at indices {@link #TIME},
+     * {@link #DISTANCE} and {@link #COST}.
+     *
+     * @param from          from location
+     * @param to            to location
+     * @param departureTime departure time at from
+     * @param driver        driver
+     * @param vehicle       vehicle
+     * @param result        caller-provided buffer of at least length 3
+     */
+    public void getTransportTimeDistanceAndCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle, double[] result);
+
+}
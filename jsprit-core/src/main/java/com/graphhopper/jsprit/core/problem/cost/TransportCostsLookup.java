@@ -0,0 +1,105 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem.cost;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+
+import java.lang.reflect.Method;
+
+/**
+ * Looks up transport time, distance and costs of a relation at once.
+ */
+public final class TransportCostsLookup {
+
+    /*
+     * a subclass of a fused implementation might override single getters without overriding the fused lookup. the
+     * fused lookup would bypass these overrides, thus it is only used if it is declared in the same class as the
+     * getters or in a subclass of it.
+     */
+    private static final ClassValue<Boolean> FUSED_LOOKUP_CONSISTENT = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!FusedTransportCosts.class.isAssignableFrom(type)) return false;
+            try {
+                Class<?> fusedDeclaringClass = type.getMethod("getTransportTimeDistanceAndCost", Location.class, Location.class,
+                    double.class, Driver.class, Vehicle.class, double[].class).getDeclaringClass();
+                return notOverriddenBelow(type, fusedDeclaringClass, "getTransportTime", Location.class, Location.class, double.class, Driver.class, Vehicle.class)
+                    && notOverriddenBelow(type, fusedDeclaringClass, "getTransportCost", Location.class, Location.class, double.class, Driver.class, Vehicle.class)
+                    && notOverriddenBelow(type, fusedDeclaringClass, "getDistance", Location.class, Location.class, double.class, Vehicle.class);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private TransportCostsLookup() {
+    }
+
+    /*
+     * true if type does not have the method or if it is declared in fusedDeclaringClass or one of its superclasses
+     */
+    private static boolean notOverriddenBelow(Class<?> type, Class<?> fusedDeclaringClass, String name, Class<?>... parameterTypes) {
+        Method method;
+        try {
+            method = type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+        return method.getDeclaringClass().isAssignableFrom(fusedDeclaringClass);
+    }
+
+    /**
+     * Returns a buffer that can be passed to {@link #lookup(VehicleRoutingTransportCosts, Location, Location, double, Driver, Vehicle, double[])}.
+     */
+    public static double[] newBuffer() {
+        return new double[3];
+    }
+
+    /**
+     * Returns a buffer per thread, e.g. for calculators that are shared by concurrent insertion threads.
+     */
+    public static ThreadLocal<double[]> newThreadLocalBuffer() {
+        return new ThreadLocal<double[]>() {
+            @Override
+            protected double[] initialValue() {
+                return newBuffer();
+            }
+        };
+    }
+
+    /**
+     * Writes transport time, distance and costs from from to to into result (at indices {@link FusedTransportCosts#TIME},
+     * {@link FusedTransportCosts#DISTANCE} and {@link FusedTransportCosts#COST}).
+     * <p>
+     * <p>If costs implement {@link FusedTransportCosts}, it is a single lookup. Otherwise, or if a subclass overrides
+     * the single getters but not the fused lookup, time and costs are looked up separately, and distance is set to NaN
+     * to not spend a third lookup callers do not necessarily need.
+     */
+    public static void lookup(VehicleRoutingTransportCosts costs, Location from, Location to, double departureTime, Driver driver, Vehicle vehicle, double[] result) {
+        if (FUSED_LOOKUP_CONSISTENT.get(costs.getClass())) {
+            ((FusedTransportCosts) costs).getTransportTimeDistanceAndCost(from, to, departureTime, driver, vehicle, result);
+        } else {
+            result[FusedTransportCosts.TIME] = costs.getTransportTime(from, to, departureTime, driver, vehicle);
+            result[FusedTransportCosts.DISTANCE] = Double.NaN;
+            result[FusedTransportCosts.COST] = costs.getTransportCost(from, to, departureTime, driver, vehicle);
+        }
+    }
+
+}
@@ -18,6 +18,8 @@
 package com.graphhopper.jsprit.core.problem.solution.route.activity;
 
 import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity.JobActivity;
 
 import java.util.*;
@@ -69,8 +71,19 @@ public class TourActivities {
 
     private final ArrayList<TourActivity> tourActivities = new ArrayList<TourActivity>();
 
+    private final List<TourActivity> unmodifiableTourActivities = Collections.unmodifiableList(tourActivities);
+
     private final Set<Job> jobs = new HashSet<Job>();
 
+    /*
+     * position of the first activity of each job. an entry is only valid if it is smaller than indexedPositions, since
+     * every modification at a position invalidates that position and all positions behind it. invalid entries are
+     * rebuilt on demand, i.e. the index is only brought up-to-date when a position is actually looked up.
+     */
+    private final Map<Job, Integer> firstPositionOfJob = new HashMap<Job, Integer>();
+
+    private int indexedPositions = 0;
+
     private ReverseActivityIterator backward;
 
     private TourActivities(TourActivities tour2copy) {
@@ -86,11 +99,11 @@ public class TourActivities {
     }
 
     public List<TourActivity> getActivities() {
-        return Collections.unmodifiableList(tourActivities);
+        return unmodifiableTourActivities;
     }
 
     public Iterator<TourActivity> iterator() {
-        return tourActivities.iterator();
+        return unmodifiableTourActivities.iterator();
     }
 
     public boolean isEmpty() {
@@ -123,23 +136,23 @@ public class TourActivities {
      * @return true if job has been removed, otherwise false.
      */
     public boolean removeJob(Job job) {
-        boolean jobRemoved = false;
         if (!jobs.contains(job)) {
             return false;
-        } else {
-            jobRemoved = jobs.remove(job);
         }
+        int firstPosition = getFirstPosition(job);
+        boolean jobRemoved = jobs.remove(job);
+        firstPositionOfJob.remove(job);
+        invalidatePositionsFrom(firstPosition);
         boolean activityRemoved = false;
-        Iterator<TourActivity> iterator = tourActivities.iterator();
-        while (iterator.hasNext()) {
-            TourActivity c = iterator.next();
-            if (c instanceof JobActivity) {
-                Job underlyingJob = ((JobActivity) c).getJob();
-                if (job.equals(underlyingJob)) {
-                    iterator.remove();
-                    activityRemoved = true;
-                }
-            }
+        int activitiesToRemove = getNuOfActivities(job);
+        int position = firstPosition;
+        while (position < tourActivities.size() && activitiesToRemove > 0) {
+            TourActivity c = tourActivities.get(position);
+            if (c instanceof JobActivity && job.equals(((JobActivity) c).getJob())) {
+                tourActivities.remove(position);
+                activityRemoved = true;
+                activitiesToRemove--;
+            } else position++;
         }
         assert jobRemoved == activityRemoved : "job removed, but belonging activity not.";
         return activityRemoved;
@@ -147,6 +160,78 @@ public class TourActivities {
 
 
 
+    /**
+     * Removes the specified jobs AND their belonging activities from the tour in a single pass, i.e. the activities
+     * behind a removed activity are shifted only once. The pass starts at the first activity of the removed jobs.
+     *
+     * @param jobsToRemove jobs to be removed
+     * @return jobs that have actually been removed, i.e. that have been served by this tour, in the order of jobsToRemove
+     */
+    public List<Job> removeJobs(Collection<? extends Job> jobsToRemove) {
+        List<Job> removed = new ArrayList<Job>();
+        Set<Job> toRemove = new HashSet<Job>();
+        for (Job job : jobsToRemove) {
+            if (jobs.contains(job) && toRemove.add(job)) removed.add(job);
+        }
+        if (removed.isEmpty()) return removed;
+        int firstPosition = tourActivities.size();
+        for (Job job : removed) {
+            firstPosition = Math.min(firstPosition, getFirstPosition(job));
+        }
+        int size = tourActivities.size();
+        int writeIndex = firstPosition;
+        for (int readIndex = firstPosition; readIndex < size; readIndex++) {
+            TourActivity act = tourActivities.get(readIndex);
+            if (act instanceof JobActivity && toRemove.contains(((JobActivity) act).getJob())) continue;
+            if (writeIndex != readIndex) tourActivities.set(writeIndex, act);
+            writeIndex++;
+        }
+        tourActivities.subList(writeIndex, size).clear();
+        jobs.removeAll(toRemove);
+        for (Job job : removed) {
+            firstPositionOfJob.remove(job);
+        }
+        invalidatePositionsFrom(firstPosition);
+        return removed;
+    }
+
+    /*
+     * position of the first activity of job. job must be served by this tour
+     */
+    private int getFirstPosition(Job job) {
+        Integer position = firstPositionOfJob.get(job);
+        if (position == null || position >= indexedPositions) {
+            indexPositions();
+            position = firstPositionOfJob.get(job);
+        }
+        return position == null ? 0 : position;
+    }
+
+    private void indexPositions() {
+        /*
+         * backwards such that the first activity of a job behind indexedPositions overwrites the entries of its later
+         * activities
+         */
+        for (int position = tourActivities.size() - 1; position >= indexedPositions; position--) {
+            TourActivity act = tourActivities.get(position);
+            if (!(act instanceof JobActivity)) continue;
+            Job job = ((JobActivity) act).getJob();
+            Integer indexed = firstPositionOfJob.get(job);
+            if (indexed == null || indexed >= indexedPositions) firstPositionOfJob.put(job, position);
+        }
+        indexedPositions = tourActivities.size();
+    }
+
+    private void invalidatePositionsFrom(int position) {
+        if (position < indexedPositions) indexedPositions = position;
+    }
+
+    private static int getNuOfActivities(Job job) {
+        if (job instanceof Shipment) return 2;
+        if (job instanceof Service) return 1;
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * Removes activity from this activity sequence. Removes its corresponding job as well, if there are no other activities
      * related to this job.
@@ -159,25 +244,35 @@ public class TourActivities {
         if (activity instanceof JobActivity) {
             job = ((JobActivity) activity).getJob();
         }
+        int position = -1;
+        int searchFrom = job != null && jobs.contains(job) ? getFirstPosition(job) : 0;
+        for (int i = searchFrom; i < tourActivities.size(); i++) {
+            if (tourActivities.get(i) == activity) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) return false;
+        tourActivities.remove(position);
+        invalidatePositionsFrom(position);
+        if (job == null) return true;
+        if (getNuOfActivities(job) == 1) {
+            jobs.remove(job);
+            firstPositionOfJob.remove(job);
+            return true;
+        }
         boolean jobIsAlsoAssociateToOtherActs = false;
-        boolean actRemoved = false;
-        List<TourActivity> acts = new ArrayList<TourActivity>(tourActivities);
-        for (TourActivity act : acts) {
-            if (act == activity) {
-                tourActivities.remove(act);
-                actRemoved = true;
-            } else {
-                if (act instanceof JobActivity && job != null) {
-                    if (((JobActivity) act).getJob().equals(job)) {
-                        jobIsAlsoAssociateToOtherActs = true;
-                    }
-                }
+        for (TourActivity act : tourActivities) {
+            if (act instanceof JobActivity && ((JobActivity) act).getJob().equals(job)) {
+                jobIsAlsoAssociateToOtherActs = true;
+                break;
             }
         }
-        if (!jobIsAlsoAssociateToOtherActs && actRemoved) {
+        if (!jobIsAlsoAssociateToOtherActs) {
             jobs.remove(job);
+            firstPositionOfJob.remove(job);
         }
-        return actRemoved;
+        return true;
     }
 
 
@@ -202,6 +297,7 @@ public class TourActivities {
 		 * ...
 		 *
 		 */
+        invalidatePositionsFrom(Math.min(insertionIndex, tourActivities.size()));
         if (insertionIndex < tourActivities.size()) {
             tourActivities.add(insertionIndex, act);
         } else if (insertionIndex >= tourActivities.size()) {
@@ -218,8 +314,14 @@ public class TourActivities {
      * @throws IllegalArgumentException if activity-list already contains act.
      */
     public void addActivity(TourActivity act) {
-        if (tourActivities.contains(act))
+        /*
+         * an activity already in tour (or one equal to it) belongs to a job served by this tour. thus the linear
+         * look-up is only necessary if the job is already known
+         */
+        boolean mightBeContained = !(act instanceof JobActivity) || jobs.contains(((JobActivity) act).getJob());
+        if (mightBeContained && tourActivities.contains(act))
             throw new IllegalArgumentException("act " + act + " already in tour. cannot add act twice.");
+        invalidatePositionsFrom(tourActivities.size());
         tourActivities.add(act);
         addJob(act);
     }
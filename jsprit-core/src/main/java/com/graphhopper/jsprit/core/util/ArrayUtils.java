@@ -38,4 +38,57 @@ public class ArrayUtils {
         return arr;
     }
 
+    /**
+     * Sorts items[from,to) in ascending order of their keys. Items with equal keys are sorted by ascending item.
+     * Keys are moved along with their items.
+     *
+     * @param items the items to be sorted
+     * @param keys  the keys of the items, i.e. keys[i] belongs to items[i]
+     * @param from  index of the first element (inclusive)
+     * @param to    index of the last element (exclusive)
+     */
+    public static void sortByKey(int[] items, double[] keys, int from, int to) {
+        while (to - from > 16) {
+            int pivotIndex = (from + to) >>> 1;
+            double pivotKey = keys[pivotIndex];
+            int pivotItem = items[pivotIndex];
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (isLess(keys[i], items[i], pivotKey, pivotItem)) i++;
+                while (isLess(pivotKey, pivotItem, keys[j], items[j])) j--;
+                if (i <= j) {
+                    swap(items, keys, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (j - from < to - i) {
+                sortByKey(items, keys, from, j + 1);
+                from = i;
+            } else {
+                sortByKey(items, keys, i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && isLess(keys[j], items[j], keys[j - 1], items[j - 1]); j--) {
+                swap(items, keys, j, j - 1);
+            }
+        }
+    }
+
+    private static boolean isLess(double key1, int item1, double key2, int item2) {
+        return key1 < key2 || (key1 == key2 && item1 < item2);
+    }
+
+    private static void swap(int[] items, double[] keys, int i, int j) {
+        int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+
 }
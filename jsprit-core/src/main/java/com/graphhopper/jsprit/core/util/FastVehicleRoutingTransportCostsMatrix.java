@@ -19,6 +19,7 @@ package com.graphhopper.jsprit.core.util;
 
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.cost.AbstractForwardVehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
 import com.graphhopper.jsprit.core.problem.cost.TransportDistance;
 import com.graphhopper.jsprit.core.problem.driver.Driver;
 import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
@@ -32,7 +33,7 @@ import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
  *
  * @author schroeder
  */
-public class FastVehicleRoutingTransportCostsMatrix extends AbstractForwardVehicleRoutingTransportCosts implements TransportDistance {
+public class FastVehicleRoutingTransportCostsMatrix extends AbstractForwardVehicleRoutingTransportCosts implements TransportDistance, FusedTransportCosts {
 
     /**
      * Builder that builds the matrix.
@@ -138,14 +139,12 @@ public class FastVehicleRoutingTransportCostsMatrix extends AbstractForwardVehic
     }
 
     private double get(int from, int to, int indicatorIndex) {
-        double value;
-        if (isSymmetric) {
-            if (from < to) value = matrix[from][to][indicatorIndex];
-            else value = matrix[to][from][indicatorIndex];
-        } else {
-            value = matrix[from][to][indicatorIndex];
-        }
-        return value;
+        return getRelation(from, to)[indicatorIndex];
+    }
+
+    private double[] getRelation(int from, int to) {
+        if (isSymmetric && from >= to) return matrix[to][from];
+        return matrix[from][to];
     }
 
     /**
@@ -170,8 +169,23 @@ public class FastVehicleRoutingTransportCostsMatrix extends AbstractForwardVehic
         if (from.getIndex() < 0 || to.getIndex() < 0)
             throw new IllegalArgumentException("index of from " + from + " to " + to + " < 0 ");
         if (vehicle == null) return getDistance(from.getIndex(), to.getIndex());
+        double[] relation = getRelation(from.getIndex(), to.getIndex());
+        return getCosts(relation[0], relation[1], vehicle);
+    }
+
+    @Override
+    public void getTransportTimeDistanceAndCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle, double[] result) {
+        if (from.getIndex() < 0 || to.getIndex() < 0)
+            throw new IllegalArgumentException("index of from " + from + " to " + to + " < 0 ");
+        double[] relation = getRelation(from.getIndex(), to.getIndex());
+        result[TIME] = relation[1];
+        result[DISTANCE] = relation[0];
+        result[COST] = vehicle == null ? relation[0] : getCosts(relation[0], relation[1], vehicle);
+    }
+
+    private double getCosts(double distance, double time, Vehicle vehicle) {
         VehicleTypeImpl.VehicleCostParams costParams = vehicle.getType().getVehicleCostParams();
-        return costParams.perDistanceUnit * getDistance(from.getIndex(), to.getIndex()) + costParams.perTransportTimeUnit * getTransportTime(from, to, departureTime, driver, vehicle);
+        return costParams.perDistanceUnit * distance + costParams.perTransportTimeUnit * time;
     }
 
 }
@@ -0,0 +1,286 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Two-dimensional k-d tree over coordinates with euclidean distances.
+ * <p>
+ * <p>It is built in O(n log n) and answers k-nearest-neighbor and radius queries in (on average) sub-linear time.
+ * The tree is immutable and queries do not share any state, thus it can be used concurrently.
+ */
+public class KdTree implements SpatialIndex {
+
+    private static class NeighborHeap {
+
+        private final int[] items;
+
+        private final double[] distances;
+
+        private int size = 0;
+
+        NeighborHeap(int capacity) {
+            items = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        boolean isFull() {
+            return size == items.length;
+        }
+
+        double getWorstDistance() {
+            return distances[0];
+        }
+
+        void offer(int item, double distance) {
+            if (size < items.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!isWorse(distance, item, distances[parent], items[parent])) break;
+                    items[i] = items[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+                items[i] = item;
+                distances[i] = distance;
+            } else if (isWorse(distances[0], items[0], distance, item)) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && isWorse(distances[child + 1], items[child + 1], distances[child], items[child])) {
+                        child++;
+                    }
+                    if (!isWorse(distances[child], items[child], distance, item)) break;
+                    items[i] = items[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                items[i] = item;
+                distances[i] = distance;
+            }
+        }
+
+        int[] toSortedArray() {
+            int[] sorted = Arrays.copyOf(items, size);
+            ArrayUtils.sortByKey(sorted, Arrays.copyOf(distances, size), 0, size);
+            return sorted;
+        }
+
+        private static boolean isWorse(double distance1, int item1, double distance2, int item2) {
+            return distance1 > distance2 || (distance1 == distance2 && item1 > item2);
+        }
+    }
+
+    private static class NeighborList {
+
+        private int[] items = new int[16];
+
+        private double[] distances = new double[16];
+
+        private int size = 0;
+
+        void add(int item, double distance) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            items[size] = item;
+            distances[size] = distance;
+            size++;
+        }
+
+        int[] toSortedArray() {
+            ArrayUtils.sortByKey(items, distances, 0, size);
+            return Arrays.copyOf(items, size);
+        }
+    }
+
+    private final double[][] coordinates;
+
+    private final int[] tree;
+
+    private final byte[] splitDimension;
+
+    /**
+     * Builds the tree. Item i refers to coordinates[i].
+     *
+     * @param coordinates the coordinates to be indexed
+     */
+    public KdTree(Coordinate[] coordinates) {
+        int n = coordinates.length;
+        this.coordinates = new double[2][n];
+        this.tree = new int[n];
+        this.splitDimension = new byte[n];
+        for (int i = 0; i < n; i++) {
+            if (coordinates[i] == null) throw new IllegalArgumentException("coordinate of item " + i + " is missing");
+            this.coordinates[0][i] = coordinates[i].getX();
+            this.coordinates[1][i] = coordinates[i].getY();
+            tree[i] = i;
+        }
+        build(0, n);
+    }
+
+    private void build(int from, int to) {
+        if (to - from <= 1) return;
+        int dim = getDimensionOfLargestSpread(from, to);
+        int median = (from + to) >>> 1;
+        select(from, to - 1, median, coordinates[dim]);
+        splitDimension[median] = (byte) dim;
+        build(from, median);
+        build(median + 1, to);
+    }
+
+    private int getDimensionOfLargestSpread(int from, int to) {
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            double x = coordinates[0][tree[i]];
+            double y = coordinates[1][tree[i]];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        return maxX - minX >= maxY - minY ? 0 : 1;
+    }
+
+    private void select(int left, int right, int k, double[] values) {
+        while (right > left) {
+            int pivot = tree[(left + right) >>> 1];
+            double pivotValue = values[pivot];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[tree[i]] < pivotValue) i++;
+                while (values[tree[j]] > pivotValue) j--;
+                if (i <= j) {
+                    int tmp = tree[i];
+                    tree[i] = tree[j];
+                    tree[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) right = j;
+            else if (k >= i) left = i;
+            else return;
+        }
+    }
+
+    @Override
+    public int size() {
+        return tree.length;
+    }
+
+    @Override
+    public double getDistance(int i, int j) {
+        return distance(coordinates[0][i], coordinates[1][i], j);
+    }
+
+    @Override
+    public int[] getNearestNeighbors(int item, int k) {
+        return getNearestNeighbors(coordinates[0][item], coordinates[1][item], k, item);
+    }
+
+    /**
+     * Returns the k nearest items to coordinate in ascending order of distance.
+     *
+     * @param coordinate the coordinate
+     * @param k          number of neighbors
+     * @return k nearest items
+     */
+    public int[] getNearestNeighbors(Coordinate coordinate, int k) {
+        return getNearestNeighbors(coordinate.getX(), coordinate.getY(), k, -1);
+    }
+
+    @Override
+    public int[] getNeighborsWithin(int item, double radius) {
+        return getNeighborsWithin(coordinates[0][item], coordinates[1][item], radius, item);
+    }
+
+    /**
+     * Returns all items whose distance to coordinate is less or equal than radius in ascending order of distance.
+     *
+     * @param coordinate the coordinate
+     * @param radius     the radius
+     * @return items within radius
+     */
+    public int[] getNeighborsWithin(Coordinate coordinate, double radius) {
+        return getNeighborsWithin(coordinate.getX(), coordinate.getY(), radius, -1);
+    }
+
+    private int[] getNearestNeighbors(double x, double y, int k, int exclude) {
+        int max = exclude < 0 ? tree.length : tree.length - 1;
+        k = Math.min(k, max);
+        if (k <= 0) return new int[0];
+        NeighborHeap heap = new NeighborHeap(k);
+        searchNearest(0, tree.length, x, y, exclude, heap);
+        return heap.toSortedArray();
+    }
+
+    private void searchNearest(int from, int to, double x, double y, int exclude, NeighborHeap heap) {
+        if (from >= to) return;
+        int median = (from + to) >>> 1;
+        int item = tree[median];
+        if (item != exclude) {
+            heap.offer(item, distance(x, y, item));
+        }
+        int dim = splitDimension[median];
+        double diff = (dim == 0 ? x : y) - coordinates[dim][item];
+        if (diff < 0) {
+            searchNearest(from, median, x, y, exclude, heap);
+            if (!heap.isFull() || Math.abs(diff) <= heap.getWorstDistance()) {
+                searchNearest(median + 1, to, x, y, exclude, heap);
+            }
+        } else {
+            searchNearest(median + 1, to, x, y, exclude, heap);
+            if (!heap.isFull() || Math.abs(diff) <= heap.getWorstDistance()) {
+                searchNearest(from, median, x, y, exclude, heap);
+            }
+        }
+    }
+
+    private int[] getNeighborsWithin(double x, double y, double radius, int exclude) {
+        NeighborList neighbors = new NeighborList();
+        searchWithin(0, tree.length, x, y, radius, exclude, neighbors);
+        return neighbors.toSortedArray();
+    }
+
+    private void searchWithin(int from, int to, double x, double y, double radius, int exclude, NeighborList neighbors) {
+        if (from >= to) return;
+        int median = (from + to) >>> 1;
+        int item = tree[median];
+        if (item != exclude) {
+            double distance = distance(x, y, item);
+            if (distance <= radius) neighbors.add(item, distance);
+        }
+        int dim = splitDimension[median];
+        double diff = (dim == 0 ? x : y) - coordinates[dim][item];
+        if (diff <= radius) searchWithin(from, median, x, y, radius, exclude, neighbors);
+        if (-diff <= radius) searchWithin(median + 1, to, x, y, radius, exclude, neighbors);
+    }
+
+    private double distance(double x, double y, int item) {
+        double xDiff = x - coordinates[0][item];
+        double yDiff = y - coordinates[1][item];
+        return Math.sqrt((xDiff * xDiff) + (yDiff * yDiff));
+    }
+
+}
@@ -20,6 +20,7 @@ package com.graphhopper.jsprit.core.util;
 
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.cost.AbstractForwardVehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
 import com.graphhopper.jsprit.core.problem.cost.TransportDistance;
 import com.graphhopper.jsprit.core.problem.driver.Driver;
 import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
@@ -28,7 +29,7 @@ import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
  * @author stefan schroeder
  */
 
-public class ManhattanCosts extends AbstractForwardVehicleRoutingTransportCosts implements TransportDistance {
+public class ManhattanCosts extends AbstractForwardVehicleRoutingTransportCosts implements TransportDistance, FusedTransportCosts {
 
     public double speed = 1;
 
@@ -87,4 +88,21 @@ public class ManhattanCosts extends AbstractForwardVehicleRoutingTransportCosts
     public double getDistance(Location from, Location to, double departureTime, Vehicle vehicle) {
         return calculateDistance(from, to);
     }
+
+    @Override
+    public void getTransportTimeDistanceAndCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle, double[] result) {
+        double distance;
+        try {
+            distance = calculateDistance(from, to);
+        } catch (NullPointerException e) {
+            throw new NullPointerException("cannot calculate euclidean distance. coordinates are missing. either add coordinates or use another transport-cost-calculator.");
+        }
+        result[TIME] = distance / speed;
+        result[DISTANCE] = distance;
+        result[COST] = distance;
+        if (vehicle != null && vehicle.getType() != null) {
+            result[COST] = distance * vehicle.getType().getVehicleCostParams().perDistanceUnit;
+        }
+    }
+
 }
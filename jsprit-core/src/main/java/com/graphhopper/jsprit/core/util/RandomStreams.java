@@ -0,0 +1,66 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+import java.util.Random;
+
+/**
+ * Derives random number streams from one master seed.
+ * <p>
+ * <p>There are two kinds of streams:
+ * <ul>
+ * <li>{@link #newStream()} returns a new generator for a component, e.g. an algorithm instance (see
+ * {@link com.graphhopper.jsprit.core.algorithm.box.Jsprit.Builder#setRandomStreams(RandomStreams)}). The n-th
+ * stream only depends on the master seed and n.</li>
+ * <li>{@link #nextDouble(long)} returns a number that only depends on the master seed and a key. Use it in code that
+ * runs concurrently. Since neither call order nor executing thread matter, concurrent runs can be reproduced exactly,
+ * and there is no shared state threads contend for.</li>
+ * </ul>
+ * <p>
+ * <p>Components that are neither given a generator nor streams keep using {@link RandomNumberGeneration#getRandom()}.
+ */
+public class RandomStreams {
+
+    private final long masterSeed;
+
+    private final SplitMixRandom root;
+
+    public RandomStreams(long masterSeed) {
+        this.masterSeed = masterSeed;
+        this.root = new SplitMixRandom(masterSeed);
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Returns a new, independent generator. It must not be shared between threads.
+     */
+    public synchronized Random newStream() {
+        return root.split();
+    }
+
+    /**
+     * Returns a double in [0,1) that only depends on the master seed and key.
+     */
+    public double nextDouble(long key) {
+        return SplitMixRandom.nextDouble(masterSeed, key);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+/**
+ * Running mean and variance of a stream of values (Welford's algorithm).
+ * <p>
+ * <p>Adding a value costs O(1) and no values are retained, i.e. it replaces recomputing mean and standard deviation
+ * over a stored sample.
+ */
+public class RunningStatistics {
+
+    private long n;
+
+    private double mean;
+
+    private double m2;
+
+    /**
+     * Adds a value to the statistics.
+     *
+     * @param value the value to be added
+     */
+    public void add(double value) {
+        n++;
+        double delta = value - mean;
+        mean += delta / n;
+        m2 += delta * (value - mean);
+    }
+
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * @return mean of the values added so far, or 0 if no value has been added yet
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return bias-corrected (sample) variance, or 0 if less than two values have been added
+     */
+    public double getVariance() {
+        if (n < 2) return 0.;
+        return m2 / (n - 1);
+    }
+
+    /**
+     * @return bias-corrected (sample) standard deviation
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public void reset() {
+        n = 0;
+        mean = 0.;
+        m2 = 0.;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+/**
+ * Index that answers nearest neighbor and radius queries over a fixed set of items. Items are
+ * referred to by their index, i.e. 0 to size()-1.
+ * <p>
+ * <p>Implementations are immutable once built and thus can be shared across strategies and threads.
+ */
+public interface SpatialIndex {
+
+    /**
+     * @return number of items in this index
+     */
+    public int size();
+
+    /**
+     * Returns the distance between the items i and j.
+     *
+     * @param i first item
+     * @param j second item
+     * @return distance between i and j
+     */
+    public double getDistance(int i, int j);
+
+    /**
+     * Returns the k nearest neighbors of item (excluding item itself) in ascending order of distance. Ties are
+     * broken by ascending item index. If less than k other items exist, all of them are returned.
+     *
+     * @param item the item
+     * @param k    number of neighbors
+     * @return k nearest neighbors
+     */
+    public int[] getNearestNeighbors(int item, int k);
+
+    /**
+     * Returns all items (excluding item itself) whose distance to item is less or equal than radius, in ascending
+     * order of distance. Ties are broken by ascending item index.
+     *
+     * @param item   the item
+     * @param radius the radius
+     * @return neighbors within radius
+     */
+    public int[] getNeighborsWithin(int item, double radius);
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+import java.util.Random;
+
+/**
+ * Fast, splittable pseudo random number generator based on SplitMix64.
+ * <p>
+ * <p>Unlike {@link java.util.Random}, it does not update its state atomically, thus it must not be shared between
+ * threads. Use {@link #split()} to derive an independent generator for another thread or component instead.
+ */
+public class SplitMixRandom extends Random {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+
+    private long state;
+
+    public SplitMixRandom(long seed) {
+        super(0L);
+        this.state = seed;
+    }
+
+    /**
+     * Mixes the bits of z such that similar inputs result in unrelated outputs.
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a double in [0,1) that only depends on seed and key, i.e. on neither call order nor thread.
+     */
+    public static double nextDouble(long seed, long key) {
+        return (mix64(seed + mix64(key + GOLDEN_GAMMA)) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Returns a new generator whose sequence is independent of the sequence of this one.
+     */
+    public SplitMixRandom split() {
+        return new SplitMixRandom(mix64(nextLong() ^ GOLDEN_GAMMA));
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        //called by the super constructor
+        this.state = seed;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+}
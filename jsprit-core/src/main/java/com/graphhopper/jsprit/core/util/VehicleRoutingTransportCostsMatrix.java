@@ -19,6 +19,7 @@ package com.graphhopper.jsprit.core.util;
 
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.cost.AbstractForwardVehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
 import com.graphhopper.jsprit.core.problem.driver.Driver;
 import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
 import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl.VehicleCostParams;
@@ -39,7 +40,7 @@ import java.util.Map;
  *
  * @author schroeder
  */
-public class VehicleRoutingTransportCostsMatrix extends AbstractForwardVehicleRoutingTransportCosts {
+public class VehicleRoutingTransportCostsMatrix extends AbstractForwardVehicleRoutingTransportCosts implements FusedTransportCosts {
     static class RelationKey {
 
         static RelationKey newKey(String from, String to) {
@@ -261,4 +262,18 @@ public class VehicleRoutingTransportCostsMatrix extends AbstractForwardVehicleRo
         return costParams.perDistanceUnit * getDistance(from.getId(), to.getId()) + costParams.perTransportTimeUnit * getTime(from.getId(), to.getId());
     }
 
+    @Override
+    public void getTransportTimeDistanceAndCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle, double[] result) {
+        double distance = getDistance(from.getId(), to.getId());
+        double time = getTime(from.getId(), to.getId());
+        result[TIME] = time;
+        result[DISTANCE] = distance;
+        if (vehicle == null) {
+            result[COST] = distance;
+        } else {
+            VehicleCostParams costParams = vehicle.getType().getVehicleCostParams();
+            result[COST] = costParams.perDistanceUnit * distance + costParams.perTransportTimeUnit * time;
+        }
+    }
+
 }
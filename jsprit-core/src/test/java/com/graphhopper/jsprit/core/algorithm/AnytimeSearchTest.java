@@ -0,0 +1,173 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm;
+
+import com.graphhopper.jsprit.core.algorithm.box.Jsprit;
+import com.graphhopper.jsprit.core.algorithm.listener.AlgorithmEndsListener;
+import com.graphhopper.jsprit.core.algorithm.listener.IterationEndsListener;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AnytimeSearchTest {
+
+    private VehicleRoutingProblem createProblem(int noJobs) {
+        Random random = new Random(4711);
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("type").addCapacityDimension(0, 10).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance();
+        vrpBuilder.addVehicle(VehicleImpl.Builder.newInstance("v").setType(type).setStartLocation(Location.newInstance(0, 0)).build());
+        for (int i = 0; i < noJobs; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).addSizeDimension(0, 1)
+                .setLocation(Location.newInstance(random.nextInt(100), random.nextInt(100))).build());
+        }
+        return vrpBuilder.build();
+    }
+
+    @Test
+    public void whenRunningWithoutDeadline_itShouldReturnBestSolutionAndStreamImprovements() throws Exception {
+        VehicleRoutingAlgorithm vra = Jsprit.createAlgorithm(createProblem(20));
+        vra.setMaxIterations(50);
+        AnytimeSearch search = new AnytimeSearch(vra);
+        final List<Double> costs = new ArrayList<Double>();
+        search.addImprovementListener(new AnytimeSearch.ImprovementListener() {
+            @Override
+            public void informImprovement(VehicleRoutingProblemSolution solution, long millisSinceStart) {
+                costs.add(solution.getCost());
+            }
+        });
+        AnytimeSearch.Handle handle = search.start();
+        VehicleRoutingProblemSolution best = handle.get();
+        assertNotNull(best);
+        assertFalse(costs.isEmpty());
+        for (int i = 1; i < costs.size(); i++) {
+            assertTrue(costs.get(i) < costs.get(i - 1));
+        }
+        assertEquals(costs.get(costs.size() - 1), best.getCost(), 0.01);
+        assertSame(best, handle.getBestSolution());
+    }
+
+    @Test
+    public void whenDeadlineIsOver_itShouldStopAndReturnBestSolutionSoFar() throws Exception {
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(createProblem(150))
+            .setProperty(Jsprit.Parameter.CONSTRUCTION, Jsprit.Construction.BEST_INSERTION.toString()).buildAlgorithm();
+        vra.setMaxIterations(Integer.MAX_VALUE);
+        AnytimeSearch search = new AnytimeSearch(vra);
+        long start = System.currentTimeMillis();
+        AnytimeSearch.Handle handle = search.start(1000);
+        VehicleRoutingProblemSolution best = handle.get();
+        long duration = System.currentTimeMillis() - start;
+        assertNotNull(best);
+        assertTrue("took " + duration + " ms", duration < 5000);
+        assertTrue(handle.isDone());
+        assertFalse(handle.isCancelled());
+    }
+
+    @Test
+    public void whenStoppingExplicitly_itShouldReturnBestSolutionSoFar() throws Exception {
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(createProblem(50))
+            .setProperty(Jsprit.Parameter.CONSTRUCTION, Jsprit.Construction.BEST_INSERTION.toString()).buildAlgorithm();
+        vra.setMaxIterations(Integer.MAX_VALUE);
+        final AtomicBoolean interruptedAtAlgorithmEnd = new AtomicBoolean(true);
+        vra.addListener(new AlgorithmEndsListener() {
+            @Override
+            public void informAlgorithmEnds(VehicleRoutingProblem problem, Collection<VehicleRoutingProblemSolution> solutions) {
+                interruptedAtAlgorithmEnd.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        AnytimeSearch search = new AnytimeSearch(vra);
+        AnytimeSearch.Handle handle = search.start();
+        while (handle.getBestSolution() == null) Thread.sleep(5);
+        handle.stop();
+        assertNotNull(handle.get());
+        assertFalse(interruptedAtAlgorithmEnd.get());
+    }
+
+    @Test
+    public void whenStoppingImmediatelyAfterStart_itShouldStopBeforeRunningAllIterations() throws Exception {
+        VehicleRoutingAlgorithm vra = Jsprit.createAlgorithm(createProblem(50));
+        vra.setMaxIterations(Integer.MAX_VALUE);
+        AnytimeSearch.Handle handle = new AnytimeSearch(vra).start();
+        handle.stop();
+        handle.get(10, TimeUnit.SECONDS);
+        assertTrue(handle.isDone());
+    }
+
+    @Test
+    public void whenCancellingWithoutInterruptImmediatelyAfterStart_algorithmShouldStop() throws Exception {
+        VehicleRoutingAlgorithm vra = Jsprit.createAlgorithm(createProblem(50));
+        vra.setMaxIterations(Integer.MAX_VALUE);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AnytimeSearch.Handle handle = new AnytimeSearch(vra).start(executor, -1);
+            handle.cancel(false);
+            assertTrue(handle.isCancelled());
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void whenStoppingAfterCompletion_nextRunShouldNotBeStopped() throws Exception {
+        VehicleRoutingAlgorithm vra = Jsprit.createAlgorithm(createProblem(20));
+        vra.setMaxIterations(20);
+        final AtomicInteger iterations = new AtomicInteger();
+        vra.addListener(new IterationEndsListener() {
+            @Override
+            public void informIterationEnds(int i, VehicleRoutingProblem problem, Collection<VehicleRoutingProblemSolution> solutions) {
+                iterations.incrementAndGet();
+            }
+        });
+        AnytimeSearch.Handle handle = new AnytimeSearch(vra).start();
+        handle.get();
+        handle.stop();
+        iterations.set(0);
+        vra.searchSolutions();
+        assertEquals(20, iterations.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenStartingTwiceWhileRunning_itShouldThrowException() {
+        VehicleRoutingAlgorithm vra = Jsprit.createAlgorithm(createProblem(50));
+        vra.setMaxIterations(Integer.MAX_VALUE);
+        AnytimeSearch search = new AnytimeSearch(vra);
+        AnytimeSearch.Handle handle = search.start();
+        try {
+            search.start();
+        } finally {
+            handle.stop();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm;
+
+import com.graphhopper.jsprit.core.algorithm.box.Jsprit;
+import com.graphhopper.jsprit.core.problem.AbstractActivity;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Break;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
+import com.graphhopper.jsprit.core.problem.solution.SolutionCostCalculator;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.BreakActivity;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TimeWindow;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import com.graphhopper.jsprit.core.util.Solutions;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DecompositionSearchTest {
+
+    private VehicleRoutingProblem createProblem(VehicleRoutingProblem.FleetSize fleetSize) {
+        return createProblem(fleetSize, false);
+    }
+
+    private VehicleRoutingProblem createProblem(VehicleRoutingProblem.FleetSize fleetSize, boolean withBreaks) {
+        Random random = new Random(4711);
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("type").addCapacityDimension(0, 6).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().setFleetSize(fleetSize);
+        for (int i = 0; i < 6; i++) {
+            VehicleImpl.Builder vehicleBuilder = VehicleImpl.Builder.newInstance("v" + i).setType(type).setStartLocation(Location.newInstance(50, 50));
+            if (withBreaks) {
+                vehicleBuilder.setBreak(Break.Builder.newInstance("break" + i).setTimeWindow(TimeWindow.newInstance(20, 80)).setServiceTime(10).build());
+            }
+            vrpBuilder.addVehicle(vehicleBuilder.build());
+        }
+        double[][] centers = {{10, 10}, {10, 90}, {90, 10}, {90, 90}};
+        for (int c = 0; c < centers.length; c++) {
+            for (int i = 0; i < 6; i++) {
+                vrpBuilder.addJob(Service.Builder.newInstance("s" + c + "_" + i).addSizeDimension(0, 1)
+                    .setLocation(Location.newInstance(centers[c][0] + random.nextInt(10), centers[c][1] + random.nextInt(10))).build());
+            }
+            vrpBuilder.addJob(Shipment.Builder.newInstance("sh" + c).addSizeDimension(0, 1)
+                .setPickupLocation(Location.newInstance(centers[c][0], centers[c][1]))
+                .setDeliveryLocation(Location.newInstance(centers[c][0] + 5, centers[c][1] + 5)).build());
+        }
+        return vrpBuilder.build();
+    }
+
+    private VehicleRoutingAlgorithmFactory createFactory(final int iterations) {
+        return new VehicleRoutingAlgorithmFactory() {
+
+            @Override
+            public VehicleRoutingAlgorithm createAlgorithm(VehicleRoutingProblem vrp) {
+                return Jsprit.Builder.newInstance(vrp).setProperty(Jsprit.Parameter.ITERATIONS, String.valueOf(iterations)).buildAlgorithm();
+            }
+
+        };
+    }
+
+    private SolutionCostCalculator createObjectiveFunction(VehicleRoutingProblem vrp) {
+        return createFactory(0).createAlgorithm(vrp).getObjectiveFunction();
+    }
+
+    private void assertEachJobOnce(VehicleRoutingProblem vrp, VehicleRoutingProblemSolution solution) {
+        List<Job> jobs = new ArrayList<Job>(solution.getUnassignedJobs());
+        for (VehicleRoute route : solution.getRoutes()) {
+            for (Job job : route.getTourActivities().getJobs()) {
+                if (!(job instanceof Break)) jobs.add(job);
+            }
+        }
+        assertEquals(vrp.getJobs().size(), jobs.size());
+        assertEquals(new HashSet<Job>(vrp.getJobs().values()), new HashSet<Job>(jobs));
+    }
+
+    @Test
+    public void improvedSolutionShouldContainEachJobOnceAndShouldNotBeWorse() {
+        VehicleRoutingProblem vrp = createProblem(VehicleRoutingProblem.FleetSize.FINITE);
+        VehicleRoutingProblemSolution initial = Solutions.bestOf(createFactory(0).createAlgorithm(vrp).searchSolutions());
+
+        DecompositionSearch decomposition = new DecompositionSearch(vrp, createFactory(50), createObjectiveFunction(vrp));
+        decomposition.setNoRoutesPerGroup(2);
+        decomposition.setNoRounds(2);
+        decomposition.setNoThreads(2);
+        VehicleRoutingProblemSolution improved = decomposition.improve(initial);
+
+        assertEachJobOnce(vrp, improved);
+        assertTrue(improved.getCost() <= initial.getCost() + 0.01);
+    }
+
+    @Test
+    public void costOfImprovedSolutionShouldBeThatOfObjectiveFunctionOfWholeProblem() {
+        VehicleRoutingProblem vrp = createProblem(VehicleRoutingProblem.FleetSize.FINITE);
+        VehicleRoutingAlgorithm algorithm = createFactory(0).createAlgorithm(vrp);
+        VehicleRoutingProblemSolution initial = Solutions.bestOf(algorithm.searchSolutions());
+        initial.getUnassignedJobs().add(initial.getRoutes().iterator().next().getTourActivities().getJobs().iterator().next());
+        initial.getRoutes().remove(initial.getRoutes().iterator().next());
+        double initialCost = algorithm.getObjectiveFunction().getCosts(initial);
+
+        DecompositionSearch decomposition = new DecompositionSearch(vrp, createFactory(20), algorithm.getObjectiveFunction());
+        decomposition.setNoRoutesPerGroup(2);
+        decomposition.setNoThreads(2);
+        VehicleRoutingProblemSolution improved = decomposition.improve(initial);
+
+        assertEquals(algorithm.getObjectiveFunction().getCosts(improved), improved.getCost(), 0.01);
+        assertTrue(improved.getCost() <= initialCost + 0.01);
+    }
+
+    @Test
+    public void whenObjectiveFunctionIsSet_itShouldDecideWhetherStitchedSolutionIsTaken() {
+        VehicleRoutingProblem vrp = createProblem(VehicleRoutingProblem.FleetSize.FINITE);
+        VehicleRoutingProblemSolution initial = Solutions.bestOf(createFactory(0).createAlgorithm(vrp).searchSolutions());
+        final VehicleRoutingProblemSolution[] first = new VehicleRoutingProblemSolution[]{initial};
+
+        DecompositionSearch decomposition = new DecompositionSearch(vrp, createFactory(10), new SolutionCostCalculator() {
+
+            @Override
+            public double getCosts(VehicleRoutingProblemSolution solution) {
+                return solution == first[0] ? 0. : 1.;
+            }
+
+        });
+        decomposition.setNoRoutesPerGroup(2);
+        assertSame(initial, decomposition.improve(initial));
+    }
+
+    @Test
+    public void whenObjectiveFunctionIsNull_itShouldThrowException() {
+        VehicleRoutingProblem vrp = createProblem(VehicleRoutingProblem.FleetSize.FINITE);
+        try {
+            new DecompositionSearch(vrp, createFactory(10), null);
+            fail("null objective function should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void whenVehiclesHaveBreaks_breaksShouldStayInRoutesOfTheirVehicles() {
+        VehicleRoutingProblem vrp = createProblem(VehicleRoutingProblem.FleetSize.FINITE, true);
+        VehicleRoutingAlgorithm algorithm = createFactory(0).createAlgorithm(vrp);
+        VehicleRoutingProblemSolution initial = Solutions.bestOf(algorithm.searchSolutions());
+        int noBreaks = 0;
+        for (VehicleRoute route : initial.getRoutes()) {
+            for (TourActivity act : route.getActivities()) {
+                if (act instanceof BreakActivity) noBreaks++;
+            }
+        }
+        assertTrue(noBreaks > 0);
+
+        DecompositionSearch decomposition = new DecompositionSearch(vrp, createFactory(20), algorithm.getObjectiveFunction());
+        decomposition.setNoRoutesPerGroup(2);
+        decomposition.setNoRounds(2);
+        decomposition.setNoThreads(2);
+        VehicleRoutingProblemSolution improved = decomposition.improve(initial);
+
+        assertEachJobOnce(vrp, improved);
+        assertEquals(algorithm.getObjectiveFunction().getCosts(improved), improved.getCost(), 0.01);
+        for (VehicleRoute route : improved.getRoutes()) {
+            int breaksOfRoute = 0;
+            for (TourActivity act : route.getActivities()) {
+                Job job = ((TourActivity.JobActivity) act).getJob();
+                if (!(job instanceof Break)) continue;
+                breaksOfRoute++;
+                assertTrue(act instanceof BreakActivity);
+                assertSame(route.getVehicle().getBreak(), job);
+                assertNotNull(act.getLocation());
+                assertEquals(10., act.getOperationTime(), 0.01);
+            }
+            assertTrue(breaksOfRoute <= 1);
+        }
+    }
+
+    @Test
+    public void afterImprovingIndicesShouldBeThoseOfTheProblem() {
+        VehicleRoutingProblem vrp = createProblem(VehicleRoutingProblem.FleetSize.INFINITE);
+        Map<Job, Integer> jobIndices = new HashMap<Job, Integer>();
+        for (Job job : vrp.getJobs().values()) jobIndices.put(job, job.getIndex());
+        Map<Vehicle, Integer> vehicleIndices = new HashMap<Vehicle, Integer>();
+        for (Vehicle vehicle : vrp.getVehicles()) vehicleIndices.put(vehicle, vehicle.getIndex());
+        VehicleRoutingProblemSolution initial = Solutions.bestOf(createFactory(0).createAlgorithm(vrp).searchSolutions());
+
+        DecompositionSearch decomposition = new DecompositionSearch(vrp, createFactory(10), createObjectiveFunction(vrp));
+        decomposition.setNoRoutesPerGroup(1);
+        VehicleRoutingProblemSolution improved = decomposition.improve(initial);
+
+        assertEachJobOnce(vrp, improved);
+        for (Job job : vrp.getJobs().values()) assertEquals(jobIndices.get(job).intValue(), job.getIndex());
+        for (Vehicle vehicle : vrp.getVehicles()) assertEquals(vehicleIndices.get(vehicle).intValue(), vehicle.getIndex());
+        for (VehicleRoute route : improved.getRoutes()) {
+            for (TourActivity act : route.getActivities()) {
+                Set<Integer> indices = new HashSet<Integer>();
+                for (AbstractActivity a : vrp.copyAndGetActivities(((TourActivity.JobActivity) act).getJob())) {
+                    indices.add(a.getIndex());
+                }
+                assertTrue(indices.contains(act.getIndex()));
+            }
+        }
+    }
+
+}
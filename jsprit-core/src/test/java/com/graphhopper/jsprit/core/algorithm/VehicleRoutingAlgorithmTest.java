@@ -63,6 +63,23 @@ public class VehicleRoutingAlgorithmTest {
 
     }
 
+    @Test
+    public void whenStopIsRequestedBeforeRun_itShouldStopBeforeFirstIterationAndNotAffectNextRun() {
+        SearchStrategyManager stratManager = mock(SearchStrategyManager.class);
+        VehicleRoutingAlgorithm algorithm = new VehicleRoutingAlgorithm(mock(VehicleRoutingProblem.class),
+            stratManager);
+        when(stratManager.getRandomStrategy()).thenReturn(mock(SearchStrategy.class));
+        when(stratManager.getWeights()).thenReturn(Arrays.asList(1.0));
+        algorithm.setMaxIterations(100);
+        CountIterations counter = new CountIterations();
+        algorithm.addListener(counter);
+        algorithm.requestStop();
+        algorithm.searchSolutions();
+        assertEquals(0, counter.getCountIterations());
+        algorithm.searchSolutions();
+        assertEquals(100, counter.getCountIterations());
+    }
+
     @Test
     public void whenSettingIterationsWithMaxIterations_iterAreExecutedCorrectly() {
         SearchStrategyManager stratManager = mock(SearchStrategyManager.class);
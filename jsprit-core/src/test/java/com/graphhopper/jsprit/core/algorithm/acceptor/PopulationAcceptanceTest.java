@@ -0,0 +1,114 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.acceptor;
+
+import com.graphhopper.jsprit.core.algorithm.population.SolutionPopulation;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+public class PopulationAcceptanceTest {
+
+    private List<Service> services;
+
+    private VehicleImpl vehicle;
+
+    @Before
+    public void doBefore() {
+        vehicle = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle);
+        for (int i = 0; i < 4; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(i, i)).build());
+        }
+        VehicleRoutingProblem vrp = vrpBuilder.build();
+        services = new ArrayList<Service>();
+        for (Job job : vrp.getJobs().values()) {
+            services.add((Service) job);
+        }
+    }
+
+    private VehicleRoutingProblemSolution createSolution(List<Service> sequence, double cost) {
+        VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(vehicle);
+        for (Service service : sequence) {
+            routeBuilder.addService(service);
+        }
+        return new VehicleRoutingProblemSolution(Arrays.asList(routeBuilder.build()), cost);
+    }
+
+    @Test
+    public void whenPopulationIsEmpty_solutionsInMemoryShouldBeAddedFirst() {
+        SolutionPopulation population = new SolutionPopulation(5);
+        PopulationAcceptance acceptance = new PopulationAcceptance(population);
+        VehicleRoutingProblemSolution initial = createSolution(services, 10.);
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+        VehicleRoutingProblemSolution newSolution = createSolution(reversed, 12.);
+
+        Collection<VehicleRoutingProblemSolution> memory = new ArrayList<VehicleRoutingProblemSolution>();
+        memory.add(initial);
+
+        assertTrue(acceptance.acceptSolution(memory, newSolution));
+        assertEquals(2, population.size());
+        assertEquals(2, memory.size());
+        assertTrue(memory.containsAll(Arrays.asList(initial, newSolution)));
+        assertSame(initial, population.getBest());
+    }
+
+    @Test
+    public void whenSolutionDuplicatesMember_itShouldBeRejectedAndMemoryShouldMirrorPopulation() {
+        SolutionPopulation population = new SolutionPopulation(5);
+        PopulationAcceptance acceptance = new PopulationAcceptance(population);
+        VehicleRoutingProblemSolution member = createSolution(services, 10.);
+        population.add(member);
+
+        Collection<VehicleRoutingProblemSolution> memory = new ArrayList<VehicleRoutingProblemSolution>();
+        assertFalse(acceptance.acceptSolution(memory, createSolution(services, 10.)));
+        assertEquals(1, memory.size());
+        assertSame(member, memory.iterator().next());
+    }
+
+    @Test
+    public void whenSolutionIsWorstOfFullPopulation_itShouldBeRejected() {
+        SolutionPopulation population = new SolutionPopulation(1);
+        PopulationAcceptance acceptance = new PopulationAcceptance(population);
+        VehicleRoutingProblemSolution member = createSolution(services, 10.);
+        population.add(member);
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+
+        Collection<VehicleRoutingProblemSolution> memory = new ArrayList<VehicleRoutingProblemSolution>();
+        assertFalse(acceptance.acceptSolution(memory, createSolution(reversed, 12.)));
+        assertEquals(Arrays.asList(member), memory);
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.acceptor;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import com.graphhopper.jsprit.core.util.Coordinate;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class SchrimpfInitialThresholdGeneratorTest {
+
+    private VehicleRoutingProblem createProblem() {
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance();
+        Random random = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).addSizeDimension(0, 1)
+                .setLocation(Location.newInstance(random.nextInt(100), random.nextInt(100))).build());
+        }
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("type").addCapacityDimension(0, 5).build();
+        vrpBuilder.addVehicle(VehicleImpl.Builder.newInstance("v").setType(type)
+            .setStartLocation(Location.Builder.newInstance().setCoordinate(Coordinate.newInstance(50, 50)).build()).build());
+        vrpBuilder.setFleetSize(VehicleRoutingProblem.FleetSize.INFINITE);
+        return vrpBuilder.build();
+    }
+
+    private double determineThreshold(SchrimpfInitialThresholdGenerator generator, SchrimpfAcceptance acceptance, VehicleRoutingProblem vrp) {
+        generator.informAlgorithmStarts(vrp, null, null);
+        ArgumentCaptor<Double> threshold = ArgumentCaptor.forClass(Double.class);
+        verify(acceptance).setInitialThreshold(threshold.capture());
+        return threshold.getValue();
+    }
+
+    @Test
+    public void concurrentRandomWalksMustDetermineThreshold() {
+        SchrimpfAcceptance acceptance = mock(SchrimpfAcceptance.class);
+        SchrimpfInitialThresholdGenerator generator = new SchrimpfInitialThresholdGenerator(acceptance, 11);
+        generator.setNoThreads(3);
+        double threshold = determineThreshold(generator, acceptance, createProblem());
+        assertTrue(threshold > 0);
+    }
+
+    @Test
+    public void sampledRandomWalksMustDetermineThreshold() {
+        SchrimpfAcceptance acceptance = mock(SchrimpfAcceptance.class);
+        SchrimpfInitialThresholdGenerator generator = new SchrimpfInitialThresholdGenerator(acceptance, 10);
+        generator.setSampleSize(5);
+        double threshold = determineThreshold(generator, acceptance, createProblem());
+        assertTrue(threshold >= 0);
+    }
+
+    @Test
+    public void concurrentRandomWalksMustRunOnCallersExecutorAndKeepItAlive() {
+        final AtomicInteger noThreadsCreated = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                noThreadsCreated.incrementAndGet();
+                return new Thread(r);
+            }
+
+        });
+        try {
+            SchrimpfAcceptance acceptance = mock(SchrimpfAcceptance.class);
+            SchrimpfInitialThresholdGenerator generator = new SchrimpfInitialThresholdGenerator(acceptance, 6);
+            generator.setExecutorService(executorService, 2);
+            double threshold = determineThreshold(generator, acceptance, createProblem());
+            assertTrue(threshold > 0);
+            assertEquals(2, noThreadsCreated.get());
+            assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroThreadsMustThrowException() {
+        new SchrimpfInitialThresholdGenerator(mock(SchrimpfAcceptance.class), 10).setNoThreads(0);
+    }
+
+}
@@ -20,19 +20,26 @@ package com.graphhopper.jsprit.core.algorithm.box;
 
 import com.graphhopper.jsprit.core.algorithm.SearchStrategy;
 import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
+import com.graphhopper.jsprit.core.algorithm.listener.IterationEndsListener;
 import com.graphhopper.jsprit.core.algorithm.listener.StrategySelectedListener;
+import com.graphhopper.jsprit.core.algorithm.recreate.IncreasingAbsoluteFixedCosts;
 import com.graphhopper.jsprit.core.algorithm.recreate.InsertionData;
 import com.graphhopper.jsprit.core.algorithm.recreate.listener.BeforeJobInsertionListener;
 import com.graphhopper.jsprit.core.algorithm.recreate.listener.JobInsertedListener;
 import com.graphhopper.jsprit.core.algorithm.ruin.listener.RuinListener;
+import com.graphhopper.jsprit.core.algorithm.state.StateManager;
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.constraint.ConstraintManager;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.job.Service;
 import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
 import com.graphhopper.jsprit.core.util.RandomNumberGeneration;
+import com.graphhopper.jsprit.core.util.RandomStreams;
+import com.graphhopper.jsprit.core.util.Solutions;
 import junit.framework.Assert;
 import org.junit.Test;
 
@@ -205,6 +212,37 @@ public class JspritTest {
 
     }
 
+    @Test
+    public void whenUsingInsertionLowerBound_itShouldFindSameSolutionAsWithout() {
+        VehicleRoutingProblem vrp = createProblemWithCapacities();
+        RandomNumberGeneration.reset();
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(vrp)
+            .setProperty(Jsprit.Parameter.INSERTION_NOISE_PROB, "0.").buildAlgorithm();
+        vra.setMaxIterations(50);
+        VehicleRoutingProblemSolution withoutBound = Solutions.bestOf(vra.searchSolutions());
+
+        RandomNumberGeneration.reset();
+        VehicleRoutingAlgorithm bounded = Jsprit.Builder.newInstance(vrp)
+            .setProperty(Jsprit.Parameter.INSERTION_NOISE_PROB, "0.")
+            .setProperty(Jsprit.Parameter.INSERTION_LOWER_BOUND, "true").buildAlgorithm();
+        bounded.setMaxIterations(50);
+        VehicleRoutingProblemSolution withBound = Solutions.bestOf(bounded.searchSolutions());
+
+        Assert.assertEquals(withoutBound.getCost(), withBound.getCost(), 0.001);
+        Assert.assertEquals(withoutBound.getUnassignedJobs().size(), withBound.getUnassignedJobs().size());
+    }
+
+    private VehicleRoutingProblem createProblemWithCapacities() {
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("type").addCapacityDimension(0, 5).build();
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setType(type).setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(v);
+        for (int i = 0; i < 20; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).addSizeDimension(0, 1 + i % 2)
+                .setLocation(Location.newInstance((i * 17) % 30, (i * 11) % 25)).build());
+        }
+        return vrpBuilder.build();
+    }
+
     @Test
     public void strategyDrawShouldBeReproducibleV2() {
         Service s = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 1)).build();
@@ -485,5 +523,64 @@ public class JspritTest {
         Assert.assertEquals(1, c);
     }
 
+    private VehicleRoutingProblem createProblemWithTwentyServices() {
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance();
+        vrpBuilder.addVehicle(VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build());
+        Random random = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(random.nextInt(100), random.nextInt(100))).build());
+        }
+        return vrpBuilder.build();
+    }
+
+    private List<Double> searchWithRandomStreams(VehicleRoutingProblem vrp, long masterSeed, String threads) {
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(vrp).setRandomStreams(new RandomStreams(masterSeed))
+            .setProperty(Jsprit.Parameter.THREADS, threads).buildAlgorithm();
+        vra.setMaxIterations(50);
+        final List<Double> costs = new ArrayList<Double>();
+        vra.addListener(new IterationEndsListener() {
+
+            @Override
+            public void informIterationEnds(int i, VehicleRoutingProblem problem, Collection<VehicleRoutingProblemSolution> solutions) {
+                costs.add(Solutions.bestOf(solutions).getCost());
+            }
+
+        });
+        vra.searchSolutions();
+        return costs;
+    }
+
+    @Test
+    public void whenBuiltFromRandomStreamsWithSameSeed_resultsShouldBeReproducible() {
+        VehicleRoutingProblem vrp = createProblemWithTwentyServices();
+        Assert.assertEquals(searchWithRandomStreams(vrp, 42, "1"), searchWithRandomStreams(vrp, 42, "1"));
+        Assert.assertEquals(searchWithRandomStreams(vrp, 42, "2"), searchWithRandomStreams(vrp, 42, "2"));
+    }
+
+    @Test
+    public void whenBuiltFromRandomStreams_itShouldNotDrawFromSharedRandom() {
+        VehicleRoutingProblem vrp = createProblemWithTwentyServices();
+        RandomNumberGeneration.getRandom().setSeed(7);
+        searchWithRandomStreams(vrp, 42, "1");
+        Assert.assertEquals(new Random(7).nextLong(), RandomNumberGeneration.getRandom().nextLong());
+        RandomNumberGeneration.reset();
+    }
+
+    @Test
+    public void whenConstraintsOnlyDependOnRoute_emptyRouteInsertionsCanBeReused() {
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().build();
+        StateManager stateManager = new StateManager(vrp);
+        ConstraintManager constraintManager = new ConstraintManager(vrp, stateManager);
+        constraintManager.addLoadConstraint();
+        constraintManager.addTimeWindowConstraint();
+        constraintManager.addSkillsConstraint();
+        constraintManager.addConstraint(new InsertionNoiseMaker(vrp, 10., 0.1, 0.1));
+        Assert.assertTrue(Jsprit.onlyRouteDependentConstraints(constraintManager));
+
+        IncreasingAbsoluteFixedCosts fixedCosts = new IncreasingAbsoluteFixedCosts(10);
+        constraintManager.addConstraint(fixedCosts);
+        Assert.assertFalse(Jsprit.onlyRouteDependentConstraints(constraintManager));
+    }
+
 
 }
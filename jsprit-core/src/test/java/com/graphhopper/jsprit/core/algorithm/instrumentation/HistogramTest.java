@@ -0,0 +1,73 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.instrumentation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HistogramTest {
+
+    @Test
+    public void whenNothingIsRecorded_itShouldReturnZeros() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getQuantile(0.5));
+        assertEquals(0., histogram.getMean(), 0.01);
+    }
+
+    @Test
+    public void whenRecordingValues_countSumMinAndMaxShouldBeCorrect() {
+        Histogram histogram = new Histogram();
+        histogram.record(3);
+        histogram.record(10);
+        histogram.record(100);
+        assertEquals(3, histogram.getCount());
+        assertEquals(113, histogram.getSum());
+        assertEquals(3, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(113. / 3., histogram.getMean(), 0.01);
+    }
+
+    @Test
+    public void quantilesShouldBeUpperBoundOfBucket() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 99; i++) histogram.record(5);
+        histogram.record(1000);
+        assertEquals(7, histogram.getQuantile(0.5));
+        assertEquals(7, histogram.getQuantile(0.99));
+        assertEquals(1000, histogram.getQuantile(1.));
+    }
+
+    @Test
+    public void whenResetting_itShouldBeEmpty() {
+        Histogram histogram = new Histogram();
+        histogram.record(5);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenQuantileIsOutOfRange_itShouldThrowException() {
+        new Histogram().getQuantile(1.5);
+    }
+}
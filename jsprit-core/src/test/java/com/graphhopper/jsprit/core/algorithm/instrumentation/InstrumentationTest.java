@@ -0,0 +1,83 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.instrumentation;
+
+import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
+import com.graphhopper.jsprit.core.algorithm.box.Jsprit;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InstrumentationTest {
+
+    @Test
+    public void disabledInstrumentation_shouldNotRecordAnything() {
+        Instrumentation instrumentation = Instrumentation.disabled();
+        Probe probe = instrumentation.getProbe("p");
+        probe.start();
+        probe.stop();
+        assertFalse(probe.isEnabled());
+        assertEquals(0, probe.getWallTime().getCount());
+        assertTrue(instrumentation.getProbes().isEmpty());
+    }
+
+    @Test
+    public void probeShouldRecordEachMeasurement() {
+        Instrumentation instrumentation = Instrumentation.newInstance();
+        Probe probe = instrumentation.getProbe("p");
+        for (int i = 0; i < 3; i++) {
+            probe.start();
+            probe.stop();
+        }
+        assertEquals(3, probe.getWallTime().getCount());
+        assertSame(probe, instrumentation.getProbe("p"));
+    }
+
+    @Test
+    public void whenAlgorithmRuns_strategyRuinInsertionAndStateUpdateProbesShouldBeReported() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 1)).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(1, 2)).build();
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addVehicle(v).addJob(s1).addJob(s2).build();
+
+        StringBuilder report = new StringBuilder();
+        Instrumentation instrumentation = Instrumentation.Builder.newInstance().setReportTarget(report).build();
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(vrp).setInstrumentation(instrumentation).buildAlgorithm();
+        vra.setMaxIterations(20);
+        vra.searchSolutions();
+
+        List<String> names = new ArrayList<String>();
+        long strategyRuns = 0;
+        for (Probe probe : instrumentation.getProbes()) {
+            names.add(probe.getName());
+            if (probe.getName().startsWith("strategy.")) strategyRuns += probe.getWallTime().getCount();
+        }
+        assertEquals(20, strategyRuns);
+        assertTrue(names.contains("state_update"));
+        assertTrue(names.contains("ruin.RuinRandom"));
+        assertTrue(names.contains("insertion.RegretInsertion"));
+        assertTrue(report.toString().contains("state_update"));
+    }
+}
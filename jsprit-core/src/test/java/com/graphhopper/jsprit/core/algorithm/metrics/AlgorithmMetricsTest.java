@@ -0,0 +1,105 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.metrics;
+
+import com.graphhopper.jsprit.core.algorithm.VehicleRoutingAlgorithm;
+import com.graphhopper.jsprit.core.algorithm.box.Jsprit;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class AlgorithmMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private VehicleRoutingProblem createProblem() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 1)).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(1, 2)).build();
+        Service s3 = Service.Builder.newInstance("s3").setLocation(Location.newInstance(5, 2)).build();
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        return VehicleRoutingProblem.Builder.newInstance().addVehicle(v).addJob(s1).addJob(s2).addJob(s3).build();
+    }
+
+    @Test
+    public void whenAlgorithmRuns_registryShouldBeFed() {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(createProblem()).setMetricsRegistry(registry).buildAlgorithm();
+        vra.setMaxIterations(50);
+        vra.searchSolutions();
+
+        assertEquals(50, registry.counter("jsprit_iterations_total").get());
+        assertTrue(registry.counter("jsprit_inserted_jobs_total").get() > 0);
+        assertTrue(registry.counter("jsprit_insertion_calls_total").get() > registry.counter("jsprit_inserted_jobs_total").get());
+        assertTrue(registry.getGauges().containsKey("jsprit_insertion_calls_per_second"));
+        assertTrue(registry.counter("jsprit_insertion_runs_total").get() >= 50);
+        assertEquals(0., registry.getGauges().get("jsprit_unassigned_jobs").getValue(), 0.01);
+        assertTrue(registry.getGauges().get("jsprit_best_cost").getValue() > 0.);
+        double acceptanceRate = registry.getGauges().get("jsprit_acceptance_rate").getValue();
+        assertTrue(acceptanceRate >= 0. && acceptanceRate <= 1.);
+    }
+
+    @Test
+    public void whenRunningConcurrently_executorQueueDepthShouldBeRegistered() {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(createProblem()).setMetricsRegistry(registry)
+            .setProperty(Jsprit.Parameter.THREADS, "2").buildAlgorithm();
+        vra.setMaxIterations(10);
+        vra.searchSolutions();
+        assertTrue(registry.getGauges().containsKey("jsprit_insertion_executor_queue_depth"));
+        assertTrue(registry.counter("jsprit_insertion_calls_total").get() > 0);
+    }
+
+    @Test
+    public void textExpositionShouldContainTypeAndValueLines() {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        registry.counter("c").add(3);
+        registry.gauge("g", new Gauge() {
+            @Override
+            public double getValue() {
+                return 1.5;
+            }
+        });
+        String text = new TextExpositionWriter().toString(registry);
+        assertEquals("# TYPE c counter\nc 3\n# TYPE g gauge\ng 1.5000\n", text);
+    }
+
+    @Test
+    public void whenExpositionFileIsSet_itShouldBeWrittenAtAlgorithmEnd() throws Exception {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(createProblem()).buildAlgorithm();
+        AlgorithmMetrics metrics = new AlgorithmMetrics(registry);
+        File file = new File(folder.getRoot(), "metrics.txt");
+        metrics.setExpositionFile(file, 1000);
+        vra.addListener(metrics);
+        vra.setMaxIterations(5);
+        vra.searchSolutions();
+        String content = new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8"));
+        assertTrue(content.contains("jsprit_iterations_total 5"));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.population;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class SolutionPopulationTest {
+
+    private List<Service> services;
+
+    private VehicleImpl vehicle;
+
+    @Before
+    public void doBefore() {
+        vehicle = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle);
+        for (int i = 0; i < 6; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(i, i)).build());
+        }
+        VehicleRoutingProblem vrp = vrpBuilder.build();
+        services = new ArrayList<Service>();
+        for (Job job : vrp.getJobs().values()) {
+            services.add((Service) job);
+        }
+    }
+
+    private VehicleRoutingProblemSolution createSolution(List<Service> sequence, double cost) {
+        VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(vehicle);
+        for (Service service : sequence) {
+            routeBuilder.addService(service);
+        }
+        return new VehicleRoutingProblemSolution(Arrays.asList(routeBuilder.build()), cost);
+    }
+
+    @Test
+    public void whenAddingSolutionWithSameEdges_itShouldBeRejected() {
+        SolutionPopulation population = new SolutionPopulation(5);
+        assertTrue(population.add(createSolution(services, 10.)));
+        assertFalse(population.add(createSolution(services, 10.)));
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+        assertTrue(population.add(createSolution(reversed, 12.)));
+        assertEquals(2, population.size());
+        assertEquals(10., population.getBest().getCost(), 0.01);
+        assertEquals(1., SolutionFingerprint.of(createSolution(services, 10.)).distance(SolutionFingerprint.of(createSolution(reversed, 12.))), 0.01);
+    }
+
+    @Test
+    public void whenPopulationExceedsCapacity_poorButDiverseSolutionShouldOutliveNearDuplicate() {
+        List<Service> nearDuplicate1 = new ArrayList<Service>(services);
+        Collections.swap(nearDuplicate1, 4, 5);
+        List<Service> nearDuplicate2 = new ArrayList<Service>(services);
+        Collections.swap(nearDuplicate2, 0, 1);
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+
+        SolutionPopulation population = new SolutionPopulation(3);
+        population.add(createSolution(services, 10.));
+        population.add(createSolution(nearDuplicate1, 11.));
+        VehicleRoutingProblemSolution diverse = createSolution(reversed, 20.);
+        population.add(diverse);
+        VehicleRoutingProblemSolution duplicate = createSolution(nearDuplicate2, 12.);
+
+        assertFalse(population.add(duplicate));
+        assertEquals(3, population.size());
+        assertTrue(population.getSolutions().contains(diverse));
+        assertFalse(population.getSolutions().contains(duplicate));
+    }
+
+    @Test
+    public void whenDiversityHasNoWeight_poorSolutionShouldBeRemovedFirst() {
+        List<Service> nearDuplicate1 = new ArrayList<Service>(services);
+        Collections.swap(nearDuplicate1, 4, 5);
+        List<Service> nearDuplicate2 = new ArrayList<Service>(services);
+        Collections.swap(nearDuplicate2, 0, 1);
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+
+        SolutionPopulation population = new SolutionPopulation(3);
+        population.setNuEliteSolutions(4);
+        population.add(createSolution(services, 10.));
+        population.add(createSolution(nearDuplicate1, 11.));
+        VehicleRoutingProblemSolution diverse = createSolution(reversed, 20.);
+        population.add(diverse);
+        VehicleRoutingProblemSolution duplicate = createSolution(nearDuplicate2, 12.);
+
+        assertTrue(population.add(duplicate));
+        assertTrue(population.getSolutions().contains(duplicate));
+        assertFalse(population.getSolutions().contains(diverse));
+    }
+
+    @Test
+    public void whenFedByMultipleThreads_populationShouldStayBoundedAndKeepBest() throws Exception {
+        final SolutionPopulation population = new SolutionPopulation(10);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < 4; t++) {
+            final Random random = new Random(t);
+            futures.add(executor.submit(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (int i = 0; i < 200; i++) {
+                        List<Service> sequence = new ArrayList<Service>(services);
+                        Collections.shuffle(sequence, random);
+                        population.add(createSolution(sequence, 100. + random.nextInt(100)));
+                        assertNotNull(population.select(random));
+                    }
+                }
+
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        population.add(createSolution(services.subList(0, 3), 1.));
+        assertEquals(10, population.size());
+        assertEquals(1., population.getBest().getCost(), 0.01);
+        Set<SolutionFingerprint> fingerprints = new HashSet<SolutionFingerprint>();
+        for (VehicleRoutingProblemSolution solution : population.getSolutions()) {
+            assertTrue(fingerprints.add(SolutionFingerprint.of(solution)));
+        }
+    }
+
+}
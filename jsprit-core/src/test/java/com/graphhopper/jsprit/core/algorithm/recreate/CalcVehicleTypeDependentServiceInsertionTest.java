@@ -20,6 +20,7 @@ package com.graphhopper.jsprit.core.algorithm.recreate;
 import com.graphhopper.jsprit.core.problem.Capacity;
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
 import com.graphhopper.jsprit.core.problem.job.Service;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.solution.route.activity.TimeWindow;
@@ -32,8 +33,9 @@ import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.*;
 
 
 public class CalcVehicleTypeDependentServiceInsertionTest {
@@ -102,4 +104,23 @@ public class CalcVehicleTypeDependentServiceInsertionTest {
         assertThat(iData.getSelectedVehicle(), is(veh2));
 
     }
+
+    @Test
+    public void whenLowerBoundOfVehicleIsNotBetterThanBestKnown_itShouldNotBeScanned() {
+        JobInsertionCostsCalculator calc = mock(JobInsertionCostsCalculator.class);
+        InsertionData iDataVeh1 = new InsertionData(10.0, InsertionData.NO_INDEX, 1, veh1, null);
+        when(calc.getInsertionData(vehicleRoute, service, veh1, veh1.getEarliestDeparture(), null, Double.MAX_VALUE)).thenReturn(iDataVeh1);
+        InsertionCostsLowerBound lowerBound = mock(InsertionCostsLowerBound.class);
+        double departureVeh1 = veh1.getEarliestDeparture();
+        double departureVeh2 = veh2.getEarliestDeparture();
+        when(lowerBound.getLowerBound(eq(vehicleRoute), eq(service), eq(veh1), eq(departureVeh1), anyCollectionOf(String.class))).thenReturn(5.0);
+        when(lowerBound.getLowerBound(eq(vehicleRoute), eq(service), eq(veh2), eq(departureVeh2), anyCollectionOf(String.class))).thenReturn(15.0);
+        VehicleRoutingProblem vrp = mock(VehicleRoutingProblem.class);
+        when(vrp.getInitialVehicleRoutes()).thenReturn(Collections.<VehicleRoute>emptyList());
+        VehicleTypeDependentJobInsertionCalculator insertion = new VehicleTypeDependentJobInsertionCalculator(vrp, fleetManager, calc);
+        insertion.setInsertionCostsLowerBound(lowerBound);
+        InsertionData iData = insertion.getInsertionData(vehicleRoute, service, null, 0.0, null, Double.MAX_VALUE);
+        assertThat(iData.getSelectedVehicle(), is(veh1));
+        verify(calc, never()).getInsertionData(eq(vehicleRoute), eq(service), eq(veh2), anyDouble(), any(Driver.class), anyDouble());
+    }
 }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.algorithm.state.StateManager;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.constraint.ConstraintManager;
+import com.graphhopper.jsprit.core.problem.cost.AbstractForwardVehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.cost.VehicleRoutingTransportCosts;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.driver.DriverImpl;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Delivery;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TimeWindow;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleFleetManager;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import com.graphhopper.jsprit.core.util.EuclideanDistanceCalculator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class DefaultInsertionCostsLowerBoundTest {
+
+    private VehicleRoutingProblem vrp;
+
+    private VehicleImpl vehicle;
+
+    private StateManager stateManager;
+
+    private DefaultInsertionCostsLowerBound lowerBound;
+
+    private Delivery d1;
+
+    private Delivery d2;
+
+    @Before
+    public void doBefore() {
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("t").addCapacityDimension(0, 5).build();
+        vehicle = VehicleImpl.Builder.newInstance("v").setType(type).setStartLocation(Location.newInstance(0, 0))
+            .addSkill("cooling").build();
+        d1 = Delivery.Builder.newInstance("d1").addSizeDimension(0, 3).setLocation(Location.newInstance(10, 0)).build();
+        d2 = Delivery.Builder.newInstance("d2").addSizeDimension(0, 3).setLocation(Location.newInstance(20, 0)).build();
+        vrp = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle).addJob(d1).addJob(d2).build();
+        stateManager = new StateManager(vrp);
+        stateManager.updateLoadStates();
+        lowerBound = new DefaultInsertionCostsLowerBound(vrp.getTransportCosts(), stateManager);
+    }
+
+    @Test
+    public void whenRouteIsEmpty_lowerBoundShouldBeCostsOfFirstLeg() {
+        VehicleRoute route = VehicleRoute.emptyRoute();
+        assertEquals(10., lowerBound.getLowerBound(route, d1, vehicle, 0., new ArrayList<String>()), 0.01);
+    }
+
+    @Test
+    public void whenVehicleLacksSkill_itShouldBeInfeasibleAndReportSkillConstraint() {
+        Service s = Service.Builder.newInstance("s").addRequiredSkill("frozen").setLocation(Location.newInstance(10, 0)).build();
+        List<String> failed = new ArrayList<String>();
+        assertEquals(Double.MAX_VALUE, lowerBound.getLowerBound(VehicleRoute.emptyRoute(), s, vehicle, 0., failed), 0.01);
+        assertEquals(Arrays.asList("HardSkillConstraint"), failed);
+    }
+
+    @Test
+    public void whenLoadOfRouteDoesNotAllowJob_itShouldBeInfeasibleAndReportLoadConstraint() {
+        VehicleRoute route = VehicleRoute.Builder.newInstance(vehicle).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(d1).build();
+        stateManager.informInsertionStarts(Arrays.asList(route), Arrays.<Job>asList(d2));
+        List<String> failed = new ArrayList<String>();
+        assertEquals(Double.MAX_VALUE, lowerBound.getLowerBound(route, d2, vehicle, 0., failed), 0.01);
+        assertEquals(Arrays.asList("ServiceLoadRouteLevelConstraint"), failed);
+    }
+
+    @Test
+    public void whenCostsAreTimeDependent_boundShouldNeverPruneFeasibleImprovingInsertion() {
+        /*
+         * travelling gets cheaper the later the vehicle departs, thus pricing the leg back to the depot at the
+         * vehicle's departure time would overestimate the costs
+         */
+        VehicleRoutingTransportCosts costs = new AbstractForwardVehicleRoutingTransportCosts() {
+
+            @Override
+            public double getTransportTime(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle) {
+                return EuclideanDistanceCalculator.calculateDistance(from.getCoordinate(), to.getCoordinate());
+            }
+
+            @Override
+            public double getTransportCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle) {
+                return getTransportTime(from, to, departureTime, driver, vehicle) * Math.max(0.1, 1. - departureTime / 100.);
+            }
+
+        };
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle).setRoutingCost(costs);
+        List<Service> services = new ArrayList<Service>();
+        for (int i = 1; i <= 10; i++) {
+            Service s = Service.Builder.newInstance("s" + i).addSizeDimension(0, i % 3).setServiceTime(10. * i)
+                .setLocation(Location.newInstance(5 * i, i % 4)).build();
+            services.add(s);
+            vrpBuilder.addJob(s);
+        }
+        final VehicleRoutingProblem problem = vrpBuilder.build();
+        StateManager states = new StateManager(problem);
+        states.updateLoadStates();
+        ConstraintManager constraintManager = new ConstraintManager(problem, states);
+        constraintManager.addLoadConstraint();
+        constraintManager.addSkillsConstraint();
+        ServiceInsertionCalculator serviceInsertion = new ServiceInsertionCalculator(costs, problem.getActivityCosts(),
+            new LocalActivityInsertionCostsCalculator(costs, problem.getActivityCosts(), states), constraintManager);
+        serviceInsertion.setJobActivityFactory(problem.getJobActivityFactory());
+        VehicleFleetManager fleetManager = mock(VehicleFleetManager.class);
+        VehicleTypeDependentJobInsertionCalculator unbounded = new VehicleTypeDependentJobInsertionCalculator(problem, fleetManager, serviceInsertion);
+        VehicleTypeDependentJobInsertionCalculator bounded = new VehicleTypeDependentJobInsertionCalculator(problem, fleetManager, serviceInsertion);
+        bounded.setInsertionCostsLowerBound(new DefaultInsertionCostsLowerBound(costs, states));
+
+        for (Service s : services) {
+            for (double departureTime : new double[]{0., 30., 80.}) {
+                InsertionData reference = unbounded.getInsertionData(VehicleRoute.emptyRoute(), s, vehicle, departureTime, DriverImpl.noDriver(), Double.MAX_VALUE);
+                assertFalse(reference instanceof InsertionData.NoInsertionFound);
+                double cost = reference.getInsertionCost();
+                InsertionData iData = bounded.getInsertionData(VehicleRoute.emptyRoute(), s, vehicle, departureTime, DriverImpl.noDriver(), cost + 1e-6);
+                assertFalse(s.getId() + "@" + departureTime, iData instanceof InsertionData.NoInsertionFound);
+                assertEquals(cost, iData.getInsertionCost(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void whenRouteIsNotEmptyAndJobFits_lowerBoundShouldBeCheapestDetour() {
+        Delivery d3 = Delivery.Builder.newInstance("d3").addSizeDimension(0, 1).setLocation(Location.newInstance(30, 0)).build();
+        VehicleRoute route = VehicleRoute.Builder.newInstance(vehicle).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(d1).build();
+        stateManager.informInsertionStarts(Arrays.asList(route), Arrays.<Job>asList(d2));
+        assertEquals(40., lowerBound.getLowerBound(route, d3, vehicle, route.getDepartureTime(), new ArrayList<String>()), 0.01);
+    }
+
+    @Test
+    public void whenVehicleHasWaitingCosts_itShouldNotBoundNonEmptyRoute() {
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("waiting").addCapacityDimension(0, 5).setCostPerWaitingTime(1.).build();
+        VehicleImpl waitingVehicle = VehicleImpl.Builder.newInstance("w").setType(type).setStartLocation(Location.newInstance(0, 0)).build();
+        Delivery d3 = Delivery.Builder.newInstance("d3").addSizeDimension(0, 1).setLocation(Location.newInstance(30, 0)).build();
+        VehicleRoute route = VehicleRoute.Builder.newInstance(waitingVehicle).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(d1).build();
+        stateManager.informInsertionStarts(Arrays.asList(route), Arrays.<Job>asList(d2));
+        assertEquals(-Double.MAX_VALUE, lowerBound.getLowerBound(route, d3, waitingVehicle, route.getDepartureTime(), new ArrayList<String>()), 0.01);
+    }
+
+    @Test
+    public void whenRouteIsNotEmpty_boundShouldNeverPruneFeasibleImprovingInsertion() {
+        VehicleTypeImpl type = VehicleTypeImpl.Builder.newInstance("t").addCapacityDimension(0, 100).build();
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setType(type).setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(v);
+        List<Service> services = new ArrayList<Service>();
+        for (int i = 1; i <= 12; i++) {
+            Service s = Service.Builder.newInstance("s" + i).addSizeDimension(0, 1).setServiceTime(5.)
+                .setLocation(Location.newInstance((i * 37) % 50, (i * 13) % 40))
+                .setTimeWindow(TimeWindow.newInstance((i % 4) * 20., 1000.)).build();
+            services.add(s);
+            vrpBuilder.addJob(s);
+        }
+        VehicleRoutingProblem problem = vrpBuilder.build();
+        VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(v).setJobActivityFactory(problem.getJobActivityFactory());
+        for (Service s : services.subList(0, 6)) routeBuilder.addService(s);
+        VehicleRoute route = routeBuilder.build();
+        StateManager states = new StateManager(problem);
+        states.updateLoadStates();
+        states.informInsertionStarts(Arrays.asList(route), new ArrayList<Job>());
+        ConstraintManager constraintManager = new ConstraintManager(problem, states);
+        constraintManager.addLoadConstraint();
+        constraintManager.addSkillsConstraint();
+        VehicleRoutingTransportCosts costs = problem.getTransportCosts();
+        ServiceInsertionCalculator serviceInsertion = new ServiceInsertionCalculator(costs, problem.getActivityCosts(),
+            new LocalActivityInsertionCostsCalculator(costs, problem.getActivityCosts(), states), constraintManager);
+        serviceInsertion.setJobActivityFactory(problem.getJobActivityFactory());
+        DefaultInsertionCostsLowerBound bound = new DefaultInsertionCostsLowerBound(costs, states);
+
+        for (Service s : services.subList(6, 12)) {
+            InsertionData reference = serviceInsertion.getInsertionData(route, s, v, route.getDepartureTime(), DriverImpl.noDriver(), Double.MAX_VALUE);
+            assertFalse(reference instanceof InsertionData.NoInsertionFound);
+            double lb = bound.getLowerBound(route, s, v, route.getDepartureTime(), new ArrayList<String>());
+            assertTrue(s.getId(), lb > -Double.MAX_VALUE);
+            assertTrue(s.getId(), lb <= reference.getInsertionCost() + 1e-9);
+        }
+    }
+
+}
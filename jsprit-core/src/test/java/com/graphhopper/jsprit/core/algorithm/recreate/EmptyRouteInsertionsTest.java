@@ -0,0 +1,163 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleFleetManager;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EmptyRouteInsertionsTest {
+
+    private static class CountingCalculator implements JobInsertionCostsCalculator {
+
+        int calls = 0;
+
+        Driver lastDriver;
+
+        @Override
+        public InsertionData getInsertionData(VehicleRoute currentRoute, Job newJob, Vehicle newVehicle, double newVehicleDepartureTime, Driver newDriver, double bestKnownCosts) {
+            calls++;
+            lastDriver = newDriver;
+            if (newVehicle.getType().getTypeId().equals("infeasible")) {
+                InsertionData.NoInsertionFound noInsertion = new InsertionData.NoInsertionFound();
+                noInsertion.getFailedConstraintNames().add("constraint");
+                return noInsertion;
+            }
+            InsertionData iData = new InsertionData(newVehicle.getType().getVehicleCostParams().fix, 0, 0, newVehicle, newDriver);
+            iData.setVehicleDepartureTime(newVehicleDepartureTime);
+            iData.getEvents().add(new SwitchVehicle(currentRoute, newVehicle, newVehicleDepartureTime));
+            return iData;
+        }
+    }
+
+    private VehicleImpl small1;
+
+    private VehicleImpl small2;
+
+    private VehicleImpl large;
+
+    private VehicleImpl infeasible;
+
+    private Service service;
+
+    private CountingCalculator calculator;
+
+    private EmptyRouteInsertions emptyRouteInsertions;
+
+    private int maxJobIndex;
+
+    @Before
+    public void doBefore() {
+        VehicleTypeImpl smallType = VehicleTypeImpl.Builder.newInstance("small").setFixedCost(10).build();
+        VehicleTypeImpl largeType = VehicleTypeImpl.Builder.newInstance("large").setFixedCost(20).build();
+        VehicleTypeImpl infeasibleType = VehicleTypeImpl.Builder.newInstance("infeasible").build();
+        small1 = VehicleImpl.Builder.newInstance("small1").setType(smallType).setStartLocation(Location.newInstance(0, 0)).build();
+        small2 = VehicleImpl.Builder.newInstance("small2").setType(smallType).setStartLocation(Location.newInstance(0, 0)).build();
+        large = VehicleImpl.Builder.newInstance("large").setType(largeType).setStartLocation(Location.newInstance(0, 0)).build();
+        infeasible = VehicleImpl.Builder.newInstance("inf").setType(infeasibleType).setStartLocation(Location.newInstance(0, 0)).build();
+        service = Service.Builder.newInstance("s").setLocation(Location.newInstance(10, 0)).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addVehicle(small1).addVehicle(small2)
+            .addVehicle(large).addVehicle(infeasible).addJob(service).build();
+        calculator = new CountingCalculator();
+        maxJobIndex = vrp.getJobs().size() + 1;
+        emptyRouteInsertions = new EmptyRouteInsertions(maxJobIndex, true);
+    }
+
+    private VehicleFleetManager fleetManagerWith(Vehicle... vehicles) {
+        VehicleFleetManager fleetManager = mock(VehicleFleetManager.class);
+        when(fleetManager.getAvailableVehicles()).thenReturn(Arrays.asList(vehicles));
+        return fleetManager;
+    }
+
+    @Test
+    public void itShouldSelectCheapestVehicleType() {
+        InsertionData iData = emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(large, small1, infeasible), calculator);
+        assertSame(small1, iData.getSelectedVehicle());
+        assertEquals(10., iData.getInsertionCost(), 0.01);
+    }
+
+    @Test
+    public void eachVehicleTypeShouldOnlyBeEvaluatedOnce() {
+        emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(large, small1, infeasible), calculator);
+        emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(large, small1, infeasible), calculator);
+        assertEquals(3, calculator.calls);
+    }
+
+    @Test
+    public void whenEquivalentVehicleBecomesAvailable_itShouldBeUsedWithoutReevaluation() {
+        emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(large, small1), calculator);
+        InsertionData iData = emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(large, small2), calculator);
+        assertEquals(2, calculator.calls);
+        assertSame(small2, iData.getSelectedVehicle());
+        assertEquals(1, iData.getEvents().size());
+        assertSame(small2, ((SwitchVehicle) iData.getEvents().get(0)).getVehicle());
+        assertSame(emptyRouteInsertions.getEmptyRoute(service), ((SwitchVehicle) iData.getEvents().get(0)).getRoute());
+    }
+
+    @Test
+    public void whenReuseIsDisabled_itShouldReevaluateEachTime() {
+        EmptyRouteInsertions notReusing = new EmptyRouteInsertions(maxJobIndex, false);
+        notReusing.getBestInsertion(service, fleetManagerWith(large, small1), calculator);
+        InsertionData iData = notReusing.getBestInsertion(service, fleetManagerWith(large, small2), calculator);
+        assertEquals(4, calculator.calls);
+        assertSame(small2, iData.getSelectedVehicle());
+    }
+
+    @Test
+    public void itShouldPassDriverOfEmptyRoute() {
+        emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(small1), calculator);
+        assertSame(emptyRouteInsertions.getEmptyRoute(service).getDriver(), calculator.lastDriver);
+        assertNotNull(calculator.lastDriver);
+    }
+
+    @Test
+    public void whenInvalidated_itShouldReevaluate() {
+        emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(small1), calculator);
+        emptyRouteInsertions.invalidate(service);
+        emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(small1), calculator);
+        assertEquals(2, calculator.calls);
+    }
+
+    @Test
+    public void whenNoVehicleFits_itShouldCollectFailedConstraints() {
+        InsertionData iData = emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(infeasible), calculator);
+        assertTrue(iData instanceof InsertionData.NoInsertionFound);
+        assertTrue(iData.getFailedConstraintNames().contains("constraint"));
+        iData = emptyRouteInsertions.getBestInsertion(service, fleetManagerWith(), calculator);
+        assertTrue(iData.getFailedConstraintNames().isEmpty());
+    }
+
+}
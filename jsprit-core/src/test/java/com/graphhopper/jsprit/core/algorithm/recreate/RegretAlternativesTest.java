@@ -0,0 +1,95 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RegretAlternativesTest {
+
+    private static InsertionData iData(double costs) {
+        return new InsertionData(costs, 0, 0, null, null);
+    }
+
+    private static void set(RegretAlternatives alternatives, int slot, double... costs) {
+        alternatives.clear(slot, VehicleRoute.emptyRoute());
+        for (double c : costs) alternatives.add(slot, iData(c));
+    }
+
+    @Test
+    public void whenEmpty_thereShouldBeNoBestSlots() {
+        RegretAlternatives alternatives = new RegretAlternatives(3);
+        assertEquals(-1, alternatives.getBestSlot());
+        assertEquals(-1, alternatives.getSecondBestSlot());
+    }
+
+    @Test
+    public void bestAndSecondBestSlotShouldBeDeterminedByCheapestCandidates() {
+        RegretAlternatives alternatives = new RegretAlternatives(3);
+        set(alternatives, 0, 30, 5);
+        set(alternatives, 1, 10);
+        set(alternatives, 2, 20, 7, 8);
+        assertEquals(0, alternatives.getBestSlot());
+        assertEquals(2, alternatives.getSecondBestSlot());
+        assertEquals(5., alternatives.getCandidate(0, 0).getInsertionCost(), 0.01);
+        assertEquals(30., alternatives.getCandidate(0, 1).getInsertionCost(), 0.01);
+        assertEquals(3, alternatives.getNoCandidates(2));
+        assertEquals(8., alternatives.getCandidate(2, 1).getInsertionCost(), 0.01);
+    }
+
+    @Test
+    public void whenBestSlotGetsWorse_slotsShouldBeRecomputed() {
+        RegretAlternatives alternatives = new RegretAlternatives(3);
+        set(alternatives, 0, 5);
+        set(alternatives, 1, 10);
+        set(alternatives, 2, 20);
+        set(alternatives, 0, 50);
+        assertEquals(1, alternatives.getBestSlot());
+        assertEquals(2, alternatives.getSecondBestSlot());
+    }
+
+    @Test
+    public void whenSlotWithoutCandidatesRemains_itShouldBeIgnored() {
+        RegretAlternatives alternatives = new RegretAlternatives(2);
+        set(alternatives, 0, 5);
+        set(alternatives, 1, 10);
+        set(alternatives, 0);
+        assertEquals(1, alternatives.getBestSlot());
+        assertEquals(-1, alternatives.getSecondBestSlot());
+    }
+
+    @Test
+    public void whenOtherSlotImproves_itShouldBecomeBestWithoutRecomputation() {
+        RegretAlternatives alternatives = new RegretAlternatives(1);
+        set(alternatives, 0, 5);
+        set(alternatives, 1, 10);
+        assertEquals(1, alternatives.getSecondBestSlot());
+        VehicleRoute route = VehicleRoute.emptyRoute();
+        set(alternatives, 2, 20);
+        alternatives.clear(3, route);
+        alternatives.add(3, iData(1));
+        assertEquals(3, alternatives.getBestSlot());
+        assertEquals(0, alternatives.getSecondBestSlot());
+        assertSame(route, alternatives.getRoute(3));
+        assertEquals(4, alternatives.getNoSlots());
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.recreate;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.constraint.DependencyType;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RegretBatchTest {
+
+    private Service s1;
+
+    private Service s2;
+
+    private Service s3;
+
+    private Service s4;
+
+    private VehicleImpl v1;
+
+    private VehicleImpl v2;
+
+    private VehicleImpl v3;
+
+    private VehicleRoute r1;
+
+    private VehicleRoute r2;
+
+    private VehicleRoute r3;
+
+    @Before
+    public void doBefore() {
+        s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(0, 10)).build();
+        s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(0, 20)).build();
+        s3 = Service.Builder.newInstance("s3").setLocation(Location.newInstance(0, 30)).build();
+        s4 = Service.Builder.newInstance("s4").setLocation(Location.newInstance(0, 40)).build();
+        v1 = VehicleImpl.Builder.newInstance("v1").setStartLocation(Location.newInstance(0, 0)).build();
+        v2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance(0, 0)).build();
+        v3 = VehicleImpl.Builder.newInstance("v3").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder.newInstance().addJob(s1).addJob(s2).addJob(s3).addJob(s4)
+            .addVehicle(v1).addVehicle(v2).addVehicle(v3).build();
+        r1 = VehicleRoute.Builder.newInstance(v1).build();
+        r2 = VehicleRoute.Builder.newInstance(v2).build();
+        r3 = VehicleRoute.Builder.newInstance(v3).build();
+    }
+
+    private ScoredJob scoredJob(Service service, double score, VehicleRoute route, Vehicle selectedVehicle) {
+        return new ScoredJob(service, score, new InsertionData(0., 0, 0, selectedVehicle, null), route, false);
+    }
+
+    @Test
+    public void whenBatchSizeIsOne_onlyBestJobShouldBeSelected() {
+        ScoredJob best = scoredJob(s1, 10, r1, v1);
+        List<ScoredJob> batch = RegretBatch.select(best, Arrays.asList(best, scoredJob(s2, 5, r2, v2)), 1, null);
+        assertEquals(1, batch.size());
+        assertSame(best, batch.get(0));
+    }
+
+    @Test
+    public void jobsShouldBeSelectedByScoreAsLongAsRoutesAreDisjoint() {
+        ScoredJob best = scoredJob(s1, 10, r1, v1);
+        ScoredJob sameRoute = scoredJob(s2, 8, r1, v1);
+        ScoredJob second = scoredJob(s3, 5, r2, v2);
+        ScoredJob third = scoredJob(s4, 7, r3, v3);
+        List<ScoredJob> batch = RegretBatch.select(best, Arrays.asList(second, sameRoute, best, third), 10, null);
+        assertEquals(3, batch.size());
+        assertSame(best, batch.get(0));
+        assertSame(third, batch.get(1));
+        assertSame(second, batch.get(2));
+    }
+
+    @Test
+    public void batchShouldNotExceedBatchSize() {
+        ScoredJob best = scoredJob(s1, 10, r1, v1);
+        ScoredJob second = scoredJob(s2, 8, r2, v2);
+        List<ScoredJob> batch = RegretBatch.select(best, Arrays.asList(best, second, scoredJob(s3, 5, r3, v3)), 2, null);
+        assertEquals(2, batch.size());
+        assertSame(second, batch.get(1));
+    }
+
+    @Test
+    public void newRoutesAndVehicleSwitchesShouldNotJoinBatch() {
+        ScoredJob best = scoredJob(s1, 10, r1, v1);
+        ScoredJob newRoute = new ScoredJob(s2, 8, new InsertionData(0., 0, 0, v3, null), VehicleRoute.emptyRoute(), true);
+        ScoredJob switchVehicle = scoredJob(s3, 7, r2, v3);
+        List<ScoredJob> batch = RegretBatch.select(best, Arrays.asList(best, newRoute, switchVehicle), 10, null);
+        assertEquals(1, batch.size());
+    }
+
+    @Test
+    public void dependentJobsShouldOnlyBeInsertedAlone() {
+        DependencyType[] dependencyTypes = new DependencyType[5];
+        dependencyTypes[s1.getIndex()] = DependencyType.INTER_ROUTE;
+        dependencyTypes[s3.getIndex()] = DependencyType.INTRA_ROUTE;
+        dependencyTypes[s4.getIndex()] = DependencyType.NO_TYPE;
+        ScoredJob s1Job = scoredJob(s1, 10, r1, v1);
+        ScoredJob s2Job = scoredJob(s2, 8, r2, v2);
+        ScoredJob s3Job = scoredJob(s3, 7, r3, v3);
+        assertEquals(1, RegretBatch.select(s1Job, Arrays.asList(s1Job, s2Job, s3Job), 10, dependencyTypes).size());
+
+        ScoredJob s4Job = scoredJob(s4, 6, r1, v1);
+        List<ScoredJob> batch = RegretBatch.select(s2Job, Arrays.asList(s2Job, s3Job, s4Job), 10, dependencyTypes);
+        assertEquals(2, batch.size());
+        assertSame(s4Job, batch.get(1));
+    }
+
+}
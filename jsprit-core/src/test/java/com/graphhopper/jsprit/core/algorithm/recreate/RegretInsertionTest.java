@@ -125,6 +125,42 @@ public class RegretInsertionTest {
         Assert.assertEquals(2, solution.getRoutes().size());
     }
 
+    @Test
+    public void batchedRegretMustInsertAllJobs() {
+        for (String fastRegret : new String[]{"true", "false"}) {
+            VehicleRoutingProblem vrp = getCapacitatedProblem();
+            VehicleRoutingAlgorithm vra = Jsprit.Builder.newInstance(vrp)
+                .setProperty(Jsprit.Parameter.FAST_REGRET, fastRegret)
+                .setProperty(Jsprit.Parameter.REGRET_BATCH_SIZE, "5")
+                .setProperty(Jsprit.Parameter.ITERATIONS, "20").buildAlgorithm();
+
+            VehicleRoutingProblemSolution solution = Solutions.bestOf(vra.searchSolutions());
+
+            Assert.assertTrue(solution.getUnassignedJobs().isEmpty());
+            int noJobs = 0;
+            for (VehicleRoute route : solution.getRoutes()) {
+                Assert.assertTrue(route.getTourActivities().getJobs().size() <= 5);
+                noJobs += route.getTourActivities().getJobs().size();
+            }
+            Assert.assertEquals(vrp.getJobs().size(), noJobs);
+        }
+    }
+
+    private VehicleRoutingProblem getCapacitatedProblem() {
+        VehicleType type = VehicleTypeImpl.Builder.newInstance("type").addCapacityDimension(0, 5).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance()
+            .setFleetSize(VehicleRoutingProblem.FleetSize.FINITE);
+        for (int i = 0; i < 4; i++) {
+            vrpBuilder.addVehicle(VehicleImpl.Builder.newInstance("v" + i).setType(type)
+                .setStartLocation(Location.newInstance(i * 10, 0)).build());
+        }
+        for (int i = 0; i < 20; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).addSizeDimension(0, 1)
+                .setLocation(Location.newInstance((i % 5) * 10, (i / 5) * 10)).build());
+        }
+        return vrpBuilder.build();
+    }
+
     static class JobInRouteUpdater implements StateUpdater, ActivityVisitor {
 
         private StateManager stateManager;
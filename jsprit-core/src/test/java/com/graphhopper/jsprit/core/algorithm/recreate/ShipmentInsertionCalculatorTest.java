@@ -23,6 +23,7 @@ import com.graphhopper.jsprit.core.problem.AbstractActivity;
 import com.graphhopper.jsprit.core.problem.JobActivityFactory;
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.constraint.BoundedSoftActivityConstraint;
 import com.graphhopper.jsprit.core.problem.constraint.ConstraintManager;
 import com.graphhopper.jsprit.core.problem.constraint.HardRouteConstraint;
 import com.graphhopper.jsprit.core.problem.constraint.PickupAndDeliverShipmentLoadActivityLevelConstraint;
@@ -54,8 +55,15 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -124,6 +132,89 @@ public class ShipmentInsertionCalculatorTest {
         assertEquals(40.0, iData.getInsertionCost(), 0.05);
     }
 
+    @Test
+    public void whenLowerBoundOfSoftConstraintExceedsBestKnownCosts_deliveryCostsShouldNotBeEvaluated() {
+        Shipment shipment = Shipment.Builder.newInstance("s").addSizeDimension(0, 1).setPickupLocation(Location.Builder.newInstance().setId("0,10").build()).setDeliveryLocation(Location.newInstance("10,0")).build();
+        BoundedSoftActivityConstraint softConstraint = mock(BoundedSoftActivityConstraint.class);
+        when(softConstraint.getLowerBound(any(JobInsertionContext.class), any(TourActivity.class), any(TourActivity.class), any(TourActivity.class), anyDouble())).thenReturn(100.);
+        when(softConstraint.getCosts(any(JobInsertionContext.class), any(TourActivity.class), any(TourActivity.class), any(TourActivity.class), anyDouble())).thenReturn(100.);
+        ConstraintManager constraintManager = new ConstraintManager(mock(VehicleRoutingProblem.class), mock(RouteAndActivityStateGetter.class));
+        constraintManager.addConstraint(softConstraint);
+        ShipmentInsertionCalculator insertionCalculator = new ShipmentInsertionCalculator(routingCosts, activityCosts, activityInsertionCostsCalculator, constraintManager);
+        JobActivityFactory activityFactory = mock(JobActivityFactory.class);
+        List<AbstractActivity> activities = new ArrayList<AbstractActivity>();
+        activities.add(new PickupShipment(shipment));
+        activities.add(new DeliverShipment(shipment));
+        when(activityFactory.createActivities(shipment)).thenReturn(activities);
+        insertionCalculator.setJobActivityFactory(activityFactory);
+
+        InsertionData iData = insertionCalculator.getInsertionData(VehicleRoute.emptyRoute(), shipment, vehicle, 0.0, null, 100.);
+        assertTrue(iData instanceof InsertionData.NoInsertionFound);
+        verify(softConstraint, never()).getCosts(any(JobInsertionContext.class), any(TourActivity.class), isA(DeliverShipment.class), any(TourActivity.class), anyDouble());
+
+        iData = insertionCalculator.getInsertionData(VehicleRoute.emptyRoute(), shipment, vehicle, 0.0, null, Double.MAX_VALUE);
+        assertEquals(240.0, iData.getInsertionCost(), 0.05);
+    }
+
+    @Test
+    public void whenDeliveryHasNegativeMarginalCosts_expensivePickupShouldNotBePruned() {
+        Shipment shipment = Shipment.Builder.newInstance("s").addSizeDimension(0, 1).setPickupLocation(Location.Builder.newInstance().setId("0,10").build()).setDeliveryLocation(Location.newInstance("10,0")).build();
+        BoundedSoftActivityConstraint softConstraint = new BoundedSoftActivityConstraint() {
+
+            @Override
+            public double getLowerBound(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime) {
+                return getCosts(iFacts, prevAct, newAct, nextAct, prevActDepTime);
+            }
+
+            @Override
+            public double getCosts(JobInsertionContext iFacts, TourActivity prevAct, TourActivity newAct, TourActivity nextAct, double prevActDepTime) {
+                if (newAct instanceof PickupShipment) return 100.;
+                if (newAct instanceof DeliverShipment) return -100.;
+                return 0.;
+            }
+
+        };
+        ConstraintManager constraintManager = new ConstraintManager(mock(VehicleRoutingProblem.class), mock(RouteAndActivityStateGetter.class));
+        constraintManager.addConstraint(softConstraint);
+        ShipmentInsertionCalculator insertionCalculator = new ShipmentInsertionCalculator(routingCosts, activityCosts, activityInsertionCostsCalculator, constraintManager);
+        JobActivityFactory activityFactory = mock(JobActivityFactory.class);
+        List<AbstractActivity> activities = new ArrayList<AbstractActivity>();
+        activities.add(new PickupShipment(shipment));
+        activities.add(new DeliverShipment(shipment));
+        when(activityFactory.createActivities(shipment)).thenReturn(activities);
+        insertionCalculator.setJobActivityFactory(activityFactory);
+
+        InsertionData iData = insertionCalculator.getInsertionData(VehicleRoute.emptyRoute(), shipment, vehicle, 0.0, null, 50.);
+        assertFalse(iData instanceof InsertionData.NoInsertionFound);
+        assertEquals(40.0, iData.getInsertionCost(), 0.05);
+    }
+
+    @Test
+    public void whenInsertionDataIsApplied_eventsShouldBeCreatedInInsertionOrder() {
+        Shipment shipment = Shipment.Builder.newInstance("s").addSizeDimension(0, 1).setPickupLocation(Location.Builder.newInstance().setId("0,10").build()).setDeliveryLocation(Location.newInstance("10,0")).build();
+        VehicleRoute route = VehicleRoute.emptyRoute();
+        JobActivityFactory activityFactory = mock(JobActivityFactory.class);
+        List<AbstractActivity> activities = new ArrayList<AbstractActivity>();
+        PickupShipment pickup = new PickupShipment(shipment);
+        DeliverShipment delivery = new DeliverShipment(shipment);
+        activities.add(pickup);
+        activities.add(delivery);
+        when(activityFactory.createActivities(shipment)).thenReturn(activities);
+        insertionCalculator.setJobActivityFactory(activityFactory);
+        InsertionData iData = insertionCalculator.getInsertionData(route, shipment, vehicle, 5.0, null, Double.MAX_VALUE);
+
+        List<Event> events = iData.getEvents();
+        assertEquals(3, events.size());
+        assertSame(delivery, ((InsertActivity) events.get(0)).getActivity());
+        assertEquals(iData.getDeliveryInsertionIndex(), ((InsertActivity) events.get(0)).getIndex());
+        assertSame(pickup, ((InsertActivity) events.get(1)).getActivity());
+        assertEquals(iData.getPickupInsertionIndex(), ((InsertActivity) events.get(1)).getIndex());
+        assertSame(route, ((SwitchVehicle) events.get(2)).getRoute());
+        assertSame(vehicle, ((SwitchVehicle) events.get(2)).getVehicle());
+        assertEquals(5.0, ((SwitchVehicle) events.get(2)).getDepartureTime(), 0.01);
+        assertSame(events, iData.getEvents());
+    }
+
     @Test
     public void whenCalculatingInsertionIntoExistingRoute_itShouldReturnCorrectCosts() {
         Shipment shipment = Shipment.Builder.newInstance("s").addSizeDimension(0, 1).setPickupLocation(Location.Builder.newInstance().setId("0,10").build()).setDeliveryLocation(Location.newInstance("10,0")).build();
@@ -0,0 +1,231 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.ruin;
+
+import com.graphhopper.jsprit.core.algorithm.ruin.listener.RuinListener;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class AbstractRuinStrategyTest {
+
+    @Test
+    public void whenRemovingJobs_theyShouldBeRemovedFromTheirRoutes() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 0)).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(2, 0)).build();
+        Service s3 = Service.Builder.newInstance("s3").setLocation(Location.newInstance(3, 0)).build();
+        Shipment sh = Shipment.Builder.newInstance("sh").setPickupLocation(Location.newInstance(4, 0))
+            .setDeliveryLocation(Location.newInstance(5, 0)).build();
+        Service initial = Service.Builder.newInstance("initial").setLocation(Location.newInstance(6, 0)).build();
+        VehicleImpl v1 = VehicleImpl.Builder.newInstance("v1").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleImpl v2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleImpl v3 = VehicleImpl.Builder.newInstance("v3").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoute initialRoute = VehicleRoute.Builder.newInstance(v3).addService(initial).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addJob(s1).addJob(s2).addJob(s3).addJob(sh)
+            .addVehicle(v1).addVehicle(v2).addInitialVehicleRoute(initialRoute).build();
+
+        VehicleRoute r1 = VehicleRoute.Builder.newInstance(v1).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(s1).addService(s2).build();
+        VehicleRoute r2 = VehicleRoute.Builder.newInstance(v2).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(s3).addPickup(sh).addDelivery(sh).build();
+        VehicleRoute r3 = VehicleRoute.copyOf(initialRoute);
+
+        final List<Job> toRemove = Arrays.<Job>asList(s3, initial, sh, s1, s1);
+        AbstractRuinStrategy ruin = new AbstractRuinStrategy(vrp) {
+            @Override
+            public Collection<Job> ruinRoutes(Collection<VehicleRoute> vehicleRoutes) {
+                List<Job> removed = new ArrayList<Job>();
+                for (Job j : toRemove) {
+                    if (removeJob(j, vehicleRoutes)) removed.add(j);
+                }
+                return removed;
+            }
+        };
+        final List<String> removals = new ArrayList<String>();
+        ruin.addListener(new RuinListener() {
+            @Override
+            public void ruinStarts(Collection<VehicleRoute> routes) {
+            }
+
+            @Override
+            public void ruinEnds(Collection<VehicleRoute> routes, Collection<Job> unassignedJobs) {
+            }
+
+            @Override
+            public void removed(Job job, VehicleRoute fromRoute) {
+                removals.add(job.getId() + "@" + fromRoute.getVehicle().getId());
+            }
+        });
+
+        Collection<Job> unassigned = ruin.ruin(Arrays.asList(r1, r2, r3));
+        assertEquals(Arrays.<Job>asList(s3, sh, s1), unassigned);
+        assertEquals(Arrays.asList("s3@v2", "sh@v2", "s1@v1"), removals);
+        assertEquals(1, r1.getActivities().size());
+        assertTrue(r1.getTourActivities().servesJob(s2));
+        assertTrue(r2.isEmpty());
+        assertTrue(r3.getTourActivities().servesJob(initial));
+    }
+
+    @Test
+    public void whenRemovingJobsInBulk_theyShouldBeRemovedFromTheirRoutesInOrderOfJobs() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 0)).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(2, 0)).build();
+        Service s3 = Service.Builder.newInstance("s3").setLocation(Location.newInstance(3, 0)).build();
+        Service s4 = Service.Builder.newInstance("s4").setLocation(Location.newInstance(7, 0)).build();
+        Shipment sh = Shipment.Builder.newInstance("sh").setPickupLocation(Location.newInstance(4, 0))
+            .setDeliveryLocation(Location.newInstance(5, 0)).build();
+        Service initial = Service.Builder.newInstance("initial").setLocation(Location.newInstance(6, 0)).build();
+        VehicleImpl v1 = VehicleImpl.Builder.newInstance("v1").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleImpl v2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleImpl v3 = VehicleImpl.Builder.newInstance("v3").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoute initialRoute = VehicleRoute.Builder.newInstance(v3).addService(initial).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addJob(s1).addJob(s2).addJob(s3).addJob(s4)
+            .addJob(sh).addVehicle(v1).addVehicle(v2).addInitialVehicleRoute(initialRoute).build();
+
+        VehicleRoute r1 = VehicleRoute.Builder.newInstance(v1).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(s1).addService(s2).build();
+        VehicleRoute r2 = VehicleRoute.Builder.newInstance(v2).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(s3).addPickup(sh).addDelivery(sh).build();
+        VehicleRoute r3 = VehicleRoute.copyOf(initialRoute);
+
+        final List<Job> toRemove = Arrays.<Job>asList(s3, initial, s4, sh, s1, s1);
+        AbstractRuinStrategy ruin = new AbstractRuinStrategy(vrp) {
+            @Override
+            public Collection<Job> ruinRoutes(Collection<VehicleRoute> vehicleRoutes) {
+                return removeJobs(toRemove, vehicleRoutes);
+            }
+        };
+        final List<String> removals = new ArrayList<String>();
+        ruin.addListener(new RuinListener() {
+            @Override
+            public void ruinStarts(Collection<VehicleRoute> routes) {
+            }
+
+            @Override
+            public void ruinEnds(Collection<VehicleRoute> routes, Collection<Job> unassignedJobs) {
+            }
+
+            @Override
+            public void removed(Job job, VehicleRoute fromRoute) {
+                removals.add(job.getId() + "@" + fromRoute.getVehicle().getId());
+            }
+        });
+
+        Collection<Job> unassigned = ruin.ruin(Arrays.asList(r1, r2, r3));
+        assertEquals(Arrays.<Job>asList(s3, sh, s1), unassigned);
+        assertEquals(Arrays.asList("s3@v2", "sh@v2", "s1@v1"), removals);
+        assertEquals(1, r1.getActivities().size());
+        assertTrue(r1.getTourActivities().servesJob(s2));
+        assertTrue(r2.isEmpty());
+        assertTrue(r3.getTourActivities().servesJob(initial));
+    }
+
+    @Test
+    public void whenRuiningTwice_indexShouldReflectCurrentRoutes() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 0)).build();
+        VehicleImpl v1 = VehicleImpl.Builder.newInstance("v1").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleImpl v2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addJob(s1).addVehicle(v1).addVehicle(v2).build();
+        final Service toRemove = s1;
+        AbstractRuinStrategy ruin = new AbstractRuinStrategy(vrp) {
+            @Override
+            public Collection<Job> ruinRoutes(Collection<VehicleRoute> vehicleRoutes) {
+                List<Job> removed = new ArrayList<Job>();
+                if (removeJob(toRemove, vehicleRoutes)) removed.add(toRemove);
+                return removed;
+            }
+        };
+        VehicleRoute r1 = VehicleRoute.Builder.newInstance(v1).setJobActivityFactory(vrp.getJobActivityFactory()).addService(s1).build();
+        VehicleRoute r2 = VehicleRoute.Builder.newInstance(v2).setJobActivityFactory(vrp.getJobActivityFactory()).build();
+        assertEquals(1, ruin.ruin(Arrays.asList(r1, r2)).size());
+        assertTrue(r1.isEmpty());
+
+        r2 = VehicleRoute.Builder.newInstance(v2).setJobActivityFactory(vrp.getJobActivityFactory()).addService(s1).build();
+        assertEquals(1, ruin.ruin(Arrays.asList(r1, r2)).size());
+        assertTrue(r2.isEmpty());
+        assertEquals(0, ruin.ruin(Arrays.asList(r1, r2)).size());
+    }
+
+    @Test
+    public void whenSharedByConcurrentThreads_eachRuinShouldRemoveJobsFromItsOwnRoutes() throws Exception {
+        final VehicleImpl v1 = VehicleImpl.Builder.newInstance("v1").setStartLocation(Location.newInstance(0, 0)).build();
+        final VehicleImpl v2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(v1).addVehicle(v2);
+        for (int i = 0; i < 20; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(i, 0)).build());
+        }
+        final VehicleRoutingProblem vrp = vrpBuilder.build();
+        final List<Job> jobs = new ArrayList<Job>(vrp.getJobs().values());
+        final AbstractRuinStrategy ruin = new AbstractRuinStrategy(vrp) {
+            @Override
+            public Collection<Job> ruinRoutes(Collection<VehicleRoute> vehicleRoutes) {
+                List<Job> removed = new ArrayList<Job>();
+                for (Job j : jobs) {
+                    if (removeJob(j, vehicleRoutes)) removed.add(j);
+                }
+                return removed;
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    for (int run = 0; run < 200; run++) {
+                        VehicleRoute.Builder b1 = VehicleRoute.Builder.newInstance(v1).setJobActivityFactory(vrp.getJobActivityFactory());
+                        VehicleRoute.Builder b2 = VehicleRoute.Builder.newInstance(v2).setJobActivityFactory(vrp.getJobActivityFactory());
+                        for (int i = 0; i < jobs.size(); i++) {
+                            if (i % 2 == 0) b1.addService((Service) jobs.get(i));
+                            else b2.addService((Service) jobs.get(i));
+                        }
+                        VehicleRoute r1 = b1.build();
+                        VehicleRoute r2 = b2.build();
+                        if (ruin.ruin(Arrays.asList(r1, r2)).size() != jobs.size()) return false;
+                        if (!r1.isEmpty() || !r2.isEmpty()) return false;
+                    }
+                    return true;
+                }
+            }));
+        }
+        try {
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
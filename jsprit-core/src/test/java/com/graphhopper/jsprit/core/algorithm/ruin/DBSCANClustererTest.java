@@ -21,19 +21,39 @@ package com.graphhopper.jsprit.core.algorithm.ruin;
 import com.graphhopper.jsprit.core.problem.Location;
 import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
 import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
 import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
 import com.graphhopper.jsprit.core.util.EuclideanCosts;
 import junit.framework.Assert;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Created by schroeder on 06/03/15.
  */
 public class DBSCANClustererTest {
 
+    private static class Point implements Clusterable {
+
+        private final double[] point;
+
+        Point(double[] point) {
+            this.point = point;
+        }
+
+        @Override
+        public double[] getPoint() {
+            return point;
+        }
+    }
+
     @Test
     public void itShouldReturnOneClusterOfSizeTwo() {
         Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1, 1)).build();
@@ -86,4 +106,106 @@ public class DBSCANClustererTest {
         Assert.assertEquals(3, cluster.size());
 
     }
+
+    @Test
+    public void clustersShouldEqualReferenceImplementation() {
+        Random random = new Random(7);
+        DBSCANClusterer c = new DBSCANClusterer(new EuclideanCosts());
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        for (int run = 0; run < 20; run++) {
+            int noServices = 5 + random.nextInt(40);
+            VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(v);
+            List<Point> points = new ArrayList<Point>();
+            List<Service> services = new ArrayList<Service>();
+            for (int i = 0; i < noServices; i++) {
+                int x = random.nextInt(30);
+                int y = random.nextInt(30);
+                Service s = Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(x, y)).build();
+                routeBuilder.addService(s);
+                services.add(s);
+                points.add(new Point(new double[]{x, y}));
+            }
+            int minPts = 1 + random.nextInt(2);
+            double eps = 2 + random.nextInt(4);
+            c.setMinPts(minPts);
+            c.setEpsDistance(eps);
+            List<List<Job>> clusters = c.getClusters(routeBuilder.build());
+
+            List<Cluster<Point>> expected = new org.apache.commons.math3.ml.clustering.DBSCANClusterer<Point>(eps, minPts, new EuclideanDistance()).cluster(points);
+            Assert.assertEquals(expected.size(), clusters.size());
+            for (int k = 0; k < expected.size(); k++) {
+                List<Job> expectedJobs = new ArrayList<Job>();
+                for (Point p : expected.get(k).getPoints()) {
+                    expectedJobs.add(services.get(indexOf(points, p)));
+                }
+                Assert.assertEquals(expectedJobs, clusters.get(k));
+            }
+        }
+    }
+
+    @Test
+    public void clustersOfLargeRoutesShouldEqualClustersOfLinearScan() {
+        Random random = new Random(11);
+        EuclideanCosts costs = new EuclideanCosts();
+        costs.detourFactor = 1.3;
+        EuclideanCosts subclassedCosts = new EuclideanCosts() {
+        };
+        subclassedCosts.detourFactor = 1.3;
+        DBSCANClusterer indexed = new DBSCANClusterer(costs);
+        DBSCANClusterer scanned = new DBSCANClusterer(subclassedCosts);
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        for (int run = 0; run < 20; run++) {
+            int noServices = 32 + random.nextInt(200);
+            VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(v);
+            for (int i = 0; i < noServices; i++) {
+                routeBuilder.addService(Service.Builder.newInstance("s" + i)
+                    .setLocation(Location.newInstance(random.nextInt(60), random.nextInt(60))).build());
+            }
+            VehicleRoute route = routeBuilder.build();
+            int minPts = 1 + random.nextInt(2);
+            double eps = 1.3 * (1 + random.nextInt(5));
+            indexed.setMinPts(minPts);
+            indexed.setEpsDistance(eps);
+            scanned.setMinPts(minPts);
+            scanned.setEpsDistance(eps);
+            Assert.assertEquals(scanned.getClusters(route), indexed.getClusters(route));
+        }
+    }
+
+    private int indexOf(List<Point> points, Point p) {
+        for (int i = 0; i < points.size(); i++) {
+            if (points.get(i) == p) return i;
+        }
+        return -1;
+    }
+
+    @Test
+    public void whenRouteIsEmpty_itShouldReturnNoCluster() {
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoute r = VehicleRoute.Builder.newInstance(v).build();
+
+        DBSCANClusterer c = new DBSCANClusterer(new EuclideanCosts());
+        Assert.assertTrue(c.getClusters(r).isEmpty());
+        c.setEpsDistance(2);
+        Assert.assertTrue(c.getClusters(r).isEmpty());
+        Assert.assertTrue(c.getRandomCluster(r).isEmpty());
+    }
+
+    @Test
+    public void shipmentDistanceShouldBeAveragedOverPickupAndDelivery() {
+        Shipment sh = Shipment.Builder.newInstance("sh").setPickupLocation(Location.newInstance(0, 10))
+            .setDeliveryLocation(Location.newInstance(0, 14)).build();
+        Service s = Service.Builder.newInstance("s").setLocation(Location.newInstance(0, 12)).build();
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoute r = VehicleRoute.Builder.newInstance(v).addPickup(sh).addService(s).addDelivery(sh).build();
+
+        DBSCANClusterer c = new DBSCANClusterer(new EuclideanCosts());
+        c.setEpsDistance(2);
+        List<List<Job>> clusters = c.getClusters(r);
+        Assert.assertEquals(1, clusters.size());
+        Assert.assertEquals(2, clusters.get(0).size());
+
+        c.setEpsDistance(1.9);
+        Assert.assertEquals(0, c.getClusters(r).size());
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.ruin;
+
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.AvgServiceAndShipmentDistance;
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.JobDistance;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class JobNeighborhoodsCacheTest {
+
+    private VehicleRoutingProblem vrp;
+
+    @Before
+    public void doBefore() {
+        VehicleRoutingProblem.Builder builder = VehicleRoutingProblem.Builder.newInstance();
+        for (int i = 0; i < 20; i++) {
+            builder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(i, 0)).build());
+        }
+        vrp = builder.build();
+    }
+
+    @Test
+    public void equalJobDistancesShouldShareNeighborhoods() {
+        JobNeighborhoodsCache cache = new JobNeighborhoodsCache(vrp);
+        JobNeighborhoods n1 = cache.getNeighborhoods(new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 5);
+        JobNeighborhoods n2 = cache.getNeighborhoods(new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 5);
+        assertSame(n1, n2);
+        assertNotSame(n1, cache.getNeighborhoods(new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 6));
+    }
+
+    @Test
+    public void neighborhoodsShouldBeInitialised() {
+        JobNeighborhoodsCache cache = new JobNeighborhoodsCache(vrp);
+        JobNeighborhoods neighborhoods = cache.getNeighborhoods(new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 2);
+        List<Job> neighbors = new ArrayList<Job>();
+        Iterator<Job> iterator = neighborhoods.getNearestNeighborsIterator(2, vrp.getJobs().get("s5"));
+        while (iterator.hasNext()) neighbors.add(iterator.next());
+        assertEquals(2, neighbors.size());
+        assertTrue(neighbors.contains(vrp.getJobs().get("s4")));
+        assertTrue(neighbors.contains(vrp.getJobs().get("s6")));
+    }
+
+    @Test
+    public void concurrentRequestsShouldBuildNeighborhoodsOnlyOnce() throws Exception {
+        final AtomicInteger noDistanceCalls = new AtomicInteger(0);
+        final JobDistance jobDistance = new JobDistance() {
+            @Override
+            public double getDistance(Job i, Job j) {
+                noDistanceCalls.incrementAndGet();
+                return Math.abs(((Service) i).getLocation().getCoordinate().getX() - ((Service) j).getLocation().getCoordinate().getX());
+            }
+        };
+        final JobNeighborhoodsCache cache = new JobNeighborhoodsCache(vrp);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<JobNeighborhoods>> futures = new ArrayList<Future<JobNeighborhoods>>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(new Callable<JobNeighborhoods>() {
+                @Override
+                public JobNeighborhoods call() throws Exception {
+                    return cache.getNeighborhoods(jobDistance, 3);
+                }
+            }));
+        }
+        JobNeighborhoods first = futures.get(0).get();
+        for (Future<JobNeighborhoods> future : futures) {
+            assertSame(first, future.get());
+        }
+        executor.shutdown();
+        assertEquals(20 * 19, noDistanceCalls.get());
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.ruin;
+
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.AvgServiceAndShipmentDistance;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.util.EuclideanCosts;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class JobNeighborhoodsSpatialTest {
+
+    private VehicleRoutingProblem createProblem(int nJobs) {
+        Random random = new Random(1);
+        VehicleRoutingProblem.Builder builder = VehicleRoutingProblem.Builder.newInstance();
+        for (int i = 0; i < nJobs; i++) {
+            builder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(random.nextInt(50), random.nextInt(50))).build());
+        }
+        return builder.build();
+    }
+
+    private List<Job> toList(Iterator<Job> iterator) {
+        List<Job> jobs = new ArrayList<Job>();
+        while (iterator.hasNext()) jobs.add(iterator.next());
+        return jobs;
+    }
+
+    @Test
+    public void neighborhoodsShouldEqualPrecomputedNeighborhoods() {
+        VehicleRoutingProblem vrp = createProblem(200);
+        AvgServiceAndShipmentDistance jobDistance = new AvgServiceAndShipmentDistance(vrp.getTransportCosts());
+        JobNeighborhoodsFactory factory = new JobNeighborhoodsFactory();
+        factory.setUseSpatialIndex(true);
+        JobNeighborhoods spatial = factory.createNeighborhoods(vrp, jobDistance, 40);
+        assertTrue(spatial instanceof JobNeighborhoodsSpatial);
+        spatial.initialise();
+        JobNeighborhoods optimized = new JobNeighborhoodsOptimized(vrp, jobDistance, 40);
+        optimized.initialise();
+        for (Job job : vrp.getJobs().values()) {
+            assertEquals(toList(optimized.getNearestNeighborsIterator(25, job)), toList(spatial.getNearestNeighborsIterator(25, job)));
+        }
+        assertEquals(optimized.getMaxDistance(), spatial.getMaxDistance(), 0.0001);
+    }
+
+    @Test
+    public void numberOfNeighborsShouldBeRestrictedByCapacity() {
+        VehicleRoutingProblem vrp = createProblem(20);
+        JobNeighborhoodsSpatial spatial = new JobNeighborhoodsSpatial(vrp, 5, 1.);
+        spatial.initialise();
+        assertEquals(5, toList(spatial.getNearestNeighborsIterator(10, vrp.getJobs().get("s0"))).size());
+    }
+
+    @Test
+    public void whenProblemContainsShipments_precomputedNeighborhoodsShouldBeUsed() {
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance()
+            .addJob(Service.Builder.newInstance("s").setLocation(Location.newInstance(0, 0)).build())
+            .addJob(Shipment.Builder.newInstance("sh").setPickupLocation(Location.newInstance(1, 0))
+                .setDeliveryLocation(Location.newInstance(2, 0)).build()).build();
+        JobNeighborhoodsFactory factory = new JobNeighborhoodsFactory();
+        factory.setUseSpatialIndex(true);
+        JobNeighborhoods neighborhoods = factory.createNeighborhoods(vrp, new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 1);
+        assertFalse(neighborhoods instanceof JobNeighborhoodsSpatial);
+    }
+
+    @Test
+    public void byDefault_precomputedNeighborhoodsShouldBeUsed() {
+        VehicleRoutingProblem vrp = createProblem(20);
+        JobNeighborhoods neighborhoods = new JobNeighborhoodsFactory().createNeighborhoods(vrp, new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 5);
+        assertFalse(neighborhoods instanceof JobNeighborhoodsSpatial);
+    }
+
+    @Test
+    public void whenTransportCostsSubclassEuclideanCosts_precomputedNeighborhoodsShouldBeUsed() {
+        VehicleRoutingProblem.Builder builder = VehicleRoutingProblem.Builder.newInstance();
+        builder.addJob(Service.Builder.newInstance("s1").setLocation(Location.newInstance(0, 0)).build());
+        builder.addJob(Service.Builder.newInstance("s2").setLocation(Location.newInstance(1, 0)).build());
+        builder.setRoutingCost(new EuclideanCosts() {
+
+            @Override
+            public double getTransportCost(Location from, Location to, double time, Driver driver, Vehicle vehicle) {
+                return 2. * super.getTransportCost(from, to, time, driver, vehicle);
+            }
+
+        });
+        VehicleRoutingProblem vrp = builder.build();
+        JobNeighborhoodsFactory factory = new JobNeighborhoodsFactory();
+        factory.setUseSpatialIndex(true);
+        JobNeighborhoods neighborhoods = factory.createNeighborhoods(vrp, new AvgServiceAndShipmentDistance(vrp.getTransportCosts()), 1);
+        assertFalse(neighborhoods instanceof JobNeighborhoodsSpatial);
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.ruin;
+
+import com.graphhopper.jsprit.core.algorithm.ruin.distance.AvgServiceAndShipmentDistance;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class RadialRuinStrategyFactoryTest {
+
+    @Test
+    public void strategiesWithAndWithoutCacheShouldRuinSameJobs() {
+        VehicleImpl v = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder builder = VehicleRoutingProblem.Builder.newInstance().addVehicle(v);
+        Random random = new Random(5);
+        for (int i = 0; i < 40; i++) {
+            builder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(random.nextInt(30), random.nextInt(30))).build());
+        }
+        VehicleRoutingProblem vrp = builder.build();
+
+        RadialRuinStrategyFactory withoutCache = new RadialRuinStrategyFactory(0.3, new AvgServiceAndShipmentDistance(vrp.getTransportCosts()));
+        RadialRuinStrategyFactory withCache = new RadialRuinStrategyFactory(0.3, new AvgServiceAndShipmentDistance(vrp.getTransportCosts()));
+        withCache.setJobNeighborhoodsCache(new JobNeighborhoodsCache(vrp));
+
+        for (int seed = 0; seed < 10; seed++) {
+            assertEquals(ruin(withoutCache, vrp, seed), ruin(withCache, vrp, seed));
+        }
+    }
+
+    private List<Job> ruin(RadialRuinStrategyFactory factory, VehicleRoutingProblem vrp, long seed) {
+        VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(vrp.getVehicles().iterator().next())
+            .setJobActivityFactory(vrp.getJobActivityFactory());
+        for (Job job : vrp.getJobs().values()) routeBuilder.addService((Service) job);
+        AbstractRuinStrategy ruin = (AbstractRuinStrategy) factory.createStrategy(vrp);
+        ruin.setRandom(new Random(seed));
+        return new ArrayList<Job>(ruin.ruin(Arrays.asList(routeBuilder.build())));
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.selector;
+
+import com.graphhopper.jsprit.core.algorithm.population.SolutionPopulation;
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.job.Job;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class SelectFromPopulationTest {
+
+    private List<Service> services;
+
+    private VehicleImpl vehicle;
+
+    @Before
+    public void doBefore() {
+        vehicle = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance(0, 0)).build();
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle);
+        for (int i = 0; i < 4; i++) {
+            vrpBuilder.addJob(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(i, i)).build());
+        }
+        VehicleRoutingProblem vrp = vrpBuilder.build();
+        services = new ArrayList<Service>();
+        for (Job job : vrp.getJobs().values()) {
+            services.add((Service) job);
+        }
+    }
+
+    private VehicleRoutingProblemSolution createSolution(List<Service> sequence, double cost) {
+        VehicleRoute.Builder routeBuilder = VehicleRoute.Builder.newInstance(vehicle);
+        for (Service service : sequence) {
+            routeBuilder.addService(service);
+        }
+        return new VehicleRoutingProblemSolution(Arrays.asList(routeBuilder.build()), cost);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenRandomIsNull_itShouldThrowException() {
+        new SelectFromPopulation(new SolutionPopulation(2), null);
+    }
+
+    @Test
+    public void whenPopulationIsEmpty_selectBestOfSolutionsPassed() {
+        VehicleRoutingProblemSolution sol1 = mock(VehicleRoutingProblemSolution.class);
+        VehicleRoutingProblemSolution sol2 = mock(VehicleRoutingProblemSolution.class);
+        when(sol1.getCost()).thenReturn(2.0);
+        when(sol2.getCost()).thenReturn(1.0);
+
+        SelectFromPopulation selector = new SelectFromPopulation(new SolutionPopulation(2), mock(Random.class));
+
+        assertThat(selector.selectSolution(Arrays.asList(sol1, sol2)), is(sol2));
+    }
+
+    @Test
+    public void whenDrawingTwoDifferentMembers_selectTheOneWithBetterFitness() {
+        SolutionPopulation population = new SolutionPopulation(2);
+        VehicleRoutingProblemSolution good = createSolution(services, 10.);
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+        VehicleRoutingProblemSolution poor = createSolution(reversed, 20.);
+        population.add(poor);
+        population.add(good);
+
+        Random random = mock(Random.class);
+        when(random.nextInt(2)).thenReturn(0, 1);
+        SelectFromPopulation selector = new SelectFromPopulation(population, random);
+
+        assertThat(selector.selectSolution(Collections.<VehicleRoutingProblemSolution>emptyList()), is(good));
+    }
+
+    @Test
+    public void whenDrawingSameMemberTwice_selectIt() {
+        SolutionPopulation population = new SolutionPopulation(2);
+        VehicleRoutingProblemSolution good = createSolution(services, 10.);
+        List<Service> reversed = new ArrayList<Service>(services);
+        Collections.reverse(reversed);
+        VehicleRoutingProblemSolution poor = createSolution(reversed, 20.);
+        population.add(good);
+        population.add(poor);
+
+        Random random = mock(Random.class);
+        when(random.nextInt(2)).thenReturn(1);
+        SelectFromPopulation selector = new SelectFromPopulation(population, random);
+
+        assertThat(selector.selectSolution(Collections.<VehicleRoutingProblemSolution>emptyList()), is(poor));
+    }
+
+}
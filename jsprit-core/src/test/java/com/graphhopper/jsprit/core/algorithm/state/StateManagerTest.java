@@ -46,6 +46,7 @@ public class StateManagerTest {
         public List<AbstractActivity> createActivities(Job job) {
             ServiceActivity act = mock(ServiceActivity.class);
             when(act.getIndex()).thenReturn(1);
+            when(act.getLocation()).thenReturn(Location.newInstance("loc"));
             List<AbstractActivity> acts = new ArrayList<AbstractActivity>();
             acts.add(act);
             return acts;
@@ -336,6 +337,70 @@ public class StateManagerTest {
         assertNull(stateManager.getActivityState(act, vehicle2, id, Double.class));
     }
 
+    @Test
+    public void lazyStates_shouldOnlyBeComputedForRequestedVehicleTypes() {
+        VehicleType type = VehicleTypeImpl.Builder.newInstance("t").setCostPerDistance(4.).build();
+        VehicleImpl vehicle = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance("loc")).build();
+        VehicleImpl vehicle2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance("loc")).setType(type).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle).addVehicle(vehicle2).build();
+
+        final StateManager stateManager = new StateManager(vrp);
+        final StateId id = stateManager.createStateId("vehicleParam");
+        final List<Vehicle> updatedVehicles = new ArrayList<Vehicle>();
+        stateManager.addLazyStateUpdater(new LazyVehicleDependentStateUpdater() {
+
+            @Override
+            public void update(VehicleRoute route, Vehicle vehicle) {
+                updatedVehicles.add(vehicle);
+                for (TourActivity act : route.getActivities()) {
+                    stateManager.putActivityState(act, vehicle, id, vehicle.getType().getVehicleCostParams().perDistanceUnit);
+                }
+            }
+
+        });
+        VehicleRoute route = getRoute(vehicle);
+        TourActivity act = route.getActivities().get(0);
+        stateManager.reCalculateStates(route);
+        updatedVehicles.clear();
+
+        assertEquals(4., stateManager.getActivityState(act, vehicle2, id, Double.class), 0.01);
+        assertEquals(4., stateManager.getActivityState(act, vehicle2, id, Double.class), 0.01);
+        assertEquals(1, updatedVehicles.size());
+        assertEquals(vehicle2, updatedVehicles.get(0));
+        assertTrue(stateManager.hasActivityState(act, vehicle, id));
+        assertEquals(2, updatedVehicles.size());
+        assertEquals(vehicle, updatedVehicles.get(1));
+
+        stateManager.reCalculateStates(route);
+        updatedVehicles.clear();
+        assertEquals(4., stateManager.getActivityState(act, vehicle2, id, Double.class), 0.01);
+        assertEquals(1, updatedVehicles.size());
+    }
+
+    @Test
+    public void whenClearing_lazyStatesShouldNotBeComputed() {
+        VehicleImpl vehicle = VehicleImpl.Builder.newInstance("v").setStartLocation(Location.newInstance("loc")).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle).build();
+
+        final StateManager stateManager = new StateManager(vrp);
+        final StateId id = stateManager.createStateId("vehicleParam");
+        stateManager.addLazyStateUpdater(new LazyVehicleDependentStateUpdater() {
+
+            @Override
+            public void update(VehicleRoute route, Vehicle vehicle) {
+                stateManager.putRouteState(route, vehicle, id, 1.);
+            }
+
+        });
+        VehicleRoute route = getRoute(vehicle);
+        stateManager.reCalculateStates(route);
+        assertEquals(1., stateManager.getRouteState(route, vehicle, id, Double.class), 0.01);
+
+        stateManager.clear();
+        assertNull(stateManager.getRouteState(route, vehicle, id, Double.class));
+        assertNull(stateManager.getActivityState(route.getActivities().get(0), vehicle, id, Double.class));
+    }
+
     @Test
     public void arrayIniShouldWork(){
         VehicleType type = VehicleTypeImpl.Builder.newInstance("t").setCostPerDistance(4.).build();
@@ -0,0 +1,147 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.algorithm.termination;
+
+import com.graphhopper.jsprit.core.algorithm.SearchStrategy;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConvergenceTerminationTest {
+
+    private static class ManualTime implements TimeTermination.TimeGetter {
+
+        long time;
+
+        @Override
+        public long getCurrentTime() {
+            return time;
+        }
+
+    }
+
+    private SearchStrategy.DiscoveredSolution discovered(double cost) {
+        VehicleRoutingProblemSolution solution = mock(VehicleRoutingProblemSolution.class);
+        when(solution.getCost()).thenReturn(cost);
+        return new SearchStrategy.DiscoveredSolution(solution, true, "s");
+    }
+
+    private ConvergenceTermination newTermination(ManualTime time, double threshold) {
+        ConvergenceTermination termination = new ConvergenceTermination(threshold);
+        termination.setTimeGetter(time);
+        termination.setCheckInterval(1);
+        termination.setWarmupTime(100);
+        termination.informAlgorithmStarts(null, null, Collections.<VehicleRoutingProblemSolution>emptyList());
+        return termination;
+    }
+
+    @Test
+    public void whenWithinWarmup_itShouldNotBreak() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.5);
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+        time.time = 50;
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+    }
+
+    @Test
+    public void whenNoImprovementAfterWarmup_itShouldBreak() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.001);
+        assertFalse(termination.isPrematureBreak(discovered(110.)));
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+        time.time = 200;
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+        time.time = 1000000;
+        assertTrue(termination.isPrematureBreak(discovered(100.)));
+    }
+
+    @Test
+    public void whenNothingImprovedDuringWarmup_itShouldNotBreak() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.001);
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+        time.time = 200;
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+        time.time = 5000;
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+    }
+
+    @Test
+    public void whenBestCostIsZero_itShouldStillBreak() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.001);
+        assertFalse(termination.isPrematureBreak(discovered(10.)));
+        time.time = 50;
+        assertFalse(termination.isPrematureBreak(discovered(0.)));
+        time.time = 200;
+        assertFalse(termination.isPrematureBreak(discovered(0.)));
+        time.time = 100000000L;
+        assertTrue(termination.isPrematureBreak(discovered(0.)));
+    }
+
+    @Test
+    public void whenImprovingSteadily_itShouldNotBreak() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.01);
+        double cost = 1000.;
+        for (int i = 0; i < 20; i++) {
+            assertFalse(termination.isPrematureBreak(discovered(cost)));
+            time.time += 100;
+            cost -= 10.;
+        }
+        assertFalse(termination.isPrematureBreak(discovered(cost + 10.)));
+    }
+
+    @Test
+    public void whenImprovementsStop_expectedGainShouldDecayUntilBreak() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.01);
+        assertFalse(termination.isPrematureBreak(discovered(1000.)));
+        time.time = 100;
+        assertFalse(termination.isPrematureBreak(discovered(990.)));
+        time.time = 200;
+        assertFalse(termination.isPrematureBreak(discovered(980.)));
+        assertEquals(100., termination.getExpectedGainPerSecond(200), 1e-9);
+        time.time = 1000;
+        assertEquals(10 / 0.8, termination.getExpectedGainPerSecond(1000), 1e-9);
+        assertFalse(termination.isPrematureBreak(discovered(980.)));
+        time.time = 2000;
+        assertTrue(termination.isPrematureBreak(discovered(980.)));
+    }
+
+    @Test
+    public void whenCheckIntervalNotReached_itShouldNotReadClock() {
+        ManualTime time = new ManualTime();
+        ConvergenceTermination termination = newTermination(time, 0.001);
+        termination.setCheckInterval(5);
+        assertFalse(termination.isPrematureBreak(discovered(110.)));
+        assertFalse(termination.isPrematureBreak(discovered(100.)));
+        time.time = 1000000;
+        for (int i = 0; i < 2; i++) assertFalse(termination.isPrematureBreak(discovered(100.)));
+        assertTrue(termination.isPrematureBreak(discovered(100.)));
+    }
+
+}
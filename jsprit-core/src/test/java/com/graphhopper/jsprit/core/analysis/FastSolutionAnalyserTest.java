@@ -0,0 +1,200 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.graphhopper.jsprit.core.analysis;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.VehicleRoutingProblem;
+import com.graphhopper.jsprit.core.problem.cost.TransportDistance;
+import com.graphhopper.jsprit.core.problem.job.Delivery;
+import com.graphhopper.jsprit.core.problem.job.Pickup;
+import com.graphhopper.jsprit.core.problem.job.Service;
+import com.graphhopper.jsprit.core.problem.job.Shipment;
+import com.graphhopper.jsprit.core.problem.solution.VehicleRoutingProblemSolution;
+import com.graphhopper.jsprit.core.problem.solution.route.VehicleRoute;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TimeWindow;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleType;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import com.graphhopper.jsprit.core.util.ManhattanCosts;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FastSolutionAnalyserTest {
+
+    private VehicleRoutingProblem vrp;
+
+    private VehicleRoutingProblemSolution solution;
+
+    private void buildScenarioWithServicesAndShipments() {
+        VehicleType type = VehicleTypeImpl.Builder.newInstance("type").setFixedCost(100.).setCostPerDistance(2.).addCapacityDimension(0, 15).build();
+        VehicleImpl vehicle = VehicleImpl.Builder.newInstance("v1").setType(type)
+            .setStartLocation(Location.newInstance(-5, 0)).addSkill("skill1").build();
+        VehicleImpl vehicle2 = VehicleImpl.Builder.newInstance("v2").setType(type)
+            .setStartLocation(Location.newInstance(5, 0)).build();
+
+        Service s1 = Service.Builder.newInstance("s1").setTimeWindow(TimeWindow.newInstance(10, 20))
+            .setLocation(Location.newInstance(-10, 1)).addSizeDimension(0, 2).addRequiredSkill("skill1").build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(-10, 10))
+            .addSizeDimension(0, 3).addRequiredSkill("skill2").build();
+        Shipment shipment1 = Shipment.Builder.newInstance("ship1").setPickupLocation(Location.newInstance(-15, 2))
+            .setDeliveryLocation(Location.newInstance(-16, 5)).addSizeDimension(0, 10)
+            .setPickupServiceTime(20.).setDeliveryServiceTime(20.).build();
+        Service s3 = Service.Builder.newInstance("s3").setTimeWindow(TimeWindow.newInstance(10, 20))
+            .setLocation(Location.newInstance(10, 1)).addSizeDimension(0, 2).build();
+        Service s4 = Service.Builder.newInstance("s4").setLocation(Location.newInstance(10, 10)).addSizeDimension(0, 3).build();
+        Shipment shipment2 = Shipment.Builder.newInstance("ship2").setPickupLocation(Location.newInstance(15, 2))
+            .setPickupServiceTime(20.).setDeliveryServiceTime(20.)
+            .setDeliveryLocation(Location.newInstance(16, 5)).addSizeDimension(0, 10).build();
+
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle).addVehicle(vehicle2)
+            .addJob(s1).addJob(s2).addJob(shipment1).addJob(s3).addJob(s4).addJob(shipment2)
+            .setFleetSize(VehicleRoutingProblem.FleetSize.INFINITE);
+        vrpBuilder.setRoutingCost(new ManhattanCosts(vrpBuilder.getLocations()));
+        vrp = vrpBuilder.build();
+
+        VehicleRoute route1 = VehicleRoute.Builder.newInstance(vehicle).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(s1).addPickup(shipment1).addDelivery(shipment1).addService(s2).build();
+        VehicleRoute route2 = VehicleRoute.Builder.newInstance(vehicle2).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addService(s3).addPickup(shipment2).addService(s4).addDelivery(shipment2).build();
+        solution = new VehicleRoutingProblemSolution(Arrays.asList(route1, route2), 42);
+    }
+
+    private void buildScenarioWithPickupsAndDeliveries() {
+        VehicleType type = VehicleTypeImpl.Builder.newInstance("type").setFixedCost(100.).setCostPerDistance(2.).addCapacityDimension(0, 15).build();
+        VehicleImpl vehicle = VehicleImpl.Builder.newInstance("v1").setType(type)
+            .setStartLocation(Location.newInstance(-5, 0)).setLatestArrival(150.).build();
+
+        Pickup s1 = Pickup.Builder.newInstance("s1").setTimeWindow(TimeWindow.newInstance(10, 20))
+            .setLocation(Location.newInstance(-10, 1)).addSizeDimension(0, 10).build();
+        Delivery s2 = Delivery.Builder.newInstance("s2").setLocation(Location.newInstance(-10, 10))
+            .setTimeWindow(TimeWindow.newInstance(10, 20)).addSizeDimension(0, 20).build();
+        Shipment shipment1 = Shipment.Builder.newInstance("ship1").setPickupLocation(Location.newInstance(-15, 2))
+            .setDeliveryLocation(Location.newInstance(-16, 5)).addSizeDimension(0, 15)
+            .setPickupServiceTime(20.).setDeliveryServiceTime(20.)
+            .setPickupTimeWindow(TimeWindow.newInstance(10, 20)).setDeliveryTimeWindow(TimeWindow.newInstance(10, 20)).build();
+        Pickup s3 = Pickup.Builder.newInstance("s3").setTimeWindow(TimeWindow.newInstance(10, 20))
+            .setLocation(Location.newInstance(10, 1)).addSizeDimension(0, 10).build();
+        Delivery s4 = Delivery.Builder.newInstance("s4").setLocation(Location.newInstance(10, 10))
+            .addSizeDimension(0, 20).setTimeWindow(TimeWindow.newInstance(10, 20)).build();
+
+        VehicleRoutingProblem.Builder vrpBuilder = VehicleRoutingProblem.Builder.newInstance().addVehicle(vehicle)
+            .addJob(s1).addJob(s2).addJob(shipment1).addJob(s3).addJob(s4)
+            .setFleetSize(VehicleRoutingProblem.FleetSize.FINITE);
+        vrpBuilder.setRoutingCost(new ManhattanCosts(vrpBuilder.getLocations()));
+        vrp = vrpBuilder.build();
+
+        VehicleRoute route = VehicleRoute.Builder.newInstance(vehicle).setJobActivityFactory(vrp.getJobActivityFactory())
+            .addPickup(s3).addDelivery(s4).addDelivery(s2).addPickup(shipment1).addDelivery(shipment1).addPickup(s1).build();
+        solution = new VehicleRoutingProblemSolution(Arrays.asList(route), 300);
+    }
+
+    private TransportDistance distanceCalculator() {
+        return new TransportDistance() {
+            @Override
+            public double getDistance(Location from, Location to, double departureTime, Vehicle vehicle) {
+                return vrp.getTransportCosts().getTransportCost(from, to, 0., null, null);
+            }
+        };
+    }
+
+    private void assertSameIndicators(SolutionAnalyser expected, SolutionIndicators actual) {
+        assertEquals(expected.getDistance(), actual.getDistance(), 0.01);
+        assertEquals(expected.getTransportTime(), actual.getTransportTime(), 0.01);
+        assertEquals(expected.getWaitingTime(), actual.getWaitingTime(), 0.01);
+        assertEquals(expected.getServiceTime(), actual.getServiceTime(), 0.01);
+        assertEquals(expected.getOperationTime(), actual.getOperationTime(), 0.01);
+        assertEquals(expected.getMaxOperationTime(), actual.getMaxOperationTime(), 0.01);
+        assertEquals(expected.getTimeWindowViolation(), actual.getTimeWindowViolation(), 0.01);
+        assertEquals(expected.getVariableTransportCosts(), actual.getVariableTransportCosts(), 0.01);
+        assertEquals(expected.getFixedCosts(), actual.getFixedCosts(), 0.01);
+        assertEquals(expected.getTotalCosts(), actual.getTotalCosts(), 0.01);
+        assertEquals(expected.getCapacityViolation(), actual.getCapacityViolation());
+        assertEquals(expected.getLoadAtBeginning(), actual.getLoadAtBeginning());
+        assertEquals(expected.getLoadAtEnd(), actual.getLoadAtEnd());
+        assertEquals(expected.getLoadPickedUp(), actual.getLoadPickedUp());
+        assertEquals(expected.getLoadDelivered(), actual.getLoadDelivered());
+        assertEquals((int) expected.getNumberOfPickups(), actual.getNumberOfPickups());
+        assertEquals((int) expected.getNumberOfPickupsAtBeginning(), actual.getNumberOfPickupsAtBeginning());
+        assertEquals((int) expected.getNumberOfDeliveries(), actual.getNumberOfDeliveries());
+        assertEquals((int) expected.getNumberOfDeliveriesAtEnd(), actual.getNumberOfDeliveriesAtEnd());
+        assertEquals(expected.hasSkillConstraintViolation(), actual.hasSkillConstraintViolation());
+        assertEquals(expected.hasBackhaulConstraintViolation(), actual.hasBackhaulConstraintViolation());
+        assertEquals(expected.hasShipmentConstraintViolation(), actual.hasShipmentConstraintViolation());
+    }
+
+    @Test
+    public void indicatorsOfServicesAndShipmentsMustEqualThoseOfSolutionAnalyser() {
+        buildScenarioWithServicesAndShipments();
+        SolutionIndicators indicators = new FastSolutionAnalyser(vrp, distanceCalculator()).analyse(solution);
+        assertSameIndicators(new SolutionAnalyser(vrp, solution, distanceCalculator()), indicators);
+    }
+
+    @Test
+    public void indicatorsOfPickupsAndDeliveriesMustEqualThoseOfSolutionAnalyser() {
+        buildScenarioWithPickupsAndDeliveries();
+        SolutionIndicators indicators = new FastSolutionAnalyser(vrp, distanceCalculator()).analyse(solution);
+        assertSameIndicators(new SolutionAnalyser(vrp, solution, distanceCalculator()), indicators);
+    }
+
+    @Test
+    public void distanceOfFusedTransportCostsMustEqualThatOfDistanceCalculator() {
+        buildScenarioWithServicesAndShipments();
+        TransportDistance fused = (TransportDistance) vrp.getTransportCosts();
+        SolutionIndicators indicators = new FastSolutionAnalyser(vrp, fused).analyse(solution);
+        assertEquals(new SolutionAnalyser(vrp, solution, fused).getDistance(), indicators.getDistance(), 0.01);
+    }
+
+    @Test
+    public void identicalRoutesMustShareIndicators() {
+        buildScenarioWithServicesAndShipments();
+        VehicleRoutingProblemSolution copy = VehicleRoutingProblemSolution.copyOf(solution);
+        FastSolutionAnalyser analyser = new FastSolutionAnalyser(vrp, distanceCalculator());
+        SolutionIndicators indicators = analyser.analyse(solution);
+        SolutionIndicators indicatorsOfCopy = analyser.analyse(copy);
+        assertSame(indicators.getRouteIndicators().get(0), indicatorsOfCopy.getRouteIndicators().get(0));
+        assertEquals(indicators.getTotalCosts(), indicatorsOfCopy.getTotalCosts(), 0.);
+    }
+
+    @Test
+    public void concurrentAnalysisMustReturnIndicatorsInOrderOfSolutions() {
+        buildScenarioWithServicesAndShipments();
+        VehicleRoutingProblemSolution partial = new VehicleRoutingProblemSolution(Arrays.asList(solution.getRoutes().iterator().next()), 0);
+        FastSolutionAnalyser analyser = new FastSolutionAnalyser(vrp, distanceCalculator());
+        analyser.setMaxCacheSize(0);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            List<SolutionIndicators> indicators = analyser.analyse(Arrays.asList(solution, partial, solution), executorService);
+            assertEquals(3, indicators.size());
+            assertSame(partial, indicators.get(1).getSolution());
+            assertEquals(analyser.analyse(solution).getTotalCosts(), indicators.get(2).getTotalCosts(), 0.);
+            assertEquals(analyser.analyse(partial).getTotalCosts(), indicators.get(1).getTotalCosts(), 0.);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CapacityAccumulatorTest {
+
+    private Capacity cap(int... values) {
+        Capacity.Builder builder = Capacity.Builder.newInstance();
+        for (int i = 0; i < values.length; i++) builder.addDimension(i, values[i]);
+        return builder.build();
+    }
+
+    @Test
+    public void whenNew_itShouldEqualDefaultCapacity() {
+        assertEquals(Capacity.Builder.newInstance().build(), new CapacityAccumulator().toCapacity());
+    }
+
+    @Test
+    public void whenAddingUp_itShouldEqualAddup() {
+        Capacity c1 = cap(1, 2);
+        Capacity c2 = cap(3, 4, 5, 6, 7);
+        CapacityAccumulator accumulator = new CapacityAccumulator().set(c1).add(c2).add(c1);
+        assertEquals(Capacity.addup(Capacity.addup(c1, c2), c1), accumulator.toCapacity());
+        assertEquals(5, accumulator.getNuOfDimensions());
+        assertEquals(0, accumulator.get(10));
+    }
+
+    @Test
+    public void whenSubtracting_itShouldEqualSubtract() {
+        Capacity c1 = cap(10, 10, 10);
+        Capacity c2 = cap(1, 2);
+        assertEquals(Capacity.subtract(c1, c2), new CapacityAccumulator().set(c1).subtract(c2).toCapacity());
+    }
+
+    @Test
+    public void whenBuildingMax_itShouldEqualMaxAndReportChanges() {
+        CapacityAccumulator accumulator = new CapacityAccumulator().set(cap(5, 1));
+        assertFalse(accumulator.max(cap(4, 1)));
+        assertTrue(accumulator.max(cap(4, 3)));
+        assertTrue(accumulator.max(cap(0, 0, 0)));
+        assertEquals(Capacity.max(Capacity.max(cap(5, 1), cap(4, 3)), cap(0, 0, 0)), accumulator.toCapacity());
+    }
+
+    @Test
+    public void whenBuildingMin_itShouldEqualMin() {
+        CapacityAccumulator accumulator = new CapacityAccumulator().set(cap(5, 1));
+        assertTrue(accumulator.min(cap(4, 2)));
+        assertEquals(Capacity.min(cap(5, 1), cap(4, 2)), accumulator.toCapacity());
+    }
+
+    @Test
+    public void whenReset_itShouldForgetDimensions() {
+        CapacityAccumulator accumulator = new CapacityAccumulator().set(cap(5, 1, 7));
+        accumulator.reset().add(cap(2));
+        assertEquals(cap(2), accumulator.toCapacity());
+        accumulator.set(cap(1, 1));
+        assertEquals(0, accumulator.get(2));
+        assertTrue(accumulator.isLessOrEqual(cap(1, 1)));
+        assertFalse(accumulator.isLessOrEqual(cap(1)));
+    }
+
+    @Test
+    public void snapshotsShouldBeIndependentOfAccumulator() {
+        CapacityAccumulator accumulator = new CapacityAccumulator().set(cap(1));
+        Capacity snapshot = accumulator.toCapacity();
+        accumulator.add(cap(1));
+        assertEquals(1, snapshot.get(0));
+        assertEquals(2, accumulator.get(0));
+    }
+
+}
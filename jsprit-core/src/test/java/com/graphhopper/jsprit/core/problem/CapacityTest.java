@@ -383,4 +383,26 @@ public class CapacityTest {
         Capacity cap2 = Capacity.Builder.newInstance().addDimension(0,10).addDimension(2, 1000).addDimension(1,100).build();
         Assert.assertTrue(cap1.equals(cap2));
     }
+
+    @Test
+    public void whenCheckingSumWithoutCreatingIt_itShouldBeEquivalentToAddup() {
+        Capacity cap1 = Capacity.Builder.newInstance().addDimension(0, 2).addDimension(1, 3).build();
+        Capacity cap2 = Capacity.Builder.newInstance().addDimension(0, 1).addDimension(2, 4).build();
+        Capacity limit = Capacity.Builder.newInstance().addDimension(0, 3).addDimension(1, 3).addDimension(2, 4).build();
+        assertTrue(Capacity.isSumLessOrEqual(cap1, cap2, limit));
+        Capacity tooSmall = Capacity.Builder.newInstance().addDimension(0, 3).addDimension(1, 3).build();
+        assertFalse(Capacity.isSumLessOrEqual(cap1, cap2, tooSmall));
+        assertEquals(Capacity.addup(cap1, cap2).isLessOrEqual(tooSmall), Capacity.isSumLessOrEqual(cap1, cap2, tooSmall));
+    }
+
+    @Test
+    public void whenCheckingDifferenceWithoutCreatingIt_itShouldBeEquivalentToSubtract() {
+        Capacity load = Capacity.Builder.newInstance().addDimension(0, 5).addDimension(1, 2).build();
+        Capacity delivery = Capacity.Builder.newInstance().addDimension(0, -1).build();
+        Capacity limit = Capacity.Builder.newInstance().addDimension(0, 6).addDimension(1, 2).build();
+        assertTrue(Capacity.isDifferenceLessOrEqual(load, delivery, limit));
+        Capacity tooSmall = Capacity.Builder.newInstance().addDimension(0, 5).addDimension(1, 2).build();
+        assertFalse(Capacity.isDifferenceLessOrEqual(load, delivery, tooSmall));
+        assertEquals(Capacity.subtract(load, delivery).isLessOrEqual(tooSmall), Capacity.isDifferenceLessOrEqual(load, delivery, tooSmall));
+    }
 }
@@ -531,4 +531,26 @@ public class VehicleRoutingProblemTest {
         assertEquals(2, veh2.getVehicleTypeIdentifier().getIndex());
 
     }
+
+    @Test
+    public void whenJobsAndVehiclesAreAddedToAnotherProblem_restoreIndicesShouldReassignTheirIndices() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance("loc")).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance("loc")).build();
+        VehicleType type = VehicleTypeImpl.Builder.newInstance("t").build();
+        VehicleImpl v1 = VehicleImpl.Builder.newInstance("v1").setStartLocation(Location.newInstance("loc")).build();
+        VehicleImpl v2 = VehicleImpl.Builder.newInstance("v2").setStartLocation(Location.newInstance("loc")).setType(type).build();
+        VehicleRoutingProblem vrp = VehicleRoutingProblem.Builder.newInstance().addJob(s1).addJob(s2).addVehicle(v1).addVehicle(v2).build();
+
+        VehicleRoutingProblem.Builder.newInstance().addJob(s2).addVehicle(v2).build();
+        assertEquals(1, s2.getIndex());
+        assertEquals(1, v2.getIndex());
+        assertEquals(1, v2.getVehicleTypeIdentifier().getIndex());
+
+        vrp.restoreIndices();
+        assertEquals(1, s1.getIndex());
+        assertEquals(2, s2.getIndex());
+        assertEquals(1, v1.getIndex());
+        assertEquals(2, v2.getIndex());
+        assertEquals(2, v2.getVehicleTypeIdentifier().getIndex());
+    }
 }
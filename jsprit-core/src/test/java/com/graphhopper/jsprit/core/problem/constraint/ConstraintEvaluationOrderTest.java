@@ -0,0 +1,104 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem.constraint;
+
+import com.graphhopper.jsprit.core.problem.misc.JobInsertionContext;
+import com.graphhopper.jsprit.core.problem.solution.route.activity.TourActivity;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConstraintEvaluationOrderTest {
+
+    @Test
+    public void whenNotAdaptive_itShouldKeepOrderOfRegistration() {
+        ConstraintEvaluationOrder<String> order = new ConstraintEvaluationOrder<String>();
+        order.add("a");
+        order.add("b");
+        for (int i = 0; i < 10 * ConstraintEvaluationOrder.SAMPLING_INTERVAL; i++) {
+            assertFalse(order.sample());
+        }
+        assertEquals(Arrays.asList("a", "b"), order.getConstraints());
+    }
+
+    @Test
+    public void whenAdaptive_cheapAndSelectiveConstraintsShouldComeFirst() {
+        ConstraintEvaluationOrder<String> order = new ConstraintEvaluationOrder<String>();
+        order.setAdaptive(true);
+        order.add("expensive");
+        order.add("neverRejects");
+        order.add("cheap");
+        for (int i = 0; i < ConstraintEvaluationOrder.REORDERING_INTERVAL / 3 + 1; i++) {
+            order.record("expensive", true, 1000);
+            order.record("neverRejects", false, 10);
+            order.record("cheap", true, 10);
+        }
+        assertEquals(Arrays.asList("cheap", "expensive", "neverRejects"), order.getConstraints());
+        order.setAdaptive(false);
+        assertEquals(Arrays.asList("expensive", "neverRejects", "cheap"), order.getConstraints());
+    }
+
+    @Test
+    public void whenAdaptive_routeLevelManagerShouldEvaluateRejectingConstraintFirst() {
+        HardRouteConstraint fulfilled = mock(HardRouteConstraint.class);
+        when(fulfilled.fulfilled(any(JobInsertionContext.class))).thenReturn(true);
+        HardRouteConstraint rejecting = mock(HardRouteConstraint.class);
+        when(rejecting.fulfilled(any(JobInsertionContext.class))).thenReturn(false);
+        HardRouteLevelConstraintManager manager = new HardRouteLevelConstraintManager();
+        manager.setAdaptiveOrdering(true);
+        manager.addConstraint(fulfilled);
+        manager.addConstraint(rejecting);
+        JobInsertionContext iFacts = mock(JobInsertionContext.class);
+        for (int i = 0; i < ConstraintEvaluationOrder.SAMPLING_INTERVAL * ConstraintEvaluationOrder.REORDERING_INTERVAL; i++) {
+            assertSame(rejecting, manager.getViolatedConstraint(iFacts));
+        }
+        assertSame(rejecting, manager.getConstraints().iterator().next());
+    }
+
+    @Test
+    public void whenAdaptive_breakOfHighPrioConstraintShouldStillBeReturned() {
+        HardActivityConstraint notFulfilled = mock(HardActivityConstraint.class);
+        when(notFulfilled.fulfilled(any(JobInsertionContext.class), any(TourActivity.class), any(TourActivity.class), any(TourActivity.class), anyDouble()))
+            .thenReturn(HardActivityConstraint.ConstraintsStatus.NOT_FULFILLED);
+        HardActivityConstraint notFulfilledBreak = mock(HardActivityConstraint.class);
+        when(notFulfilledBreak.fulfilled(any(JobInsertionContext.class), any(TourActivity.class), any(TourActivity.class), any(TourActivity.class), anyDouble()))
+            .thenReturn(HardActivityConstraint.ConstraintsStatus.NOT_FULFILLED_BREAK);
+        HardActivityLevelConstraintManager manager = new HardActivityLevelConstraintManager();
+        manager.setAdaptiveOrdering(true);
+        manager.addConstraint(notFulfilled, ConstraintManager.Priority.HIGH);
+        manager.addConstraint(notFulfilledBreak, ConstraintManager.Priority.HIGH);
+        JobInsertionContext iFacts = mock(JobInsertionContext.class);
+        for (int i = 0; i < ConstraintEvaluationOrder.SAMPLING_INTERVAL * ConstraintEvaluationOrder.REORDERING_INTERVAL; i++) {
+            List<String> failed = new ArrayList<String>();
+            assertEquals(HardActivityConstraint.ConstraintsStatus.NOT_FULFILLED_BREAK, manager.fulfilled(iFacts, null, null, null, 0., failed));
+            assertEquals(1, failed.size());
+        }
+        assertSame(notFulfilledBreak, manager.getHighPrioConstraints().iterator().next());
+    }
+
+}
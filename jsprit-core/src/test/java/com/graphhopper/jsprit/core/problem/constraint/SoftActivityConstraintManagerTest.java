@@ -23,6 +23,9 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SoftActivityConstraintManagerTest {
@@ -64,4 +67,66 @@ public class SoftActivityConstraintManagerTest {
         man.addConstraint(c2);
         assertEquals(3.0, man.getCosts(iContext, act_i, act_k, act_j, 0.0), 0.01);
     }
+
+    @Test
+    public void whenLowerBoundsExceedMaxCosts_managerShouldNotEvaluateBoundedConstraints() {
+        JobInsertionContext iContext = mock(JobInsertionContext.class);
+        TourActivity act_i = mock(TourActivity.class);
+        TourActivity act_k = mock(TourActivity.class);
+        TourActivity act_j = mock(TourActivity.class);
+        SoftActivityConstraint c1 = mock(SoftActivityConstraint.class);
+        when(c1.getCosts(iContext, act_i, act_k, act_j, 0.0)).thenReturn(1.0);
+        BoundedSoftActivityConstraint c2 = mock(BoundedSoftActivityConstraint.class);
+        when(c2.getLowerBound(iContext, act_i, act_k, act_j, 0.0)).thenReturn(2.0);
+        when(c2.getCosts(iContext, act_i, act_k, act_j, 0.0)).thenReturn(5.0);
+
+        SoftActivityConstraintManager man = new SoftActivityConstraintManager();
+        man.addConstraint(c2);
+        man.addConstraint(c1);
+        assertEquals(Double.POSITIVE_INFINITY, man.getCosts(iContext, act_i, act_k, act_j, 0.0, 3.0), 0.01);
+        verify(c1).getCosts(iContext, act_i, act_k, act_j, 0.0);
+        verify(c2, never()).getCosts(iContext, act_i, act_k, act_j, 0.0);
+    }
+
+    @Test
+    public void whenLowerBoundsAreBelowMaxCosts_managerShouldSumCostsCorrectly() {
+        JobInsertionContext iContext = mock(JobInsertionContext.class);
+        TourActivity act_i = mock(TourActivity.class);
+        TourActivity act_k = mock(TourActivity.class);
+        TourActivity act_j = mock(TourActivity.class);
+        SoftActivityConstraint c1 = mock(SoftActivityConstraint.class);
+        when(c1.getCosts(iContext, act_i, act_k, act_j, 0.0)).thenReturn(1.0);
+        BoundedSoftActivityConstraint c2 = mock(BoundedSoftActivityConstraint.class);
+        when(c2.getLowerBound(iContext, act_i, act_k, act_j, 0.0)).thenReturn(0.0);
+        when(c2.getCosts(iContext, act_i, act_k, act_j, 0.0)).thenReturn(1.5);
+
+        SoftActivityConstraintManager man = new SoftActivityConstraintManager();
+        man.addConstraint(c1);
+        man.addConstraint(c2);
+        assertEquals(2.5, man.getCosts(iContext, act_i, act_k, act_j, 0.0, 3.0), 0.01);
+        assertEquals(2.5, man.getCosts(iContext, act_i, act_k, act_j, 0.0, 2.0), 0.01);
+    }
+
+    @Test
+    public void lowerBoundOfEachBoundedConstraintShouldBeDeterminedOnce() {
+        JobInsertionContext iContext = mock(JobInsertionContext.class);
+        TourActivity act_i = mock(TourActivity.class);
+        TourActivity act_k = mock(TourActivity.class);
+        TourActivity act_j = mock(TourActivity.class);
+        BoundedSoftActivityConstraint c1 = mock(BoundedSoftActivityConstraint.class);
+        when(c1.getLowerBound(iContext, act_i, act_k, act_j, 0.0)).thenReturn(1.0);
+        when(c1.getCosts(iContext, act_i, act_k, act_j, 0.0)).thenReturn(1.0);
+        BoundedSoftActivityConstraint c2 = mock(BoundedSoftActivityConstraint.class);
+        when(c2.getLowerBound(iContext, act_i, act_k, act_j, 0.0)).thenReturn(0.5);
+        when(c2.getCosts(iContext, act_i, act_k, act_j, 0.0)).thenReturn(2.0);
+
+        SoftActivityConstraintManager man = new SoftActivityConstraintManager();
+        man.addConstraint(c1);
+        man.addConstraint(c2);
+        assertEquals(3.0, man.getCosts(iContext, act_i, act_k, act_j, 0.0, 10.0), 0.01);
+        verify(c1, times(1)).getLowerBound(iContext, act_i, act_k, act_j, 0.0);
+        verify(c2, times(1)).getLowerBound(iContext, act_i, act_k, act_j, 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, man.getCosts(iContext, act_i, act_k, act_j, 0.0, 1.4), 0.01);
+        verify(c2, times(1)).getCosts(iContext, act_i, act_k, act_j, 0.0);
+    }
 }
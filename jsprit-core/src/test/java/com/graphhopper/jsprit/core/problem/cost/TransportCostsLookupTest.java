@@ -0,0 +1,141 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.problem.cost;
+
+import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.driver.Driver;
+import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleImpl;
+import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
+import com.graphhopper.jsprit.core.util.Coordinate;
+import com.graphhopper.jsprit.core.util.CrowFlyCosts;
+import com.graphhopper.jsprit.core.util.EuclideanCosts;
+import com.graphhopper.jsprit.core.util.GreatCircleCosts;
+import com.graphhopper.jsprit.core.util.ManhattanCosts;
+import com.graphhopper.jsprit.core.util.VehicleRoutingTransportCostsMatrix;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransportCostsLookupTest {
+
+    private final Location from = Location.Builder.newInstance().setId("from").setCoordinate(Coordinate.newInstance(10, 50)).build();
+
+    private final Location to = Location.Builder.newInstance().setId("to").setCoordinate(Coordinate.newInstance(13, 54)).build();
+
+    private final Vehicle vehicle = VehicleImpl.Builder.newInstance("v").setStartLocation(from)
+        .setType(VehicleTypeImpl.Builder.newInstance("t").setCostPerDistance(2.).setCostPerTransportTime(3.).build()).build();
+
+    private void assertConsistent(VehicleRoutingTransportCosts costs) {
+        double[] result = TransportCostsLookup.newBuffer();
+        TransportCostsLookup.lookup(costs, from, to, 10., null, vehicle, result);
+        assertEquals(costs.getTransportTime(from, to, 10., null, vehicle), result[FusedTransportCosts.TIME], 0.001);
+        assertEquals(costs.getTransportCost(from, to, 10., null, vehicle), result[FusedTransportCosts.COST], 0.001);
+        assertEquals(((TransportDistance) costs).getDistance(from, to, 10., vehicle), result[FusedTransportCosts.DISTANCE], 0.001);
+        TransportCostsLookup.lookup(costs, from, to, 10., null, null, result);
+        assertEquals(costs.getTransportCost(from, to, 10., null, null), result[FusedTransportCosts.COST], 0.001);
+    }
+
+    @Test
+    public void fusedLookupOfCoordinateBasedCostsShouldEqualSeparateLookups() {
+        CrowFlyCosts crowFlyCosts = new CrowFlyCosts(null);
+        crowFlyCosts.speed = 2;
+        crowFlyCosts.detourFactor = 1.3;
+        assertConsistent(crowFlyCosts);
+        EuclideanCosts euclideanCosts = new EuclideanCosts();
+        euclideanCosts.speed = 3;
+        assertConsistent(euclideanCosts);
+        ManhattanCosts manhattanCosts = new ManhattanCosts();
+        manhattanCosts.speed = 4;
+        assertConsistent(manhattanCosts);
+        GreatCircleCosts greatCircleCosts = new GreatCircleCosts();
+        greatCircleCosts.setSpeed(50);
+        greatCircleCosts.setDetour(1.2);
+        assertConsistent(greatCircleCosts);
+    }
+
+    @Test
+    public void fusedLookupOfMatrixShouldEqualSeparateLookups() {
+        VehicleRoutingTransportCostsMatrix matrix = VehicleRoutingTransportCostsMatrix.Builder.newInstance(false)
+            .addTransportDistance("from", "to", 100.).addTransportTime("from", "to", 20.).build();
+        double[] result = TransportCostsLookup.newBuffer();
+        TransportCostsLookup.lookup(matrix, from, to, 0., null, vehicle, result);
+        assertEquals(20., result[FusedTransportCosts.TIME], 0.001);
+        assertEquals(100., result[FusedTransportCosts.DISTANCE], 0.001);
+        assertEquals(matrix.getTransportCost(from, to, 0., null, vehicle), result[FusedTransportCosts.COST], 0.001);
+    }
+
+    @Test
+    public void whenCostsDoNotSupportFusedLookup_itShouldFallBackToSeparateLookups() {
+        VehicleRoutingTransportCosts costs = new AbstractForwardVehicleRoutingTransportCosts() {
+
+            @Override
+            public double getTransportTime(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle) {
+                return 5.;
+            }
+
+            @Override
+            public double getTransportCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle) {
+                return 7.;
+            }
+
+        };
+        double[] result = TransportCostsLookup.newBuffer();
+        TransportCostsLookup.lookup(costs, from, to, 0., null, vehicle, result);
+        assertEquals(5., result[FusedTransportCosts.TIME], 0.001);
+        assertEquals(7., result[FusedTransportCosts.COST], 0.001);
+        assertTrue(Double.isNaN(result[FusedTransportCosts.DISTANCE]));
+    }
+
+    @Test
+    public void whenSubclassOverridesSingleGetter_itShouldNotBeBypassedByFusedLookup() {
+        EuclideanCosts costs = new EuclideanCosts() {
+
+            @Override
+            public double getTransportCost(Location from, Location to, double time, Driver driver, Vehicle vehicle) {
+                return 2. * super.getTransportCost(from, to, time, driver, vehicle);
+            }
+
+        };
+        double[] result = TransportCostsLookup.newBuffer();
+        TransportCostsLookup.lookup(costs, from, to, 0., null, vehicle, result);
+        assertEquals(costs.getTransportCost(from, to, 0., null, vehicle), result[FusedTransportCosts.COST], 0.001);
+        assertEquals(costs.getTransportTime(from, to, 0., null, vehicle), result[FusedTransportCosts.TIME], 0.001);
+    }
+
+    @Test
+    public void whenSubclassOverridesFusedLookupToo_itShouldUseFusedLookup() {
+        EuclideanCosts costs = new EuclideanCosts() {
+
+            @Override
+            public double getTransportCost(Location from, Location to, double time, Driver driver, Vehicle vehicle) {
+                return 2. * super.getTransportCost(from, to, time, driver, vehicle);
+            }
+
+            @Override
+            public void getTransportTimeDistanceAndCost(Location from, Location to, double departureTime, Driver driver, Vehicle vehicle, double[] result) {
+                super.getTransportTimeDistanceAndCost(from, to, departureTime, driver, vehicle, result);
+                result[COST] *= 2.;
+            }
+
+        };
+        assertConsistent(costs);
+    }
+
+}
@@ -18,11 +18,14 @@
 package com.graphhopper.jsprit.core.problem.solution.route.activity;
 
 import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.job.Job;
 import com.graphhopper.jsprit.core.problem.job.Service;
 import com.graphhopper.jsprit.core.problem.job.Shipment;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.*;
+
 import static org.junit.Assert.*;
 
 
@@ -235,4 +238,109 @@ public class TestTourActivities {
         assertTrue(copiedTour.servesJob(s));
     }
 
+    @Test
+    public void whenRemovingSeveralJobsAtOnce_remainingActivitiesShouldKeepTheirOrder() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1)).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(2)).build();
+        Service s3 = Service.Builder.newInstance("s3").setLocation(Location.newInstance(3)).build();
+        Shipment sh = Shipment.Builder.newInstance("sh").setPickupLocation(Location.newInstance(4))
+            .setDeliveryLocation(Location.newInstance(5)).build();
+        TourShipmentActivityFactory fac = new DefaultShipmentActivityFactory();
+        TourActivity act1 = ServiceActivity.newInstance(s1);
+        TourActivity act3 = ServiceActivity.newInstance(s3);
+        tour.addActivity(act1);
+        tour.addActivity(fac.createPickup(sh));
+        tour.addActivity(ServiceActivity.newInstance(s2));
+        tour.addActivity(act3);
+        tour.addActivity(fac.createDelivery(sh));
+
+        List<Job> removed = tour.removeJobs(Arrays.<Job>asList(sh, s2, service));
+        assertEquals(2, removed.size());
+        assertEquals(sh, removed.get(0));
+        assertEquals(s2, removed.get(1));
+        assertEquals(2, tour.getActivities().size());
+        assertSame(act1, tour.getActivities().get(0));
+        assertSame(act3, tour.getActivities().get(1));
+        assertFalse(tour.servesJob(sh));
+        assertEquals(2, tour.jobSize());
+    }
+
+    @Test
+    public void whenModifyingTourRepeatedly_removalsShouldFindTheActivitiesOfTheirJobs() {
+        TourShipmentActivityFactory fac = new DefaultShipmentActivityFactory();
+        List<Job> jobs = new ArrayList<Job>();
+        for (int i = 0; i < 20; i++) {
+            jobs.add(Service.Builder.newInstance("s" + i).setLocation(Location.newInstance(i)).build());
+            if (i % 2 == 0) {
+                jobs.add(Shipment.Builder.newInstance("sh" + i).setPickupLocation(Location.newInstance(i))
+                    .setDeliveryLocation(Location.newInstance(i + 1)).build());
+            }
+        }
+        Random random = new Random(42);
+        List<TourActivity> expected = new ArrayList<TourActivity>();
+        for (int op = 0; op < 2000; op++) {
+            Job job = jobs.get(random.nextInt(jobs.size()));
+            int type = random.nextInt(4);
+            if (type == 0 && !tour.servesJob(job)) {
+                int position = random.nextInt(expected.size() + 1);
+                if (job instanceof Service) {
+                    TourActivity serviceAct = ServiceActivity.newInstance((Service) job);
+                    tour.addActivity(position, serviceAct);
+                    expected.add(position, serviceAct);
+                } else {
+                    TourActivity pickup = fac.createPickup((Shipment) job);
+                    TourActivity delivery = fac.createDelivery((Shipment) job);
+                    int deliveryPosition = position + 1 + random.nextInt(expected.size() - position + 1);
+                    tour.addActivity(position, pickup);
+                    expected.add(position, pickup);
+                    tour.addActivity(deliveryPosition, delivery);
+                    expected.add(deliveryPosition, delivery);
+                }
+            } else if (type == 1) {
+                assertEquals(removeAll(expected, Collections.singleton(job)), tour.removeJob(job));
+            } else if (type == 2) {
+                Set<Job> toRemove = new HashSet<Job>();
+                for (int i = 0; i < 3; i++) toRemove.add(jobs.get(random.nextInt(jobs.size())));
+                List<Job> removed = tour.removeJobs(toRemove);
+                assertEquals(removeAll(expected, toRemove), !removed.isEmpty());
+                for (Job r : removed) assertTrue(toRemove.contains(r));
+            } else if (type == 3 && !expected.isEmpty()) {
+                TourActivity toRemove = expected.remove(random.nextInt(expected.size()));
+                assertTrue(tour.removeActivity(toRemove));
+            }
+            assertEquals(expected, tour.getActivities());
+            Set<Job> expectedJobs = new HashSet<Job>();
+            for (TourActivity a : expected) expectedJobs.add(((TourActivity.JobActivity) a).getJob());
+            assertEquals(expectedJobs, new HashSet<Job>(tour.getJobs()));
+        }
+    }
+
+    private static boolean removeAll(List<TourActivity> activities, Collection<Job> jobs) {
+        boolean removed = false;
+        Iterator<TourActivity> iterator = activities.iterator();
+        while (iterator.hasNext()) {
+            if (jobs.contains(((TourActivity.JobActivity) iterator.next()).getJob())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Test
+    public void whenRemovingServiceActivity_itsJobShouldBeRemovedAndOrderKept() {
+        Service s1 = Service.Builder.newInstance("s1").setLocation(Location.newInstance(1)).build();
+        Service s2 = Service.Builder.newInstance("s2").setLocation(Location.newInstance(2)).build();
+        TourActivity act1 = ServiceActivity.newInstance(s1);
+        TourActivity act2 = ServiceActivity.newInstance(s2);
+        tour.addActivity(act1);
+        tour.addActivity(0, act2);
+        tour.addActivity(act);
+        assertTrue(tour.removeActivity(act2));
+        assertFalse(tour.servesJob(s2));
+        assertTrue(tour.servesJob(s1));
+        assertEquals(Arrays.asList(act1, act), tour.getActivities());
+        assertFalse(tour.removeActivity(act2));
+    }
+
 }
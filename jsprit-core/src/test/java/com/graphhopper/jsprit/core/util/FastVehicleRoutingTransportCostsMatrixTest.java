@@ -18,6 +18,7 @@
 package com.graphhopper.jsprit.core.util;
 
 import com.graphhopper.jsprit.core.problem.Location;
+import com.graphhopper.jsprit.core.problem.cost.FusedTransportCosts;
 import com.graphhopper.jsprit.core.problem.vehicle.Vehicle;
 import com.graphhopper.jsprit.core.problem.vehicle.VehicleType;
 import com.graphhopper.jsprit.core.problem.vehicle.VehicleTypeImpl;
@@ -109,5 +110,21 @@ public class FastVehicleRoutingTransportCostsMatrixTest {
         assertEquals(16., matrix.getTransportCost(loc(2), loc(1), 0.0, null, vehicle), 0.1);
     }
 
+    @Test
+    public void fusedLookupShouldReturnTimeDistanceAndCosts() {
+        FastVehicleRoutingTransportCostsMatrix.Builder matrixBuilder = FastVehicleRoutingTransportCostsMatrix.Builder.newInstance(3, true);
+        matrixBuilder.addTransportTimeAndDistance(1, 2, 2., 20.);
+        FastVehicleRoutingTransportCostsMatrix matrix = matrixBuilder.build();
+        Vehicle vehicle = mock(Vehicle.class);
+        VehicleType type = VehicleTypeImpl.Builder.newInstance("t").setCostPerDistance(1.).setCostPerTime(2.).build();
+        when(vehicle.getType()).thenReturn(type);
+        double[] result = new double[3];
+        matrix.getTransportTimeDistanceAndCost(loc(2), loc(1), 0.0, null, vehicle, result);
+        assertEquals(2., result[FusedTransportCosts.TIME], 0.1);
+        assertEquals(20., result[FusedTransportCosts.DISTANCE], 0.1);
+        assertEquals(24., result[FusedTransportCosts.COST], 0.1);
+        matrix.getTransportTimeDistanceAndCost(loc(1), loc(2), 0.0, null, null, result);
+        assertEquals(20., result[FusedTransportCosts.COST], 0.1);
+    }
 
 }
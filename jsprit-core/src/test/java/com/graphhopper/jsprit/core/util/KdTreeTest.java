@@ -0,0 +1,95 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class KdTreeTest {
+
+    private Coordinate[] randomCoordinates(int n, Random random) {
+        Coordinate[] coordinates = new Coordinate[n];
+        for (int i = 0; i < n; i++) {
+            coordinates[i] = Coordinate.newInstance(random.nextInt(100), random.nextInt(100));
+        }
+        return coordinates;
+    }
+
+    private int[] bruteForceNearest(Coordinate[] coordinates, int item, int k) {
+        int[] items = new int[coordinates.length - 1];
+        double[] distances = new double[coordinates.length - 1];
+        int index = 0;
+        for (int j = 0; j < coordinates.length; j++) {
+            if (j == item) continue;
+            items[index] = j;
+            distances[index] = EuclideanDistanceCalculator.calculateDistance(coordinates[item], coordinates[j]);
+            index++;
+        }
+        ArrayUtils.sortByKey(items, distances, 0, items.length);
+        return Arrays.copyOf(items, Math.min(k, items.length));
+    }
+
+    @Test
+    public void nearestNeighborsShouldEqualBruteForce() {
+        Random random = new Random(42);
+        Coordinate[] coordinates = randomCoordinates(500, random);
+        KdTree kdTree = new KdTree(coordinates);
+        for (int item = 0; item < coordinates.length; item += 7) {
+            int k = 1 + random.nextInt(30);
+            assertArrayEquals(bruteForceNearest(coordinates, item, k), kdTree.getNearestNeighbors(item, k));
+        }
+    }
+
+    @Test
+    public void neighborsWithinRadiusShouldEqualBruteForce() {
+        Random random = new Random(4711);
+        Coordinate[] coordinates = randomCoordinates(500, random);
+        KdTree kdTree = new KdTree(coordinates);
+        for (int item = 0; item < coordinates.length; item += 11) {
+            double radius = random.nextDouble() * 20;
+            int[] all = bruteForceNearest(coordinates, item, coordinates.length);
+            int count = 0;
+            while (count < all.length && kdTree.getDistance(item, all[count]) <= radius) count++;
+            assertArrayEquals(Arrays.copyOf(all, count), kdTree.getNeighborsWithin(item, radius));
+        }
+    }
+
+    @Test
+    public void whenKExceedsSize_allOtherItemsShouldBeReturned() {
+        Coordinate[] coordinates = new Coordinate[]{Coordinate.newInstance(0, 0), Coordinate.newInstance(1, 0), Coordinate.newInstance(5, 0)};
+        KdTree kdTree = new KdTree(coordinates);
+        assertArrayEquals(new int[]{1, 2}, kdTree.getNearestNeighbors(0, 10));
+        assertArrayEquals(new int[]{2, 1, 0}, kdTree.getNearestNeighbors(Coordinate.newInstance(4, 0), 5));
+        assertEquals(5., kdTree.getDistance(0, 2), 0.001);
+    }
+
+    @Test
+    public void duplicateCoordinatesShouldBeOrderedByItem() {
+        Coordinate[] coordinates = new Coordinate[]{Coordinate.newInstance(0, 0), Coordinate.newInstance(1, 1),
+            Coordinate.newInstance(1, 1), Coordinate.newInstance(1, 1), Coordinate.newInstance(3, 3)};
+        KdTree kdTree = new KdTree(coordinates);
+        assertArrayEquals(new int[]{1, 2}, kdTree.getNearestNeighbors(0, 2));
+        assertArrayEquals(new int[]{1, 3}, kdTree.getNeighborsWithin(2, 0.));
+    }
+
+}
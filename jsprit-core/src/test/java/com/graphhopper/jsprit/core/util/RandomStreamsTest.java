@@ -0,0 +1,82 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class RandomStreamsTest {
+
+    @Test
+    public void sameSeedMustProduceSameSequence() {
+        Random r1 = new SplitMixRandom(42);
+        Random r2 = new SplitMixRandom(42);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(r1.nextLong(), r2.nextLong());
+        }
+    }
+
+    @Test
+    public void numbersMustBeInRange() {
+        Random r = new SplitMixRandom(1);
+        for (int i = 0; i < 10000; i++) {
+            double d = r.nextDouble();
+            Assert.assertTrue(d >= 0 && d < 1);
+            int n = r.nextInt(7);
+            Assert.assertTrue(n >= 0 && n < 7);
+        }
+    }
+
+    @Test
+    public void splitStreamMustDifferFromParent() {
+        SplitMixRandom parent = new SplitMixRandom(42);
+        SplitMixRandom child = parent.split();
+        int equal = 0;
+        for (int i = 0; i < 100; i++) {
+            if (parent.nextLong() == child.nextLong()) equal++;
+        }
+        Assert.assertEquals(0, equal);
+    }
+
+    @Test
+    public void nthStreamMustOnlyDependOnMasterSeed() {
+        RandomStreams s1 = new RandomStreams(4711);
+        RandomStreams s2 = new RandomStreams(4711);
+        s1.newStream();
+        s2.newStream();
+        Random r1 = s1.newStream();
+        Random r2 = s2.newStream();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(r1.nextDouble(), r2.nextDouble(), 0.);
+        }
+    }
+
+    @Test
+    public void keyedNumbersMustNotDependOnCallOrder() {
+        RandomStreams streams = new RandomStreams(4711);
+        double first = streams.nextDouble(3);
+        streams.nextDouble(1);
+        streams.nextDouble(2);
+        Assert.assertEquals(first, streams.nextDouble(3), 0.);
+        Assert.assertNotEquals(first, streams.nextDouble(4), 0.);
+        Assert.assertNotEquals(first, new RandomStreams(4712).nextDouble(3), 0.);
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to GraphHopper GmbH under one or more contributor
+ * license agreements. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * GraphHopper GmbH licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.graphhopper.jsprit.core.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RunningStatisticsTest {
+
+    @Test
+    public void whenNoValueAdded_meanAndVarianceShouldBeZero() {
+        RunningStatistics statistics = new RunningStatistics();
+        assertEquals(0, statistics.getN());
+        assertEquals(0., statistics.getMean(), 0.);
+        assertEquals(0., statistics.getVariance(), 0.);
+    }
+
+    @Test
+    public void meanAndSampleStandardDeviationShouldBeCorrect() {
+        RunningStatistics statistics = new RunningStatistics();
+        double[] values = {2., 4., 4., 4., 5., 5., 7., 9.};
+        for (double v : values) statistics.add(v);
+        assertEquals(8, statistics.getN());
+        assertEquals(5., statistics.getMean(), 1e-12);
+        assertEquals(32. / 7., statistics.getVariance(), 1e-12);
+        assertEquals(Math.sqrt(32. / 7.), statistics.getStandardDeviation(), 1e-12);
+    }
+
+    @Test
+    public void whenLargeOffset_varianceShouldStillBeAccurate() {
+        RunningStatistics statistics = new RunningStatistics();
+        double offset = 1e9;
+        statistics.add(offset + 4.);
+        statistics.add(offset + 7.);
+        statistics.add(offset + 13.);
+        statistics.add(offset + 16.);
+        assertEquals(30., statistics.getVariance(), 1e-6);
+    }
+
+    @Test
+    public void whenReset_statisticsShouldStartFromScratch() {
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.add(100.);
+        statistics.add(200.);
+        statistics.reset();
+        statistics.add(1.);
+        statistics.add(3.);
+        assertEquals(2, statistics.getN());
+        assertEquals(2., statistics.getMean(), 1e-12);
+        assertEquals(2., statistics.getVariance(), 1e-12);
+    }
+
+}
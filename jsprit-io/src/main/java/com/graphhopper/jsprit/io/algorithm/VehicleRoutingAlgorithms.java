@@ -559,24 +559,7 @@ public class VehicleRoutingAlgorithms {
         ActivityTimeTracker.ActivityPolicy activityPolicy;
         if (stateManager.timeWindowUpdateIsActivated()) {
             UpdateVehicleDependentPracticalTimeWindows timeWindowUpdater = new UpdateVehicleDependentPracticalTimeWindows(stateManager, vrp.getTransportCosts(), vrp.getActivityCosts());
-            timeWindowUpdater.setVehiclesToUpdate(new UpdateVehicleDependentPracticalTimeWindows.VehiclesToUpdate() {
-                Map<VehicleTypeKey, Vehicle> uniqueTypes = new HashMap<VehicleTypeKey, Vehicle>();
-
-                @Override
-                public Collection<Vehicle> get(VehicleRoute vehicleRoute) {
-                    if (uniqueTypes.isEmpty()) {
-                        for (Vehicle v : vrp.getVehicles()) {
-                            if (!uniqueTypes.containsKey(v.getVehicleTypeIdentifier())) {
-                                uniqueTypes.put(v.getVehicleTypeIdentifier(), v);
-                            }
-                        }
-                    }
-                    Collection<Vehicle> vehicles = new ArrayList<Vehicle>();
-                    vehicles.addAll(uniqueTypes.values());
-                    return vehicles;
-                }
-            });
-            stateManager.addStateUpdater(timeWindowUpdater);
+            stateManager.addLazyStateUpdater(timeWindowUpdater);
             activityPolicy = ActivityTimeTracker.ActivityPolicy.AS_SOON_AS_TIME_WINDOW_OPENS;
         } else {
             activityPolicy = ActivityTimeTracker.ActivityPolicy.AS_SOON_AS_ARRIVED;